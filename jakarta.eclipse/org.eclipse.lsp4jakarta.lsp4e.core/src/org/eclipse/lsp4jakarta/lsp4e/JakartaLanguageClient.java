@@ -15,7 +15,9 @@ package org.eclipse.lsp4jakarta.lsp4e;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -27,10 +29,16 @@ import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.eclipse.lsp4j.jsonrpc.CompletableFutures;
 import org.eclipse.lsp4jakarta.api.JakartaLanguageClientAPI;
+import org.eclipse.lsp4jakarta.api.JakartaLanguageServerAPI;
 import org.eclipse.lsp4jakarta.commons.JakartaClasspathParams;
+import org.eclipse.lsp4jakarta.commons.JakartaCollectorMetrics;
 import org.eclipse.lsp4jakarta.commons.JakartaDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaDependentsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionParams;
+import org.eclipse.lsp4jakarta.commons.JakartaMetricsParams;
+import org.eclipse.lsp4jakarta.commons.JakartaPartialDiagnosticsParams;
+import org.eclipse.lsp4jakarta.commons.JakartaPublishDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextKind;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 import org.eclipse.lsp4jakarta.jdt.core.JDTServicesManager;
@@ -42,25 +50,71 @@ public class JakartaLanguageClient extends LanguageClientImpl implements Jakarta
         // do nothing
     }
 
+    /**
+     * Returns a progress monitor which is cancelled once the request is
+     * cancelled. The collectors poll it to stop early, so it reports the
+     * cancellation rather than throwing it.
+     */
     private IProgressMonitor getProgressMonitor(CancelChecker cancelChecker) {
         IProgressMonitor monitor = new NullProgressMonitor() {
             public boolean isCanceled() {
-                cancelChecker.checkCanceled();
-                return false;
+                if (!super.isCanceled()) {
+                    try {
+                        cancelChecker.checkCanceled();
+                    } catch (CancellationException e) {
+                        setCanceled(true);
+                    }
+                }
+                return super.isCanceled();
             };
         };
         return monitor;
     }
 
     @Override
-    public CompletableFuture<List<PublishDiagnosticsParams>> getJavaDiagnostics(
+    public CompletableFuture<List<JakartaPublishDiagnosticsParams>> getJavaDiagnostics(
             JakartaDiagnosticsParams jakartaParams) {
         return CompletableFutures.computeAsync((cancelChecker) -> {
             IProgressMonitor monitor = getProgressMonitor(cancelChecker);
 
-            List<PublishDiagnosticsParams> publishDiagnostics = new ArrayList<PublishDiagnosticsParams>();
-            publishDiagnostics = JDTServicesManager.getInstance().getJavaDiagnostics(jakartaParams.getUris(), monitor);
-            return publishDiagnostics;
+            // stream the diagnostics of each file when the server asks for it
+            Consumer<PublishDiagnosticsParams> partialResults = null;
+            String token = jakartaParams.getPartialResultToken();
+            if (token != null && getLanguageServer() instanceof JakartaLanguageServerAPI) {
+                JakartaLanguageServerAPI server = (JakartaLanguageServerAPI) getLanguageServer();
+                partialResults = diagnostics -> server
+                        .partialJavaDiagnostics(new JakartaPartialDiagnosticsParams(token, diagnostics));
+            }
+            List<PublishDiagnosticsParams> publishDiagnostics = JDTServicesManager.getInstance().getJavaDiagnostics(
+                    jakartaParams.getUris(), monitor, partialResults, jakartaParams.getTimeBudget());
+            // the partial diagnostics are already marked as such
+            List<JakartaPublishDiagnosticsParams> result = new ArrayList<JakartaPublishDiagnosticsParams>();
+            for (PublishDiagnosticsParams params : publishDiagnostics) {
+                result.add(params instanceof JakartaPublishDiagnosticsParams ? (JakartaPublishDiagnosticsParams) params
+                        : new JakartaPublishDiagnosticsParams(params.getUri(), params.getDiagnostics()));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getJavaDependents(JakartaJavaDependentsParams params) {
+        return CompletableFutures.computeAsync((cancelChecker) -> {
+            return JDTServicesManager.getInstance().getJavaDependents(params.getUri(), params.getUris());
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getJavaFingerprints(JakartaDiagnosticsParams params) {
+        return CompletableFutures.computeAsync((cancelChecker) -> {
+            return JDTServicesManager.getInstance().getJavaFingerprints(params.getUris());
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<JakartaCollectorMetrics>> getJavaMetrics(JakartaMetricsParams params) {
+        return CompletableFutures.computeAsync((cancelChecker) -> {
+            return JDTServicesManager.getInstance().getJavaMetrics(params.isReset());
         });
     }
 
@@ -98,4 +152,13 @@ public class JakartaLanguageClient extends LanguageClientImpl implements Jakarta
         });
     }
 
+    @Override
+    public CompletableFuture<CodeAction> resolveCodeAction(CodeAction unresolved) {
+        JDTUtils utils = new JDTUtils();
+        return CompletableFutures.computeAsync((cancelChecker) -> {
+            IProgressMonitor monitor = getProgressMonitor(cancelChecker);
+            return JDTServicesManager.getInstance().resolveCodeAction(unresolved, utils, monitor);
+        });
+    }
+
 }
@@ -0,0 +1,107 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.commons;
+
+import org.eclipse.lsp4j.Range;
+
+/**
+ * The data of a code action whose edit is computed when the client resolves
+ * it, with <code>codeAction/resolve</code>. The diagnostic of the code action
+ * is sent back by the client in the code action itself.
+ */
+public class JakartaCodeActionResolveData {
+
+    private String uri;
+
+    private Range range;
+
+    private String participant;
+
+    private int index;
+
+    private boolean resourceOperationSupported;
+
+    public JakartaCodeActionResolveData() {
+
+    }
+
+    public JakartaCodeActionResolveData(String uri, Range range, String participant, int index,
+            boolean resourceOperationSupported) {
+        setUri(uri);
+        setRange(range);
+        setParticipant(participant);
+        setIndex(index);
+        setResourceOperationSupported(resourceOperationSupported);
+    }
+
+    /**
+     * Returns the URI of the java file.
+     *
+     * @return the URI of the java file.
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    /**
+     * Returns the range of the code action request.
+     *
+     * @return the range of the code action request.
+     */
+    public Range getRange() {
+        return range;
+    }
+
+    public void setRange(Range range) {
+        this.range = range;
+    }
+
+    /**
+     * Returns the class name of the quick fix which created the code action.
+     *
+     * @return the class name of the quick fix.
+     */
+    public String getParticipant() {
+        return participant;
+    }
+
+    public void setParticipant(String participant) {
+        this.participant = participant;
+    }
+
+    /**
+     * Returns the index of the code action in the code actions of its quick fix
+     * for the diagnostic.
+     *
+     * @return the index of the code action.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isResourceOperationSupported() {
+        return resourceOperationSupported;
+    }
+
+    public void setResourceOperationSupported(boolean resourceOperationSupported) {
+        this.resourceOperationSupported = resourceOperationSupported;
+    }
+}
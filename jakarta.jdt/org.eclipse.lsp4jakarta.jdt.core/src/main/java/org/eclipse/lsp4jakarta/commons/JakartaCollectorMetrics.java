@@ -0,0 +1,210 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.commons;
+
+import java.util.List;
+
+/**
+ * The metrics of a diagnostics collector, aggregated over the validated
+ * compilation units since the metrics were last reset.
+ *
+ * <p>
+ * The {@link #DIAGNOSTICS_CACHE} entry reports the hits and misses of the
+ * diagnostics cache instead of the metrics of a collector.
+ * </p>
+ */
+public class JakartaCollectorMetrics {
+
+    /**
+     * The upper bounds in milliseconds of the buckets of
+     * {@link #getTimeHistogram()}. The last bucket has no upper bound.
+     */
+    public static final long[] TIME_BUCKETS = { 1, 5, 10, 50, 100, 500, 1000 };
+
+    /**
+     * The name of the entry of the diagnostics cache.
+     */
+    public static final String DIAGNOSTICS_CACHE = "DiagnosticsCache";
+
+    private String collector;
+
+    private long units;
+
+    private long invocations;
+
+    private long types;
+
+    private long members;
+
+    private long diagnostics;
+
+    private long exceptions;
+
+    private long time;
+
+    private List<Long> timeHistogram;
+
+    private long cacheHits;
+
+    private long cacheMisses;
+
+    public JakartaCollectorMetrics() {
+
+    }
+
+    /**
+     * Returns the simple class name of the collector.
+     *
+     * @return the simple class name of the collector.
+     */
+    public String getCollector() {
+        return collector;
+    }
+
+    public void setCollector(String collector) {
+        this.collector = collector;
+    }
+
+    /**
+     * Returns the number of compilation units the collector validated.
+     *
+     * @return the number of validated compilation units.
+     */
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    /**
+     * Returns the number of times the collector was called back.
+     *
+     * @return the number of calls.
+     */
+    public long getInvocations() {
+        return invocations;
+    }
+
+    public void setInvocations(long invocations) {
+        this.invocations = invocations;
+    }
+
+    /**
+     * Returns the number of types the collector visited.
+     *
+     * @return the number of visited types.
+     */
+    public long getTypes() {
+        return types;
+    }
+
+    public void setTypes(long types) {
+        this.types = types;
+    }
+
+    /**
+     * Returns the number of fields and methods the collector visited.
+     *
+     * @return the number of visited members.
+     */
+    public long getMembers() {
+        return members;
+    }
+
+    public void setMembers(long members) {
+        this.members = members;
+    }
+
+    /**
+     * Returns the number of diagnostics the collector reported.
+     *
+     * @return the number of reported diagnostics.
+     */
+    public long getDiagnostics() {
+        return diagnostics;
+    }
+
+    public void setDiagnostics(long diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    /**
+     * Returns the number of exceptions thrown by the collector.
+     *
+     * @return the number of exceptions.
+     */
+    public long getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(long exceptions) {
+        this.exceptions = exceptions;
+    }
+
+    /**
+     * Returns the total wall time spent in the collector, in microseconds.
+     *
+     * @return the total time in microseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public void setTime(long time) {
+        this.time = time;
+    }
+
+    /**
+     * Returns the number of compilation units per time spent in the collector to
+     * validate one unit, in the buckets of {@link #TIME_BUCKETS}.
+     *
+     * @return the time histogram.
+     */
+    public List<Long> getTimeHistogram() {
+        return timeHistogram;
+    }
+
+    public void setTimeHistogram(List<Long> timeHistogram) {
+        this.timeHistogram = timeHistogram;
+    }
+
+    /**
+     * Returns the number of lookups of the diagnostics cache which found up to
+     * date diagnostics, for the {@link #DIAGNOSTICS_CACHE} entry.
+     *
+     * @return the number of cache hits.
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public void setCacheHits(long cacheHits) {
+        this.cacheHits = cacheHits;
+    }
+
+    /**
+     * Returns the number of lookups of the diagnostics cache which did not find
+     * up to date diagnostics, for the {@link #DIAGNOSTICS_CACHE} entry.
+     *
+     * @return the number of cache misses.
+     */
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public void setCacheMisses(long cacheMisses) {
+        this.cacheMisses = cacheMisses;
+    }
+}
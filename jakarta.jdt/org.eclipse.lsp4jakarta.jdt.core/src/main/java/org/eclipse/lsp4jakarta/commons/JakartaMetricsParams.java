@@ -0,0 +1,48 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.commons;
+
+/**
+ * Parameters of the request for the metrics of the diagnostics collectors.
+ */
+public class JakartaMetricsParams {
+
+    private boolean reset;
+
+    public JakartaMetricsParams() {
+
+    }
+
+    public JakartaMetricsParams(boolean reset) {
+        setReset(reset);
+    }
+
+    /**
+     * Returns true if the metrics must be reset once they are returned.
+     *
+     * @return true if the metrics must be reset.
+     */
+    public boolean isReset() {
+        return reset;
+    }
+
+    /**
+     * Set whether the metrics must be reset once they are returned, e.g. to
+     * measure the validations of a given scenario.
+     *
+     * @param reset true if the metrics must be reset.
+     */
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.commons;
+
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+
+/**
+ * Parameters of the notification sending the diagnostics of one file of a
+ * running diagnostics request, as soon as they are computed.
+ */
+public class JakartaPartialDiagnosticsParams {
+
+    private String token;
+
+    private PublishDiagnosticsParams diagnostics;
+
+    public JakartaPartialDiagnosticsParams() {
+
+    }
+
+    public JakartaPartialDiagnosticsParams(String token, PublishDiagnosticsParams diagnostics) {
+        setToken(token);
+        setDiagnostics(diagnostics);
+    }
+
+    /**
+     * Returns the partial result token of the diagnostics request.
+     *
+     * @return the partial result token of the diagnostics request.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Set the partial result token of the diagnostics request.
+     *
+     * @param token the partial result token of the diagnostics request.
+     */
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Returns the diagnostics of the file.
+     *
+     * @return the diagnostics of the file.
+     */
+    public PublishDiagnosticsParams getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Set the diagnostics of the file.
+     *
+     * @param diagnostics the diagnostics of the file.
+     */
+    public void setDiagnostics(PublishDiagnosticsParams diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.commons;
+
+import java.util.List;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+
+/**
+ * The diagnostics of a file returned by a diagnostics request, which may be
+ * partial when the time budget of the request ran out (see
+ * {@link JakartaDiagnosticsParams#getTimeBudget()}).
+ */
+public class JakartaPublishDiagnosticsParams extends PublishDiagnosticsParams {
+
+    // null when the diagnostics are complete, so that it is not serialized
+    private Boolean partial;
+
+    public JakartaPublishDiagnosticsParams() {
+
+    }
+
+    public JakartaPublishDiagnosticsParams(String uri, List<Diagnostic> diagnostics) {
+        super(uri, diagnostics);
+    }
+
+    /**
+     * Returns true if the validation of the file stopped before its end, and
+     * false otherwise.
+     *
+     * @return true if the diagnostics are partial.
+     */
+    public boolean isPartial() {
+        return Boolean.TRUE.equals(partial);
+    }
+
+    /**
+     * Set whether the validation of the file stopped before its end.
+     *
+     * @param partial true if the diagnostics are partial.
+     */
+    public void setPartial(boolean partial) {
+        this.partial = partial ? Boolean.TRUE : null;
+    }
+}
@@ -0,0 +1,234 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.codeAction;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.lsp4j.CodeAction;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
+
+/**
+ * Cache of the code actions computed for a range of a compilation unit.
+ *
+ * <p>
+ * The editors request the code actions again for the same range and
+ * diagnostics each time the cursor moves inside a line. An entry is stored per
+ * request, i.e. per uri, range, requested kinds and codes and ranges of the
+ * diagnostics, along with the modification stamp of the unit the code actions
+ * were computed from. When a lookup or a store gives another stamp for a uri,
+ * the unit changed and all the entries of the uri are evicted. Entries are
+ * also evicted in least recently used order once there are more than
+ * {@link #MAX_ENTRIES_PROPERTY} of them.
+ * </p>
+ */
+public class CodeActionCache {
+
+    /**
+     * System property giving the maximum number of cached requests. A value of 0
+     * disables the cache.
+     */
+    public static final String MAX_ENTRIES_PROPERTY = "lsp4jakarta.codeActions.cache.maxEntries";
+
+    private static final int DEFAULT_MAX_ENTRIES = 64;
+
+    /**
+     * The parts of a code action request which the code actions depend on.
+     */
+    private static class Key {
+
+        private final String uri;
+
+        private final Range range;
+
+        private final List<String> only;
+
+        private final boolean resolveSupported;
+
+        private final boolean resourceOperationSupported;
+
+        // the codes and ranges of the diagnostics, in order
+        private final List<Object> diagnostics;
+
+        private final int hashCode;
+
+        private Key(JakartaJavaCodeActionParams params) {
+            this.uri = params.getUri();
+            this.range = params.getRange();
+            this.only = params.getContext().getOnly();
+            this.resolveSupported = params.isResolveSupported();
+            this.resourceOperationSupported = params.isResourceOperationSupported();
+            this.diagnostics = new ArrayList<>();
+            for (Diagnostic diagnostic : params.getContext().getDiagnostics()) {
+                Either<String, Integer> code = diagnostic.getCode();
+                diagnostics.add(code != null ? code.get() : null);
+                diagnostics.add(diagnostic.getRange());
+            }
+            this.hashCode = Objects.hash(uri, range, only, resolveSupported, resourceOperationSupported, diagnostics);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode && uri.equals(other.uri) && Objects.equals(range, other.range)
+                    && Objects.equals(only, other.only) && resolveSupported == other.resolveSupported
+                    && resourceOperationSupported == other.resourceOperationSupported
+                    && diagnostics.equals(other.diagnostics);
+        }
+    }
+
+    private static class Entry {
+
+        private final long stamp;
+
+        private final List<CodeAction> codeActions;
+
+        private Entry(long stamp, List<CodeAction> codeActions) {
+            this.stamp = stamp;
+            this.codeActions = codeActions;
+        }
+    }
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int maxEntries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    public CodeActionCache() {
+        this(Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+    }
+
+    public CodeActionCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the code actions cached for the given request if they were computed
+     * from the given modification stamp of the unit and null otherwise.
+     *
+     * @param params the code action request
+     * @param stamp  the current modification stamp of the unit
+     * @return a copy of the cached code actions or null
+     */
+    public synchronized List<CodeAction> get(JakartaJavaCodeActionParams params, long stamp) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        Key key = new Key(params);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.stamp == stamp) {
+            hitCount.incrementAndGet();
+            return new ArrayList<>(entry.codeActions);
+        }
+        if (entry != null) {
+            evict(key.uri, stamp);
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the code actions computed for the given request from the given
+     * modification stamp of the unit. The code actions must not be modified
+     * afterwards.
+     *
+     * @param params      the code action request
+     * @param stamp       the modification stamp the code actions were computed
+     *                    from
+     * @param codeActions the code actions
+     */
+    public synchronized void put(JakartaJavaCodeActionParams params, long stamp, List<CodeAction> codeActions) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        Key key = new Key(params);
+        evict(key.uri, stamp);
+        entries.put(key, new Entry(stamp, new ArrayList<>(codeActions)));
+        Iterator<Key> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes the code actions cached for the given uri.
+     *
+     * @param uri the uri of the compilation unit
+     */
+    public synchronized void remove(String uri) {
+        entries.keySet().removeIf(key -> key.uri.equals(uri));
+    }
+
+    /**
+     * Removes all the cached code actions.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of lookups which found up to date code actions.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups which did not find up to date code actions.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the number of cached entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // the entries of the uri which were computed from another stamp are stale
+    private void evict(String uri, long stamp) {
+        entries.entrySet().removeIf(e -> e.getKey().uri.equals(uri) && e.getValue().stamp != stamp);
+    }
+}
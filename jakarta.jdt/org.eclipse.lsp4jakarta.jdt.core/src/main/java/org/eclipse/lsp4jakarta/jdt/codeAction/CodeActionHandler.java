@@ -26,53 +26,28 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.lsp4j.CodeAction;
+import org.eclipse.lsp4j.CodeActionContext;
+import org.eclipse.lsp4j.CodeActionKind;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.WorkspaceEdit;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.eclipse.lsp4jakarta.commons.JakartaCodeActionResolveData;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
-import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.quickfix.RemoveAbstractModifierQuickFix;
-import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.quickfix.RemoveFinalModifierQuickFix;
-import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.quickfix.RemoveInjectAnnotationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.quickfix.RemoveMethodParametersQuickFix;
-import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.quickfix.RemoveStaticModifierQuickFix;
+import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.ChangeCorrectionProposal;
+import org.eclipse.lsp4jakarta.jdt.core.ChangeUtil;
+import org.eclipse.lsp4jakarta.jdt.core.JDTServicesManager;
 import org.eclipse.lsp4jakarta.jdt.core.JDTUtils;
-import org.eclipse.lsp4jakarta.jdt.core.JsonRpcHelpers;
-import org.eclipse.lsp4jakarta.jdt.core.beanvalidation.BeanValidationConstants;
-import org.eclipse.lsp4jakarta.jdt.core.beanvalidation.BeanValidationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.persistence.PersistenceAnnotationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.persistence.PersistenceConstants;
-import org.eclipse.lsp4jakarta.jdt.core.persistence.PersistenceEntityQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.jax_rs.Jax_RSConstants;
-import org.eclipse.lsp4jakarta.jdt.core.jax_rs.NoResourcePublicConstructorQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.jax_rs.NonPublicResourceMethodQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.jax_rs.ResourceMethodMultipleEntityParamsQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.jsonb.JsonbAnnotationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.jsonb.JsonbTransientAnnotationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.jsonb.JsonbConstants;
-import org.eclipse.lsp4jakarta.jdt.core.cdi.ConflictProducesInjectQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.cdi.ManagedBeanConstants;
-import org.eclipse.lsp4jakarta.jdt.core.cdi.ManagedBeanConstructorQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.cdi.ManagedBeanNoArgConstructorQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.cdi.ManagedBeanQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.cdi.RemoveInvalidInjectParamAnnotationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.cdi.RemoveProduceAnnotationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.cdi.ScopeDeclarationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.di.DependencyInjectionConstants;
-import org.eclipse.lsp4jakarta.jdt.core.servlet.CompleteFilterAnnotationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.servlet.CompleteServletAnnotationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.servlet.FilterImplementationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.servlet.HttpServletQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.servlet.ListenerImplementationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.servlet.ServletConstants;
-import org.eclipse.lsp4jakarta.jdt.core.persistence.DeleteConflictMapKeyQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.annotations.AddResourceMissingNameQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.annotations.AddResourceMissingTypeQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.annotations.AnnotationConstants;
-import org.eclipse.lsp4jakarta.jdt.core.annotations.PostConstructReturnTypeQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.annotations.RemovePreDestroyAnnotationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.annotations.RemovePostConstructAnnotationQuickFix;
-import org.eclipse.lsp4jakarta.jdt.core.websocket.WebSocketConstants;
-import org.eclipse.lsp4jakarta.jdt.core.websocket.AddPathParamQuickFix;
 import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.JavaElementChangeTracker;
+import org.eclipse.lsp4jakarta.jdt.core.JsonRpcHelpers;
+import org.eclipse.lsp4jakarta.jdt.core.Messages;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 
 /**
  * Code action handler. Partially reused from
@@ -85,6 +60,8 @@ import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
  */
 public class CodeActionHandler {
 
+    private final CodeActionCache cache = new CodeActionCache();
+
     public List<CodeAction> codeAction(JakartaJavaCodeActionParams params, JDTUtils utils, IProgressMonitor monitor) {
         String uri = params.getUri();
         ICompilationUnit unit = utils.resolveCompilationUnit(uri);
@@ -92,181 +69,265 @@ public class CodeActionHandler {
             return Collections.emptyList();
         }
         try {
-            Range range = params.getRange();
-            int startOffset = toOffset(unit.getBuffer(), range.getStart().getLine(), range.getStart().getCharacter());
-            int endOffset = toOffset(unit.getBuffer(), range.getEnd().getLine(), range.getEnd().getCharacter());
-            JavaCodeActionContext context = new JavaCodeActionContext(unit, startOffset, endOffset - startOffset, utils,
-                    params);
-            context.setASTRoot(getASTRoot(unit, monitor));
+            // the stamp only changes once the changes of the buffer are reconciled,
+            // including the changes of method bodies
+            JavaElementChangeTracker tracker = JavaElementChangeTracker.getInstance();
+            long stamp = tracker.getSourceStamp(unit);
+            boolean cacheable = unit.isConsistent();
+            if (cacheable) {
+                List<CodeAction> cached = cache.get(params, stamp);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            List<CodeAction> codeActions = computeCodeActions(unit, params, utils, monitor);
+            if (cacheable && !monitor.isCanceled() && stamp == tracker.getSourceStamp(unit)
+                    && unit.isConsistent()) {
+                cache.put(params, stamp, codeActions);
+            }
+            return codeActions;
+        } catch (JavaModelException e) {
+            JakartaCorePlugin.logException("Failed to retrieve Jakarta code action", e);
+        }
+        return null;
+    }
 
-            List<CodeAction> codeActions = new ArrayList<>();
+    /**
+     * Returns the cache of the code actions.
+     *
+     * @return the cache of the code actions
+     */
+    public CodeActionCache getCache() {
+        return cache;
+    }
 
-            HttpServletQuickFix HttpServletQuickFix = new HttpServletQuickFix();
-            FilterImplementationQuickFix FilterImplementationQuickFix = new FilterImplementationQuickFix();
-            ListenerImplementationQuickFix ListenerImplementationQuickFix = new ListenerImplementationQuickFix();
-            CompleteServletAnnotationQuickFix CompleteServletAnnotationQuickFix = new CompleteServletAnnotationQuickFix();
-            CompleteFilterAnnotationQuickFix CompleteFilterAnnotationQuickFix = new CompleteFilterAnnotationQuickFix();
-            PersistenceAnnotationQuickFix PersistenceAnnotationQuickFix = new PersistenceAnnotationQuickFix();
-            DeleteConflictMapKeyQuickFix DeleteConflictMapKeyQuickFix = new DeleteConflictMapKeyQuickFix();
-            NonPublicResourceMethodQuickFix NonPublicResourceMethodQuickFix = new NonPublicResourceMethodQuickFix();
-            ResourceMethodMultipleEntityParamsQuickFix ResourceMethodMultipleEntityParamsQuickFix = new ResourceMethodMultipleEntityParamsQuickFix();
-            NoResourcePublicConstructorQuickFix NoResourcePublicConstructorQuickFix = new NoResourcePublicConstructorQuickFix();
-            ManagedBeanQuickFix ManagedBeanQuickFix = new ManagedBeanQuickFix();
-            PersistenceEntityQuickFix PersistenceEntityQuickFix = new PersistenceEntityQuickFix();
-            ConflictProducesInjectQuickFix ConflictProducesInjectQuickFix = new ConflictProducesInjectQuickFix();
-            BeanValidationQuickFix BeanValidationQuickFix = new BeanValidationQuickFix();
-            ManagedBeanConstructorQuickFix ManagedBeanConstructorQuickFix = new ManagedBeanConstructorQuickFix();
-            ManagedBeanNoArgConstructorQuickFix ManagedBeanNoArgConstructorQuickFix = new ManagedBeanNoArgConstructorQuickFix();
-            JsonbAnnotationQuickFix JsonbAnnotationQuickFix = new JsonbAnnotationQuickFix();
-            JsonbTransientAnnotationQuickFix JsonbTransientAnnotationQuickFix = new JsonbTransientAnnotationQuickFix();
-            ScopeDeclarationQuickFix ScopeDeclarationQuickFix = new ScopeDeclarationQuickFix();
-            RemovePreDestroyAnnotationQuickFix RemovePreDestroyAnnotationQuickFix=new RemovePreDestroyAnnotationQuickFix();
-            RemovePostConstructAnnotationQuickFix RemovePostConstructAnnotationQuickFix=new RemovePostConstructAnnotationQuickFix();
-            PostConstructReturnTypeQuickFix PostConstructReturnTypeQuickFix = new PostConstructReturnTypeQuickFix();
-            RemoveFinalModifierQuickFix RemoveFinalModifierQuickFix = new RemoveFinalModifierQuickFix();
-            RemoveStaticModifierQuickFix RemoveStaticModifierQuickFix = new RemoveStaticModifierQuickFix();
-            RemoveMethodParametersQuickFix RemoveMethodParametersQuickFix =new RemoveMethodParametersQuickFix();
-            AddResourceMissingNameQuickFix AddResourceMissingNameQuickFix=new AddResourceMissingNameQuickFix();
-            AddResourceMissingTypeQuickFix AddResourceMissingTypeQuickFix=new AddResourceMissingTypeQuickFix();
-            RemoveAbstractModifierQuickFix RemoveAbstractModifierQuickFix = new RemoveAbstractModifierQuickFix();
-            RemoveInjectAnnotationQuickFix RemoveInjectAnnotationQuickFix = new RemoveInjectAnnotationQuickFix();
-            RemoveProduceAnnotationQuickFix RemoveProduceAnnotationQuickFix = new RemoveProduceAnnotationQuickFix();
-            RemoveInvalidInjectParamAnnotationQuickFix RemoveInvalidInjectParamAnnotationQuickFix = new RemoveInvalidInjectParamAnnotationQuickFix();
-            AddPathParamQuickFix AddPathParamQuickFix = new AddPathParamQuickFix();
-            
-            for (Diagnostic diagnostic : params.getContext().getDiagnostics()) {
-                try {
-                    if (diagnostic.getCode().getLeft().equals(ServletConstants.DIAGNOSTIC_CODE)) {
-                        codeActions.addAll(HttpServletQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(ServletConstants.DIAGNOSTIC_CODE_FILTER)) {
-                        codeActions.addAll(FilterImplementationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(ServletConstants.DIAGNOSTIC_CODE_LISTENER)) {
-                        codeActions.addAll(ListenerImplementationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(AnnotationConstants.DIAGNOSTIC_CODE_MISSING_RESOURCE_NAME_ATTRIBUTE)) {
-                        codeActions.addAll(AddResourceMissingNameQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(AnnotationConstants.DIAGNOSTIC_CODE_MISSING_RESOURCE_TYPE_ATTRIBUTE)) {
-                        codeActions.addAll(AddResourceMissingTypeQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_RETURN_TYPE)) {
-                        codeActions.addAll(PostConstructReturnTypeQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(ServletConstants.DIAGNOSTIC_CODE_MISSING_ATTRIBUTE)
-                            || diagnostic.getCode().getLeft()
-                                    .equals(ServletConstants.DIAGNOSTIC_CODE_DUPLICATE_ATTRIBUTES)) {
-                        codeActions
-                                .addAll(CompleteServletAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(ServletConstants.DIAGNOSTIC_CODE_FILTER_MISSING_ATTRIBUTE)
-                            || diagnostic.getCode().getLeft()
-                                    .equals(ServletConstants.DIAGNOSTIC_CODE_FILTER_DUPLICATE_ATTRIBUTES)) {
-                        codeActions
-                                .addAll(CompleteFilterAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(Jax_RSConstants.DIAGNOSTIC_CODE_NON_PUBLIC)) {
-                        codeActions
-                                .addAll(NonPublicResourceMethodQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(Jax_RSConstants.DIAGNOSTIC_CODE_MULTIPLE_ENTITY_PARAMS)) {
-                        codeActions.addAll(ResourceMethodMultipleEntityParamsQuickFix.getCodeActions(context,
-                                diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(Jax_RSConstants.DIAGNOSTIC_CODE_NO_PUBLIC_CONSTRUCTORS)) {
-                        codeActions.addAll(NoResourcePublicConstructorQuickFix.getCodeActions(context,
-                                diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft()
-                            .equals(PersistenceConstants.DIAGNOSTIC_CODE_MISSING_ATTRIBUTES)) {
-                        codeActions.addAll(PersistenceAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft()
-                            .equals(PersistenceConstants.DIAGNOSTIC_CODE_INVALID_ANNOTATION)) {
-                        codeActions.addAll(DeleteConflictMapKeyQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(PersistenceConstants.DIAGNOSTIC_CODE_MISSING_EMPTY_CONSTRUCTOR)) {
-                        codeActions.addAll(PersistenceEntityQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(PersistenceConstants.DIAGNOSTIC_CODE_FINAL_METHODS) 
-                            || diagnostic.getCode().getLeft().equals(PersistenceConstants.DIAGNOSTIC_CODE_FINAL_VARIABLES) 
-                            || diagnostic.getCode().getLeft().equals(PersistenceConstants.DIAGNOSTIC_CODE_FINAL_CLASS)) {
-                        codeActions.addAll(RemoveFinalModifierQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(ManagedBeanConstants.DIAGNOSTIC_CODE)) {
-                        codeActions.addAll(ManagedBeanQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(ManagedBeanConstants.DIAGNOSTIC_CODE_PRODUCES_INJECT)) {
-                        codeActions.addAll(ConflictProducesInjectQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(ManagedBeanConstants.DIAGNOSTIC_CODE_INVALID_INJECT_PARAM)) {
-                        codeActions.addAll(RemoveInjectAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                        codeActions.addAll(RemoveInvalidInjectParamAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(ManagedBeanConstants.DIAGNOSTIC_CODE_INVALID_PRODUCES_PARAM)) {
-                        codeActions.addAll(RemoveProduceAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                        codeActions.addAll(RemoveInvalidInjectParamAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(BeanValidationConstants.DIAGNOSTIC_CODE_STATIC)
-                            || diagnostic.getCode().getLeft()
-                                    .equals(BeanValidationConstants.DIAGNOSTIC_CODE_INVALID_TYPE)) {
-                        codeActions.addAll(BeanValidationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(ManagedBeanConstants.CONSTRUCTOR_DIAGNOSTIC_CODE)) {
-                        codeActions.addAll(ManagedBeanConstructorQuickFix.getCodeActions(context, diagnostic, monitor));
-                        codeActions.addAll(ManagedBeanNoArgConstructorQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(JsonbConstants.DIAGNOSTIC_CODE_ANNOTATION)) {
-                        codeActions.addAll(JsonbAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if (diagnostic.getCode().getLeft().equals(JsonbConstants.DIAGNOSTIC_CODE_ANNOTATION_TRANSIENT_FIELD)) {
-                        codeActions.addAll(JsonbTransientAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if(diagnostic.getCode().getLeft().equals(ManagedBeanConstants.DIAGNOSTIC_CODE_SCOPEDECL)) {
-                        codeActions.addAll(ScopeDeclarationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if(diagnostic.getCode().getLeft().equals(DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_FINAL)) {
-                        codeActions.addAll(RemoveInjectAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                        codeActions.addAll(RemoveFinalModifierQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if(diagnostic.getCode().getLeft().equals(DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_CONSTRUCTOR) ||
-                            diagnostic.getCode().getLeft().equals(DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_GENERIC)) {
-                        codeActions.addAll(RemoveInjectAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if(diagnostic.getCode().getLeft().equals(DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_ABSTRACT)) {
-                        codeActions.addAll(RemoveInjectAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                        codeActions.addAll(RemoveAbstractModifierQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if(diagnostic.getCode().getLeft().equals(DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_STATIC)) {
-                        codeActions.addAll(RemoveInjectAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                        codeActions.addAll(RemoveStaticModifierQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
+    private List<CodeAction> computeCodeActions(ICompilationUnit unit, JakartaJavaCodeActionParams params,
+            JDTUtils utils, IProgressMonitor monitor) throws JavaModelException {
+        String uri = params.getUri();
+        JavaCodeActionContext context = createContext(unit, params, utils, monitor);
+        if (monitor.isCanceled()) {
+            return Collections.emptyList();
+        }
 
-                    if(diagnostic.getCode().getLeft().equals(AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_PARAMS)) {
-                    	codeActions.addAll(RemovePostConstructAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    	codeActions.addAll(RemoveMethodParametersQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if(diagnostic.getCode().getLeft().equals(AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_STATIC)) {
-                    	codeActions.addAll(RemovePreDestroyAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    	codeActions.addAll(RemoveStaticModifierQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
-                    if(diagnostic.getCode().getLeft().equals(AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_PARAMS)) {
-                    	codeActions.addAll(RemovePreDestroyAnnotationQuickFix.getCodeActions(context, diagnostic, monitor));
-                    	codeActions.addAll(RemoveMethodParametersQuickFix.getCodeActions(context,diagnostic,monitor));	
-                    }
-                    if(diagnostic.getCode().getLeft().equals(WebSocketConstants.DIAGNOSTIC_CODE_PATH_PARAMS_ANNOT)) {
-                        codeActions.addAll(AddPathParamQuickFix.getCodeActions(context, diagnostic, monitor));
-                    }
+        List<CodeAction> codeActions = new ArrayList<>();
 
+        List<String> only = params.getContext().getOnly();
+        boolean quickFixRequested = FixAllHandler.isRequested(only, CodeActionKind.QuickFix);
+        boolean fixable = false;
+        CodeActionParticipantRegistry registry = CodeActionParticipantRegistry.getInstance();
+        for (Diagnostic diagnostic : params.getContext().getDiagnostics()) {
+            if (monitor.isCanceled()) {
+                // the request was cancelled, e.g. the cursor moved
+                return Collections.emptyList();
+            }
+            if (diagnostic.getCode() == null || !diagnostic.getCode().isLeft()) {
+                continue;
+            }
+            String code = diagnostic.getCode().getLeft();
+            List<IJavaCodeActionParticipant> participants = registry.getParticipants(code);
+            fixable |= !participants.isEmpty();
+            if (!quickFixRequested) {
+                continue;
+            }
+            for (IJavaCodeActionParticipant participant : participants) {
+                try {
+                    List<? extends CodeAction> participantCodeActions = participant.getCodeActions(context,
+                            diagnostic, monitor);
+                    if (participantCodeActions == null) {
+                        continue;
+                    }
+                    if (params.isResolveSupported()) {
+                        // the edits are computed when the client resolves the code actions
+                        for (int i = 0; i < participantCodeActions.size(); i++) {
+                            CodeAction codeAction = participantCodeActions.get(i);
+                            if (codeAction != null) {
+                                codeAction.setData(new JakartaCodeActionResolveData(uri, params.getRange(),
+                                        participant.getClass().getName(), i,
+                                        params.isResourceOperationSupported()));
+                            }
+                        }
+                    }
+                    codeActions.addAll(participantCodeActions);
                 } catch (CoreException e) {
-                    e.printStackTrace();
+                    JakartaCorePlugin.logException("Failed to compute the Jakarta code actions of "
+                            + participant.getClass().getSimpleName(), e);
                 }
             }
-            return codeActions;
+        }
+        addFixAllCodeActions(codeActions, params, fixable, utils, monitor);
+        return codeActions;
+    }
 
-        } catch (JavaModelException e) {
-            JakartaCorePlugin.logException("Failed to retrieve Jakarta code action", e);
+    /**
+     * Returns the given code action with the edit computed, when the client
+     * resolves the code action.
+     *
+     * <p>
+     * The quick fix which created the code action collects the proposals of its
+     * diagnostic again, without computing their edits, and only the edit of the
+     * proposal at the same index, or else with the same title, is computed and
+     * returned with the code action.
+     * </p>
+     *
+     * <p>
+     * The code actions are returned without checking that their quick fixes
+     * change something, as it would mean computing the edits. A code action
+     * whose edit is empty, or which cannot be found anymore, is dropped here
+     * instead, with an error response, so that the client does not apply an empty
+     * edit.
+     * </p>
+     *
+     * @param unresolved the code action whose edit is not computed
+     * @param utils      the jdt utils
+     * @param monitor    the progress monitor
+     * @return the code action with the edit computed
+     * @throws ResponseErrorException if the code action changes nothing or if it
+     *                                cannot be found anymore
+     */
+    public CodeAction resolveCodeAction(CodeAction unresolved, JDTUtils utils, IProgressMonitor monitor) {
+        JakartaCodeActionResolveData data = getResolveData(unresolved);
+        if (data != null && FixAllHandler.class.getName().equals(data.getParticipant())) {
+            return resolveFixAllCodeAction(unresolved, data, utils, monitor);
+        }
+        List<Diagnostic> diagnostics = unresolved.getDiagnostics();
+        if (data == null || diagnostics == null || diagnostics.isEmpty() || diagnostics.get(0).getCode() == null
+                || !diagnostics.get(0).getCode().isLeft()) {
+            return unresolved;
+        }
+        Diagnostic diagnostic = diagnostics.get(0);
+        IJavaCodeActionParticipant participant = CodeActionParticipantRegistry.getInstance()
+                .getParticipant(diagnostic.getCode().getLeft(), data.getParticipant());
+        ICompilationUnit unit = utils.resolveCompilationUnit(data.getUri());
+        if (participant == null || unit == null) {
+            return unresolved;
+        }
+        JakartaJavaCodeActionParams params = new JakartaJavaCodeActionParams(
+                new TextDocumentIdentifier(data.getUri()), data.getRange(), new CodeActionContext(diagnostics));
+        params.setResourceOperationSupported(data.isResourceOperationSupported());
+        try {
+            JavaCodeActionContext context = createContext(unit, params, utils, monitor);
+            if (monitor.isCanceled()) {
+                return unresolved;
+            }
+            // the edits of the other code actions of the participant are not computed
+            List<ChangeCorrectionProposal> proposals = new ArrayList<>();
+            context.setProposalCollector(proposals);
+            participant.getCodeActions(context, diagnostic, monitor);
+            ChangeCorrectionProposal proposal = data.getIndex() < proposals.size() ? proposals.get(data.getIndex())
+                    : null;
+            if (proposal == null || !proposal.getName().equals(unresolved.getTitle())) {
+                // the file changed since the code action was created
+                proposal = proposals.stream().filter(p -> p.getName().equals(unresolved.getTitle())).findFirst()
+                        .orElse(null);
+            }
+            if (proposal == null) {
+                throw new ResponseErrorException(new ResponseError(ResponseErrorCode.ContentModified,
+                        "The code action '" + unresolved.getTitle() + "' does not apply anymore", null));
+            }
+            WorkspaceEdit edit = ChangeUtil.convertToWorkspaceEdit(proposal.getChange(), data.getUri(), utils,
+                    data.isResourceOperationSupported());
+            if (!ChangeUtil.hasChanges(edit)) {
+                throw new ResponseErrorException(new ResponseError(ResponseErrorCode.RequestFailed,
+                        "The code action '" + unresolved.getTitle() + "' changes nothing", null));
+            }
+            unresolved.setEdit(edit);
+        } catch (CoreException e) {
+            JakartaCorePlugin.logException("Failed to resolve Jakarta code action", e);
+        }
+        return unresolved;
+    }
+
+    /**
+     * Adds the code actions which fix all the Jakarta problems of the file, and of
+     * the workspace, when they are requested.
+     *
+     * <p>
+     * They are offered with the quick fixes when the client resolves the code
+     * actions and a diagnostic of the request can be fixed, as their edits are
+     * only computed if they are picked. Otherwise, only the code action of the
+     * file is returned, with its edit, when it is explicitly requested, e.g. on
+     * save.
+     * </p>
+     */
+    private void addFixAllCodeActions(List<CodeAction> codeActions, JakartaJavaCodeActionParams params,
+            boolean fixable, JDTUtils utils, IProgressMonitor monitor) {
+        List<String> only = params.getContext().getOnly();
+        if (!FixAllHandler.isRequested(only, FixAllHandler.SOURCE_FIX_ALL_JAKARTA)) {
+            return;
+        }
+        boolean explicit = only != null && !only.isEmpty();
+        if (params.isResolveSupported()) {
+            if (explicit || fixable) {
+                codeActions.add(createFixAllCodeAction(Messages.getMessage("FixAllInFile"),
+                        FixAllHandler.FIX_ALL_IN_FILE, params));
+                codeActions.add(createFixAllCodeAction(Messages.getMessage("FixAllInWorkspace"),
+                        FixAllHandler.FIX_ALL_IN_WORKSPACE, params));
+            }
+        } else if (explicit) {
+            try {
+                WorkspaceEdit edit = JDTServicesManager.getInstance().getFixAll(params.getUri(), utils,
+                        params.isResourceOperationSupported(), monitor);
+                if (edit != null) {
+                    CodeAction codeAction = new CodeAction(Messages.getMessage("FixAllInFile"));
+                    codeAction.setKind(FixAllHandler.SOURCE_FIX_ALL_JAKARTA);
+                    codeAction.setEdit(edit);
+                    codeActions.add(codeAction);
+                }
+            } catch (CoreException e) {
+                JakartaCorePlugin.logException("Failed to fix all the Jakarta problems of " + params.getUri(), e);
+            }
+        }
+    }
+
+    private static CodeAction createFixAllCodeAction(String title, int scope, JakartaJavaCodeActionParams params) {
+        CodeAction codeAction = new CodeAction(title);
+        codeAction.setKind(FixAllHandler.SOURCE_FIX_ALL_JAKARTA);
+        codeAction.setData(new JakartaCodeActionResolveData(params.getUri(), params.getRange(),
+                FixAllHandler.class.getName(), scope, params.isResourceOperationSupported()));
+        return codeAction;
+    }
+
+    private static CodeAction resolveFixAllCodeAction(CodeAction unresolved, JakartaCodeActionResolveData data,
+            JDTUtils utils, IProgressMonitor monitor) {
+        try {
+            WorkspaceEdit edit = data.getIndex() == FixAllHandler.FIX_ALL_IN_WORKSPACE
+                    ? JDTServicesManager.getInstance().getFixAllInWorkspace(utils,
+                            data.isResourceOperationSupported(), monitor)
+                    : JDTServicesManager.getInstance().getFixAll(data.getUri(), utils,
+                            data.isResourceOperationSupported(), monitor);
+            if (edit == null) {
+                throw new ResponseErrorException(new ResponseError(ResponseErrorCode.RequestFailed,
+                        "There is no Jakarta problem to fix", null));
+            }
+            unresolved.setEdit(edit);
+        } catch (CoreException e) {
+            JakartaCorePlugin.logException("Failed to fix all the Jakarta problems", e);
+        }
+        return unresolved;
+    }
+
+    private JavaCodeActionContext createContext(ICompilationUnit unit, JakartaJavaCodeActionParams params,
+            JDTUtils utils, IProgressMonitor monitor) throws JavaModelException {
+        Range range = params.getRange();
+        int startOffset = toOffset(unit.getBuffer(), range.getStart().getLine(), range.getStart().getCharacter());
+        int endOffset = toOffset(unit.getBuffer(), range.getEnd().getLine(), range.getEnd().getCharacter());
+        JavaCodeActionContext context = new JavaCodeActionContext(unit, startOffset, endOffset - startOffset, utils,
+                params);
+        context.setASTRoot(getASTRoot(unit, monitor));
+        return context;
+    }
+
+    /**
+     * Returns the resolve data of the given code action. The data is a JSON
+     * object when the code action is deserialized with lsp4j.
+     */
+    private static JakartaCodeActionResolveData getResolveData(CodeAction codeAction) {
+        Object data = codeAction.getData();
+        if (data instanceof JakartaCodeActionResolveData) {
+            return (JakartaCodeActionResolveData) data;
+        }
+        if (data instanceof JsonObject) {
+            return new Gson().fromJson((JsonObject) data, JakartaCodeActionResolveData.class);
         }
         return null;
     }
@@ -0,0 +1,225 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.codeAction;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.quickfix.RemoveAbstractModifierQuickFix;
+import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.quickfix.RemoveFinalModifierQuickFix;
+import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.quickfix.RemoveInjectAnnotationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.quickfix.RemoveMethodParametersQuickFix;
+import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.quickfix.RemoveStaticModifierQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.annotations.AddResourceMissingNameQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.annotations.AddResourceMissingTypeQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.annotations.AnnotationConstants;
+import org.eclipse.lsp4jakarta.jdt.core.annotations.PostConstructReturnTypeQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.annotations.RemovePostConstructAnnotationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.annotations.RemovePreDestroyAnnotationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.beanvalidation.BeanValidationConstants;
+import org.eclipse.lsp4jakarta.jdt.core.beanvalidation.BeanValidationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.cdi.ConflictProducesInjectQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.cdi.ManagedBeanConstants;
+import org.eclipse.lsp4jakarta.jdt.core.cdi.ManagedBeanConstructorQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.cdi.ManagedBeanNoArgConstructorQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.cdi.ManagedBeanQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.cdi.RemoveInvalidInjectParamAnnotationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.cdi.RemoveProduceAnnotationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.cdi.ScopeDeclarationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.di.DependencyInjectionConstants;
+import org.eclipse.lsp4jakarta.jdt.core.jax_rs.Jax_RSConstants;
+import org.eclipse.lsp4jakarta.jdt.core.jax_rs.NoResourcePublicConstructorQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.jax_rs.NonPublicResourceMethodQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.jax_rs.ResourceMethodMultipleEntityParamsQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.jsonb.JsonbAnnotationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.jsonb.JsonbConstants;
+import org.eclipse.lsp4jakarta.jdt.core.jsonb.JsonbTransientAnnotationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.persistence.DeleteConflictMapKeyQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.persistence.PersistenceAnnotationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.persistence.PersistenceConstants;
+import org.eclipse.lsp4jakarta.jdt.core.persistence.PersistenceEntityQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.servlet.CompleteFilterAnnotationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.servlet.CompleteServletAnnotationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.servlet.FilterImplementationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.servlet.HttpServletQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.servlet.ListenerImplementationQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.servlet.ServletConstants;
+import org.eclipse.lsp4jakarta.jdt.core.websocket.AddPathParamQuickFix;
+import org.eclipse.lsp4jakarta.jdt.core.websocket.WebSocketConstants;
+
+/**
+ * The quick fixes of the diagnostics, by diagnostic code.
+ *
+ * <p>
+ * The quick fixes are stateless, so a single instance of each is created when
+ * the registry is created, and shared by all the code action requests. The
+ * participants of a diagnostic are then found with a single lookup, however
+ * many diagnostic codes are registered.
+ * </p>
+ *
+ * <p>
+ * A diagnostic without a code, or whose code is not registered, has no quick
+ * fix: it is skipped instead of being given to the participants one after the
+ * other, so the diagnostics of other language servers which are sent with the
+ * code action requests get no Jakarta code actions.
+ * </p>
+ */
+public class CodeActionParticipantRegistry {
+
+    private static final CodeActionParticipantRegistry INSTANCE = new CodeActionParticipantRegistry();
+
+    private final Map<String, List<IJavaCodeActionParticipant>> participants = new ConcurrentHashMap<>();
+
+    public static CodeActionParticipantRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    private CodeActionParticipantRegistry() {
+        registerServletQuickFixes();
+        registerAnnotationsQuickFixes();
+        registerJaxRsQuickFixes();
+        registerPersistenceQuickFixes();
+        registerCdiQuickFixes();
+        registerBeanValidationQuickFixes();
+        registerJsonbQuickFixes();
+        registerDependencyInjectionQuickFixes();
+        registerWebSocketQuickFixes();
+    }
+
+    /**
+     * Registers the given quick fix for the diagnostics with the given codes. The
+     * quick fixes of a code are called in the order of their registration.
+     *
+     * @param participant the quick fix
+     * @param codes       the diagnostic codes
+     */
+    public void register(IJavaCodeActionParticipant participant, String... codes) {
+        for (String code : codes) {
+            participants.computeIfAbsent(code, c -> new CopyOnWriteArrayList<>()).add(participant);
+        }
+    }
+
+    /**
+     * Returns the quick fixes of the diagnostics with the given code.
+     *
+     * @param code the diagnostic code, may be null
+     * @return the quick fixes, or an empty list if the code is null or not
+     *         registered
+     */
+    public List<IJavaCodeActionParticipant> getParticipants(String code) {
+        List<IJavaCodeActionParticipant> result = code != null ? participants.get(code) : null;
+        return result != null ? result : Collections.emptyList();
+    }
+
+    /**
+     * Returns the quick fix of the diagnostics with the given code which has the
+     * given class name.
+     *
+     * @param code      the diagnostic code
+     * @param className the class name of the quick fix
+     * @return the quick fix, or null if there is none
+     */
+    public IJavaCodeActionParticipant getParticipant(String code, String className) {
+        for (IJavaCodeActionParticipant participant : getParticipants(code)) {
+            if (participant.getClass().getName().equals(className)) {
+                return participant;
+            }
+        }
+        return null;
+    }
+
+    private void registerServletQuickFixes() {
+        register(new HttpServletQuickFix(), ServletConstants.DIAGNOSTIC_CODE);
+        register(new FilterImplementationQuickFix(), ServletConstants.DIAGNOSTIC_CODE_FILTER);
+        register(new ListenerImplementationQuickFix(), ServletConstants.DIAGNOSTIC_CODE_LISTENER);
+        register(new CompleteServletAnnotationQuickFix(), ServletConstants.DIAGNOSTIC_CODE_MISSING_ATTRIBUTE,
+                ServletConstants.DIAGNOSTIC_CODE_DUPLICATE_ATTRIBUTES);
+        register(new CompleteFilterAnnotationQuickFix(), ServletConstants.DIAGNOSTIC_CODE_FILTER_MISSING_ATTRIBUTE,
+                ServletConstants.DIAGNOSTIC_CODE_FILTER_DUPLICATE_ATTRIBUTES);
+    }
+
+    private void registerAnnotationsQuickFixes() {
+        register(new AddResourceMissingNameQuickFix(),
+                AnnotationConstants.DIAGNOSTIC_CODE_MISSING_RESOURCE_NAME_ATTRIBUTE);
+        register(new AddResourceMissingTypeQuickFix(),
+                AnnotationConstants.DIAGNOSTIC_CODE_MISSING_RESOURCE_TYPE_ATTRIBUTE);
+        register(new PostConstructReturnTypeQuickFix(), AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_RETURN_TYPE);
+        RemoveMethodParametersQuickFix removeMethodParameters = new RemoveMethodParametersQuickFix();
+        register(new RemovePostConstructAnnotationQuickFix(), AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_PARAMS);
+        register(removeMethodParameters, AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_PARAMS);
+        RemovePreDestroyAnnotationQuickFix removePreDestroy = new RemovePreDestroyAnnotationQuickFix();
+        register(removePreDestroy, AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_STATIC);
+        register(new RemoveStaticModifierQuickFix(), AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_STATIC);
+        register(removePreDestroy, AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_PARAMS);
+        register(removeMethodParameters, AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_PARAMS);
+    }
+
+    private void registerJaxRsQuickFixes() {
+        register(new NonPublicResourceMethodQuickFix(), Jax_RSConstants.DIAGNOSTIC_CODE_NON_PUBLIC);
+        register(new ResourceMethodMultipleEntityParamsQuickFix(),
+                Jax_RSConstants.DIAGNOSTIC_CODE_MULTIPLE_ENTITY_PARAMS);
+        register(new NoResourcePublicConstructorQuickFix(), Jax_RSConstants.DIAGNOSTIC_CODE_NO_PUBLIC_CONSTRUCTORS);
+    }
+
+    private void registerPersistenceQuickFixes() {
+        register(new PersistenceAnnotationQuickFix(), PersistenceConstants.DIAGNOSTIC_CODE_MISSING_ATTRIBUTES);
+        register(new DeleteConflictMapKeyQuickFix(), PersistenceConstants.DIAGNOSTIC_CODE_INVALID_ANNOTATION);
+        register(new PersistenceEntityQuickFix(), PersistenceConstants.DIAGNOSTIC_CODE_MISSING_EMPTY_CONSTRUCTOR);
+        register(new RemoveFinalModifierQuickFix(), PersistenceConstants.DIAGNOSTIC_CODE_FINAL_METHODS,
+                PersistenceConstants.DIAGNOSTIC_CODE_FINAL_VARIABLES, PersistenceConstants.DIAGNOSTIC_CODE_FINAL_CLASS);
+    }
+
+    private void registerCdiQuickFixes() {
+        register(new ManagedBeanQuickFix(), ManagedBeanConstants.DIAGNOSTIC_CODE);
+        register(new ConflictProducesInjectQuickFix(), ManagedBeanConstants.DIAGNOSTIC_CODE_PRODUCES_INJECT);
+        RemoveInvalidInjectParamAnnotationQuickFix removeInvalidInjectParam =
+                new RemoveInvalidInjectParamAnnotationQuickFix();
+        register(new RemoveInjectAnnotationQuickFix(), ManagedBeanConstants.DIAGNOSTIC_CODE_INVALID_INJECT_PARAM);
+        register(removeInvalidInjectParam, ManagedBeanConstants.DIAGNOSTIC_CODE_INVALID_INJECT_PARAM);
+        register(new RemoveProduceAnnotationQuickFix(), ManagedBeanConstants.DIAGNOSTIC_CODE_INVALID_PRODUCES_PARAM);
+        register(removeInvalidInjectParam, ManagedBeanConstants.DIAGNOSTIC_CODE_INVALID_PRODUCES_PARAM);
+        register(new ManagedBeanConstructorQuickFix(), ManagedBeanConstants.CONSTRUCTOR_DIAGNOSTIC_CODE);
+        register(new ManagedBeanNoArgConstructorQuickFix(), ManagedBeanConstants.CONSTRUCTOR_DIAGNOSTIC_CODE);
+        register(new ScopeDeclarationQuickFix(), ManagedBeanConstants.DIAGNOSTIC_CODE_SCOPEDECL);
+    }
+
+    private void registerBeanValidationQuickFixes() {
+        register(new BeanValidationQuickFix(), BeanValidationConstants.DIAGNOSTIC_CODE_STATIC,
+                BeanValidationConstants.DIAGNOSTIC_CODE_INVALID_TYPE);
+    }
+
+    private void registerJsonbQuickFixes() {
+        register(new JsonbAnnotationQuickFix(), JsonbConstants.DIAGNOSTIC_CODE_ANNOTATION);
+        register(new JsonbTransientAnnotationQuickFix(), JsonbConstants.DIAGNOSTIC_CODE_ANNOTATION_TRANSIENT_FIELD);
+    }
+
+    private void registerDependencyInjectionQuickFixes() {
+        RemoveInjectAnnotationQuickFix removeInject = new RemoveInjectAnnotationQuickFix();
+        register(removeInject, DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_FINAL);
+        register(new RemoveFinalModifierQuickFix(), DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_FINAL);
+        register(removeInject, DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_CONSTRUCTOR,
+                DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_GENERIC);
+        register(removeInject, DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_ABSTRACT);
+        register(new RemoveAbstractModifierQuickFix(), DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_ABSTRACT);
+        register(removeInject, DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_STATIC);
+        register(new RemoveStaticModifierQuickFix(), DependencyInjectionConstants.DIAGNOSTIC_CODE_INJECT_STATIC);
+    }
+
+    private void registerWebSocketQuickFixes() {
+        register(new AddPathParamQuickFix(), WebSocketConstants.DIAGNOSTIC_CODE_PATH_PARAMS_ANNOT);
+    }
+}
@@ -0,0 +1,258 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.codeAction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
+import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
+import org.eclipse.jdt.core.manipulation.CodeStyleConfiguration;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+import org.eclipse.lsp4j.CodeActionContext;
+import org.eclipse.lsp4j.CodeActionKind;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.WorkspaceEdit;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
+import org.eclipse.lsp4jakarta.jdt.codeAction.proposal.ChangeCorrectionProposal;
+import org.eclipse.lsp4jakarta.jdt.core.ASTUtils;
+import org.eclipse.lsp4jakarta.jdt.core.ChangeUtil;
+import org.eclipse.lsp4jakarta.jdt.core.JDTUtils;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.JsonRpcHelpers;
+import org.eclipse.lsp4jakarta.jdt.core.Messages;
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Fixes all the Jakarta problems of a unit with a single edit.
+ *
+ * <p>
+ * Only the diagnostics with a single quick fix are fixed. When a diagnostic
+ * can be fixed in several ways, e.g. by removing either an annotation or the
+ * parameters of a method, the user chooses the fix with the code actions of the
+ * diagnostic.
+ * </p>
+ *
+ * <p>
+ * The quick fix of each diagnostic records its changes in a rewrite of the AST
+ * of the unit of its own, and its imports in an import rewrite which is shared
+ * by all the diagnostics of the unit. The changes of the fix are then added to
+ * a single edit of the unit, unless they overlap the changes of a fix which was
+ * already added, e.g. when two diagnostics are fixed by changing the same
+ * declaration. Such a fix is skipped, without failing the other fixes of the
+ * unit, and its diagnostic is reported again once the edit is applied, if it
+ * still applies.
+ * </p>
+ */
+public class FixAllHandler {
+
+    /**
+     * The kind of the code actions which fix all the Jakarta problems.
+     */
+    public static final String SOURCE_FIX_ALL_JAKARTA = CodeActionKind.SourceFixAll + ".jakarta";
+
+    /**
+     * The scopes of the code actions, in their resolve data.
+     */
+    public static final int FIX_ALL_IN_FILE = 0;
+
+    public static final int FIX_ALL_IN_WORKSPACE = 1;
+
+    /**
+     * Returns true if the code actions of the given kind are requested by the
+     * given kinds, i.e. the kind is one of them or a sub kind of one of them.
+     *
+     * @param only the requested kinds, or null if all the kinds are requested
+     * @param kind the kind of the code actions
+     * @return true if the code actions of the given kind are requested
+     */
+    public static boolean isRequested(List<String> only, String kind) {
+        if (only == null || only.isEmpty()) {
+            return true;
+        }
+        for (String requested : only) {
+            if (kind.equals(requested) || kind.startsWith(requested + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the edit which fixes the given diagnostics of the given file.
+     *
+     * @param uri                        the URI of the java file
+     * @param diagnostics                the diagnostics of the file
+     * @param utils                      the jdt utils
+     * @param resourceOperationSupported true if the client supports the resource
+     *                                   operations
+     * @param monitor                    the progress monitor
+     * @return the edit, or null if none of the diagnostics can be fixed
+     * @throws CoreException
+     */
+    public WorkspaceEdit getFixAllEdit(String uri, List<Diagnostic> diagnostics, JDTUtils utils,
+            boolean resourceOperationSupported, IProgressMonitor monitor) throws CoreException {
+        ICompilationUnit unit = utils.resolveCompilationUnit(uri);
+        if (unit == null || diagnostics.isEmpty()) {
+            return null;
+        }
+        CompilationUnit root = ASTUtils.getASTRoot(unit, monitor);
+        if (root == null || monitor.isCanceled()) {
+            return null;
+        }
+        CompilationUnitChange change = createChange(uri, unit, root, diagnostics, utils, monitor);
+        if (change == null) {
+            return null;
+        }
+        WorkspaceEdit edit = ChangeUtil.convertToWorkspaceEdit(change, uri, utils, resourceOperationSupported);
+        return ChangeUtil.hasChanges(edit) ? edit : null;
+    }
+
+    /**
+     * Adds the changes of the given edit to the given target edit, e.g. to fix
+     * all the files of the workspace with a single edit.
+     *
+     * @param target the edit to add the changes to
+     * @param edit   the edit of a file
+     */
+    public static void merge(WorkspaceEdit target, WorkspaceEdit edit) {
+        if (edit.getDocumentChanges() != null) {
+            if (target.getDocumentChanges() == null) {
+                target.setDocumentChanges(new ArrayList<>());
+            }
+            target.getDocumentChanges().addAll(edit.getDocumentChanges());
+        }
+        if (edit.getChanges() != null && !edit.getChanges().isEmpty()) {
+            target.getChanges().putAll(edit.getChanges());
+        }
+    }
+
+    private static CompilationUnitChange createChange(String uri, ICompilationUnit unit, CompilationUnit root,
+            List<Diagnostic> diagnostics, JDTUtils utils, IProgressMonitor monitor) throws CoreException {
+        MultiTextEdit edit = new MultiTextEdit();
+        ImportRewrite importRewrite = CodeStyleConfiguration.createImportRewrite(root, true);
+        CodeActionParticipantRegistry registry = CodeActionParticipantRegistry.getInstance();
+        int fixed = 0;
+        for (Diagnostic diagnostic : diagnostics) {
+            if (monitor.isCanceled()) {
+                return null;
+            }
+            if (diagnostic.getCode() == null || !diagnostic.getCode().isLeft()) {
+                continue;
+            }
+            // the quick fixes look for the nodes of the diagnostic in the selection
+            JavaCodeActionContext context = createContext(uri, unit, root, diagnostic, utils);
+            List<ChangeCorrectionProposal> proposals = new ArrayList<>();
+            context.setProposalCollector(proposals);
+            for (IJavaCodeActionParticipant participant : registry.getParticipants(diagnostic.getCode().getLeft())) {
+                try {
+                    participant.getCodeActions(context, diagnostic, monitor);
+                } catch (CoreException e) {
+                    JakartaCorePlugin.logException("Failed to compute the Jakarta code actions of "
+                            + participant.getClass().getSimpleName(), e);
+                }
+            }
+            // the user chooses between the fixes of a diagnostic
+            if (proposals.size() == 1 && addChanges(proposals.get(0), root, edit, importRewrite)) {
+                fixed++;
+            }
+        }
+        if (fixed == 0) {
+            return null;
+        }
+        try {
+            edit.addChild(importRewrite.rewriteImports(monitor));
+        } catch (MalformedTreeException e) {
+            // e.g. a fix changes the import declarations itself
+            JakartaCorePlugin.logException("Failed to fix the imports of " + uri, e);
+            return null;
+        }
+        CompilationUnitChange change = new CompilationUnitChange(Messages.getMessage("FixAllInFile"), unit);
+        change.setEdit(edit);
+        return change;
+    }
+
+    /**
+     * Adds the changes of the given proposal to the given edit, and its imports to
+     * the given import rewrite, unless the changes overlap the changes already
+     * added to the edit.
+     *
+     * @return true if the changes of the proposal were added
+     */
+    private static boolean addChanges(ChangeCorrectionProposal proposal, CompilationUnit root, MultiTextEdit edit,
+            ImportRewrite importRewrite) {
+        ASTRewrite proposalRewrite = ASTRewrite.create(root.getAST());
+        ImportRewrite proposalImports = CodeStyleConfiguration.createImportRewrite(root, true);
+        TextEdit[] changes;
+        try {
+            if (!proposal.recordChanges(proposalRewrite, proposalImports)) {
+                return false;
+            }
+            changes = proposalRewrite.rewriteAST().removeChildren();
+        } catch (CoreException | IllegalArgumentException | MalformedTreeException e) {
+            JakartaCorePlugin.logException("Failed to record the changes of " + proposal.getName(), e);
+            return false;
+        }
+        List<TextEdit> added = new ArrayList<>();
+        try {
+            for (TextEdit change : changes) {
+                edit.addChild(change);
+                added.add(change);
+            }
+        } catch (MalformedTreeException e) {
+            // the fix of another diagnostic already changes the same nodes
+            for (TextEdit change : added) {
+                edit.removeChild(change);
+            }
+            return false;
+        }
+        for (String name : proposalImports.getAddedImports()) {
+            importRewrite.addImport(name);
+        }
+        for (String name : proposalImports.getAddedStaticImports()) {
+            int index = name.lastIndexOf('.');
+            importRewrite.addStaticImport(name.substring(0, index), name.substring(index + 1), true);
+        }
+        for (String name : proposalImports.getRemovedImports()) {
+            importRewrite.removeImport(name);
+        }
+        for (String name : proposalImports.getRemovedStaticImports()) {
+            importRewrite.removeStaticImport(name);
+        }
+        return !added.isEmpty() || proposalImports.hasRecordedChanges();
+    }
+
+    private static JavaCodeActionContext createContext(String uri, ICompilationUnit unit, CompilationUnit root,
+            Diagnostic diagnostic, JDTUtils utils) throws CoreException {
+        Range range = diagnostic.getRange();
+        IBuffer buffer = unit.getBuffer();
+        int startOffset = JsonRpcHelpers.toOffset(buffer, range.getStart().getLine(), range.getStart().getCharacter());
+        int endOffset = JsonRpcHelpers.toOffset(buffer, range.getEnd().getLine(), range.getEnd().getCharacter());
+        JakartaJavaCodeActionParams params = new JakartaJavaCodeActionParams(new TextDocumentIdentifier(uri), range,
+                new CodeActionContext(List.of(diagnostic)));
+        JavaCodeActionContext context = new JavaCodeActionContext(unit, startOffset, endOffset - startOffset, utils,
+                params);
+        context.setASTRoot(root);
+        return context;
+    }
+}
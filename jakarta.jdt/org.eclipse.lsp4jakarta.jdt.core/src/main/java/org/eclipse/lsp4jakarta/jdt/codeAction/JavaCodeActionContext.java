@@ -15,6 +15,7 @@
 package org.eclipse.lsp4jakarta.jdt.codeAction;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -43,6 +44,7 @@ public class JavaCodeActionContext extends AbstractJavaContext implements IInvoc
 
     private final JakartaJavaCodeActionParams params;
     private NodeFinder fNodeFinder;
+    private List<ChangeCorrectionProposal> proposals;
 
     public JavaCodeActionContext(ITypeRoot typeRoot, int selectionOffset, int selectionLength, JDTUtils utils,
             JakartaJavaCodeActionParams params) {
@@ -97,18 +99,44 @@ public class JavaCodeActionContext extends AbstractJavaContext implements IInvoc
         return fNodeFinder.getCoveredNode();
     }
 
+    /**
+     * Collects the proposals of the code actions in the given list, without
+     * computing their edits, e.g. to apply several of them with a single edit.
+     *
+     * @param proposals the list of the proposals, or null to compute the edits
+     */
+    public void setProposalCollector(List<ChangeCorrectionProposal> proposals) {
+        this.proposals = proposals;
+    }
+
+    /**
+     * Returns the code action of the given proposal. When the client resolves the
+     * code actions, or when the proposals are collected, the edit is not
+     * computed, as the change of the proposal is only created when needed. A
+     * proposal which changes nothing is then only detected when its code action
+     * is resolved, see {@link CodeActionHandler#resolveCodeAction}.
+     *
+     * @param proposal    the proposal
+     * @param diagnostics the diagnostics fixed by the proposal
+     * @return the code action, or null if the proposal changes nothing
+     * @throws CoreException
+     */
     public CodeAction convertToCodeAction(ChangeCorrectionProposal proposal, Diagnostic... diagnostics)
             throws CoreException {
         String name = proposal.getName();
-        WorkspaceEdit edit = ChangeUtil.convertToWorkspaceEdit(proposal.getChange(), getUri(), getUtils(),
-                params.isResourceOperationSupported());
-        if (!ChangeUtil.hasChanges(edit)) {
-            return null;
-        }
         CodeAction codeAction = new CodeAction();
         codeAction.setTitle(name);
         codeAction.setKind(proposal.getKind());
-        codeAction.setEdit(edit);
+        if (proposals != null) {
+            proposals.add(proposal);
+        } else if (!params.isResolveSupported()) {
+            WorkspaceEdit edit = ChangeUtil.convertToWorkspaceEdit(proposal.getChange(), getUri(), getUtils(),
+                    params.isResourceOperationSupported());
+            if (!ChangeUtil.hasChanges(edit)) {
+                return null;
+            }
+            codeAction.setEdit(edit);
+        }
         codeAction.setDiagnostics(Arrays.asList(diagnostics));
         return codeAction;
     }
@@ -85,7 +85,7 @@ public class AddConstructorProposal extends ChangeCorrectionProposal {
         }        
         
         AST ast = declNode.getAST();
-        ASTRewrite rewrite = ASTRewrite.create(ast);
+        ASTRewrite rewrite = createRewrite(ast);
         ListRewrite list = rewrite.getListRewrite(declNode, TypeDeclaration.BODY_DECLARATIONS_PROPERTY);
 
         // create method
@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
@@ -49,6 +50,11 @@ public class ChangeCorrectionProposal extends ChangeCorrectionProposalCore {
     private ImportRewrite fImportRewrite;
     private CUCorrectionProposalCore fProposalCore;
 
+    // The rewrites to record the changes of the proposal into, instead of its
+    // own rewrites, while recordChanges runs
+    private ASTRewrite fTargetRewrite;
+    private ImportRewrite fTargetImportRewrite;
+
     /**
      * Constructs a change correction proposal.
      *
@@ -224,10 +230,50 @@ public class ChangeCorrectionProposal extends ChangeCorrectionProposalCore {
      *             clients.
      */
     public ImportRewrite createImportRewrite(CompilationUnit astRoot) {
-        fImportRewrite = CodeStyleConfiguration.createImportRewrite(astRoot, true);
+        if (fTargetImportRewrite != null && fTargetRewrite.getAST() == astRoot.getAST()) {
+            fImportRewrite = fTargetImportRewrite;
+        } else {
+            fImportRewrite = CodeStyleConfiguration.createImportRewrite(astRoot, true);
+        }
         return fImportRewrite;
     }
 
+    /**
+     * Creates the rewrite of the given AST, or returns the rewrite to record the
+     * changes into when the changes of the proposal are being recorded.
+     *
+     * @param ast the AST to rewrite
+     * @return the rewrite of the given AST
+     */
+    protected ASTRewrite createRewrite(AST ast) {
+        if (fTargetRewrite != null && fTargetRewrite.getAST() == ast) {
+            return fTargetRewrite;
+        }
+        return ASTRewrite.create(ast);
+    }
+
+    /**
+     * Records the changes of this proposal in the given rewrites instead of its
+     * own, so that the caller can combine them with the changes of other
+     * proposals.
+     *
+     * @param rewrite       the rewrite of the AST of the unit to record into
+     * @param importRewrite the import rewrite of the unit to record into
+     * @return true if the changes were recorded in the given rewrites, and false
+     *         if the proposal rewrites another AST or changes nothing
+     * @throws CoreException when the rewrite could not be created
+     */
+    public boolean recordChanges(ASTRewrite rewrite, ImportRewrite importRewrite) throws CoreException {
+        fTargetRewrite = rewrite;
+        fTargetImportRewrite = importRewrite;
+        try {
+            return getRewrite() == rewrite;
+        } finally {
+            fTargetRewrite = null;
+            fTargetImportRewrite = null;
+        }
+    }
+
     protected void addEdits(IDocument document, TextEdit editRoot) throws CoreException {
         ASTRewrite rewrite = getRewrite();
         if (rewrite != null) {
@@ -99,7 +99,7 @@ public class DeleteAnnotationProposal extends ChangeCorrectionProposal {
 
         if (isField || isMethod || isType) {
             AST ast = declNode.getAST();
-            ASTRewrite rewrite = ASTRewrite.create(ast);
+            ASTRewrite rewrite = createRewrite(ast);
 
             ImportRewriteContext importRewriteContext = new ContextSensitiveImportRewriteContext(declNode, imports);
 
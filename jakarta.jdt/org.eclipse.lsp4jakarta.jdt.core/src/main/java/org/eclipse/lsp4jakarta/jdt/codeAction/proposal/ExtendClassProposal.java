@@ -69,7 +69,7 @@ public class ExtendClassProposal extends ChangeCorrectionProposal {
             String name = imports.addImport(interfaceType, importRewriteContext);
             Type newInterface = ast.newSimpleType(ast.newName(name));
 
-            ASTRewrite rewrite = ASTRewrite.create(ast);
+            ASTRewrite rewrite = createRewrite(ast);
 
             rewrite.set(declNode, TypeDeclaration.SUPERCLASS_TYPE_PROPERTY, newInterface, null);
 
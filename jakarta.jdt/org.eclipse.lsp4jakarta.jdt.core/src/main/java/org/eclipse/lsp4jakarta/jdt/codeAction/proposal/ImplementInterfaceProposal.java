@@ -76,7 +76,7 @@ public class ImplementInterfaceProposal extends ChangeCorrectionProposal {
             String name = imports.addImport(interfaceType, importRewriteContext);
             Type newInterface = ast.newSimpleType(ast.newName(name));
 
-            ASTRewrite rewrite = ASTRewrite.create(ast);
+            ASTRewrite rewrite = createRewrite(ast);
 
             ListRewrite listRewrite = rewrite.getListRewrite(declNode, TypeDeclaration.SUPER_INTERFACE_TYPES_PROPERTY);
             listRewrite.insertLast(newInterface, null);
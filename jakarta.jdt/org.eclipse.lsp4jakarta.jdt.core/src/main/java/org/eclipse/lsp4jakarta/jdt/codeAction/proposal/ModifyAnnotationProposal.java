@@ -110,7 +110,7 @@ public class ModifyAnnotationProposal extends NewAnnotationProposal {
 
         if (declNode.getNodeType() == ASTNode.FIELD_DECLARATION) {
             AST ast = declNode.getAST();
-            ASTRewrite rewrite = ASTRewrite.create(ast);
+            ASTRewrite rewrite = createRewrite(ast);
 
             ImportRewriteContext importRewriteContext = new ContextSensitiveImportRewriteContext(declNode, imports);
             List<Annotation> existingAnnotations = new ArrayList<Annotation>();
@@ -196,7 +196,7 @@ public class ModifyAnnotationProposal extends NewAnnotationProposal {
             return rewrite;
         } else if (declNode instanceof TypeDeclaration || isField || isSingleVarDecl) {
             AST ast = declNode.getAST();
-            ASTRewrite rewrite = ASTRewrite.create(ast);
+            ASTRewrite rewrite = createRewrite(ast);
             
             ImportRewriteContext importRewriteContext = new ContextSensitiveImportRewriteContext(declNode, imports);
             List<Annotation> existingAnnotations = new ArrayList<Annotation>();
@@ -118,7 +118,7 @@ public class ModifyModifiersProposal extends ChangeCorrectionProposal {
 
         
         AST ast = declNode.getAST();
-        ASTRewrite rewrite = ASTRewrite.create(ast);
+        ASTRewrite rewrite = createRewrite(ast);
 
         ListRewrite modifiersList = null;
         List<ASTNode> modifiers = new ArrayList();
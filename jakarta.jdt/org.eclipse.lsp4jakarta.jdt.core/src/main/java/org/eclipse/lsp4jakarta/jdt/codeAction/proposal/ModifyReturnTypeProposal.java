@@ -66,7 +66,7 @@ public class ModifyReturnTypeProposal extends ChangeCorrectionProposal {
         
         if (declNode.getNodeType() == ASTNode.METHOD_DECLARATION) {
             AST ast = declNode.getAST();
-            ASTRewrite rewrite = ASTRewrite.create(ast);
+            ASTRewrite rewrite = createRewrite(ast);
             rewrite.set(declNode, MethodDeclaration.RETURN_TYPE2_PROPERTY, newReturnType, null);
             return rewrite;
         }
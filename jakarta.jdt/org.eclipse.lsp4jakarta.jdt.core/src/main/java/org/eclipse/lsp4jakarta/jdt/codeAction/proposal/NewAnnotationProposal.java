@@ -70,7 +70,7 @@ public class NewAnnotationProposal extends ChangeCorrectionProposal {
         }
         if (declNode instanceof TypeDeclaration || declNode instanceof MethodDeclaration || isField) {
             AST ast = declNode.getAST();
-            ASTRewrite rewrite = ASTRewrite.create(ast);
+            ASTRewrite rewrite = createRewrite(ast);
 
             ImportRewriteContext importRewriteContext = new ContextSensitiveImportRewriteContext(declNode, imports);
 
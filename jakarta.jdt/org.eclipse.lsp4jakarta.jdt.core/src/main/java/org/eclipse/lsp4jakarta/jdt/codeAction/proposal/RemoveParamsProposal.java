@@ -78,7 +78,7 @@ public class RemoveParamsProposal extends ChangeCorrectionProposal {
         }
 
         AST ast = declNode.getAST();
-        ASTRewrite rewrite = ASTRewrite.create(ast);
+        ASTRewrite rewrite = createRewrite(ast);
 
         if (declNode instanceof MethodDeclaration) {
             ListRewrite parametersList = rewrite.getListRewrite(declNode, MethodDeclaration.PARAMETERS_PROPERTY);
@@ -75,7 +75,7 @@ public class ReplaceAnnotationProposal extends NewAnnotationProposal {
 		}
 		if (declNode instanceof TypeDeclaration || isField) {	
 			AST ast = declNode.getAST();
-			ASTRewrite rewrite = ASTRewrite.create(ast);
+			ASTRewrite rewrite = createRewrite(ast);
 
 			ImportRewriteContext importRewriteContext = new ContextSensitiveImportRewriteContext(declNode, imports);
 
@@ -17,12 +17,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 
 public class ASTUtils {
 
@@ -40,6 +45,52 @@ public class ASTUtils {
         return parser.createAST(null);
     }
 
+    /**
+     * Returns the AST of the given compilation unit, with resolved bindings.
+     * 
+     * <p>
+     * The AST is taken from the {@link CoreASTProvider}, which keeps the AST of
+     * the active unit once it is reconciled, so that the diagnostics and the code
+     * actions of the edited unit share a single parse. The shared AST is only
+     * used while it is the AST of the last reconcile of the unit and the unit is
+     * consistent with its buffer, since it may otherwise have been kept for older
+     * contents. The AST of the other units is parsed.
+     * </p>
+     * 
+     * @param unit    the compilation unit
+     * @param monitor the progress monitor, may be null
+     * @return the AST of the given compilation unit, or null if the monitor was
+     *         cancelled
+     */
+    public static CompilationUnit getASTRoot(ICompilationUnit unit, IProgressMonitor monitor) {
+        if (monitor == null) {
+            monitor = new NullProgressMonitor();
+        }
+        CoreASTProvider provider = CoreASTProvider.getInstance();
+        CompilationUnit ast = provider.getAST(unit, CoreASTProvider.WAIT_YES, monitor);
+        if (ast != null && ast == provider.getCachedAST() && !isCurrentAST(unit, ast)) {
+            // the shared AST may have been kept for older contents of the unit
+            ast = null;
+        }
+        if (ast == null && !monitor.isCanceled()) {
+            // e.g. the unit has no source, or the shared AST is outdated
+            ast = (CompilationUnit) getASTNode(unit);
+        }
+        return ast;
+    }
+
+    /**
+     * Returns true if the given AST was built by the last reconcile of the given
+     * unit and the unit was not changed since.
+     */
+    private static boolean isCurrentAST(ICompilationUnit unit, CompilationUnit ast) {
+        try {
+            return unit.isConsistent() && JavaElementChangeTracker.getInstance().isReconciledAST(unit, ast);
+        } catch (JavaModelException e) {
+            return false;
+        }
+    }
+
     /**
      * Given a compilation unit returns a list of all method invocations.
      * 
@@ -47,7 +98,16 @@ public class ASTUtils {
      * @return list of method invocations
      */
     public static List<MethodInvocation> getMethodInvocations(ICompilationUnit unit) {
-        ASTNode node = getASTNode(unit);
+        return getMethodInvocations(getASTRoot(unit, null));
+    }
+
+    /**
+     * Given an AST node returns a list of all the method invocations it contains.
+     * 
+     * @param node the AST node, e.g. a compilation unit
+     * @return list of method invocations
+     */
+    public static List<MethodInvocation> getMethodInvocations(ASTNode node) {
         MethodInvocationVisitor visitor = new ASTUtils().new MethodInvocationVisitor();
         node.accept(visitor);
         return visitor.getMethodInvocations();
@@ -12,15 +12,14 @@
  *******************************************************************************/
 package org.eclipse.lsp4jakarta.jdt.core;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.IImportContainer;
-import org.eclipse.jdt.core.IImportDeclaration;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
@@ -28,9 +27,6 @@ import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.internal.core.ImportContainerInfo;
-import org.eclipse.jdt.internal.core.JavaModelManager;
-import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Range;
@@ -40,7 +36,6 @@ import org.eclipse.lsp4j.Range;
  * Abstract class for collecting Java diagnostics.
  *
  */
-@SuppressWarnings("restriction")
 public abstract class AbstractDiagnosticsCollector implements DiagnosticsCollector {
 
     /**
@@ -101,29 +96,47 @@ public abstract class AbstractDiagnosticsCollector implements DiagnosticsCollect
     /**
      * Returns diagnostics for the given compilation unit.
      *
+     * <p>
+     * Collectors which register for element kinds (see
+     * {@link #getVisitedElementKinds()}) are walked on their own here; when
+     * several collectors validate the same unit, use a
+     * {@link JavaDiagnosticsWalker} so that the unit is walked only once.
+     * </p>
+     *
      * @param unit        compilation unit of Java class
      * @param diagnostics diagnostics for the given compilation unit to return
      */
     public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
+        collectDiagnostics(unit, diagnostics, null);
+    }
+
+    @Override
+    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics, IProgressMonitor monitor) {
+        if (!getVisitedElementKinds().isEmpty()) {
+            new JavaDiagnosticsWalker(Collections.singletonList(this)).walk(unit, diagnostics, monitor);
+        }
     }
 
     /**
      * Returns true if the given annotation matches the given annotation name and
-     * false otherwise.
+     * false otherwise. The annotation name is resolved at most once per
+     * validation pass.
      *
-     * @param unit             compilation unit of Java class.
+     * @param context          the diagnostics context of the current validation
+     *                         pass.
      * @param annotation       given annotation object.
      * @param annotationFQName the fully qualified annotation name.
      * @return true if the given annotation matches the given annotation name and
      *         false otherwise.
      */
-    protected static boolean isMatchedAnnotation(ICompilationUnit unit, IAnnotation annotation, String annotationFQName)
-            throws JavaModelException {
+    protected static boolean isMatchedAnnotation(JavaDiagnosticsContext context, IAnnotation annotation,
+            String annotationFQName) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
         String elementName = annotation.getElementName();
         if (nameEndsWith(annotationFQName, elementName) && unit != null) {
             // For performance reason, we check if the import of annotation name is
             // declared
-            if (isImportedJavaElement(unit, annotationFQName) == true)
+            if (isImported(unit, annotationFQName, context) == true)
                 return true;
             // only check fully qualified annotations
             if (annotationFQName.equals(elementName)) {
@@ -131,9 +144,9 @@ public abstract class AbstractDiagnosticsCollector implements DiagnosticsCollect
                 IType declaringType = (parent instanceof IType) ? (IType) parent
                         : ((parent instanceof IMember) ? ((IMember) parent).getDeclaringType() : null);
                 if (declaringType != null) {
-                    String[][] fqName = declaringType.resolveType(elementName); // the call could be expensive
+                    String[][] fqName = context.resolveType(declaringType, elementName); // the call could be expensive
                     if (fqName != null && fqName.length == 1) {
-                        return annotationFQName.equals(JavaModelUtil.concatenateName(fqName[0][0], fqName[0][1]));
+                        return annotationFQName.equals(concatenateName(fqName[0][0], fqName[0][1]));
                     }
                 }
             }
@@ -143,26 +156,29 @@ public abstract class AbstractDiagnosticsCollector implements DiagnosticsCollect
 
     /**
      * Returns true if the java element name matches the given fully qualified java
-     * element name and false otherwise.
+     * element name and false otherwise. The java element name is resolved at most
+     * once per validation pass.
      *
-     * @param unit             compilation unit of Java class.
-     * @param annotation       given annotation object.
-     * @param annotationFQName the fully qualified annotation name.
+     * @param context           the diagnostics context of the current validation
+     *                          pass.
+     * @param type              Java class.
+     * @param javaElementName   the java element name.
+     * @param javaElementFQName the fully qualified java element name.
      * @return true if the java element name matches the given fully qualified java
      *         element name and false otherwise.
      */
-    protected static boolean isMatchedJavaElement(IType type, String javaElementName, String javaElementFQName)
-            throws JavaModelException {
+    protected static boolean isMatchedJavaElement(JavaDiagnosticsContext context, IType type, String javaElementName,
+            String javaElementFQName) throws JavaModelException {
         if (nameEndsWith(javaElementFQName, javaElementName)) {
             // For performance reason, we check if the import of annotation name is
             // declared
-            if (isImportedJavaElement(type.getCompilationUnit(), javaElementFQName) == true)
+            if (isImported(type.getCompilationUnit(), javaElementFQName, context) == true)
                 return true;
             // only check fully qualified java element
             if (javaElementFQName.equals(javaElementName)) {
-                String[][] fqName = type.resolveType(javaElementName); // the call could be expensive
+                String[][] fqName = context.resolveType(type, javaElementName); // the call could be expensive
                 if (fqName != null && fqName.length == 1) {
-                    return javaElementFQName.equals(JavaModelUtil.concatenateName(fqName[0][0], fqName[0][1]));
+                    return javaElementFQName.equals(concatenateName(fqName[0][0], fqName[0][1]));
                 }
             }
         }
@@ -170,114 +186,57 @@ public abstract class AbstractDiagnosticsCollector implements DiagnosticsCollect
     }
 
     /**
-     * Returns true if the given Java class imports the given Java element and false
-     * otherwise.
-     *
-     * @param type              Java class.
-     * @param javaElementFQName given Java element fully qualified name.
-     * @return true if the Java class imports the given Java element and false
-     *         otherwise.
+     * Returns the given names joined with a dot, e.g. the name of a package and
+     * the name of a type in this package.
      */
-    protected static boolean isImportedJavaElement(ICompilationUnit unit, String javaElementFQName)
-            throws JavaModelException {
-        IImportContainer container = unit.getImportContainer();
-        if (container == null) {
-            return false;
+    private static String concatenateName(String name1, String name2) {
+        if (name1 == null || name1.isEmpty()) {
+            return name2 != null ? name2 : "";
         }
+        return name2 == null || name2.isEmpty() ? name1 : name1 + '.' + name2;
+    }
 
-        // The following code uses JDT internal class and looks like
-        // ICompilationUnit#getImports()
-        // To avoid creating an array of IImportDeclaration, we do the following code:
-        JavaModelManager manager = JavaModelManager.getJavaModelManager();
-        Object info = manager.getInfo(container);
-        if (info == null) {
-            if (manager.getInfo(unit) != null) {
-                // CU was opened, but no import container, then no imports
-                return false;
-            } else {
-                try {
-                    unit.open(null);
-                } catch (JavaModelException e) {
-                    e.printStackTrace();
-                } // force opening of CU
-                info = manager.getInfo(container);
-                if (info == null)
-                    // after opening, if no import container, then no imports
-                    return false;
-            }
-        }
-        IJavaElement[] elements = ((ImportContainerInfo) info).getChildren();
-        for (IJavaElement child : elements) {
-            IImportDeclaration importDeclaration = (IImportDeclaration) child;
-            if (importDeclaration.isOnDemand()) {
-                String fqn = importDeclaration.getElementName();
-                String qualifier = fqn.substring(0, fqn.lastIndexOf('.'));
-                if (qualifier.equals(javaElementFQName.substring(0, javaElementFQName.lastIndexOf('.')))) {
-                    return true;
-                }
-            } else if (importDeclaration.getElementName().equals(javaElementFQName)) {
-                return true;
-            }
+    private static boolean isImported(ICompilationUnit unit, String javaElementFQName,
+            JavaDiagnosticsContext context) throws JavaModelException {
+        if (unit == null) {
+            // e.g. a binary type
+            return false;
         }
-        return false;
+        // the import table of another unit, e.g. of a supertype, is only built for this lookup
+        ImportTable imports = unit.equals(context.getUnit()) ? context.getImportTable() : ImportTable.of(unit);
+        return imports.isImported(javaElementFQName);
     }
 
     /**
-     * Returns true if the given Java class imports one of the given Java elements
-     * and false otherwise.
+     * Returns true if the compilation unit of the current validation pass imports
+     * the given Java element and false otherwise. The lookup uses the import table
+     * of the pass.
      *
-     * @param type              Java class.
-     * @param javaElementFQName given Java element fully qualified names.
-     * @return true if the Java class imports one of the given Java elements and
+     * @param context           the diagnostics context of the current validation
+     *                          pass.
+     * @param javaElementFQName given Java element fully qualified name.
+     * @return true if the compilation unit imports the given Java element and
      *         false otherwise.
      */
-    protected static boolean isImportedJavaElement(ICompilationUnit unit, String[] javaElementFQNames)
+    protected static boolean isImportedJavaElement(JavaDiagnosticsContext context, String javaElementFQName)
             throws JavaModelException {
-        IImportContainer container = unit.getImportContainer();
-        if (container == null) {
-            return false;
-        }
+        return context.getImportTable().isImported(javaElementFQName);
+    }
 
-        // The following code uses JDT internal class and looks like
-        // ICompilationUnit#getImports()
-        // To avoid creating an array of IImportDeclaration, we do the following code:
-        JavaModelManager manager = JavaModelManager.getJavaModelManager();
-        Object info = manager.getInfo(container);
-        if (info == null) {
-            if (manager.getInfo(unit) != null) {
-                // CU was opened, but no import container, then no imports
-                return false;
-            } else {
-                try {
-                    unit.open(null);
-                } catch (JavaModelException e) {
-                    e.printStackTrace();
-                } // force opening of CU
-                info = manager.getInfo(container);
-                if (info == null)
-                    // after opening, if no import container, then no imports
-                    return false;
-            }
-        }
-        IJavaElement[] elements = ((ImportContainerInfo) info).getChildren();
-        for (IJavaElement child : elements) {
-            IImportDeclaration importDeclaration = (IImportDeclaration) child;
-            if (importDeclaration.isOnDemand()) {
-                String fqn = importDeclaration.getElementName();
-                String qualifier = fqn.substring(0, fqn.lastIndexOf('.'));
-                boolean imports = Stream.of(javaElementFQNames).anyMatch(elementFQName -> {
-                    return qualifier.equals(elementFQName.substring(0, elementFQName.lastIndexOf('.')));
-                });
-                if (imports == true) {
-                    return true;
-                }
-            } else {
-                String importName = importDeclaration.getElementName();
-                if (Stream.of(javaElementFQNames).anyMatch(elementFQName -> importName.equals(elementFQName)) == true)
-                    return true;
-            }
-        }
-        return false;
+    /**
+     * Returns true if the compilation unit of the current validation pass imports
+     * one of the given Java elements and false otherwise. The lookup uses the
+     * import table of the pass.
+     *
+     * @param context            the diagnostics context of the current validation
+     *                           pass.
+     * @param javaElementFQNames given Java element fully qualified names.
+     * @return true if the compilation unit imports one of the given Java elements
+     *         and false otherwise.
+     */
+    protected static boolean isImportedJavaElement(JavaDiagnosticsContext context, String[] javaElementFQNames)
+            throws JavaModelException {
+        return context.getImportTable().isImported(javaElementFQNames);
     }
 
     /**
@@ -296,7 +255,7 @@ public abstract class AbstractDiagnosticsCollector implements DiagnosticsCollect
 
         // check super hierarchy
         if (interfaceNames.length > 0) { // the type implements interface(s)
-            ITypeHierarchy typeHierarchy = type.newSupertypeHierarchy(new NullProgressMonitor());
+            ITypeHierarchy typeHierarchy = TypeHierarchyCache.getInstance().getSupertypeHierarchy(type);
             IType[] interfaces = typeHierarchy.getAllInterfaces();
             for (IType interfase : interfaces) {
                 String fqName = interfase.getFullyQualifiedName();
@@ -308,39 +267,45 @@ public abstract class AbstractDiagnosticsCollector implements DiagnosticsCollect
     }
 
     /**
-     * Returns matched Java element fully qualified name.
+     * Returns matched Java element fully qualified name. The Java element name is
+     * resolved at most once per validation pass.
      *
+     * @param context            the diagnostics context of the current validation
+     *                           pass.
      * @param type               Java class.
      * @param javaElement        Java element name
      * @param javaElementFQNames given fully qualified name array.
      * @return Matched fully qualified name and null otherwise.
      */
-    protected static String getMatchedJavaElementName(IType type, String javaElementName, String[] javaElementFQNames)
-            throws JavaModelException {
+    protected static String getMatchedJavaElementName(JavaDiagnosticsContext context, IType type,
+            String javaElementName, String[] javaElementFQNames) throws JavaModelException {
         String[] matches = (String[]) Stream.of(javaElementFQNames)
                 .filter(fqName -> nameEndsWith(fqName, javaElementName))
                 .toArray(String[]::new);
         if (matches.length > 0) {
-            if (isMatchedJavaElement(type, javaElementName, matches[0]) == true) // only check the first one for now
+            if (isMatchedJavaElement(context, type, javaElementName, matches[0]) == true) // only check the first one for now
                 return matches[0];
         }
         return null;
     }
 
     /**
-     * Returns matched Java element fully qualified names.
-     * 
+     * Returns matched Java element fully qualified names. The Java element names
+     * are resolved at most once per validation pass.
+     *
+     * @param context            the diagnostics context of the current validation
+     *                           pass
      * @param type               the type representing the class
      * @param javaElementNames   Java element names
      * @param javaElementFQNames given fully qualified name array
      * @return matched Java element fully qualified names
      */
-    protected static List<String> getMatchedJavaElementNames(IType type, String[] javaElementNames,
-            String[] javaElementFQNames) {
+    protected static List<String> getMatchedJavaElementNames(JavaDiagnosticsContext context, IType type,
+            String[] javaElementNames, String[] javaElementFQNames) {
         return Stream.of(javaElementFQNames).filter(fqName -> {
             boolean anyMatch = Stream.of(javaElementNames).anyMatch(name -> {
                 try {
-                    return isMatchedJavaElement(type, name, fqName);
+                    return isMatchedJavaElement(context, type, name, fqName);
                 } catch (JavaModelException e) {
                     JakartaCorePlugin.logException("Failed to get matched Java element FQ names", e);
                     return false;
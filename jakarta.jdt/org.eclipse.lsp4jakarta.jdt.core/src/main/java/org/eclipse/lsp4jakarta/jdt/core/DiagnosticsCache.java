@@ -0,0 +1,244 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Cache of the diagnostics computed for a compilation unit.
+ *
+ * <p>
+ * An entry is stored per uri along with the fingerprint of what the
+ * diagnostics were computed from: the contents of the unit's buffer, the
+ * classpath of its project and the types declared in the sources of its
+ * project (see {@link #getFingerprint}). A lookup
+ * only hits when the fingerprint is unchanged. Entries are evicted in least
+ * recently used order once their estimated memory footprint exceeds the
+ * {@link #MAX_MEMORY_PROPERTY} bound.
+ * </p>
+ */
+public class DiagnosticsCache {
+
+    /**
+     * System property giving the maximum estimated memory, in bytes, used by the
+     * cached diagnostics. A value of 0 disables the cache.
+     */
+    public static final String MAX_MEMORY_PROPERTY = "lsp4jakarta.diagnostics.cache.maxMemory";
+
+    private static final long DEFAULT_MAX_MEMORY = 8L * 1024 * 1024;
+
+    // rough estimates of the size of the objects retained by an entry
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private static final int DIAGNOSTIC_OVERHEAD = 256;
+
+    private static class Entry {
+
+        private final String fingerprint;
+
+        private final PublishDiagnosticsParams diagnostics;
+
+        private final long weight;
+
+        private Entry(String fingerprint, PublishDiagnosticsParams diagnostics, long weight) {
+            this.fingerprint = fingerprint;
+            this.diagnostics = diagnostics;
+            this.weight = weight;
+        }
+    }
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final long maxMemory;
+
+    private long memory;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    public DiagnosticsCache() {
+        this(Long.getLong(MAX_MEMORY_PROPERTY, DEFAULT_MAX_MEMORY));
+    }
+
+    public DiagnosticsCache(long maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * Returns the fingerprint of the given compilation unit, made of the hash of
+     * its buffer contents, of the stamp of its project's classpath and of the
+     * stamp of the source types of its project.
+     *
+     * <p>
+     * The stamps are kept up to date by the {@link JavaElementChangeTracker} and
+     * the {@link SourceTypeIndex} from the Java element deltas, e.g. when a jar
+     * is replaced in place or when a type a collector could not resolve is
+     * declared in a new file, so that the classpath does not have to be read
+     * again for each unit.
+     * </p>
+     *
+     * @param unit the compilation unit
+     * @return the fingerprint of the given compilation unit
+     * @throws JavaModelException
+     */
+    public static String getFingerprint(ICompilationUnit unit) throws JavaModelException {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        IBuffer buffer = unit.getBuffer();
+        String contents = buffer != null ? buffer.getContents() : null;
+        if (contents != null) {
+            hasher.putString(contents, StandardCharsets.UTF_16LE);
+        }
+        hasher.putChar('|');
+        IJavaProject project = unit.getJavaProject();
+        if (project != null) {
+            hasher.putLong(JavaElementChangeTracker.getInstance().getClasspathStamp(project));
+            hasher.putLong(SourceTypeIndex.getInstance().getStamp(project));
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Returns the diagnostics cached for the given uri if they were computed from
+     * the given fingerprint and null otherwise.
+     *
+     * @param uri         the uri of the compilation unit
+     * @param fingerprint the current fingerprint of the compilation unit
+     * @return the cached diagnostics or null
+     */
+    public synchronized PublishDiagnosticsParams get(String uri, String fingerprint) {
+        Entry entry = entries.get(uri);
+        if (entry != null && entry.fingerprint.equals(fingerprint)) {
+            hitCount.incrementAndGet();
+            return entry.diagnostics;
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the diagnostics computed for the given uri from the given
+     * fingerprint. The diagnostics must not be modified afterwards.
+     *
+     * @param uri         the uri of the compilation unit
+     * @param fingerprint the fingerprint the diagnostics were computed from
+     * @param diagnostics the diagnostics
+     */
+    public synchronized void put(String uri, String fingerprint, PublishDiagnosticsParams diagnostics) {
+        long weight = getWeight(uri, diagnostics);
+        if (weight > maxMemory) {
+            remove(uri);
+            return;
+        }
+        Entry previous = entries.put(uri, new Entry(fingerprint, diagnostics, weight));
+        if (previous != null) {
+            memory -= previous.weight;
+        }
+        memory += weight;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (memory > maxMemory && iterator.hasNext()) {
+            memory -= iterator.next().getValue().weight;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes the diagnostics cached for the given uri.
+     *
+     * @param uri the uri of the compilation unit
+     */
+    public synchronized void remove(String uri) {
+        Entry entry = entries.remove(uri);
+        if (entry != null) {
+            memory -= entry.weight;
+        }
+    }
+
+    /**
+     * Removes all the cached diagnostics.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        memory = 0;
+    }
+
+    /**
+     * Returns the number of lookups which found up to date diagnostics.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups which did not find up to date diagnostics.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Resets the numbers of cache hits and misses.
+     */
+    public void resetCounts() {
+        hitCount.set(0);
+        missCount.set(0);
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the number of cached entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the estimated memory, in bytes, used by the cached diagnostics.
+     *
+     * @return the estimated memory used by the cached diagnostics
+     */
+    public synchronized long getMemory() {
+        return memory;
+    }
+
+    private static long getWeight(String uri, PublishDiagnosticsParams diagnostics) {
+        long weight = ENTRY_OVERHEAD + 2L * uri.length();
+        for (Diagnostic diagnostic : diagnostics.getDiagnostics()) {
+            weight += DIAGNOSTIC_OVERHEAD;
+            if (diagnostic.getMessage() != null) {
+                weight += 2L * diagnostic.getMessage().length();
+            }
+        }
+        return weight;
+    }
+}
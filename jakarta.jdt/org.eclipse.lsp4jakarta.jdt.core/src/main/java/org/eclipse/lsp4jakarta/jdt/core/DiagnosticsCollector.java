@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2020 IBM Corporation, Pengyu Xiong and others.
+* Copyright (c) 2020, 2023 IBM Corporation, Pengyu Xiong and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -13,13 +13,37 @@
 
 package org.eclipse.lsp4jakarta.jdt.core;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 
 /**
  * Diagnostics Collector interface
+ *
+ * <p>
+ * Collectors are driven by {@link JavaDiagnosticsWalker}, which reads the
+ * compilation unit once and calls back every collector that registered for the
+ * kind of the visited element (see {@link #getVisitedElementKinds()}).
+ * Collectors which do not register for any element kind are called through
+ * {@link #collectDiagnostics(ICompilationUnit, List)} instead.
+ * </p>
+ *
+ * <p>
+ * A single instance of each collector is shared by all validations, which may
+ * run concurrently for different compilation units. Implementations must
+ * therefore not keep any state of a validation pass in fields; such state
+ * belongs in the {@link JavaDiagnosticsContext}.
+ * </p>
+ *
  * @author Pengyu Xiong
  *
  */
@@ -27,4 +51,88 @@ public interface DiagnosticsCollector {
     public void completeDiagnostic(Diagnostic diagnostic);
 
     public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics);
+
+    /**
+     * Collects the diagnostics of the given compilation unit, stopping as soon as
+     * possible once the given monitor is cancelled. The collected diagnostics are
+     * then incomplete, and must be discarded.
+     *
+     * @param unit        compilation unit of Java class
+     * @param diagnostics diagnostics for the given compilation unit to return
+     * @param monitor     the progress monitor
+     */
+    default void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics, IProgressMonitor monitor) {
+        collectDiagnostics(unit, diagnostics);
+    }
+
+    /**
+     * Returns the Jakarta API whose usage this collector validates. The collector
+     * is skipped for the compilation units of projects which don't have this API
+     * on their classpath.
+     *
+     * @return the validated Jakarta API or null if the collector must always run
+     */
+    default JakartaApi getJakartaApi() {
+        return null;
+    }
+
+    /**
+     * Returns the part of the compilation unit the results of this collector's
+     * type, field and method callbacks depend on. The diagnostics of the elements
+     * which did not change since the previous validation of the unit are reused
+     * instead of calling the collector back. The compilation unit callback and
+     * {@link #collectDiagnostics(ICompilationUnit, List)} are always called.
+     *
+     * @return the scope of the diagnostics of this collector
+     */
+    default DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.COMPILATION_UNIT;
+    }
+
+    /**
+     * Returns the kinds of Java elements this collector wants to be called back
+     * for. Supported kinds are {@link IJavaElement#COMPILATION_UNIT},
+     * {@link IJavaElement#TYPE}, {@link IJavaElement#FIELD} and
+     * {@link IJavaElement#METHOD}.
+     *
+     * @return the kinds of Java elements to visit
+     */
+    default Set<Integer> getVisitedElementKinds() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Called once per compilation unit, before any of its types is visited.
+     *
+     * @param context the diagnostics context of the current validation pass
+     */
+    default void visitCompilationUnit(JavaDiagnosticsContext context) throws JavaModelException {
+    }
+
+    /**
+     * Called for each type of the compilation unit, including nested types.
+     *
+     * @param type    the visited type
+     * @param context the diagnostics context of the current validation pass
+     */
+    default void visitType(IType type, JavaDiagnosticsContext context) throws JavaModelException {
+    }
+
+    /**
+     * Called for each field of a visited type.
+     *
+     * @param field   the visited field
+     * @param context the diagnostics context of the current validation pass
+     */
+    default void visitField(IField field, JavaDiagnosticsContext context) throws JavaModelException {
+    }
+
+    /**
+     * Called for each method (including constructors) of a visited type.
+     *
+     * @param method  the visited method
+     * @param context the diagnostics context of the current validation pass
+     */
+    default void visitMethod(IMethod method, JavaDiagnosticsContext context) throws JavaModelException {
+    }
 }
@@ -0,0 +1,164 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4jakarta.commons.JakartaCollectorMetrics;
+
+/**
+ * Aggregates the time spent in each diagnostics collector, the elements it
+ * visited, the diagnostics it reported and the exceptions it threw.
+ *
+ * <p>
+ * The {@link JavaDiagnosticsWalker} counts the calls of each collector in a
+ * {@link Sample} while it walks a unit, and records the samples once the walk
+ * ends, so that the shared metrics are only updated once per unit and
+ * collector.
+ * </p>
+ */
+public class DiagnosticsMetrics {
+
+    private static final DiagnosticsMetrics INSTANCE = new DiagnosticsMetrics();
+
+    /**
+     * The counters of a collector during the walk of one unit.
+     */
+    static class Sample {
+
+        long time;
+
+        int invocations;
+
+        int types;
+
+        int members;
+
+        int diagnostics;
+
+        int exceptions;
+    }
+
+    /**
+     * The counters of a collector over all the walks.
+     */
+    private static class Counters {
+
+        private long units;
+
+        private long invocations;
+
+        private long types;
+
+        private long members;
+
+        private long diagnostics;
+
+        private long exceptions;
+
+        private long time;
+
+        private final long[] timeHistogram = new long[JakartaCollectorMetrics.TIME_BUCKETS.length + 1];
+    }
+
+    // sorted by collector name
+    private final Map<String, Counters> counters = new TreeMap<>();
+
+    public static DiagnosticsMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    private DiagnosticsMetrics() {
+    }
+
+    /**
+     * Records the counters of the given collector for the walk of one unit.
+     *
+     * @param collector the diagnostics collector
+     * @param sample    the counters of the collector for the walk
+     */
+    void record(DiagnosticsCollector collector, Sample sample) {
+        String name = collector.getClass().getSimpleName();
+        long millis = TimeUnit.NANOSECONDS.toMillis(sample.time);
+        int bucket = 0;
+        while (bucket < JakartaCollectorMetrics.TIME_BUCKETS.length
+                && millis >= JakartaCollectorMetrics.TIME_BUCKETS[bucket]) {
+            bucket++;
+        }
+        synchronized (counters) {
+            Counters c = counters.computeIfAbsent(name, n -> new Counters());
+            c.units++;
+            c.invocations += sample.invocations;
+            c.types += sample.types;
+            c.members += sample.members;
+            c.diagnostics += sample.diagnostics;
+            c.exceptions += sample.exceptions;
+            c.time += sample.time;
+            c.timeHistogram[bucket]++;
+        }
+    }
+
+    /**
+     * Returns the average time spent in the given collector to validate one unit,
+     * in nanoseconds.
+     *
+     * @param collector the diagnostics collector
+     * @return the average time per unit, or 0 if the collector did not validate
+     *         any unit since the metrics were last reset
+     */
+    long getAverageTime(DiagnosticsCollector collector) {
+        synchronized (counters) {
+            Counters c = counters.get(collector.getClass().getSimpleName());
+            return c != null && c.units > 0 ? c.time / c.units : 0;
+        }
+    }
+
+    /**
+     * Returns the metrics of the collectors which validated at least one unit.
+     *
+     * @param reset true to reset the metrics once they are returned
+     * @return the metrics of the collectors, sorted by name
+     */
+    public List<JakartaCollectorMetrics> getMetrics(boolean reset) {
+        List<JakartaCollectorMetrics> metrics = new ArrayList<>();
+        synchronized (counters) {
+            for (Map.Entry<String, Counters> entry : counters.entrySet()) {
+                Counters c = entry.getValue();
+                JakartaCollectorMetrics m = new JakartaCollectorMetrics();
+                m.setCollector(entry.getKey());
+                m.setUnits(c.units);
+                m.setInvocations(c.invocations);
+                m.setTypes(c.types);
+                m.setMembers(c.members);
+                m.setDiagnostics(c.diagnostics);
+                m.setExceptions(c.exceptions);
+                m.setTime(TimeUnit.NANOSECONDS.toMicros(c.time));
+                List<Long> timeHistogram = new ArrayList<>(c.timeHistogram.length);
+                for (long count : c.timeHistogram) {
+                    timeHistogram.add(count);
+                }
+                m.setTimeHistogram(timeHistogram);
+                metrics.add(m);
+            }
+            if (reset) {
+                counters.clear();
+            }
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+/**
+ * The part of a compilation unit the results of a diagnostics collector's
+ * callbacks depend on. The {@link JavaDiagnosticsWalker} uses it to reuse the
+ * diagnostics of the previous validation of the unit for the elements which
+ * did not change since.
+ *
+ * @see DiagnosticsCollector#getDiagnosticsScope()
+ */
+public enum DiagnosticsScope {
+
+    /**
+     * The diagnostics reported for a field or a method only depend on that
+     * member and on the declaration (modifiers, annotations, super types) of its
+     * type. The diagnostics reported for a type only depend on that type.
+     */
+    MEMBER,
+
+    /**
+     * The diagnostics reported for a type or for any of its members depend on
+     * the whole type, including its other members and its nested types.
+     */
+    TYPE,
+
+    /**
+     * The diagnostics depend on the whole compilation unit and are computed
+     * again on each validation.
+     */
+    COMPILATION_UNIT;
+}
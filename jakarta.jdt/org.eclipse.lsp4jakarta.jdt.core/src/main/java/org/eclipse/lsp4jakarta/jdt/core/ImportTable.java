@@ -0,0 +1,125 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IImportDeclaration;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * The import declarations of a compilation unit, indexed for constant time
+ * lookups.
+ *
+ * <p>
+ * The table holds the single type imports, the packages imported on demand,
+ * and the static single and on demand imports. It is built once per validation
+ * pass (see {@link JavaDiagnosticsContext#getImportTable()}) and must not
+ * outlive it. The answers of {@link #isImported(String)} are memoized, so the
+ * repeated lookups of the same name do not allocate.
+ * </p>
+ */
+public class ImportTable {
+
+    private final Set<String> singleTypeImports = new HashSet<>();
+
+    private final Set<String> onDemandImports = new HashSet<>();
+
+    private final Set<String> staticImports = new HashSet<>();
+
+    private final Set<String> staticOnDemandImports = new HashSet<>();
+
+    private final Map<String, Boolean> imported = new HashMap<>();
+
+    /**
+     * Returns the import table of the given compilation unit.
+     *
+     * @param unit the compilation unit
+     * @return the import table of the given compilation unit
+     * @throws JavaModelException
+     */
+    public static ImportTable of(ICompilationUnit unit) throws JavaModelException {
+        ImportTable table = new ImportTable();
+        for (IImportDeclaration importDeclaration : unit.getImports()) {
+            String name = importDeclaration.getElementName();
+            boolean isStatic = Flags.isStatic(importDeclaration.getFlags());
+            if (importDeclaration.isOnDemand()) {
+                String qualifier = name.substring(0, name.lastIndexOf('.'));
+                (isStatic ? table.staticOnDemandImports : table.onDemandImports).add(qualifier);
+            } else {
+                (isStatic ? table.staticImports : table.singleTypeImports).add(name);
+            }
+        }
+        return table;
+    }
+
+    private ImportTable() {
+    }
+
+    /**
+     * Returns true if the Java element with the given fully qualified name is
+     * imported, either by its name or on demand, and false otherwise.
+     *
+     * <p>
+     * Static imports are taken into account, as they may import member types.
+     * </p>
+     *
+     * @param javaElementFQName the fully qualified name of the Java element
+     * @return true if the Java element is imported
+     */
+    public boolean isImported(String javaElementFQName) {
+        Boolean result = imported.get(javaElementFQName);
+        if (result == null) {
+            result = computeImported(javaElementFQName);
+            imported.put(javaElementFQName, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if one of the Java elements with the given fully qualified
+     * names is imported and false otherwise.
+     *
+     * @param javaElementFQNames the fully qualified names of the Java elements
+     * @return true if one of the Java elements is imported
+     */
+    public boolean isImported(String[] javaElementFQNames) {
+        for (String javaElementFQName : javaElementFQNames) {
+            if (isImported(javaElementFQName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean computeImported(String javaElementFQName) {
+        if (singleTypeImports.contains(javaElementFQName) || staticImports.contains(javaElementFQName)) {
+            return true;
+        }
+        if (onDemandImports.isEmpty() && staticOnDemandImports.isEmpty()) {
+            return false;
+        }
+        int index = javaElementFQName.lastIndexOf('.');
+        if (index == -1) {
+            return false;
+        }
+        String qualifier = javaElementFQName.substring(0, index);
+        return onDemandImports.contains(qualifier) || staticOnDemandImports.contains(qualifier);
+    }
+}
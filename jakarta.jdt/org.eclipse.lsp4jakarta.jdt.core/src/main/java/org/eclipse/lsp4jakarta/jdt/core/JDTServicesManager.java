@@ -15,18 +15,36 @@
 package org.eclipse.lsp4jakarta.jdt.core;
 
 import java.net.URI;
+import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaModel;
 import org.eclipse.jdt.core.IJavaProject;
-import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTVisitor;
@@ -43,18 +61,21 @@ import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.internal.core.manipulation.dom.ASTResolving;
-import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.validation.NonNull;
+import org.eclipse.lsp4jakarta.commons.JakartaCollectorMetrics;
 import org.eclipse.lsp4jakarta.commons.JakartaDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionParams;
+import org.eclipse.lsp4jakarta.commons.JakartaPublishDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextKind;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 import org.eclipse.lsp4jakarta.jdt.codeAction.CodeActionHandler;
+import org.eclipse.lsp4jakarta.jdt.codeAction.FixAllHandler;
 import org.eclipse.lsp4jakarta.jdt.core.annotations.AnnotationDiagnosticsCollector;
 import org.eclipse.lsp4jakarta.jdt.core.beanvalidation.BeanValidationDiagnosticsCollector;
 import org.eclipse.lsp4jakarta.jdt.core.cdi.ManagedBeanDiagnosticsCollector;
@@ -79,12 +100,38 @@ import org.eclipse.lsp4jakarta.jdt.core.websocket.WebSocketDiagnosticsCollector;
  */
 public class JDTServicesManager {
 
+    /**
+     * System property giving the number of threads used to collect the
+     * diagnostics of several files at once. A value of 1 collects them
+     * sequentially in the calling thread.
+     */
+    public static final String DIAGNOSTICS_PARALLELISM_PROPERTY = "lsp4jakarta.diagnostics.parallelism";
+
+    private static final int DIAGNOSTICS_PARALLELISM = Math.max(1, Integer.getInteger(
+            DIAGNOSTICS_PARALLELISM_PROPERTY, Math.min(4, Runtime.getRuntime().availableProcessors())));
+
     private List<DiagnosticsCollector> diagnosticsCollectors = new ArrayList<>();
 
     private static final JDTServicesManager INSTANCE = new JDTServicesManager();
 
+    // the stamps of the change tracker start again when the server restarts
+    private static final String SESSION_ID = Long.toHexString(new SecureRandom().nextLong());
+
+    private final JavaDiagnosticsWalker diagnosticsWalker;
+
+    // validates the files which are fixed without being opened
+    private final JavaDiagnosticsWalker fixAllWalker;
+
+    private final DiagnosticsCache diagnosticsCache = new DiagnosticsCache();
+
+    private final FixAllHandler fixAllHandler;
+
     private final CodeActionHandler codeActionHandler;
 
+    private ExecutorService diagnosticsExecutor;
+
+    private volatile int diagnosticsParallelism = DIAGNOSTICS_PARALLELISM;
+
     public static JDTServicesManager getInstance() {
         return INSTANCE;
     }
@@ -106,7 +153,10 @@ public class JDTServicesManager {
         diagnosticsCollectors.add(new WebSocketDiagnosticsCollector());
         // comment it out as the collector is doing nothing
         // diagnosticsCollectors.add(new TransactionsDiagnosticsCollector());
+        this.diagnosticsWalker = new JavaDiagnosticsWalker(diagnosticsCollectors, true);
+        this.fixAllWalker = new JavaDiagnosticsWalker(diagnosticsCollectors, false);
         this.codeActionHandler = new CodeActionHandler();
+        this.fixAllHandler = new FixAllHandler();
     }
 
     /**
@@ -122,35 +172,343 @@ public class JDTServicesManager {
     /**
      * Returns diagnostics for the given uris
      * 
-     * @param uris the list of uris to collect diagnostics for
+     * <p>
+     * When more than one uri is given, the files are validated concurrently on a
+     * pool of {@link #DIAGNOSTICS_PARALLELISM_PROPERTY} threads. The result is in
+     * the same order as the given uris.
+     * </p>
+     * 
+     * @param uris    the list of uris to collect diagnostics for
+     * @param monitor the progress monitor
      * @return diagnostics
      */
     public List<PublishDiagnosticsParams> getJavaDiagnostics(List<String> uris,
             IProgressMonitor monitor) {
+        return getJavaDiagnostics(uris, monitor, null);
+    }
+
+    /**
+     * Returns diagnostics for the given uris, and gives the diagnostics of each
+     * file to the given consumer as soon as they are computed, e.g. to publish
+     * the first files without waiting for the slowest one.
+     * 
+     * <p>
+     * The consumer is called in the order the files complete, possibly from
+     * several threads at once.
+     * </p>
+     * 
+     * @param uris           the list of uris to collect diagnostics for
+     * @param monitor        the progress monitor
+     * @param partialResults the consumer of the diagnostics of each file, may be
+     *                       null
+     * @return diagnostics
+     */
+    public List<PublishDiagnosticsParams> getJavaDiagnostics(List<String> uris, IProgressMonitor monitor,
+            Consumer<PublishDiagnosticsParams> partialResults) {
+        return getJavaDiagnostics(uris, monitor, partialResults, 0);
+    }
+
+    /**
+     * Returns diagnostics for the given uris, the first one being computed within
+     * the given time budget.
+     * 
+     * <p>
+     * The time budget only applies to the first uri, i.e. to the document the
+     * user is editing; the other uris are fully validated. Once the time budget
+     * runs out, the collectors which were not called yet for the first uri are
+     * not called, and their previous diagnostics are returned instead, see
+     * {@link JavaDiagnosticsWalker#walk(ICompilationUnit, List, IProgressMonitor, int)}.
+     * The diagnostics of the first uri are then marked as partial with
+     * {@link JakartaPublishDiagnosticsParams#setPartial(boolean)}, so that the
+     * caller validates it again without a time budget.
+     * </p>
+     * 
+     * @param uris           the list of uris to collect diagnostics for
+     * @param monitor        the progress monitor
+     * @param partialResults the consumer of the diagnostics of each file, may be
+     *                       null
+     * @param timeBudget     the time budget in milliseconds, or 0 for no budget
+     * @return diagnostics
+     */
+    public List<PublishDiagnosticsParams> getJavaDiagnostics(List<String> uris, IProgressMonitor monitor,
+            Consumer<PublishDiagnosticsParams> partialResults, int timeBudget) {
         if (uris == null) {
             return Collections.emptyList();
         }
 
+        SubMonitor subMonitor = SubMonitor.convert(monitor, uris.size());
+        if (diagnosticsParallelism == 1 || uris.size() == 1) {
+            List<PublishDiagnosticsParams> publishDiagnostics = new ArrayList<PublishDiagnosticsParams>();
+            for (int i = 0; i < uris.size(); i++) {
+                publishDiagnostics.add(
+                        collectDiagnostics(uris.get(i), subMonitor, partialResults, i == 0 ? timeBudget : 0));
+                if (subMonitor.isCanceled()) {
+                    return Collections.emptyList();
+                }
+                subMonitor.worked(1);
+            }
+            return publishDiagnostics;
+        }
+
+        // The progress monitor is not thread safe: workers only poll it for
+        // cancellation, progress is reported from this thread.
+        ExecutorService executor = getDiagnosticsExecutor();
+        List<Future<PublishDiagnosticsParams>> futures = new ArrayList<>(uris.size());
+        for (int i = 0; i < uris.size(); i++) {
+            String uri = uris.get(i);
+            int budget = i == 0 ? timeBudget : 0;
+            futures.add(executor.submit(() -> collectDiagnostics(uri, subMonitor, partialResults, budget)));
+        }
         List<PublishDiagnosticsParams> publishDiagnostics = new ArrayList<PublishDiagnosticsParams>();
-        for (String uri : uris) {
-            List<Diagnostic> diagnostics = new ArrayList<>();
-            URI u = JDTUtils.toURI(uri);
-            ICompilationUnit unit = JDTUtils.resolveCompilationUnit(u);
-            for (DiagnosticsCollector d : diagnosticsCollectors) {
-                if (monitor.isCanceled()) {
-                    break;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                if (subMonitor.isCanceled()) {
+                    return Collections.emptyList();
                 }
-                d.collectDiagnostics(unit, diagnostics);
+                try {
+                    publishDiagnostics.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    JakartaCorePlugin.logException("Cannot calculate diagnostics", e.getCause());
+                    publishDiagnostics.add(new PublishDiagnosticsParams(uris.get(i), new ArrayList<>()));
+                }
+                subMonitor.worked(1);
             }
-            PublishDiagnosticsParams publishDiagnostic = new PublishDiagnosticsParams(uri, diagnostics);
-            publishDiagnostics.add(publishDiagnostic);
-            if (monitor.isCanceled()) {
-                return Collections.emptyList();
+        } catch (InterruptedException | CancellationException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } finally {
+            for (Future<PublishDiagnosticsParams> future : futures) {
+                future.cancel(false);
+            }
+        }
+        if (subMonitor.isCanceled()) {
+            return Collections.emptyList();
+        }
+        return publishDiagnostics;
+    }
+
+    private PublishDiagnosticsParams collectDiagnostics(String uri, IProgressMonitor monitor,
+            Consumer<PublishDiagnosticsParams> partialResults, int timeBudget) {
+        PublishDiagnosticsParams publishDiagnostics = collectDiagnostics(uri, monitor, timeBudget);
+        if (partialResults != null && !monitor.isCanceled()) {
+            partialResults.accept(publishDiagnostics);
+        }
+        return publishDiagnostics;
+    }
+
+    private static PublishDiagnosticsParams createPartialDiagnostics(String uri, List<Diagnostic> diagnostics) {
+        JakartaPublishDiagnosticsParams publishDiagnostics = new JakartaPublishDiagnosticsParams(uri, diagnostics);
+        publishDiagnostics.setPartial(true);
+        return publishDiagnostics;
+    }
+
+    private PublishDiagnosticsParams collectDiagnostics(String uri, IProgressMonitor monitor, int timeBudget) {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        URI u = JDTUtils.toURI(uri);
+        ICompilationUnit unit = JDTUtils.resolveCompilationUnit(u);
+        String fingerprint = null;
+        Set<ICompilationUnit> dependencies = null;
+        long stamp = 0;
+        if (unit != null) {
+            try {
+                // the collectors read the Java model, which only follows the buffer the
+                // fingerprint hashes once the unit is reconciled
+                if (unit.isConsistent()) {
+                    stamp = JavaElementChangeTracker.getInstance().getSourceStamp(unit);
+                    // the cached diagnostics are outdated once a dependency changed
+                    dependencies = JavaDependencyIndex.getInstance().getDependencies(unit);
+                    fingerprint = DiagnosticsCache.getFingerprint(unit)
+                            + JavaDependencyIndex.getFingerprint(dependencies);
+                    PublishDiagnosticsParams cached = diagnosticsCache.get(uri, fingerprint);
+                    if (cached != null) {
+                        return cached;
+                    }
+                }
+            } catch (JavaModelException e) {
+                JakartaCorePlugin.logException("Cannot compute the fingerprint of " + uri, e);
+            }
+        }
+        if (monitor.isCanceled()) {
+            return createPartialDiagnostics(uri, diagnostics);
+        }
+        // the collectors share the model lookups of a single walk context
+        if (!diagnosticsWalker.walk(unit, diagnostics, monitor, timeBudget)) {
+            // the walk was cancelled, or some collectors did not complete within the budget
+            return createPartialDiagnostics(uri, diagnostics);
+        }
+        PublishDiagnosticsParams publishDiagnostics = new PublishDiagnosticsParams(uri, diagnostics);
+        if (fingerprint != null && isModelUnchanged(unit, stamp)) {
+            Set<ICompilationUnit> newDependencies = JavaDependencyIndex.getInstance().update(unit);
+            if (!Objects.equals(dependencies != null ? dependencies : Collections.emptySet(), newDependencies)) {
+                // the fingerprint was computed from other dependencies
+                fingerprint = null;
             }
+        } else {
+            // the unit was changed while it was walked
+            fingerprint = null;
+        }
+        if (fingerprint != null && isModelUnchanged(unit, stamp)) {
+            diagnosticsCache.put(uri, fingerprint, publishDiagnostics);
         }
         return publishDiagnostics;
     }
 
+    /**
+     * Returns true if the Java model of the given unit still matches its buffer
+     * and did not change since the given source stamp.
+     */
+    private static boolean isModelUnchanged(ICompilationUnit unit, long stamp) {
+        try {
+            return unit.isConsistent() && JavaElementChangeTracker.getInstance().getSourceStamp(unit) == stamp;
+        } catch (JavaModelException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the given uris whose files must be validated again when the file of
+     * the given uri is saved: the saved file and the files whose diagnostics
+     * depend on it.
+     * 
+     * @param uri  the uri of the saved file
+     * @param uris the uris of the opened files
+     * @return the uris of the files to validate again
+     */
+    public List<String> getJavaDependents(String uri, List<String> uris) {
+        if (uri == null || uris == null) {
+            return Collections.emptyList();
+        }
+        return JavaDependencyIndex.getInstance().getDependents(uri, uris);
+    }
+
+    /**
+     * Returns, for each of the given uris, a fingerprint of what the diagnostics
+     * of its file depend on besides the contents of the file itself: the
+     * classpath and the source types of its project, and the files it depends
+     * on. Unlike the diagnostics, the
+     * fingerprints are cheap to compute, so that a client can tell whether the
+     * diagnostics of an unchanged file are still up to date.
+     * 
+     * <p>
+     * The fingerprint is null when it is not known, e.g. when the file was not
+     * validated yet.
+     * </p>
+     * 
+     * @param uris the uris of the files
+     * @return the fingerprints, in the same order as the given uris
+     */
+    public List<String> getJavaFingerprints(List<String> uris) {
+        if (uris == null) {
+            return Collections.emptyList();
+        }
+        List<String> fingerprints = new ArrayList<>(uris.size());
+        for (String uri : uris) {
+            ICompilationUnit unit = JDTUtils.resolveCompilationUnit(JDTUtils.toURI(uri));
+            Set<ICompilationUnit> dependencies = unit != null
+                    ? JavaDependencyIndex.getInstance().getDependencies(unit)
+                    : null;
+            if (dependencies == null) {
+                fingerprints.add(null);
+                continue;
+            }
+            IJavaProject project = unit.getJavaProject();
+            try {
+                fingerprints.add(SESSION_ID + '-' + JavaElementChangeTracker.getInstance().getClasspathStamp(project)
+                        + '-' + SourceTypeIndex.getInstance().getStamp(project) + '-'
+                        + JavaDependencyIndex.getFingerprint(dependencies));
+            } catch (JavaModelException e) {
+                JakartaCorePlugin.logException("Cannot compute the fingerprint of " + uri, e);
+                fingerprints.add(null);
+            }
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Returns the metrics of each diagnostics collector: the time spent in the
+     * collector, the types and members it visited, the diagnostics it reported
+     * and the exceptions it threw, aggregated over the validated files. They are
+     * followed by the {@link JakartaCollectorMetrics#DIAGNOSTICS_CACHE} entry,
+     * with the hits and misses of the diagnostics cache, to size the cache.
+     * 
+     * @param reset true to reset the metrics once they are returned
+     * @return the metrics of the collectors, sorted by name, and of the
+     *         diagnostics cache
+     */
+    public List<JakartaCollectorMetrics> getJavaMetrics(boolean reset) {
+        List<JakartaCollectorMetrics> metrics = DiagnosticsMetrics.getInstance().getMetrics(reset);
+        JakartaCollectorMetrics cache = new JakartaCollectorMetrics();
+        cache.setCollector(JakartaCollectorMetrics.DIAGNOSTICS_CACHE);
+        cache.setCacheHits(diagnosticsCache.getHitCount());
+        cache.setCacheMisses(diagnosticsCache.getMissCount());
+        if (reset) {
+            diagnosticsCache.resetCounts();
+        }
+        metrics.add(cache);
+        return metrics;
+    }
+
+    /**
+     * Returns the cache of the diagnostics computed by
+     * {@link #getJavaDiagnostics(List, IProgressMonitor)}.
+     * 
+     * @return the diagnostics cache
+     */
+    public DiagnosticsCache getDiagnosticsCache() {
+        return diagnosticsCache;
+    }
+
+    /**
+     * Forgets the diagnostics computed so far, both the cached diagnostics of the
+     * files and those the walker keeps to reuse for the unchanged elements, so
+     * that the next validation of each file calls all the collectors again.
+     */
+    public void clearDiagnostics() {
+        diagnosticsCache.clear();
+        diagnosticsWalker.reset();
+    }
+
+    /**
+     * Returns the number of threads used to collect the diagnostics of several
+     * files at once.
+     * 
+     * @return the number of threads
+     */
+    public int getDiagnosticsParallelism() {
+        return diagnosticsParallelism;
+    }
+
+    /**
+     * Sets the number of threads used to collect the diagnostics of several files
+     * at once, instead of the {@link #DIAGNOSTICS_PARALLELISM_PROPERTY} system
+     * property, e.g. to compare the concurrent and sequential validations.
+     * 
+     * @param parallelism the number of threads, 1 to collect the diagnostics
+     *                    sequentially
+     */
+    public synchronized void setDiagnosticsParallelism(int parallelism) {
+        diagnosticsParallelism = Math.max(1, parallelism);
+        if (diagnosticsExecutor != null) {
+            // the running validations complete on the previous pool
+            diagnosticsExecutor.shutdown();
+            diagnosticsExecutor = null;
+        }
+    }
+
+    private synchronized ExecutorService getDiagnosticsExecutor() {
+        if (diagnosticsExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable,
+                        "LSP4Jakarta diagnostics #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            };
+            diagnosticsExecutor = Executors.newFixedThreadPool(diagnosticsParallelism, threadFactory);
+        }
+        return diagnosticsExecutor;
+    }
+
     /**
      * @author ankushsharma
      * @brief Gets all snippet contexts that exist in the current project classpath
@@ -169,17 +527,11 @@ public class JDTServicesManager {
         IJavaProject project = unit.getJavaProject();
         // Get Java Project
         if (project != null) {
+            JakartaApiIndex index = JakartaApiIndex.getInstance();
             snippetContexts.forEach(ctx -> {
-                IType classPathctx = null;
-                try {
-                    classPathctx = project.findType(ctx);
-                    if (classPathctx != null) {
-                        classpath.add(ctx);
-                    } else {
-                        classpath.add(null);
-                    }
-                } catch (JavaModelException e) {
-                    JavaLanguageServerPlugin.logException("Failed to retrieve projectContext from JDT...", e);
+                if (index.hasType(project, ctx)) {
+                    classpath.add(ctx);
+                } else {
                     classpath.add(null);
                 }
             });
@@ -208,6 +560,139 @@ public class JDTServicesManager {
         return codeActionHandler.codeAction(params, utils, monitor);
     }
 
+    /**
+     * Returns the given code action with its edit, for the
+     * <code>codeAction/resolve</code> request.
+     *
+     * @param unresolved the code action without its edit
+     * @param utils      the jdt utils
+     * @param monitor    the progress monitor
+     * @return the code action with its edit
+     */
+    public CodeAction resolveCodeAction(CodeAction unresolved, JDTUtils utils, IProgressMonitor monitor) {
+        return codeActionHandler.resolveCodeAction(unresolved, utils, monitor);
+    }
+
+    /**
+     * Returns the edit which fixes all the Jakarta problems of the given file.
+     *
+     * @param uri                        the uri of the java file
+     * @param utils                      the jdt utils
+     * @param resourceOperationSupported true if the client supports the resource
+     *                                   operations
+     * @param monitor                    the progress monitor
+     * @return the edit, or null if there is nothing to fix
+     * @throws CoreException
+     */
+    public WorkspaceEdit getFixAll(String uri, JDTUtils utils, boolean resourceOperationSupported,
+            IProgressMonitor monitor) throws CoreException {
+        List<PublishDiagnosticsParams> diagnostics = getJavaDiagnostics(Collections.singletonList(uri), monitor);
+        if (diagnostics.isEmpty() || monitor.isCanceled()) {
+            return null;
+        }
+        return fixAllHandler.getFixAllEdit(uri, diagnostics.get(0).getDiagnostics(), utils,
+                resourceOperationSupported, monitor);
+    }
+
+    /**
+     * Returns the edit which fixes all the Jakarta problems of the source files
+     * of the workspace.
+     * 
+     * <p>
+     * The files are validated, then fixed, concurrently on the pool of
+     * {@link #DIAGNOSTICS_PARALLELISM_PROPERTY} threads. Each file is fixed with
+     * a single edit. The progress is reported per file, and the fix stops as soon
+     * as the monitor is cancelled.
+     * </p>
+     *
+     * <p>
+     * The files which are not opened in the client are validated without
+     * entering the diagnostics cache and the dependency index, which only keep
+     * the files the client asks diagnostics for.
+     * </p>
+     *
+     * @param utils                      the jdt utils
+     * @param resourceOperationSupported true if the client supports the resource
+     *                                   operations
+     * @param monitor                    the progress monitor
+     * @return the edit, or null if there is nothing to fix or if the monitor is
+     *         cancelled
+     * @throws CoreException
+     */
+    public WorkspaceEdit getFixAllInWorkspace(JDTUtils utils, boolean resourceOperationSupported,
+            IProgressMonitor monitor) throws CoreException {
+        List<ICompilationUnit> units = new ArrayList<>();
+        IJavaModel javaModel = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot());
+        for (IJavaProject javaProject : javaModel.getJavaProjects()) {
+            for (IPackageFragmentRoot root : javaProject.getPackageFragmentRoots()) {
+                if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+                    continue;
+                }
+                for (IJavaElement child : root.getChildren()) {
+                    for (ICompilationUnit unit : ((IPackageFragment) child).getCompilationUnits()) {
+                        units.add(unit);
+                    }
+                }
+            }
+            if (monitor.isCanceled()) {
+                return null;
+            }
+        }
+
+        // The progress monitor is not thread safe: workers only poll it for
+        // cancellation, progress is reported from this thread.
+        SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.getMessage("FixAllInWorkspace"), units.size());
+        ExecutorService executor = getDiagnosticsExecutor();
+        List<Future<WorkspaceEdit>> futures = new ArrayList<>(units.size());
+        for (ICompilationUnit unit : units) {
+            futures.add(executor.submit(() -> getFixAllEdit(unit, utils, resourceOperationSupported, subMonitor)));
+        }
+        WorkspaceEdit edit = new WorkspaceEdit();
+        boolean changed = false;
+        try {
+            for (Future<WorkspaceEdit> future : futures) {
+                if (subMonitor.isCanceled()) {
+                    return null;
+                }
+                try {
+                    WorkspaceEdit unitEdit = future.get();
+                    if (unitEdit != null) {
+                        FixAllHandler.merge(edit, unitEdit);
+                        changed = true;
+                    }
+                } catch (ExecutionException e) {
+                    JakartaCorePlugin.logException("Cannot fix all the Jakarta problems", e.getCause());
+                }
+                subMonitor.worked(1);
+            }
+        } catch (InterruptedException | CancellationException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            for (Future<WorkspaceEdit> future : futures) {
+                future.cancel(false);
+            }
+        }
+        return changed && !subMonitor.isCanceled() ? edit : null;
+    }
+
+    private WorkspaceEdit getFixAllEdit(ICompilationUnit unit, JDTUtils utils, boolean resourceOperationSupported,
+            IProgressMonitor monitor) throws CoreException {
+        String uri = JDTUtils.toURI(unit);
+        List<Diagnostic> diagnostics;
+        if (unit.isWorkingCopy()) {
+            // the file is opened, its diagnostics are likely cached
+            diagnostics = collectDiagnostics(uri, monitor, 0).getDiagnostics();
+        } else {
+            diagnostics = new ArrayList<>();
+            fixAllWalker.walk(unit, diagnostics, monitor, 0);
+        }
+        if (diagnostics.isEmpty() || monitor.isCanceled()) {
+            return null;
+        }
+        return fixAllHandler.getFixAllEdit(uri, diagnostics, utils, resourceOperationSupported, monitor);
+    }
+
 	/**
 	 * Returns the cursor context for the given file and cursor position.
 	 *
@@ -228,6 +713,10 @@ public class JDTServicesManager {
 			return new JavaCursorContextResult(JavaCursorContextKind.IN_EMPTY_FILE, "");
 		}
 		CompilationUnit ast = ASTResolving.createQuickFixAST((ICompilationUnit) typeRoot, monitor);
+		if (ast == null || monitor.isCanceled()) {
+			// the parse was cancelled, the result is not used
+			return new JavaCursorContextResult(JavaCursorContextKind.IN_EMPTY_FILE, "");
+		}
 
 		JavaCursorContextKind kind = getJavaCursorContextKind(params, typeRoot, ast, utils, monitor);
 		String prefix = getJavaCursorPrefix(params, typeRoot, ast, utils, monitor);
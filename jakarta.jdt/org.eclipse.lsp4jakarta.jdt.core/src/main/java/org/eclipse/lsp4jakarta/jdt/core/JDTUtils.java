@@ -383,25 +383,13 @@ public class JDTUtils {
      * @throws JavaModelException
      */
     public static Range toRange(IOpenable openable, int offset, int length) throws JavaModelException {
-        Range range = newRange();
         if (offset > 0 || length > 0) {
-            int[] loc = null;
-            int[] endLoc = null;
-            IBuffer buffer = openable.getBuffer();
-            if (buffer != null) {
-                loc = JsonRpcHelpers.toLine(buffer, offset);
-                endLoc = JsonRpcHelpers.toLine(buffer, offset + length);
+            LineOffsetIndex index = LineOffsetIndex.of(openable.getBuffer());
+            if (index != null) {
+                return index.toRange(offset, length);
             }
-            if (loc == null) {
-                loc = new int[2];
-            }
-            if (endLoc == null) {
-                endLoc = new int[2];
-            }
-            setPosition(range.getStart(), loc);
-            setPosition(range.getEnd(), endLoc);
         }
-        return range;
+        return newRange();
     }
 
     /**
@@ -414,12 +402,6 @@ public class JDTUtils {
         return new Range(new Position(), new Position());
     }
 
-    private static void setPosition(Position position, int[] coords) {
-        assert coords.length == 2;
-        position.setLine(coords[0]);
-        position.setCharacter(coords[1]);
-    }
-
     /**
      * Returns uri for a compilation unit
      *
@@ -0,0 +1,54 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+/**
+ * Jakarta APIs whose presence on a project classpath is tracked by
+ * {@link JakartaApiIndex}. Each API is detected through a marker type which is
+ * part of every version of its jakarta.* artifact.
+ */
+public enum JakartaApi {
+
+    SERVLET("jakarta.servlet.Servlet"),
+
+    JAX_RS("jakarta.ws.rs.Path"),
+
+    PERSISTENCE("jakarta.persistence.Entity"),
+
+    CDI("jakarta.enterprise.context.Dependent"),
+
+    WEBSOCKET("jakarta.websocket.Session"),
+
+    JSONB("jakarta.json.bind.Jsonb"),
+
+    JSONP("jakarta.json.Json"),
+
+    BEAN_VALIDATION("jakarta.validation.constraints.NotNull");
+
+    private final String markerType;
+
+    private JakartaApi(String markerType) {
+        this.markerType = markerType;
+    }
+
+    /**
+     * Returns the fully qualified name of the type whose presence on the
+     * classpath denotes this API.
+     *
+     * @return the fully qualified name of the marker type
+     */
+    public String getMarkerType() {
+        return markerType;
+    }
+}
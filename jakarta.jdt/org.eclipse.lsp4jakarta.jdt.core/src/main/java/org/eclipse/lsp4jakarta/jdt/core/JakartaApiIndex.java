@@ -0,0 +1,144 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Index of the types known to be present or absent on the classpath of each
+ * Java project, used to know which {@link JakartaApi}s a project uses.
+ *
+ * <p>
+ * The lookups of a project are cached until its classpath changes, or until
+ * it is closed or removed. The index listens to the Java model for that
+ * purpose once {@link #install()} is called.
+ * </p>
+ */
+public class JakartaApiIndex implements IElementChangedListener {
+
+    private static final int PROJECT_CHANGES = IJavaElementDelta.F_CLASSPATH_CHANGED
+            | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLOSED;
+
+    private static final int ROOT_CHANGES = IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+            | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH;
+
+    private static final JakartaApiIndex INSTANCE = new JakartaApiIndex();
+
+    private final Map<IJavaProject, Map<String, Boolean>> projects = new ConcurrentHashMap<>();
+
+    public static JakartaApiIndex getInstance() {
+        return INSTANCE;
+    }
+
+    private JakartaApiIndex() {
+    }
+
+    /**
+     * Starts listening to the classpath changes of the Java projects.
+     */
+    public void install() {
+        JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+    }
+
+    /**
+     * Stops listening to the classpath changes of the Java projects and clears
+     * the index.
+     */
+    public void uninstall() {
+        JavaCore.removeElementChangedListener(this);
+        projects.clear();
+    }
+
+    /**
+     * Returns true if the given API is on the classpath of the given project and
+     * false otherwise.
+     *
+     * @param project the Java project
+     * @param api     the Jakarta API
+     * @return true if the given API is on the classpath of the given project
+     */
+    public boolean hasApi(IJavaProject project, JakartaApi api) {
+        return hasType(project, api.getMarkerType());
+    }
+
+    /**
+     * Returns true if the type with the given fully qualified name is on the
+     * classpath of the given project and false otherwise.
+     *
+     * @param project            the Java project
+     * @param fullyQualifiedName the fully qualified name of the type
+     * @return true if the type is on the classpath of the given project
+     */
+    public boolean hasType(IJavaProject project, String fullyQualifiedName) {
+        Map<String, Boolean> types = projects.computeIfAbsent(project, p -> new ConcurrentHashMap<>());
+        return types.computeIfAbsent(fullyQualifiedName, name -> {
+            try {
+                return project.findType(name) != null;
+            } catch (JavaModelException e) {
+                JakartaCorePlugin.logException("Failed to retrieve projectContext from JDT...", e);
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Forgets the lookups done for the given project.
+     *
+     * @param project the Java project
+     */
+    public void invalidate(IJavaProject project) {
+        projects.remove(project);
+    }
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        processDelta(event.getDelta());
+    }
+
+    private void processDelta(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+        switch (element.getElementType()) {
+        case IJavaElement.JAVA_MODEL:
+            for (IJavaElementDelta child : delta.getAffectedChildren()) {
+                processDelta(child);
+            }
+            break;
+        case IJavaElement.JAVA_PROJECT:
+            if (delta.getKind() == IJavaElementDelta.REMOVED || (delta.getFlags() & PROJECT_CHANGES) != 0) {
+                invalidate((IJavaProject) element);
+                break;
+            }
+            for (IJavaElementDelta child : delta.getAffectedChildren()) {
+                // e.g. a jar replaced in place
+                if (child.getElement().getElementType() == IJavaElement.PACKAGE_FRAGMENT_ROOT
+                        && (child.getFlags() & ROOT_CHANGES) != 0) {
+                    invalidate((IJavaProject) element);
+                    break;
+                }
+            }
+            break;
+        default:
+            break;
+        }
+    }
+}
@@ -33,9 +33,17 @@ public class JakartaCorePlugin implements BundleActivator {
     public void start(BundleContext context) throws Exception {
 //    	super.start(context);
 		plugin = this;
+		JakartaApiIndex.getInstance().install();
+		JavaElementChangeTracker.getInstance().install();
+		SourceTypeIndex.getInstance().install();
 	}
 
 	public void stop(BundleContext context) throws Exception {
+		SourceTypeIndex.getInstance().uninstall();
+		JavaElementChangeTracker.getInstance().uninstall();
+		JakartaApiIndex.getInstance().uninstall();
+		TypeHierarchyCache.getInstance().clear();
+		JDTServicesManager.getInstance().clearDiagnostics();
 		plugin = null;
 //		super.stop(context);
 	}
@@ -0,0 +1,315 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.core.IAnnotatable;
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Records the other compilation units the diagnostics of a compilation unit
+ * rely on.
+ *
+ * <p>
+ * The dependencies of a unit are the source units declaring:
+ * </p>
+ * <ul>
+ * <li>the supertypes of its types, e.g. for the Servlet, Filter and Listener
+ * diagnostics,</li>
+ * <li>the types injected into its fields, methods and constructors,</li>
+ * <li>the types of its entity relationships.</li>
+ * </ul>
+ *
+ * <p>
+ * They are recorded each time the unit is validated. They are used to
+ * revalidate only the dependents of a saved unit, and to invalidate the
+ * diagnostics cached for a unit when one of its dependencies changes (see
+ * {@link #getFingerprint(Set)} and {@link #hasDependencyChanged}).
+ * </p>
+ */
+public class JavaDependencyIndex {
+
+    private static final int MAX_UNITS = 1024;
+
+    private static final String[] INJECT_ANNOTATIONS = { "jakarta.inject.Inject" };
+
+    private static final String[] RELATIONSHIP_ANNOTATIONS = { "jakarta.persistence.OneToOne",
+            "jakarta.persistence.OneToMany", "jakarta.persistence.ManyToOne", "jakarta.persistence.ManyToMany",
+            "jakarta.persistence.ElementCollection", "jakarta.persistence.Embedded",
+            "jakarta.persistence.EmbeddedId" };
+
+    private static final JavaDependencyIndex INSTANCE = new JavaDependencyIndex();
+
+    private final Map<ICompilationUnit, Set<ICompilationUnit>> dependencies = new LinkedHashMap<>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ICompilationUnit, Set<ICompilationUnit>> eldest) {
+            return size() > MAX_UNITS;
+        }
+    };
+
+    public static JavaDependencyIndex getInstance() {
+        return INSTANCE;
+    }
+
+    private JavaDependencyIndex() {
+    }
+
+    /**
+     * Returns the recorded dependencies of the given compilation unit, or null if
+     * they were not recorded.
+     *
+     * @param unit the compilation unit
+     * @return the recorded dependencies of the given compilation unit
+     */
+    public Set<ICompilationUnit> getDependencies(ICompilationUnit unit) {
+        synchronized (dependencies) {
+            return dependencies.get(unit.getPrimary());
+        }
+    }
+
+    /**
+     * Computes and records the dependencies of the given compilation unit.
+     *
+     * @param unit the compilation unit
+     * @return the dependencies of the given compilation unit
+     */
+    public Set<ICompilationUnit> update(ICompilationUnit unit) {
+        Set<ICompilationUnit> units;
+        try {
+            units = computeDependencies(unit);
+        } catch (JavaModelException e) {
+            JakartaCorePlugin.logException("Cannot compute the dependencies of " + unit.getElementName(), e);
+            units = Collections.emptySet();
+        }
+        synchronized (dependencies) {
+            dependencies.put(unit.getPrimary(), units);
+        }
+        return units;
+    }
+
+    /**
+     * Returns true if one of the recorded dependencies of the given compilation
+     * unit changed since the given stamp of the {@link JavaElementChangeTracker}
+     * and false otherwise.
+     *
+     * @param unit  the compilation unit
+     * @param since the stamp read before the Java model was read
+     * @return true if one of the dependencies of the given unit changed
+     */
+    public boolean hasDependencyChanged(ICompilationUnit unit, long since) {
+        Set<ICompilationUnit> units = getDependencies(unit);
+        if (units == null) {
+            return false;
+        }
+        JavaElementChangeTracker tracker = JavaElementChangeTracker.getInstance();
+        for (ICompilationUnit dependency : units) {
+            if (tracker.getLastChangeStamp(dependency) > since) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a fingerprint of the last recorded changes of the given
+     * dependencies. The fingerprint changes when one of the dependencies changes.
+     *
+     * @param units the dependencies, may be null
+     * @return a fingerprint of the last recorded changes of the given
+     *         dependencies
+     */
+    public static String getFingerprint(Set<ICompilationUnit> units) {
+        if (units == null || units.isEmpty()) {
+            return "";
+        }
+        // sorted, so that the fingerprint does not depend on the iteration order
+        Map<String, Long> stamps = new TreeMap<>();
+        JavaElementChangeTracker tracker = JavaElementChangeTracker.getInstance();
+        for (ICompilationUnit dependency : units) {
+            stamps.put(dependency.getHandleIdentifier(), tracker.getLastChangeStamp(dependency));
+        }
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Map.Entry<String, Long> entry : stamps.entrySet()) {
+            hasher.putString(entry.getKey(), StandardCharsets.UTF_16LE);
+            hasher.putLong(entry.getValue());
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Returns the given uris whose compilation units must be validated again when
+     * the compilation unit of the given uri is saved: the uri itself and the uris
+     * of the units depending on it.
+     *
+     * <p>
+     * Only the recorded dependencies are looked up: a unit whose dependencies
+     * were not recorded yet, i.e. which was not validated yet, is skipped, as it
+     * will be validated anyway.
+     * </p>
+     *
+     * @param uri  the uri of the saved compilation unit
+     * @param uris the uris to filter, e.g. the uris of the opened documents
+     * @return the uris to validate again
+     */
+    public List<String> getDependents(String uri, List<String> uris) {
+        List<String> dependents = new ArrayList<>();
+        ICompilationUnit saved = JDTUtils.resolveCompilationUnit(JDTUtils.toURI(uri));
+        if (saved == null) {
+            return dependents;
+        }
+        saved = saved.getPrimary();
+        for (String candidateUri : uris) {
+            ICompilationUnit candidate = uri.equals(candidateUri) ? saved
+                    : JDTUtils.resolveCompilationUnit(JDTUtils.toURI(candidateUri));
+            if (candidate == null) {
+                continue;
+            }
+            if (saved.equals(candidate.getPrimary())) {
+                dependents.add(candidateUri);
+                continue;
+            }
+            Set<ICompilationUnit> units = getDependencies(candidate);
+            if (units != null && units.contains(saved)) {
+                dependents.add(candidateUri);
+            }
+        }
+        return dependents;
+    }
+
+    private static Set<ICompilationUnit> computeDependencies(ICompilationUnit unit) throws JavaModelException {
+        Set<ICompilationUnit> units = new HashSet<>();
+        IJavaProject project = unit.getJavaProject();
+        // the annotation names are resolved like the collectors do, once per pass
+        JavaDiagnosticsContext context = new JavaDiagnosticsContext(unit, Collections.emptyList());
+        for (IType type : unit.getAllTypes()) {
+            ITypeHierarchy hierarchy = TypeHierarchyCache.getInstance().getSupertypeHierarchy(type);
+            for (IType supertype : hierarchy.getAllSupertypes(type)) {
+                addSourceUnit(supertype, units);
+            }
+            for (IField field : type.getFields()) {
+                if (hasAnnotation(context, type, field, INJECT_ANNOTATIONS)
+                        || hasAnnotation(context, type, field, RELATIONSHIP_ANNOTATIONS)) {
+                    addTypeDependencies(type, field.getTypeSignature(), project, units);
+                }
+            }
+            for (IMethod method : type.getMethods()) {
+                if (hasAnnotation(context, type, method, INJECT_ANNOTATIONS)) {
+                    for (String parameterType : method.getParameterTypes()) {
+                        addTypeDependencies(type, parameterType, project, units);
+                    }
+                }
+                if (hasAnnotation(context, type, method, RELATIONSHIP_ANNOTATIONS)) {
+                    addTypeDependencies(type, method.getReturnType(), project, units);
+                }
+            }
+        }
+        units.remove(unit.getPrimary());
+        return units;
+    }
+
+    /**
+     * Returns true if the given member of the given type is annotated with one of
+     * the annotations of the given fully qualified names. A simple name matches
+     * when the annotation is imported, a qualified name when it resolves to the
+     * annotation.
+     */
+    private static boolean hasAnnotation(JavaDiagnosticsContext context, IType declaringType,
+            IAnnotatable annotatable, String[] annotationFQNames) throws JavaModelException {
+        for (IAnnotation annotation : annotatable.getAnnotations()) {
+            String elementName = annotation.getElementName();
+            for (String annotationFQName : annotationFQNames) {
+                if (annotationFQName.equals(elementName)) {
+                    String[][] resolved = context.resolveType(declaringType, elementName);
+                    if (resolved != null && resolved.length == 1
+                            && annotationFQName.equals(resolved[0][0] + "." + resolved[0][1])) {
+                        return true;
+                    }
+                } else if (annotationFQName.endsWith("." + elementName)
+                        && context.getImportTable().isImported(annotationFQName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the source units of the type of the given signature and of its type
+     * arguments, e.g. of <code>Address</code> for
+     * <code>List&lt;Address&gt;</code>.
+     */
+    private static void addTypeDependencies(IType declaringType, String signature, IJavaProject project,
+            Set<ICompilationUnit> units) throws JavaModelException {
+        switch (Signature.getTypeSignatureKind(signature)) {
+        case Signature.WILDCARD_TYPE_SIGNATURE:
+            if (signature.length() > 1) {
+                // ? extends T or ? super T
+                addTypeDependencies(declaringType, signature.substring(1), project, units);
+            }
+            return;
+        case Signature.ARRAY_TYPE_SIGNATURE:
+            addTypeDependencies(declaringType, Signature.getElementType(signature), project, units);
+            return;
+        case Signature.CLASS_TYPE_SIGNATURE:
+            break;
+        default:
+            // primitive types and type variables
+            return;
+        }
+        for (String typeArgument : Signature.getTypeArguments(signature)) {
+            addTypeDependencies(declaringType, typeArgument, project, units);
+        }
+        String name = Signature.toString(Signature.getTypeErasure(signature));
+        String[][] resolved = declaringType.resolveType(name);
+        if (resolved == null || resolved.length == 0) {
+            return;
+        }
+        String packageName = resolved[0][0];
+        String typeName = resolved[0][1];
+        IType type = project.findType(packageName.isEmpty() ? typeName : packageName + "." + typeName);
+        if (type != null) {
+            addSourceUnit(type, units);
+        }
+    }
+
+    private static void addSourceUnit(IType type, Set<ICompilationUnit> units) {
+        ICompilationUnit unit = type.getCompilationUnit();
+        if (unit != null) {
+            units.add(unit.getPrimary());
+        }
+    }
+}
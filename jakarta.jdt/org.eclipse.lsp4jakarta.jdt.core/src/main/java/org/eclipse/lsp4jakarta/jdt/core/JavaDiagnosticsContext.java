@@ -0,0 +1,274 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IAnnotatable;
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.ILocalVariable;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.lsp4j.Diagnostic;
+
+/**
+ * State shared by all diagnostics collectors during one validation pass of a
+ * compilation unit.
+ *
+ * <p>
+ * The Java model accessors below ({@link IType#getMethods()},
+ * {@link IAnnotatable#getAnnotations()}, ...) allocate a new array on each
+ * call. The context memoizes their results so that the unit's types, members,
+ * parameters and annotations are read from the Java model only once per pass,
+ * no matter how many collectors look at them. A context must not outlive the
+ * pass it was created for.
+ * </p>
+ */
+public class JavaDiagnosticsContext {
+
+    private final ICompilationUnit unit;
+
+    private final List<Diagnostic> diagnostics;
+
+    private IType[] allTypes;
+
+    private ImportTable importTable;
+
+    private final Map<IType, IMethod[]> methods = new HashMap<>();
+
+    private final Map<IType, IField[]> fields = new HashMap<>();
+
+    private final Map<IMethod, ILocalVariable[]> parameters = new HashMap<>();
+
+    private final Map<IAnnotatable, IAnnotation[]> annotations = new HashMap<>();
+
+    private final Map<IAnnotatable, String[]> annotationNames = new HashMap<>();
+
+    private final Map<IType, Map<String, String[][]>> resolvedTypes = new HashMap<>();
+
+    private int typeResolutionCount;
+
+    private final IProgressMonitor monitor;
+
+    private CompilationUnit astRoot;
+
+    public JavaDiagnosticsContext(ICompilationUnit unit, List<Diagnostic> diagnostics) {
+        this(unit, diagnostics, null);
+    }
+
+    /**
+     * @param unit        the compilation unit being validated
+     * @param diagnostics the list the collectors add their diagnostics to
+     * @param monitor     the progress monitor of the validation, may be null
+     */
+    public JavaDiagnosticsContext(ICompilationUnit unit, List<Diagnostic> diagnostics, IProgressMonitor monitor) {
+        this.unit = unit;
+        this.diagnostics = diagnostics;
+        this.monitor = monitor;
+    }
+
+    /**
+     * Returns the compilation unit being validated.
+     *
+     * @return the compilation unit being validated
+     */
+    public ICompilationUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the list the collectors add their diagnostics to.
+     *
+     * @return the list the collectors add their diagnostics to
+     */
+    public List<Diagnostic> getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Returns true if the validation was cancelled, e.g. because the document
+     * changed again. Collectors doing a costly work in a single callback, such as
+     * parsing the unit, should stop when it returns true.
+     *
+     * @return true if the validation was cancelled and false otherwise
+     */
+    public boolean isCanceled() {
+        return monitor != null && monitor.isCanceled();
+    }
+
+    /**
+     * Returns all the types of the compilation unit, including nested types.
+     *
+     * @return all the types of the compilation unit
+     * @throws JavaModelException
+     */
+    public IType[] getAllTypes() throws JavaModelException {
+        if (allTypes == null) {
+            allTypes = unit.getAllTypes();
+        }
+        return allTypes;
+    }
+
+    /**
+     * Returns the AST of the compilation unit, with resolved bindings. Parsing
+     * with bindings is the most expensive part of a validation: collectors should
+     * first check that the source may contain what they look for.
+     *
+     * @return the AST of the compilation unit, or null if the validation was
+     *         cancelled
+     * @see ASTUtils#getASTRoot(ICompilationUnit, IProgressMonitor)
+     */
+    public CompilationUnit getASTRoot() {
+        if (astRoot == null) {
+            astRoot = ASTUtils.getASTRoot(unit, monitor);
+        }
+        return astRoot;
+    }
+
+    /**
+     * Returns the import table of the compilation unit.
+     *
+     * @return the import table of the compilation unit
+     * @throws JavaModelException
+     */
+    public ImportTable getImportTable() throws JavaModelException {
+        if (importTable == null) {
+            importTable = ImportTable.of(unit);
+        }
+        return importTable;
+    }
+
+    /**
+     * Returns the methods of the given type.
+     *
+     * @param type the type
+     * @return the methods of the given type
+     * @throws JavaModelException
+     */
+    public IMethod[] getMethods(IType type) throws JavaModelException {
+        IMethod[] result = methods.get(type);
+        if (result == null) {
+            result = type.getMethods();
+            methods.put(type, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the fields of the given type.
+     *
+     * @param type the type
+     * @return the fields of the given type
+     * @throws JavaModelException
+     */
+    public IField[] getFields(IType type) throws JavaModelException {
+        IField[] result = fields.get(type);
+        if (result == null) {
+            result = type.getFields();
+            fields.put(type, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the parameters of the given method.
+     *
+     * @param method the method
+     * @return the parameters of the given method
+     * @throws JavaModelException
+     */
+    public ILocalVariable[] getParameters(IMethod method) throws JavaModelException {
+        ILocalVariable[] result = parameters.get(method);
+        if (result == null) {
+            result = method.getParameters();
+            parameters.put(method, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the annotations of the given element.
+     *
+     * @param element the annotated element
+     * @return the annotations of the given element
+     * @throws JavaModelException
+     */
+    public IAnnotation[] getAnnotations(IAnnotatable element) throws JavaModelException {
+        IAnnotation[] result = annotations.get(element);
+        if (result == null) {
+            result = element.getAnnotations();
+            annotations.put(element, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the names, as written in the source, of the annotations of the given
+     * element.
+     *
+     * @param element the annotated element
+     * @return the names of the annotations of the given element
+     * @throws JavaModelException
+     */
+    public String[] getAnnotationNames(IAnnotatable element) throws JavaModelException {
+        String[] result = annotationNames.get(element);
+        if (result == null) {
+            IAnnotation[] elementAnnotations = getAnnotations(element);
+            result = new String[elementAnnotations.length];
+            for (int i = 0; i < elementAnnotations.length; i++) {
+                result[i] = elementAnnotations[i].getElementName();
+            }
+            annotationNames.put(element, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the result of {@link IType#resolveType(String)} for the given type
+     * and type name. A name is resolved at most once per type during the pass, as
+     * the resolution may be expensive. The returned array must not be modified.
+     *
+     * @param type     the type in the context of which the name is resolved
+     * @param typeName the simple or qualified name of the type to resolve
+     * @return the resolved type names or null
+     * @throws JavaModelException
+     */
+    public String[][] resolveType(IType type, String typeName) throws JavaModelException {
+        Map<String, String[][]> typeNames = resolvedTypes.computeIfAbsent(type, t -> new HashMap<>());
+        if (typeNames.containsKey(typeName)) {
+            return typeNames.get(typeName);
+        }
+        String[][] result = type.resolveType(typeName);
+        typeResolutionCount++;
+        typeNames.put(typeName, result);
+        return result;
+    }
+
+    /**
+     * Returns the number of names actually resolved by
+     * {@link #resolveType(IType, String)} during the pass.
+     *
+     * @return the number of resolved type names
+     */
+    public int getTypeResolutionCount() {
+        return typeResolutionCount;
+    }
+}
@@ -0,0 +1,826 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+/**
+ * Walks the Java model of a compilation unit and dispatches each visited
+ * element to the diagnostics collectors registered for its kind.
+ *
+ * <p>
+ * The collectors are called one after the other, in the order they were
+ * registered. Each collector is called back for the unit first, then for the
+ * types in the order of {@link ICompilationUnit#getAllTypes()}, and for each
+ * type, for the type, then its fields, then its methods. The model is read
+ * once through a {@link JavaDiagnosticsContext}, so collectors asking the
+ * context for the same types, members, parameters or annotations share a
+ * single lookup.
+ * </p>
+ *
+ * <p>
+ * Walking the elements once per collector, instead of calling all the
+ * collectors back for each element, costs one more iteration over the cached
+ * elements per collector, but no more reads of the model. In exchange, a
+ * collector which runs out of time budget can be stopped and its partial
+ * diagnostics dropped without dropping those of the collectors which were
+ * already called.
+ * </p>
+ *
+ * <p>
+ * Collectors validating a {@link JakartaApi} which is not on the classpath of
+ * the unit's project are skipped.
+ * </p>
+ *
+ * <p>
+ * An incremental walker keeps the diagnostics of the last validation of the
+ * most recently validated units. When a unit is validated again, the
+ * diagnostics of the types and members which did not change since, according
+ * to the {@link JavaElementChangeTracker} and to their source, are reused
+ * instead of calling the collectors back, as allowed by their
+ * {@link DiagnosticsScope}. The reused diagnostics are moved by the number of
+ * lines their element moved by. Nothing is reused once one of the units the
+ * diagnostics depend on changed, see {@link JavaDependencyIndex}.
+ * </p>
+ *
+ * <p>
+ * The progress monitor of a walk is checked before each type and each member,
+ * so that a cancelled validation stops without walking the rest of the unit.
+ * The diagnostics of a cancelled walk are incomplete, and are not kept.
+ * A time budget is checked at the same points, see
+ * {@link #walk(ICompilationUnit, List, IProgressMonitor, int)}: the collector
+ * which runs out of budget and the collectors which are not called yet keep
+ * the diagnostics of their last complete call, for the elements which did not
+ * change since.
+ * </p>
+ *
+ * <p>
+ * The time spent in each collector, the elements it visited, the diagnostics
+ * it reported and the exceptions it threw are recorded in the
+ * {@link DiagnosticsMetrics}.
+ * </p>
+ */
+public class JavaDiagnosticsWalker {
+
+    private static final int MAX_PREVIOUS_UNITS = 32;
+
+    @FunctionalInterface
+    private interface Callback {
+        void call() throws JavaModelException;
+    }
+
+    /**
+     * The source range and the hash of the source of an element.
+     */
+    private static class ElementState {
+
+        private final Range range;
+
+        private final HashCode sourceHash;
+
+        private ElementState(Range range, HashCode sourceHash) {
+            this.range = range;
+            this.sourceHash = sourceHash;
+        }
+    }
+
+    /**
+     * The diagnostics computed by a validation of a compilation unit, per
+     * element and per collector.
+     */
+    private static class UnitDiagnostics {
+
+        private final long stamp;
+
+        private final Set<DiagnosticsCollector> skipped;
+
+        private final Map<IJavaElement, ElementState> states = new HashMap<>();
+
+        private final Map<IJavaElement, Map<DiagnosticsCollector, List<Diagnostic>>> diagnostics = new HashMap<>();
+
+        private UnitDiagnostics(long stamp, Set<DiagnosticsCollector> skipped) {
+            this.stamp = stamp;
+            this.skipped = skipped;
+        }
+
+        private List<Diagnostic> get(IJavaElement element, DiagnosticsCollector collector) {
+            Map<DiagnosticsCollector, List<Diagnostic>> elementDiagnostics = diagnostics.get(element);
+            return elementDiagnostics != null ? elementDiagnostics.get(collector) : null;
+        }
+
+        private void put(IJavaElement element, DiagnosticsCollector collector, List<Diagnostic> list) {
+            diagnostics.computeIfAbsent(element, e -> new HashMap<>()).put(collector, list);
+        }
+    }
+
+    /**
+     * The diagnostics of the last complete call of a collector for a
+     * compilation unit, per element, along with the state of the elements they
+     * were computed from.
+     */
+    private static class CollectorRun {
+
+        private final long stamp;
+
+        private final Map<IJavaElement, List<Diagnostic>> diagnostics = new HashMap<>();
+
+        private final Map<IJavaElement, ElementState> states = new HashMap<>();
+
+        private CollectorRun(long stamp) {
+            this.stamp = stamp;
+        }
+
+        private void add(IJavaElement element, List<Diagnostic> list, ElementState state) {
+            diagnostics.computeIfAbsent(element, e -> new ArrayList<>()).addAll(list);
+            states.put(element, state);
+        }
+    }
+
+    /**
+     * The state of one walk of a compilation unit.
+     */
+    private static class Walk {
+
+        private final JavaDiagnosticsContext context;
+
+        private final Set<DiagnosticsCollector> skipped;
+
+        // null when the walker is not incremental
+        private final UnitDiagnostics next;
+
+        // null when there are no diagnostics to reuse
+        private final UnitDiagnostics previous;
+
+        // the number of lines an unchanged element moved by, null if it changed
+        private final Map<IJavaElement, Integer> lineDeltas = new HashMap<>();
+
+        private final Map<DiagnosticsCollector, DiagnosticsMetrics.Sample> samples = new HashMap<>();
+
+        private final boolean hasDeadline;
+
+        // the deadline of System.nanoTime(), if any
+        private final long deadline;
+
+        private Walk(JavaDiagnosticsContext context, Set<DiagnosticsCollector> skipped, UnitDiagnostics next,
+                UnitDiagnostics previous, boolean hasDeadline, long deadline) {
+            this.context = context;
+            this.skipped = skipped;
+            this.next = next;
+            this.previous = previous;
+            this.hasDeadline = hasDeadline;
+            this.deadline = deadline;
+        }
+
+        private boolean isPastDeadline() {
+            return hasDeadline && System.nanoTime() - deadline > 0;
+        }
+
+        private DiagnosticsMetrics.Sample getSample(DiagnosticsCollector collector) {
+            return samples.computeIfAbsent(collector, c -> new DiagnosticsMetrics.Sample());
+        }
+    }
+
+    // all the collectors, in the order they are called
+    private final List<DiagnosticsCollector> collectors = new ArrayList<>();
+
+    private final List<DiagnosticsCollector> unitCollectors = new ArrayList<>();
+
+    private final List<DiagnosticsCollector> typeCollectors = new ArrayList<>();
+
+    private final List<DiagnosticsCollector> fieldCollectors = new ArrayList<>();
+
+    private final List<DiagnosticsCollector> methodCollectors = new ArrayList<>();
+
+    private final List<DiagnosticsCollector> legacyCollectors = new ArrayList<>();
+
+    private final List<DiagnosticsCollector> apiCollectors = new ArrayList<>();
+
+    private final boolean incremental;
+
+    private final Map<ICompilationUnit, UnitDiagnostics> previousDiagnostics = new LinkedHashMap<>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ICompilationUnit, UnitDiagnostics> eldest) {
+            return size() > MAX_PREVIOUS_UNITS;
+        }
+    };
+
+    // the last complete call of each collector, per unit, kept by incremental walkers
+    private final Map<ICompilationUnit, Map<DiagnosticsCollector, CollectorRun>> lastRuns = new LinkedHashMap<>(
+            16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ICompilationUnit, Map<DiagnosticsCollector, CollectorRun>> eldest) {
+            return size() > MAX_PREVIOUS_UNITS;
+        }
+    };
+
+    public JavaDiagnosticsWalker(List<? extends DiagnosticsCollector> collectors) {
+        this(collectors, false);
+    }
+
+    /**
+     * @param collectors  the diagnostics collectors
+     * @param incremental true to reuse the diagnostics of the elements which did
+     *                    not change since the previous walk of a unit
+     */
+    public JavaDiagnosticsWalker(List<? extends DiagnosticsCollector> collectors, boolean incremental) {
+        for (DiagnosticsCollector collector : collectors) {
+            register(collector);
+        }
+        this.incremental = incremental;
+    }
+
+    /**
+     * Forgets the diagnostics kept from the previous walks of the units, so that
+     * the next walk of each unit calls all the collectors back for all its
+     * elements.
+     */
+    public void reset() {
+        synchronized (previousDiagnostics) {
+            previousDiagnostics.clear();
+        }
+        synchronized (lastRuns) {
+            lastRuns.clear();
+        }
+    }
+
+    /**
+     * Registers the callbacks of the given collector for the element kinds it
+     * visits.
+     *
+     * @param collector the diagnostics collector
+     */
+    private void register(DiagnosticsCollector collector) {
+        collectors.add(collector);
+        if (collector.getJakartaApi() != null) {
+            apiCollectors.add(collector);
+        }
+        Set<Integer> kinds = collector.getVisitedElementKinds();
+        if (kinds.isEmpty()) {
+            legacyCollectors.add(collector);
+            return;
+        }
+        if (kinds.contains(IJavaElement.COMPILATION_UNIT)) {
+            unitCollectors.add(collector);
+        }
+        if (kinds.contains(IJavaElement.TYPE)) {
+            typeCollectors.add(collector);
+        }
+        if (kinds.contains(IJavaElement.FIELD)) {
+            fieldCollectors.add(collector);
+        }
+        if (kinds.contains(IJavaElement.METHOD)) {
+            methodCollectors.add(collector);
+        }
+    }
+
+    /**
+     * Collects the diagnostics of all registered collectors for the given
+     * compilation unit.
+     *
+     * @param unit        the compilation unit
+     * @param diagnostics the list to add the diagnostics to
+     */
+    public void walk(ICompilationUnit unit, List<Diagnostic> diagnostics) {
+        walk(unit, diagnostics, null);
+    }
+
+    /**
+     * Collects the diagnostics of all registered collectors for the given
+     * compilation unit, until the given monitor is cancelled.
+     *
+     * @param unit        the compilation unit
+     * @param diagnostics the list to add the diagnostics to
+     * @param monitor     the progress monitor, may be null
+     */
+    public void walk(ICompilationUnit unit, List<Diagnostic> diagnostics, IProgressMonitor monitor) {
+        walk(unit, diagnostics, monitor, 0);
+    }
+
+    /**
+     * Collects the diagnostics of the registered collectors for the given
+     * compilation unit, until the given monitor is cancelled or the given time
+     * budget runs out.
+     *
+     * <p>
+     * When there is a time budget, the collectors are called from the cheapest to
+     * the most expensive, according to their average time per unit in the
+     * {@link DiagnosticsMetrics}, so that a slow collector does not hold back the
+     * others. The budget is checked before each element a collector is called
+     * back for. The partial diagnostics of the collector which runs out of budget
+     * are dropped. For this collector and for the collectors which are not
+     * called, an incremental walker adds the diagnostics of their last complete
+     * call on the unit instead, moved by the number of lines their element moved
+     * by, except those of the elements which changed since.
+     * </p>
+     *
+     * @param unit        the compilation unit
+     * @param diagnostics the list to add the diagnostics to
+     * @param monitor     the progress monitor, may be null
+     * @param timeBudget  the time budget in milliseconds, or 0 for no budget
+     * @return true if all the collectors were called, and false if the walk was
+     *         cancelled or if the time budget ran out
+     */
+    public boolean walk(ICompilationUnit unit, List<Diagnostic> diagnostics, IProgressMonitor monitor,
+            int timeBudget) {
+        if (unit == null) {
+            return true;
+        }
+        JavaDiagnosticsContext context = new JavaDiagnosticsContext(unit, diagnostics, monitor);
+        Set<DiagnosticsCollector> skipped = getSkippedCollectors(unit);
+        long deadline = timeBudget > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudget) : 0;
+        Walk walk;
+        if (incremental) {
+            // read the stamp before the model, so that concurrent changes are seen by the next walk
+            JavaElementChangeTracker tracker = JavaElementChangeTracker.getInstance();
+            UnitDiagnostics next = new UnitDiagnostics(tracker.getStamp(), skipped);
+            UnitDiagnostics previous;
+            synchronized (previousDiagnostics) {
+                previous = previousDiagnostics.get(unit.getPrimary());
+            }
+            if (previous != null && (!previous.skipped.equals(skipped) || tracker.hasUnitChanged(unit, previous.stamp)
+                    || JavaDependencyIndex.getInstance().hasDependencyChanged(unit, previous.stamp))) {
+                previous = null;
+            }
+            walk = new Walk(context, skipped, next, previous, timeBudget > 0, deadline);
+        } else {
+            walk = new Walk(context, skipped, null, null, timeBudget > 0, deadline);
+        }
+        try {
+            return walkUnit(walk, monitor);
+        } finally {
+            // the metrics of a cancelled walk are recorded too
+            DiagnosticsMetrics metrics = DiagnosticsMetrics.getInstance();
+            for (Map.Entry<DiagnosticsCollector, DiagnosticsMetrics.Sample> entry : walk.samples.entrySet()) {
+                metrics.record(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private boolean walkUnit(Walk walk, IProgressMonitor monitor) {
+        JavaDiagnosticsContext context = walk.context;
+        ICompilationUnit unit = context.getUnit();
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        Map<DiagnosticsCollector, CollectorRun> runs = new HashMap<>();
+        List<DiagnosticsCollector> notCalled = new ArrayList<>();
+        for (DiagnosticsCollector collector : getCollectors(walk)) {
+            if (context.isCanceled()) {
+                return false;
+            }
+            if (walk.skipped.contains(collector)) {
+                continue;
+            }
+            if (!notCalled.isEmpty()) {
+                notCalled.add(collector);
+                continue;
+            }
+            int start = diagnostics.size();
+            CollectorRun run = walk.next != null ? new CollectorRun(walk.next.stamp) : null;
+            boolean complete = walkCollector(collector, walk, run, monitor);
+            if (context.isCanceled()) {
+                return false;
+            }
+            if (complete) {
+                if (run != null) {
+                    runs.put(collector, run);
+                }
+            } else {
+                // the budget ran out while the collector was called back
+                diagnostics.subList(start, diagnostics.size()).clear();
+                notCalled.add(collector);
+            }
+        }
+        if (walk.next != null) {
+            List<CollectorRun> previousRuns = new ArrayList<>();
+            synchronized (lastRuns) {
+                Map<DiagnosticsCollector, CollectorRun> last = lastRuns.computeIfAbsent(unit.getPrimary(),
+                        u -> new HashMap<>());
+                for (DiagnosticsCollector collector : notCalled) {
+                    CollectorRun previous = last.get(collector);
+                    if (previous != null) {
+                        previousRuns.add(previous);
+                    }
+                }
+                last.putAll(runs);
+            }
+            // the collectors which were not called keep the diagnostics which still apply
+            for (CollectorRun previous : previousRuns) {
+                diagnostics.addAll(getReusableDiagnostics(previous, walk));
+            }
+        }
+        if (!notCalled.isEmpty()) {
+            return false;
+        }
+        if (walk.next != null) {
+            synchronized (previousDiagnostics) {
+                previousDiagnostics.put(unit.getPrimary(), walk.next);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the collectors in the order they are called: the order they were
+     * registered, or from the cheapest to the most expensive when the walk has a
+     * time budget.
+     */
+    private List<DiagnosticsCollector> getCollectors(Walk walk) {
+        if (!walk.hasDeadline) {
+            return collectors;
+        }
+        DiagnosticsMetrics metrics = DiagnosticsMetrics.getInstance();
+        Map<DiagnosticsCollector, Long> costs = new HashMap<>();
+        for (DiagnosticsCollector collector : collectors) {
+            costs.put(collector, metrics.getAverageTime(collector));
+        }
+        List<DiagnosticsCollector> sorted = new ArrayList<>(collectors);
+        sorted.sort(Comparator.comparing(costs::get));
+        return sorted;
+    }
+
+    /**
+     * Calls the given collector back for the whole unit: for the unit, then for
+     * its types and their members, then through
+     * {@link DiagnosticsCollector#collectDiagnostics(ICompilationUnit, List, IProgressMonitor)}.
+     *
+     * @return false if the walk was cancelled or ran out of time budget before
+     *         the collector was called back for all the elements
+     */
+    private boolean walkCollector(DiagnosticsCollector collector, Walk walk, CollectorRun run,
+            IProgressMonitor monitor) {
+        JavaDiagnosticsContext context = walk.context;
+        ICompilationUnit unit = context.getUnit();
+        if (unitCollectors.contains(collector)) {
+            if (walk.isPastDeadline()) {
+                return false;
+            }
+            visitUnit(collector, walk, run, () -> collector.visitCompilationUnit(context));
+        }
+        if (typeCollectors.contains(collector) || fieldCollectors.contains(collector)
+                || methodCollectors.contains(collector)) {
+            try {
+                for (IType type : context.getAllTypes()) {
+                    if (!walkType(collector, type, walk, run)) {
+                        return false;
+                    }
+                }
+            } catch (JavaModelException e) {
+                JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
+            }
+        }
+        if (legacyCollectors.contains(collector)) {
+            if (walk.isPastDeadline()) {
+                return false;
+            }
+            visitUnit(collector, walk, run,
+                    () -> collector.collectDiagnostics(unit, context.getDiagnostics(), monitor));
+        }
+        return true;
+    }
+
+    /**
+     * Returns the collectors validating an API which is not on the classpath of
+     * the project of the given unit.
+     *
+     * @param unit the compilation unit
+     * @return the collectors to skip for the given unit
+     */
+    private Set<DiagnosticsCollector> getSkippedCollectors(ICompilationUnit unit) {
+        IJavaProject project = unit.getJavaProject();
+        if (project == null || apiCollectors.isEmpty()) {
+            return Collections.emptySet();
+        }
+        JakartaApiIndex index = JakartaApiIndex.getInstance();
+        Set<DiagnosticsCollector> skipped = new HashSet<>();
+        for (DiagnosticsCollector collector : apiCollectors) {
+            if (!index.hasApi(project, collector.getJakartaApi())) {
+                skipped.add(collector);
+            }
+        }
+        return skipped;
+    }
+
+    private boolean walkType(DiagnosticsCollector collector, IType type, Walk walk, CollectorRun run)
+            throws JavaModelException {
+        JavaDiagnosticsContext context = walk.context;
+        if (typeCollectors.contains(collector)) {
+            if (context.isCanceled() || walk.isPastDeadline()) {
+                return false;
+            }
+            visit(collector, type, walk, run, () -> collector.visitType(type, context));
+        }
+        if (fieldCollectors.contains(collector)) {
+            for (IField field : context.getFields(type)) {
+                if (context.isCanceled() || walk.isPastDeadline()) {
+                    return false;
+                }
+                visit(collector, field, walk, run, () -> collector.visitField(field, context));
+            }
+        }
+        if (methodCollectors.contains(collector)) {
+            for (IMethod method : context.getMethods(type)) {
+                if (context.isCanceled() || walk.isPastDeadline()) {
+                    return false;
+                }
+                visit(collector, method, walk, run, () -> collector.visitMethod(method, context));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls the given callback of the given collector for the whole unit.
+     */
+    private static void visitUnit(DiagnosticsCollector collector, Walk walk, CollectorRun run, Callback callback) {
+        ICompilationUnit unit = walk.context.getUnit();
+        int start = walk.context.getDiagnostics().size();
+        try {
+            call(collector, unit, walk, callback);
+        } catch (JavaModelException e) {
+            JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
+        }
+        record(run, unit, walk, start);
+    }
+
+    /**
+     * Adds the diagnostics of the given collector for the given element, reusing
+     * those of the previous walk when the element did not change.
+     */
+    private static void visit(DiagnosticsCollector collector, IJavaElement element, Walk walk, CollectorRun run,
+            Callback callback) {
+        if (walk.skipped.contains(collector)) {
+            return;
+        }
+        List<Diagnostic> diagnostics = walk.context.getDiagnostics();
+        int start = diagnostics.size();
+        IJavaElement owner = walk.next != null ? getOwner(collector, element) : null;
+        try {
+            if (owner == null) {
+                call(collector, element, walk, callback);
+            } else {
+                List<Diagnostic> previous = walk.previous != null ? walk.previous.get(element, collector) : null;
+                Integer lineDelta = previous != null ? getLineDelta(owner, walk) : null;
+                if (lineDelta != null) {
+                    List<Diagnostic> reused = moveDiagnostics(previous, lineDelta);
+                    diagnostics.addAll(reused);
+                    walk.next.put(element, collector, reused);
+                } else {
+                    call(collector, element, walk, callback);
+                    List<Diagnostic> added = new ArrayList<>(diagnostics.subList(start, diagnostics.size()));
+                    ElementState state = getState(owner, walk);
+                    if (state != null && contains(state.range, added)) {
+                        walk.next.put(element, collector, added);
+                    }
+                }
+            }
+        } catch (JavaModelException e) {
+            JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
+        }
+        record(run, element, walk, start);
+    }
+
+    /**
+     * Records the diagnostics added since the given start for the given element
+     * in the given run of a collector. The diagnostics which are not within the
+     * element are recorded for the unit.
+     */
+    private static void record(CollectorRun run, IJavaElement element, Walk walk, int start) {
+        List<Diagnostic> diagnostics = walk.context.getDiagnostics();
+        if (run == null || diagnostics.size() == start) {
+            return;
+        }
+        List<Diagnostic> added = new ArrayList<>(diagnostics.subList(start, diagnostics.size()));
+        try {
+            ElementState state = getState(element, walk);
+            if (state == null || !contains(state.range, added)) {
+                element = walk.context.getUnit();
+                state = getState(element, walk);
+            }
+            if (state != null) {
+                run.add(element, added, state);
+            }
+        } catch (JavaModelException e) {
+            JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
+        }
+    }
+
+    /**
+     * Returns the diagnostics of the given run of a collector whose element did
+     * not change since, moved by the number of lines their element moved by.
+     * None is reused if a dependency of the unit changed since.
+     */
+    private static List<Diagnostic> getReusableDiagnostics(CollectorRun run, Walk walk) {
+        List<Diagnostic> reused = new ArrayList<>();
+        if (JavaDependencyIndex.getInstance().hasDependencyChanged(walk.context.getUnit(), run.stamp)) {
+            return reused;
+        }
+        for (Map.Entry<IJavaElement, List<Diagnostic>> entry : run.diagnostics.entrySet()) {
+            IJavaElement element = entry.getKey();
+            if (!element.exists()) {
+                continue;
+            }
+            try {
+                Integer lineDelta = computeLineDelta(element, run.stamp, run.states.get(element), walk);
+                if (lineDelta != null) {
+                    reused.addAll(moveDiagnostics(entry.getValue(), lineDelta));
+                }
+            } catch (JavaModelException e) {
+                JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
+            }
+        }
+        return reused;
+    }
+
+    /**
+     * Calls the given callback of the given collector for the given element, and
+     * counts the call in the metrics sample of the collector.
+     */
+    private static void call(DiagnosticsCollector collector, IJavaElement element, Walk walk, Callback callback)
+            throws JavaModelException {
+        DiagnosticsMetrics.Sample sample = walk.getSample(collector);
+        List<Diagnostic> diagnostics = walk.context.getDiagnostics();
+        int start = diagnostics.size();
+        long startTime = System.nanoTime();
+        try {
+            callback.call();
+        } catch (JavaModelException | RuntimeException e) {
+            sample.exceptions++;
+            throw e;
+        } finally {
+            sample.time += System.nanoTime() - startTime;
+            sample.invocations++;
+            sample.diagnostics += diagnostics.size() - start;
+            if (element.getElementType() == IJavaElement.TYPE) {
+                sample.types++;
+            } else if (element instanceof IMember) {
+                sample.members++;
+            }
+        }
+    }
+
+    /**
+     * Returns the element whose changes invalidate the diagnostics of the given
+     * collector for the given element, or null if they cannot be reused.
+     */
+    private static IJavaElement getOwner(DiagnosticsCollector collector, IJavaElement element) {
+        switch (collector.getDiagnosticsScope()) {
+        case MEMBER:
+            return element;
+        case TYPE:
+            return element instanceof IType ? element : ((IMember) element).getDeclaringType();
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of lines the given element moved by since the previous
+     * walk, or null if the element changed.
+     */
+    private static Integer getLineDelta(IJavaElement element, Walk walk) throws JavaModelException {
+        if (walk.lineDeltas.containsKey(element)) {
+            return walk.lineDeltas.get(element);
+        }
+        Integer lineDelta = computeLineDelta(element, walk.previous.stamp, walk.previous.states.get(element), walk);
+        walk.lineDeltas.put(element, lineDelta);
+        return lineDelta;
+    }
+
+    /**
+     * Returns the number of lines the given element moved by since the given
+     * stamp, at which it had the given state, or null if the element changed.
+     */
+    private static Integer computeLineDelta(IJavaElement element, long since, ElementState previous, Walk walk)
+            throws JavaModelException {
+        JavaElementChangeTracker tracker = JavaElementChangeTracker.getInstance();
+        if (element instanceof IType) {
+            if (tracker.hasTypeChanged((IType) element, since)) {
+                return null;
+            }
+        } else if (element instanceof IMember) {
+            IType type = ((IMember) element).getDeclaringType();
+            if (tracker.hasElementChanged(element, since) || tracker.hasElementChanged(type, since)) {
+                return null;
+            }
+        }
+        // body changes are not reported by the fine grained deltas of a reconcile
+        ElementState current = getState(element, walk);
+        if (previous == null || current == null || !previous.sourceHash.equals(current.sourceHash)) {
+            return null;
+        }
+        Range before = previous.range;
+        Range after = current.range;
+        if (before.getStart().getCharacter() != after.getStart().getCharacter()
+                || before.getEnd().getCharacter() != after.getEnd().getCharacter()
+                || before.getEnd().getLine() - before.getStart().getLine() != after.getEnd().getLine()
+                        - after.getStart().getLine()) {
+            return null;
+        }
+        return after.getStart().getLine() - before.getStart().getLine();
+    }
+
+    /**
+     * Returns the current source range and source hash of the given element, and
+     * records them for the next walk.
+     */
+    private static ElementState getState(IJavaElement element, Walk walk) throws JavaModelException {
+        ElementState state = walk.next.states.get(element);
+        if (state == null && !walk.next.states.containsKey(element)) {
+            ISourceReference reference = (ISourceReference) element;
+            ISourceRange sourceRange = reference.getSourceRange();
+            String source = reference.getSource();
+            if (sourceRange != null && source != null) {
+                Range range = JDTUtils.toRange(walk.context.getUnit(), sourceRange.getOffset(),
+                        sourceRange.getLength());
+                state = new ElementState(range, Hashing.murmur3_128().hashString(source, StandardCharsets.UTF_16LE));
+            }
+            walk.next.states.put(element, state);
+        }
+        return state;
+    }
+
+    private static boolean contains(Range range, List<Diagnostic> diagnostics) {
+        for (Diagnostic diagnostic : diagnostics) {
+            Range r = diagnostic.getRange();
+            if (r == null || compare(r.getStart(), range.getStart()) < 0 || compare(r.getEnd(), range.getEnd()) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compare(Position p1, Position p2) {
+        int result = Integer.compare(p1.getLine(), p2.getLine());
+        return result != 0 ? result : Integer.compare(p1.getCharacter(), p2.getCharacter());
+    }
+
+    /**
+     * Returns the given diagnostics moved by the given number of lines. The
+     * diagnostics are copied, as they may be shared with the diagnostics cache.
+     */
+    private static List<Diagnostic> moveDiagnostics(List<Diagnostic> diagnostics, int lineDelta) {
+        if (lineDelta == 0) {
+            return diagnostics;
+        }
+        List<Diagnostic> moved = new ArrayList<>(diagnostics.size());
+        for (Diagnostic diagnostic : diagnostics) {
+            Range range = diagnostic.getRange();
+            Diagnostic copy = new Diagnostic(
+                    new Range(new Position(range.getStart().getLine() + lineDelta, range.getStart().getCharacter()),
+                            new Position(range.getEnd().getLine() + lineDelta, range.getEnd().getCharacter())),
+                    diagnostic.getMessage());
+            copy.setSeverity(diagnostic.getSeverity());
+            copy.setCode(diagnostic.getCode());
+            copy.setCodeDescription(diagnostic.getCodeDescription());
+            copy.setSource(diagnostic.getSource());
+            copy.setTags(diagnostic.getTags());
+            copy.setRelatedInformation(diagnostic.getRelatedInformation());
+            copy.setData(diagnostic.getData());
+            moved.add(copy);
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,391 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * Records which Java elements changed, using the deltas reported by the Java
+ * model on each reconcile and on each change of the workspace.
+ *
+ * <p>
+ * Each delta is given an increasing stamp. A client reads
+ * {@link #getStamp()} before reading the Java model, and later asks whether an
+ * element changed since that stamp. Changes which cannot be narrowed down to
+ * the types and members of a compilation unit, e.g. a change of its imports or
+ * a coarse grained delta, mark the whole unit as changed. Changes of the
+ * classpath of a project mark all the units as changed.
+ * </p>
+ */
+public class JavaElementChangeTracker implements IElementChangedListener {
+
+    // past this number of changed elements, the whole unit is considered changed
+    private static final int MAX_CHANGED_ELEMENTS = 256;
+
+    private static final int PROJECT_CHANGES = IJavaElementDelta.F_CLASSPATH_CHANGED
+            | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLOSED
+            | IJavaElementDelta.F_OPENED;
+
+    private static final int ROOT_CHANGES = IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+            | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+            | IJavaElementDelta.F_REORDER;
+
+    private static final JavaElementChangeTracker INSTANCE = new JavaElementChangeTracker();
+
+    private static class UnitChanges {
+
+        private long unitStamp;
+
+        // the stamp of the last change of the unit or of any of its elements
+        private long lastStamp;
+
+        // the stamp of the last change of the contents of the unit, including the
+        // changes of method bodies, which are not reported by fine grained deltas
+        private long sourceStamp;
+
+        // the AST built by the last reconcile of the unit, if it asked for one
+        private WeakReference<CompilationUnit> reconciledAST;
+
+        // the stamps of the last change of the elements themselves
+        private final Map<IJavaElement, Long> elementStamps = new HashMap<>();
+
+        // the stamps of the last change of the types or of any of their descendants
+        private final Map<IJavaElement, Long> typeStamps = new HashMap<>();
+
+        private synchronized void contentChanged(long stamp, CompilationUnit ast) {
+            sourceStamp = stamp;
+            reconciledAST = ast != null ? new WeakReference<>(ast) : null;
+        }
+
+        private synchronized void unitChanged(long stamp) {
+            unitStamp = stamp;
+            lastStamp = stamp;
+            elementStamps.clear();
+            typeStamps.clear();
+        }
+
+        private synchronized void elementChanged(IJavaElement element, long stamp) {
+            if (elementStamps.size() >= MAX_CHANGED_ELEMENTS) {
+                unitChanged(stamp);
+                return;
+            }
+            lastStamp = stamp;
+            elementStamps.put(element, stamp);
+            for (IJavaElement e = element; e != null
+                    && e.getElementType() != IJavaElement.COMPILATION_UNIT; e = e.getParent()) {
+                if (e.getElementType() == IJavaElement.TYPE) {
+                    typeStamps.put(e, stamp);
+                }
+            }
+        }
+
+        private synchronized boolean hasUnitChanged(long since) {
+            return unitStamp > since;
+        }
+
+        private synchronized boolean hasElementChanged(IJavaElement element, long since) {
+            return unitStamp > since || elementStamps.getOrDefault(element, 0L) > since;
+        }
+
+        private synchronized boolean hasTypeChanged(IJavaElement type, long since) {
+            return unitStamp > since || typeStamps.getOrDefault(type, 0L) > since;
+        }
+    }
+
+    private final AtomicLong stamp = new AtomicLong();
+
+    private volatile long classpathStamp;
+
+    // the stamp of the last time the tracker was uninstalled
+    private volatile long resetStamp;
+
+    private final Map<IJavaProject, Long> projectClasspathStamps = new ConcurrentHashMap<>();
+
+    private final Map<ICompilationUnit, UnitChanges> units = new ConcurrentHashMap<>();
+
+    public static JavaElementChangeTracker getInstance() {
+        return INSTANCE;
+    }
+
+    private JavaElementChangeTracker() {
+    }
+
+    /**
+     * Starts listening to the changes of the Java model.
+     */
+    public void install() {
+        JavaCore.addElementChangedListener(this,
+                ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+    }
+
+    /**
+     * Stops listening to the changes of the Java model and forgets the recorded
+     * changes.
+     */
+    public void uninstall() {
+        JavaCore.removeElementChangedListener(this);
+        units.clear();
+        projectClasspathStamps.clear();
+        classpathStamp = stamp.incrementAndGet();
+        resetStamp = classpathStamp;
+    }
+
+    /**
+     * Returns the stamp of the last recorded change.
+     *
+     * @return the stamp of the last recorded change
+     */
+    public long getStamp() {
+        return stamp.get();
+    }
+
+    /**
+     * Returns the stamp of the last recorded change of the classpath of the given
+     * project, e.g. a library added or a jar replaced in place.
+     *
+     * @param project the Java project
+     * @return the stamp of the last recorded change of the classpath of the given
+     *         project
+     */
+    public long getClasspathStamp(IJavaProject project) {
+        return Math.max(resetStamp, projectClasspathStamps.getOrDefault(project, 0L));
+    }
+
+    /**
+     * Returns true if the given compilation unit changed as a whole since the
+     * given stamp and false otherwise.
+     *
+     * @param unit  the compilation unit
+     * @param since the stamp read before the Java model was read
+     * @return true if the given compilation unit changed as a whole since the
+     *         given stamp
+     */
+    public boolean hasUnitChanged(ICompilationUnit unit, long since) {
+        if (classpathStamp > since) {
+            return true;
+        }
+        UnitChanges changes = units.get(unit.getPrimary());
+        return changes != null && changes.hasUnitChanged(since);
+    }
+
+    /**
+     * Returns the stamp of the last recorded change of the given compilation unit
+     * or of any of its elements, or of the classpath.
+     *
+     * @param unit the compilation unit
+     * @return the stamp of the last recorded change of the given compilation unit
+     */
+    public long getLastChangeStamp(ICompilationUnit unit) {
+        UnitChanges changes = units.get(unit.getPrimary());
+        long unitStamp = 0;
+        if (changes != null) {
+            synchronized (changes) {
+                unitStamp = changes.lastStamp;
+            }
+        }
+        return Math.max(classpathStamp, unitStamp);
+    }
+
+    /**
+     * Returns the stamp of the last recorded change of the contents of the given
+     * compilation unit, or of the classpath. Unlike
+     * {@link #getLastChangeStamp(ICompilationUnit)}, it also changes when only the
+     * body of a method changed.
+     *
+     * @param unit the compilation unit
+     * @return the stamp of the last recorded change of the contents of the given
+     *         compilation unit
+     */
+    public long getSourceStamp(ICompilationUnit unit) {
+        UnitChanges changes = units.get(unit.getPrimary());
+        long sourceStamp = 0;
+        if (changes != null) {
+            synchronized (changes) {
+                sourceStamp = changes.sourceStamp;
+            }
+        }
+        return Math.max(classpathStamp, sourceStamp);
+    }
+
+    /**
+     * Returns true if the given AST was built by the last reconcile of the given
+     * compilation unit, and neither the contents of the unit nor the classpath
+     * changed since. The AST is then the AST of the contents of the unit, as long
+     * as the unit is consistent with its buffer.
+     *
+     * @param unit the compilation unit
+     * @param ast  the AST of the compilation unit
+     * @return true if the given AST was built by the last reconcile of the given
+     *         compilation unit
+     */
+    public boolean isReconciledAST(ICompilationUnit unit, CompilationUnit ast) {
+        UnitChanges changes = units.get(unit.getPrimary());
+        if (changes == null) {
+            return false;
+        }
+        synchronized (changes) {
+            return changes.reconciledAST != null && changes.reconciledAST.get() == ast
+                    && classpathStamp <= changes.sourceStamp;
+        }
+    }
+
+    /**
+     * Returns true if the given element itself, or its compilation unit as a
+     * whole, changed since the given stamp and false otherwise. For a type, the
+     * changes of its members are not taken into account.
+     *
+     * @param element the type or member
+     * @param since   the stamp read before the Java model was read
+     * @return true if the given element changed since the given stamp
+     */
+    public boolean hasElementChanged(IJavaElement element, long since) {
+        ICompilationUnit unit = getUnit(element);
+        if (unit == null || classpathStamp > since) {
+            return true;
+        }
+        UnitChanges changes = units.get(unit);
+        return changes != null && changes.hasElementChanged(element.getPrimaryElement(), since);
+    }
+
+    /**
+     * Returns true if the given type, any of its members or nested types, or its
+     * compilation unit as a whole, changed since the given stamp and false
+     * otherwise.
+     *
+     * @param type  the type
+     * @param since the stamp read before the Java model was read
+     * @return true if the given type changed since the given stamp
+     */
+    public boolean hasTypeChanged(IType type, long since) {
+        ICompilationUnit unit = getUnit(type);
+        if (unit == null || classpathStamp > since) {
+            return true;
+        }
+        UnitChanges changes = units.get(unit);
+        return changes != null && changes.hasTypeChanged(type.getPrimaryElement(), since);
+    }
+
+    private static ICompilationUnit getUnit(IJavaElement element) {
+        IJavaElement unit = element.getAncestor(IJavaElement.COMPILATION_UNIT);
+        return unit != null ? ((ICompilationUnit) unit).getPrimary() : null;
+    }
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        processDelta(event.getDelta(), stamp.incrementAndGet());
+    }
+
+    private void processDelta(IJavaElementDelta delta, long stamp) {
+        IJavaElement element = delta.getElement();
+        switch (element.getElementType()) {
+        case IJavaElement.JAVA_PROJECT:
+            if (delta.getKind() == IJavaElementDelta.REMOVED || (delta.getFlags() & PROJECT_CHANGES) != 0) {
+                classpathChanged((IJavaProject) element, stamp);
+                return;
+            }
+            processChildren(delta, stamp);
+            break;
+        case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+            if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ROOT_CHANGES) != 0) {
+                classpathChanged(element.getJavaProject(), stamp);
+                return;
+            }
+            processChildren(delta, stamp);
+            break;
+        case IJavaElement.COMPILATION_UNIT:
+            processUnitDelta(delta, stamp);
+            break;
+        default:
+            processChildren(delta, stamp);
+            break;
+        }
+    }
+
+    private void classpathChanged(IJavaProject project, long stamp) {
+        classpathStamp = stamp;
+        if (project != null) {
+            projectClasspathStamps.put(project, stamp);
+        }
+    }
+
+    private void processChildren(IJavaElementDelta delta, long stamp) {
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            processDelta(child, stamp);
+        }
+    }
+
+    private void processUnitDelta(IJavaElementDelta delta, long stamp) {
+        ICompilationUnit unit = ((ICompilationUnit) delta.getElement()).getPrimary();
+        UnitChanges changes = units.computeIfAbsent(unit, u -> new UnitChanges());
+        // a change of a method body is only reported as a content change of the unit
+        changes.contentChanged(stamp, delta.getCompilationUnitAST());
+        int flags = delta.getFlags();
+        if (delta.getKind() != IJavaElementDelta.CHANGED || ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0
+                && (flags & ~IJavaElementDelta.F_CHILDREN) != 0)) {
+            // e.g. the unit was added, removed or changed on disk
+            changes.unitChanged(stamp);
+            return;
+        }
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            if (!processUnitChildDelta(child, changes, stamp)) {
+                changes.unitChanged(stamp);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records the changes of the given delta of a type or member.
+     *
+     * @return false if the delta cannot be narrowed down to types and members
+     */
+    private boolean processUnitChildDelta(IJavaElementDelta delta, UnitChanges changes, long stamp) {
+        IJavaElement element = delta.getElement();
+        switch (element.getElementType()) {
+        case IJavaElement.TYPE:
+            if (delta.getKind() != IJavaElementDelta.CHANGED
+                    || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0) {
+                changes.elementChanged(element.getPrimaryElement(), stamp);
+            }
+            for (IJavaElementDelta child : delta.getAffectedChildren()) {
+                if (!processUnitChildDelta(child, changes, stamp)) {
+                    return false;
+                }
+            }
+            return true;
+        case IJavaElement.FIELD:
+        case IJavaElement.METHOD:
+        case IJavaElement.INITIALIZER:
+            changes.elementChanged(element.getPrimaryElement(), stamp);
+            return true;
+        default:
+            // imports and package declaration
+            return false;
+        }
+    }
+}
@@ -37,7 +37,7 @@ public class JsonRpcHelpers {
      */
     public static int toOffset(IBuffer buffer, int line, int column) {
         if (buffer != null) {
-            return toOffset(toDocument(buffer), line, column);
+            return LineOffsetIndex.of(buffer).toOffset(line, column);
         }
         return -1;
     }
@@ -68,7 +68,10 @@ public class JsonRpcHelpers {
      * @return
      */
     public static int[] toLine(IBuffer buffer, int offset) {
-        return toLine(toDocument(buffer), offset);
+        if (buffer != null) {
+            return LineOffsetIndex.of(buffer).toLine(offset);
+        }
+        return null;
     }
 
     /**
@@ -0,0 +1,229 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.jdt.core.BufferChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * The offsets of the line starts of a text, to convert offsets to line and
+ * column positions with a binary search, and back.
+ *
+ * <p>
+ * The index of a buffer is computed once per version of the buffer (see
+ * {@link #of(IBuffer)}): it is dropped as soon as the buffer changes or is
+ * closed. Like {@link org.eclipse.jface.text.IDocument}, the index considers
+ * <code>\r</code>, <code>\n</code> and <code>\r\n</code> as line delimiters.
+ * </p>
+ */
+public class LineOffsetIndex {
+
+    private static final Map<IBuffer, LineOffsetIndex> INDEXES = new WeakHashMap<>();
+
+    private final int[] lineOffsets;
+
+    private final int lineCount;
+
+    private final int length;
+
+    /**
+     * Returns the line index of the current contents of the given buffer.
+     *
+     * @param buffer the buffer
+     * @return the line index of the current contents of the given buffer, or
+     *         <code>null</code> if the buffer is <code>null</code>
+     */
+    public static LineOffsetIndex of(IBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        synchronized (INDEXES) {
+            LineOffsetIndex index = INDEXES.get(buffer);
+            if (index != null) {
+                return index;
+            }
+        }
+        Invalidator invalidator = new Invalidator();
+        // listen before reading the contents, so that no change is missed
+        buffer.addBufferChangedListener(invalidator);
+        char[] contents = buffer.getCharacters();
+        LineOffsetIndex index = of(CharBuffer.wrap(contents != null ? contents : new char[0]));
+        boolean cached = false;
+        synchronized (INDEXES) {
+            if (!invalidator.changed && !buffer.isClosed()) {
+                INDEXES.put(buffer, index);
+                cached = true;
+            }
+        }
+        if (!cached) {
+            buffer.removeBufferChangedListener(invalidator);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the line index of the given text.
+     *
+     * @param text the text
+     * @return the line index of the given text
+     */
+    public static LineOffsetIndex of(CharSequence text) {
+        int length = text.length();
+        int[] lineOffsets = new int[16];
+        int lineCount = 1;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                i++;
+            } else if (c != '\r' && c != '\n') {
+                continue;
+            }
+            if (lineCount == lineOffsets.length) {
+                lineOffsets = Arrays.copyOf(lineOffsets, lineCount * 2);
+            }
+            lineOffsets[lineCount++] = i + 1;
+        }
+        return new LineOffsetIndex(lineOffsets, lineCount, length);
+    }
+
+    private LineOffsetIndex(int[] lineOffsets, int lineCount, int length) {
+        this.lineOffsets = lineOffsets;
+        this.lineCount = lineCount;
+        this.length = length;
+    }
+
+    /**
+     * Returns the number of lines of the text.
+     *
+     * @return the number of lines of the text
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns the offset of the given line, or -1 if the line does not exist.
+     *
+     * @param line the 0-based line
+     * @return the offset of the given line
+     */
+    public int getLineOffset(int line) {
+        if (line < 0 || line >= lineCount) {
+            return -1;
+        }
+        return lineOffsets[line];
+    }
+
+    /**
+     * Converts line, column to an offset.
+     *
+     * @param line   the 0-based line
+     * @param column the 0-based column
+     * @return the offset, or -1 if the line does not exist
+     */
+    public int toOffset(int line, int column) {
+        int lineOffset = getLineOffset(line);
+        return lineOffset == -1 ? -1 : lineOffset + column;
+    }
+
+    /**
+     * Converts an offset to line number and column.
+     *
+     * @param offset the offset
+     * @return the line and the column, or <code>null</code> if the offset is out
+     *         of the text
+     */
+    public int[] toLine(int offset) {
+        if (offset < 0 || offset > length) {
+            return null;
+        }
+        int line = findLine(offset, 0);
+        return new int[] { line, offset - lineOffsets[line] };
+    }
+
+    /**
+     * Converts a batch of offsets to positions. When the offsets are sorted, the
+     * lines are found in a single pass over the line starts.
+     *
+     * @param offsets the offsets, preferably in ascending order
+     * @return the positions of the offsets, <code>null</code> for the offsets out
+     *         of the text
+     */
+    public Position[] toPositions(int... offsets) {
+        Position[] positions = new Position[offsets.length];
+        int line = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            int offset = offsets[i];
+            if (offset < 0 || offset > length) {
+                continue;
+            }
+            if (offset < lineOffsets[line]) {
+                // not sorted, start over
+                line = 0;
+            }
+            line = findLine(offset, line);
+            positions[i] = new Position(line, offset - lineOffsets[line]);
+        }
+        return positions;
+    }
+
+    /**
+     * Creates a range for the given offset and length.
+     *
+     * @param offset the offset
+     * @param length the length
+     * @return the range, with the positions out of the text set to line=0,
+     *         character=0
+     */
+    public Range toRange(int offset, int length) {
+        Position[] positions = toPositions(offset, offset + length);
+        return new Range(positions[0] != null ? positions[0] : new Position(),
+                positions[1] != null ? positions[1] : new Position());
+    }
+
+    /**
+     * Returns the line of the given offset, searching from the given line.
+     */
+    private int findLine(int offset, int fromLine) {
+        // the next line is the most likely one when walking sorted offsets
+        if (fromLine + 1 >= lineCount || offset < lineOffsets[fromLine + 1]) {
+            return fromLine;
+        }
+        int index = Arrays.binarySearch(lineOffsets, fromLine + 1, lineCount, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static class Invalidator implements IBufferChangedListener {
+
+        private boolean changed;
+
+        @Override
+        public void bufferChanged(BufferChangedEvent event) {
+            IBuffer buffer = event.getBuffer();
+            synchronized (INDEXES) {
+                changed = true;
+                INDEXES.remove(buffer);
+            }
+            buffer.removeBufferChangedListener(this);
+        }
+    }
+}
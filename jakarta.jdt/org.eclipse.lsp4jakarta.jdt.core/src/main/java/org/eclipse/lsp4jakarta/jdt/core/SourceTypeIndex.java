@@ -0,0 +1,289 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+/**
+ * Index of the types declared in the sources of each Java project, by simple
+ * name.
+ *
+ * <p>
+ * The index of a project is built with a single search the first time it is
+ * queried. It is then kept up to date with the Java element deltas: the types
+ * of a compilation unit are read again when the unit is added, changed, saved
+ * or reconciled, and are removed with it. Changes which cannot be narrowed
+ * down to compilation units, like a change of the classpath or of a source
+ * folder, drop the index of the project, to be built again on the next query.
+ * </p>
+ *
+ * <p>
+ * Each index has a stamp, see {@link #getStamp(IJavaProject)}, which changes
+ * when a type is added, removed or renamed in the sources of the project, so
+ * that the results computed from the lookups of the index can be cached.
+ * </p>
+ */
+public class SourceTypeIndex implements IElementChangedListener {
+
+    private static final SourceTypeIndex INSTANCE = new SourceTypeIndex();
+
+    private static class ProjectIndex {
+
+        private final Map<String, Set<IType>> typesByName = new HashMap<>();
+
+        private final Map<ICompilationUnit, List<IType>> typesByUnit = new HashMap<>();
+
+        private boolean built;
+
+        private volatile long stamp;
+
+        private ProjectIndex(long stamp) {
+            this.stamp = stamp;
+        }
+
+        private synchronized void ensureBuilt(IJavaProject project) throws JavaModelException {
+            if (built) {
+                return;
+            }
+            IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaProject[] { project },
+                    IJavaSearchScope.SOURCES);
+            try {
+                new SearchEngine().searchAllTypeNames(null, SearchPattern.R_EXACT_MATCH, null,
+                        SearchPattern.R_PREFIX_MATCH, IJavaSearchConstants.TYPE, scope, new TypeNameMatchRequestor() {
+                            @Override
+                            public void acceptTypeNameMatch(TypeNameMatch match) {
+                                IType type = match.getType();
+                                ICompilationUnit unit = type.getCompilationUnit();
+                                if (unit != null) {
+                                    add(unit, type);
+                                }
+                            }
+                        }, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, null);
+                built = true;
+            } finally {
+                if (!built) {
+                    typesByName.clear();
+                    typesByUnit.clear();
+                }
+            }
+        }
+
+        private synchronized Set<IType> getTypes(String simpleName) {
+            Set<IType> types = typesByName.get(simpleName);
+            return types != null ? new HashSet<>(types) : Collections.emptySet();
+        }
+
+        private synchronized void add(ICompilationUnit unit, IType type) {
+            typesByName.computeIfAbsent(type.getElementName(), n -> new HashSet<>()).add(type);
+            typesByUnit.computeIfAbsent(unit, u -> new ArrayList<>()).add(type);
+        }
+
+        private synchronized void remove(ICompilationUnit unit) {
+            List<IType> types = typesByUnit.remove(unit);
+            if (types == null) {
+                return;
+            }
+            for (IType type : types) {
+                Set<IType> namesakes = typesByName.get(type.getElementName());
+                if (namesakes != null) {
+                    namesakes.remove(type);
+                    if (namesakes.isEmpty()) {
+                        typesByName.remove(type.getElementName());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Reads the types of the given unit again.
+         *
+         * @return true if types were added, removed or renamed
+         */
+        private synchronized boolean update(ICompilationUnit unit) throws JavaModelException {
+            if (!built) {
+                // the unit will be read when the index is built
+                return false;
+            }
+            List<String> before = getNames(typesByUnit.get(unit));
+            remove(unit);
+            if (unit.exists()) {
+                for (IType type : unit.getAllTypes()) {
+                    add(unit, type);
+                }
+            }
+            return !before.equals(getNames(typesByUnit.get(unit)));
+        }
+
+        private static List<String> getNames(List<IType> types) {
+            if (types == null) {
+                return Collections.emptyList();
+            }
+            List<String> names = new ArrayList<>(types.size());
+            for (IType type : types) {
+                names.add(type.getFullyQualifiedName('.'));
+            }
+            return names;
+        }
+    }
+
+    private final Map<IJavaProject, ProjectIndex> projects = new ConcurrentHashMap<>();
+
+    private final AtomicLong stamps = new AtomicLong();
+
+    public static SourceTypeIndex getInstance() {
+        return INSTANCE;
+    }
+
+    private SourceTypeIndex() {
+    }
+
+    /**
+     * Starts listening to the changes of the Java model.
+     */
+    public void install() {
+        JavaCore.addElementChangedListener(this,
+                ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+    }
+
+    /**
+     * Stops listening to the changes of the Java model and clears the index.
+     */
+    public void uninstall() {
+        JavaCore.removeElementChangedListener(this);
+        projects.clear();
+    }
+
+    /**
+     * Returns the types with the given simple name declared in the sources of the
+     * given project, including nested types.
+     *
+     * @param project    the Java project
+     * @param simpleName the simple name of the types
+     * @return the types with the given simple name
+     * @throws JavaModelException
+     */
+    public Set<IType> getTypes(IJavaProject project, String simpleName) throws JavaModelException {
+        ProjectIndex index = getIndex(project);
+        return index.getTypes(simpleName);
+    }
+
+    /**
+     * Returns the stamp of the types declared in the sources of the given
+     * project. The stamp changes when a type is added, removed or renamed, or
+     * when the index of the project is dropped.
+     *
+     * @param project the Java project
+     * @return the stamp of the types declared in the sources of the project
+     * @throws JavaModelException
+     */
+    public long getStamp(IJavaProject project) throws JavaModelException {
+        return getIndex(project).stamp;
+    }
+
+    private ProjectIndex getIndex(IJavaProject project) throws JavaModelException {
+        ProjectIndex index = projects.computeIfAbsent(project, p -> new ProjectIndex(stamps.incrementAndGet()));
+        // deltas arriving while the index is built wait for it
+        index.ensureBuilt(project);
+        return index;
+    }
+
+    /**
+     * Drops the index of the given project.
+     *
+     * @param project the Java project
+     */
+    public void invalidate(IJavaProject project) {
+        projects.remove(project);
+    }
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        processDelta(event.getDelta());
+    }
+
+    private void processDelta(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+        switch (element.getElementType()) {
+        case IJavaElement.JAVA_MODEL:
+            processChildren(delta);
+            break;
+        case IJavaElement.JAVA_PROJECT:
+            if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags()
+                    & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+                            | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED)) != 0) {
+                invalidate((IJavaProject) element);
+                return;
+            }
+            if (projects.containsKey(element)) {
+                processChildren(delta);
+            }
+            break;
+        case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+        case IJavaElement.PACKAGE_FRAGMENT:
+            if (delta.getKind() != IJavaElementDelta.CHANGED
+                    || (delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0) {
+                // e.g. a source folder or a package was added, removed or moved
+                invalidate(element.getJavaProject());
+                return;
+            }
+            processChildren(delta);
+            break;
+        case IJavaElement.COMPILATION_UNIT:
+            ProjectIndex index = projects.get(element.getJavaProject());
+            if (index != null) {
+                try {
+                    if (index.update(((ICompilationUnit) element).getPrimary())) {
+                        index.stamp = stamps.incrementAndGet();
+                    }
+                } catch (JavaModelException e) {
+                    JakartaCorePlugin.logException("Cannot update the index of the source types", e);
+                    invalidate(element.getJavaProject());
+                }
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void processChildren(IJavaElementDelta delta) {
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            processDelta(child);
+        }
+    }
+}
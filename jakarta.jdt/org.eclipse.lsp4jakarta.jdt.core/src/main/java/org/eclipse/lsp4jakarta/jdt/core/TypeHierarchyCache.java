@@ -0,0 +1,114 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+
+/**
+ * Cache of the supertype hierarchies of the types, shared by the diagnostics
+ * collectors and the quick fixes.
+ *
+ * <p>
+ * A cached hierarchy listens to the Java element deltas, and is dropped from
+ * the cache as soon as a delta affects it, e.g. when a supertype changes or
+ * when the classpath of its project changes. The cache keeps the hierarchies of
+ * the most recently used types only.
+ * </p>
+ */
+@SuppressWarnings("restriction")
+public class TypeHierarchyCache implements ITypeHierarchyChangedListener {
+
+    private static final int MAX_HIERARCHIES = 256;
+
+    private static final TypeHierarchyCache INSTANCE = new TypeHierarchyCache();
+
+    private final LinkedHashMap<IType, ITypeHierarchy> hierarchies = new LinkedHashMap<>(16, 0.75f, true);
+
+    public static TypeHierarchyCache getInstance() {
+        return INSTANCE;
+    }
+
+    private TypeHierarchyCache() {
+    }
+
+    /**
+     * Returns the supertype hierarchy of the given type, considering the working
+     * copies of the primary owner. The returned hierarchy must not be refreshed.
+     *
+     * @param type the type
+     * @return the supertype hierarchy of the given type
+     * @throws JavaModelException
+     */
+    public ITypeHierarchy getSupertypeHierarchy(IType type) throws JavaModelException {
+        synchronized (hierarchies) {
+            ITypeHierarchy hierarchy = hierarchies.get(type);
+            if (hierarchy != null) {
+                return hierarchy;
+            }
+        }
+        // not computed under the lock, as it may take a while
+        ITypeHierarchy hierarchy = type.newSupertypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, null);
+        hierarchy.addTypeHierarchyChangedListener(this);
+        List<ITypeHierarchy> evicted = new ArrayList<>();
+        synchronized (hierarchies) {
+            ITypeHierarchy previous = hierarchies.put(type, hierarchy);
+            if (previous != null) {
+                evicted.add(previous);
+            }
+            while (hierarchies.size() > MAX_HIERARCHIES) {
+                Map.Entry<IType, ITypeHierarchy> eldest = hierarchies.entrySet().iterator().next();
+                evicted.add(eldest.getValue());
+                hierarchies.remove(eldest.getKey());
+            }
+        }
+        for (ITypeHierarchy h : evicted) {
+            h.removeTypeHierarchyChangedListener(this);
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Removes all the cached hierarchies.
+     */
+    public void clear() {
+        List<ITypeHierarchy> evicted;
+        synchronized (hierarchies) {
+            evicted = new ArrayList<>(hierarchies.values());
+            hierarchies.clear();
+        }
+        for (ITypeHierarchy h : evicted) {
+            h.removeTypeHierarchyChangedListener(this);
+        }
+    }
+
+    @Override
+    public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+        synchronized (hierarchies) {
+            IType type = typeHierarchy.getType();
+            if (hierarchies.get(type) == typeHierarchy) {
+                hierarchies.remove(type);
+            }
+        }
+        typeHierarchy.removeTypeHierarchyChangedListener(this);
+    }
+}
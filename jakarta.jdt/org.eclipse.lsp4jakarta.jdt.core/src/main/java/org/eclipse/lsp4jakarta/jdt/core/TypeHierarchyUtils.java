@@ -13,26 +13,14 @@
 
 package org.eclipse.lsp4jakarta.jdt.core;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
-import org.eclipse.jdt.core.search.IJavaSearchConstants;
-import org.eclipse.jdt.core.search.IJavaSearchScope;
-import org.eclipse.jdt.core.search.SearchEngine;
-import org.eclipse.jdt.core.search.SearchMatch;
-import org.eclipse.jdt.core.search.SearchParticipant;
-import org.eclipse.jdt.core.search.SearchPattern;
-import org.eclipse.jdt.core.search.SearchRequestor;
-import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
 
 /**
  * This class provides type hierarchy utilities for checking the
  * type hierarchy of {@code IType}.
  */
-@SuppressWarnings("restriction")
 public class TypeHierarchyUtils {
 
     /**
@@ -50,7 +38,7 @@ public class TypeHierarchyUtils {
             return 1;
         }
         
-        ITypeHierarchy typeHierarchy = type.newSupertypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, null);
+        ITypeHierarchy typeHierarchy = TypeHierarchyCache.getInstance().getSupertypeHierarchy(type);
         int r = 0;
         
         // Check if the type's supertypes contain the superType
@@ -82,31 +70,11 @@ public class TypeHierarchyUtils {
     
     private static boolean hasKnownDeclaration(IType type) throws CoreException {
         String typeName = type.getElementName();
-        final AtomicInteger references = new AtomicInteger(0);
-        SearchEngine engine = new SearchEngine();
-        SearchPattern pattern = SearchPattern.createPattern(typeName, IJavaSearchConstants.CLASS,
-                IJavaSearchConstants.DECLARATIONS, SearchPattern.R_EXACT_MATCH);
-        engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
-                createSearchScope(type.getJavaProject()), new SearchRequestor() {
-
-                    @Override
-                    public void acceptSearchMatch(SearchMatch match) throws CoreException {
-                        Object o = match.getElement();
-                        if (o instanceof IType) {
-                            IType t = (IType)o;
-                            if (t.getElementName().equals(typeName)) {
-                                references.incrementAndGet();
-                            }
-                        }
-                    }
-                }, null);
-        if (references.get() > 0 ) {
-            return true;
-        } 
+        for (IType t : SourceTypeIndex.getInstance().getTypes(type.getJavaProject(), typeName)) {
+            if (t.isClass()) {
+                return true;
+            }
+        }
         return false;
     }
-
-    private static IJavaSearchScope createSearchScope(IJavaProject javaProject) throws CoreException {
-        return SearchEngine.createJavaSearchScope(new IJavaProject[] { javaProject }, IJavaSearchScope.SOURCES);
-    }
 }
@@ -15,6 +15,7 @@ package org.eclipse.lsp4jakarta.jdt.core.annotations;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.eclipse.jdt.core.Flags;
@@ -34,7 +35,8 @@ import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.jsonrpc.messages.Tuple;
 import org.eclipse.lsp4j.jsonrpc.messages.Tuple.Two;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
-import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 /**
@@ -58,6 +60,18 @@ import org.eclipse.lsp4jakarta.jdt.core.Messages;
  */
 public class AnnotationDiagnosticsCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.COMPILATION_UNIT,
+            IJavaElement.TYPE, IJavaElement.FIELD, IJavaElement.METHOD);
+
+    private static final String[] VALID_ANNOTATIONS = { AnnotationConstants.GENERATED_FQ_NAME };
+
+    private static final String[] VALID_TYPE_ANNOTATIONS = { AnnotationConstants.GENERATED_FQ_NAME,
+            AnnotationConstants.RESOURCE_FQ_NAME };
+
+    private static final String[] VALID_METHOD_ANNOTATIONS = { AnnotationConstants.GENERATED_FQ_NAME,
+            AnnotationConstants.POST_CONSTRUCT_FQ_NAME, AnnotationConstants.PRE_DESTROY_FQ_NAME,
+            AnnotationConstants.RESOURCE_FQ_NAME };
+
     public AnnotationDiagnosticsCollector() {
         super();
     }
@@ -68,177 +82,185 @@ public class AnnotationDiagnosticsCollector extends AbstractDiagnosticsCollector
     }
 
     @Override
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
-        if (unit != null) {
-            try {
-                ArrayList<Tuple.Two<IAnnotation, IAnnotatable>> annotatables = new ArrayList<Two<IAnnotation, IAnnotatable>>();
-                String[] validAnnotations = { AnnotationConstants.GENERATED_FQ_NAME };
-                String[] validTypeAnnotations = { AnnotationConstants.GENERATED_FQ_NAME,
-                        AnnotationConstants.RESOURCE_FQ_NAME };
-                String[] validMethodAnnotations = { AnnotationConstants.GENERATED_FQ_NAME,
-                        AnnotationConstants.POST_CONSTRUCT_FQ_NAME, AnnotationConstants.PRE_DESTROY_FQ_NAME,
-                        AnnotationConstants.RESOURCE_FQ_NAME };
-
-                IPackageDeclaration[] packages = unit.getPackageDeclarations();
-                for (IPackageDeclaration p : packages) {
-                    IAnnotation[] annotations = p.getAnnotations();
-                    for (IAnnotation annotation : annotations) {
-                        if (isValidAnnotation(annotation.getElementName(), validAnnotations))
-                            annotatables.add(new Tuple.Two<>(annotation, p));
-                    }
-                }
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.MEMBER;
+    }
 
-                IType[] types = unit.getAllTypes();
-                for (IType type : types) {
-                    // Type
-                    IAnnotation[] annotations = type.getAnnotations();
-                    for (IAnnotation annotation : annotations) {
-                        if (isValidAnnotation(annotation.getElementName(), validTypeAnnotations))
-                            annotatables.add(new Tuple.Two<>(annotation, type));
-                    }
-                    // Method
-                    IMethod[] methods = type.getMethods();
-                    for (IMethod method : methods) {
-                        annotations = method.getAnnotations();
-                        for (IAnnotation annotation : annotations) {
-                            if (isValidAnnotation(annotation.getElementName(), validMethodAnnotations))
-                                annotatables.add(new Tuple.Two<>(annotation, method));
-                        }
-                        // method parameters
-                        ILocalVariable[] parameters = method.getParameters();
-                        for (ILocalVariable parameter : parameters) {
-                            annotations = parameter.getAnnotations();
-                            for (IAnnotation annotation : annotations) {
-                                if (isValidAnnotation(annotation.getElementName(), validAnnotations))
-                                    annotatables.add(new Tuple.Two<>(annotation, parameter));
-                            }
-                        }
-                    }
-                    // Field
-                    IField[] fields = type.getFields();
-                    for (IField field : fields) {
-                        annotations = field.getAnnotations();
-                        for (IAnnotation annotation : annotations) {
-                            if (isValidAnnotation(annotation.getElementName(), validTypeAnnotations))
-                                annotatables.add(new Tuple.Two<>(annotation, field));
-                        }
-                    }
-                }
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
 
-                for (Tuple.Two<IAnnotation, IAnnotatable> annotatable : annotatables) {
-                    IAnnotation annotation = annotatable.getFirst();
-                    IAnnotatable element = annotatable.getSecond();
+    @Override
+    public void visitCompilationUnit(JavaDiagnosticsContext context) throws JavaModelException {
+        ArrayList<Tuple.Two<IAnnotation, IAnnotatable>> annotatables = new ArrayList<Two<IAnnotation, IAnnotatable>>();
+        IPackageDeclaration[] packages = context.getUnit().getPackageDeclarations();
+        for (IPackageDeclaration p : packages) {
+            IAnnotation[] annotations = context.getAnnotations(p);
+            for (IAnnotation annotation : annotations) {
+                if (isValidAnnotation(annotation.getElementName(), VALID_ANNOTATIONS))
+                    annotatables.add(new Tuple.Two<>(annotation, p));
+            }
+        }
+        collectAnnotationDiagnostics(annotatables, context);
+    }
 
-                    if (isMatchedAnnotation(unit, annotation, AnnotationConstants.GENERATED_FQ_NAME)) {
-                        for (IMemberValuePair pair : annotation.getMemberValuePairs()) {
-                            // If date element exists and is non-empty, it must follow ISO 8601 format.
-                            if (pair.getMemberName().equals("date")) {
-                                if (pair.getValue() instanceof String) {
-                                    String date = (String) pair.getValue();
-                                    if (!date.equals("")) {
-                                        if (!Pattern.matches(AnnotationConstants.ISO_8601_REGEX, date)) {
-
-                                            String diagnosticMessage = Messages.getMessage(
-                                                    "AnnotationMustDefineAttributeFollowing8601", "@Generated", "date");
-                                            diagnostics.add(createDiagnostic(annotation, unit, diagnosticMessage,
-                                                    AnnotationConstants.DIAGNOSTIC_CODE_DATE_FORMAT, null,
-                                                    DiagnosticSeverity.Error));
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    } else if (isMatchedAnnotation(unit, annotation, AnnotationConstants.RESOURCE_FQ_NAME)) {
-                        if (element instanceof IType) {
-                            IType type = (IType) element;
-                            if (type.getElementType() == IJavaElement.TYPE && ((IType) type).isClass()) {
-                                Boolean nameEmpty = true;
-                                Boolean typeEmpty = true;
-                                for (IMemberValuePair pair : annotation.getMemberValuePairs()) {
-                                    if (pair.getMemberName().equals("name")) {
-                                        nameEmpty = false;
-                                    }
-                                    if (pair.getMemberName().equals("type")) {
-                                        typeEmpty = false;
-                                    }
-                                }
-                                String diagnosticMessage;
-                                if (nameEmpty) {
-                                    diagnosticMessage = Messages.getMessage("AnnotationMustDefineAttribute",
-                                            "@Resource", "name");
-                                    diagnostics.add(createDiagnostic(annotation, unit, diagnosticMessage,
-                                            AnnotationConstants.DIAGNOSTIC_CODE_MISSING_RESOURCE_NAME_ATTRIBUTE, null,
-                                            DiagnosticSeverity.Error));
-                                }
+    @Override
+    public void visitType(IType type, JavaDiagnosticsContext context) throws JavaModelException {
+        ArrayList<Tuple.Two<IAnnotation, IAnnotatable>> annotatables = new ArrayList<Two<IAnnotation, IAnnotatable>>();
+        IAnnotation[] annotations = context.getAnnotations(type);
+        for (IAnnotation annotation : annotations) {
+            if (isValidAnnotation(annotation.getElementName(), VALID_TYPE_ANNOTATIONS))
+                annotatables.add(new Tuple.Two<>(annotation, type));
+        }
+        collectAnnotationDiagnostics(annotatables, context);
+    }
 
-                                if (typeEmpty) {
-                                    diagnosticMessage = Messages.getMessage("AnnotationMustDefineAttribute",
-                                            "@Resource", "type");
+    @Override
+    public void visitMethod(IMethod method, JavaDiagnosticsContext context) throws JavaModelException {
+        ArrayList<Tuple.Two<IAnnotation, IAnnotatable>> annotatables = new ArrayList<Two<IAnnotation, IAnnotatable>>();
+        IAnnotation[] annotations = context.getAnnotations(method);
+        for (IAnnotation annotation : annotations) {
+            if (isValidAnnotation(annotation.getElementName(), VALID_METHOD_ANNOTATIONS))
+                annotatables.add(new Tuple.Two<>(annotation, method));
+        }
+        // method parameters
+        ILocalVariable[] parameters = context.getParameters(method);
+        for (ILocalVariable parameter : parameters) {
+            annotations = context.getAnnotations(parameter);
+            for (IAnnotation annotation : annotations) {
+                if (isValidAnnotation(annotation.getElementName(), VALID_ANNOTATIONS))
+                    annotatables.add(new Tuple.Two<>(annotation, parameter));
+            }
+        }
+        collectAnnotationDiagnostics(annotatables, context);
+    }
+
+    @Override
+    public void visitField(IField field, JavaDiagnosticsContext context) throws JavaModelException {
+        ArrayList<Tuple.Two<IAnnotation, IAnnotatable>> annotatables = new ArrayList<Two<IAnnotation, IAnnotatable>>();
+        IAnnotation[] annotations = context.getAnnotations(field);
+        for (IAnnotation annotation : annotations) {
+            if (isValidAnnotation(annotation.getElementName(), VALID_TYPE_ANNOTATIONS))
+                annotatables.add(new Tuple.Two<>(annotation, field));
+        }
+        collectAnnotationDiagnostics(annotatables, context);
+    }
+
+    private void collectAnnotationDiagnostics(List<Tuple.Two<IAnnotation, IAnnotatable>> annotatables,
+            JavaDiagnosticsContext context) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        for (Tuple.Two<IAnnotation, IAnnotatable> annotatable : annotatables) {
+            IAnnotation annotation = annotatable.getFirst();
+            IAnnotatable element = annotatable.getSecond();
+
+            if (isMatchedAnnotation(context, annotation, AnnotationConstants.GENERATED_FQ_NAME)) {
+                for (IMemberValuePair pair : annotation.getMemberValuePairs()) {
+                    // If date element exists and is non-empty, it must follow ISO 8601 format.
+                    if (pair.getMemberName().equals("date")) {
+                        if (pair.getValue() instanceof String) {
+                            String date = (String) pair.getValue();
+                            if (!date.equals("")) {
+                                if (!Pattern.matches(AnnotationConstants.ISO_8601_REGEX, date)) {
+
+                                    String diagnosticMessage = Messages.getMessage(
+                                            "AnnotationMustDefineAttributeFollowing8601", "@Generated", "date");
                                     diagnostics.add(createDiagnostic(annotation, unit, diagnosticMessage,
-                                            AnnotationConstants.DIAGNOSTIC_CODE_MISSING_RESOURCE_TYPE_ATTRIBUTE, null,
+                                            AnnotationConstants.DIAGNOSTIC_CODE_DATE_FORMAT, null,
                                             DiagnosticSeverity.Error));
                                 }
                             }
                         }
                     }
-                    if (isMatchedAnnotation(unit, annotation, AnnotationConstants.POST_CONSTRUCT_FQ_NAME)) {
-                        if (element instanceof IMethod) {
-                            IMethod method = (IMethod) element;
-                            if (method.getNumberOfParameters() != 0) {
-                                String diagnosticMessage = Messages.getMessage("MethodMustNotHaveParameters", 
-                                        "@PostConstruct");
-                                diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
-                                        AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_PARAMS, null,
-                                        DiagnosticSeverity.Error));
+                }
+            } else if (isMatchedAnnotation(context, annotation, AnnotationConstants.RESOURCE_FQ_NAME)) {
+                if (element instanceof IType) {
+                    IType type = (IType) element;
+                    if (type.getElementType() == IJavaElement.TYPE && ((IType) type).isClass()) {
+                        Boolean nameEmpty = true;
+                        Boolean typeEmpty = true;
+                        for (IMemberValuePair pair : annotation.getMemberValuePairs()) {
+                            if (pair.getMemberName().equals("name")) {
+                                nameEmpty = false;
                             }
-
-                            if (!method.getReturnType().equals("V")) {
-                                String diagnosticMessage = Messages.getMessage("MethodMustBeVoid", 
-                                        "@PostConstruct");
-                                diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
-                                        AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_RETURN_TYPE, null,
-                                        DiagnosticSeverity.Error));
+                            if (pair.getMemberName().equals("type")) {
+                                typeEmpty = false;
                             }
+                        }
+                        String diagnosticMessage;
+                        if (nameEmpty) {
+                            diagnosticMessage = Messages.getMessage("AnnotationMustDefineAttribute",
+                                    "@Resource", "name");
+                            diagnostics.add(createDiagnostic(annotation, unit, diagnosticMessage,
+                                    AnnotationConstants.DIAGNOSTIC_CODE_MISSING_RESOURCE_NAME_ATTRIBUTE, null,
+                                    DiagnosticSeverity.Error));
+                        }
 
-                            if (method.getExceptionTypes().length != 0) {
-                                String diagnosticMessage = Messages.getMessage("MethodMustNotThrow", 
-                                        "@PostConstruct");
-                                diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
-                                        AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_EXCEPTION, null,
-                                        DiagnosticSeverity.Warning));
-                            }
+                        if (typeEmpty) {
+                            diagnosticMessage = Messages.getMessage("AnnotationMustDefineAttribute",
+                                    "@Resource", "type");
+                            diagnostics.add(createDiagnostic(annotation, unit, diagnosticMessage,
+                                    AnnotationConstants.DIAGNOSTIC_CODE_MISSING_RESOURCE_TYPE_ATTRIBUTE, null,
+                                    DiagnosticSeverity.Error));
                         }
-                    } else if (isMatchedAnnotation(unit, annotation, AnnotationConstants.PRE_DESTROY_FQ_NAME)) {
-                        if (element instanceof IMethod) {
-                            IMethod method = (IMethod) element;
-                            if (method.getNumberOfParameters() != 0) {
-                                String diagnosticMessage = Messages.getMessage("MethodMustNotHaveParameters",
-                                        "@PreDestroy");
-                                diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
-                                        AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_PARAMS, null,
-                                        DiagnosticSeverity.Error));
-                            }
+                    }
+                }
+            }
+            if (isMatchedAnnotation(context, annotation, AnnotationConstants.POST_CONSTRUCT_FQ_NAME)) {
+                if (element instanceof IMethod) {
+                    IMethod method = (IMethod) element;
+                    if (method.getNumberOfParameters() != 0) {
+                        String diagnosticMessage = Messages.getMessage("MethodMustNotHaveParameters", 
+                                "@PostConstruct");
+                        diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
+                                AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_PARAMS, null,
+                                DiagnosticSeverity.Error));
+                    }
 
-                            if (Flags.isStatic(method.getFlags())) {
-                                String diagnosticMessage = Messages.getMessage("MethodMustNotBeStatic",
-                                        "@PreDestroy");
-                                diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
-                                        AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_STATIC, method.getElementType(),
-                                        DiagnosticSeverity.Error));
-                            }
+                    if (!method.getReturnType().equals("V")) {
+                        String diagnosticMessage = Messages.getMessage("MethodMustBeVoid", 
+                                "@PostConstruct");
+                        diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
+                                AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_RETURN_TYPE, null,
+                                DiagnosticSeverity.Error));
+                    }
 
-                            if (method.getExceptionTypes().length != 0) {
-                                String diagnosticMessage = Messages.getMessage("MethodMustNotThrow",
-                                        "@PreDestroy");
-                                diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
-                                        AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_EXCEPTION, null,
-                                        DiagnosticSeverity.Warning));
-                            }
-                        }
+                    if (method.getExceptionTypes().length != 0) {
+                        String diagnosticMessage = Messages.getMessage("MethodMustNotThrow", 
+                                "@PostConstruct");
+                        diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
+                                AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_EXCEPTION, null,
+                                DiagnosticSeverity.Warning));
+                    }
+                }
+            } else if (isMatchedAnnotation(context, annotation, AnnotationConstants.PRE_DESTROY_FQ_NAME)) {
+                if (element instanceof IMethod) {
+                    IMethod method = (IMethod) element;
+                    if (method.getNumberOfParameters() != 0) {
+                        String diagnosticMessage = Messages.getMessage("MethodMustNotHaveParameters",
+                                "@PreDestroy");
+                        diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
+                                AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_PARAMS, null,
+                                DiagnosticSeverity.Error));
+                    }
+
+                    if (Flags.isStatic(method.getFlags())) {
+                        String diagnosticMessage = Messages.getMessage("MethodMustNotBeStatic",
+                                "@PreDestroy");
+                        diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
+                                AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_STATIC, method.getElementType(),
+                                DiagnosticSeverity.Error));
+                    }
+
+                    if (method.getExceptionTypes().length != 0) {
+                        String diagnosticMessage = Messages.getMessage("MethodMustNotThrow",
+                                "@PreDestroy");
+                        diagnostics.add(createDiagnostic(method, unit, diagnosticMessage,
+                                AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_EXCEPTION, null,
+                                DiagnosticSeverity.Warning));
                     }
                 }
-            } catch (JavaModelException e) {
-                JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
             }
         }
     }
@@ -49,11 +49,13 @@ import static org.eclipse.lsp4jakarta.jdt.core.beanvalidation.BeanValidationCons
 import static org.eclipse.lsp4jakarta.jdt.core.beanvalidation.BeanValidationConstants.STRING;
 
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IAnnotatable;
 import org.eclipse.jdt.core.IAnnotation;
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
@@ -62,11 +64,17 @@ import org.eclipse.jdt.core.Signature;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
-import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 public class BeanValidationDiagnosticsCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.FIELD, IJavaElement.METHOD);
+
+    private static final String[] ANNOTATIONS = SET_OF_ANNOTATIONS.toArray(new String[0]);
+
     public BeanValidationDiagnosticsCollector() {
         super();
     }
@@ -76,49 +84,46 @@ public class BeanValidationDiagnosticsCollector extends AbstractDiagnosticsColle
         return DIAGNOSTIC_SOURCE;
     }
 
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
+    @Override
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.BEAN_VALIDATION;
+    }
 
-        if (unit != null) {
-            IType[] alltypes;
-            IField[] allFields;
-            IAnnotation[] annotations;
-            IMethod[] allMethods;
+    @Override
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.MEMBER;
+    }
 
-            try {
-                alltypes = unit.getAllTypes();
-                for (IType type : alltypes) {
-                    allFields = type.getFields();
-                    for (IField field : allFields) {
-                        annotations = field.getAnnotations();
-                        for (IAnnotation annotation : annotations) {
-                            String matchedAnnotation = getMatchedJavaElementName(type, annotation.getElementName(),
-                                    SET_OF_ANNOTATIONS.toArray(new String[0]));
-                            if (matchedAnnotation != null) {
-                                validAnnotation(field, annotation, matchedAnnotation, diagnostics);
-                            }
-                        }
-                    }
-                    allMethods = type.getMethods();
-                    for (IMethod method : allMethods) {
-                        annotations = method.getAnnotations();
-                        for (IAnnotation annotation : annotations) {
-                            String matchedAnnotation = getMatchedJavaElementName(type, annotation.getElementName(),
-                                    SET_OF_ANNOTATIONS.toArray(new String[0]));
-                            if (matchedAnnotation != null) {
-                                validAnnotation(method, annotation, matchedAnnotation, diagnostics);
-                            }
-                        }
-                    }
-                }
-            } catch (JavaModelException e) {
-                JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
+
+    @Override
+    public void visitField(IField field, JavaDiagnosticsContext context) throws JavaModelException {
+        validAnnotations(field, context);
+    }
+
+    @Override
+    public void visitMethod(IMethod method, JavaDiagnosticsContext context) throws JavaModelException {
+        validAnnotations(method, context);
+    }
+
+    private void validAnnotations(IMember element, JavaDiagnosticsContext context) throws JavaModelException {
+        IType type = element.getDeclaringType();
+        IAnnotation[] annotations = context.getAnnotations((IAnnotatable) element);
+        for (IAnnotation annotation : annotations) {
+            String matchedAnnotation = getMatchedJavaElementName(context, type, annotation.getElementName(),
+                    ANNOTATIONS);
+            if (matchedAnnotation != null) {
+                validAnnotation(element, annotation, matchedAnnotation, context);
             }
         }
-
     }
 
     private void validAnnotation(IMember element, IAnnotation annotation, String matchedAnnotation,
-            List<Diagnostic> diagnostics) throws JavaModelException {
+            JavaDiagnosticsContext context) throws JavaModelException {
+        List<Diagnostic> diagnostics = context.getDiagnostics();
         IType declaringType = element.getDeclaringType();
         if (declaringType != null) {
             String annotationName = annotation.getElementName();
@@ -168,7 +173,7 @@ public class BeanValidationDiagnosticsCollector extends AbstractDiagnosticsColle
                 } else if (matchedAnnotation.equals(FUTURE) || matchedAnnotation.equals(FUTURE_OR_PRESENT)
                         || matchedAnnotation.equals(PAST) || matchedAnnotation.equals(PAST_OR_PRESENT)) {
                     String dataType = getDataTypeName(type);
-                    String dataTypeFQName = getMatchedJavaElementName(declaringType, dataType,
+                    String dataTypeFQName = getMatchedJavaElementName(context, declaringType, dataType,
                             SET_OF_DATE_TYPES.toArray(new String[0]));
                     if (dataTypeFQName == null) {
                         String source = isMethod ? 
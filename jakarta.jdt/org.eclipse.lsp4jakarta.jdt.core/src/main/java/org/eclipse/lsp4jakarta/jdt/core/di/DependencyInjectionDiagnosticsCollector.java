@@ -25,19 +25,23 @@ import static org.eclipse.lsp4jakarta.jdt.core.di.DependencyInjectionConstants.I
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
 import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 /**
@@ -56,6 +60,8 @@ import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 public class DependencyInjectionDiagnosticsCollector extends AbstractDiagnosticsCollector {
     
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.TYPE);
+
     public DependencyInjectionDiagnosticsCollector() {
         super();
     }
@@ -66,83 +72,85 @@ public class DependencyInjectionDiagnosticsCollector extends AbstractDiagnostics
     }
 
     @Override
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
-        if (unit == null)
-            return;
-
-        IType[] alltypes;
-        try {
-            alltypes = unit.getAllTypes();
-            for (IType type : alltypes) {
-                IField[] allFields = type.getFields();
-                for (IField field : allFields) {
-                    if (Flags.isFinal(field.getFlags())
-                            && containsAnnotation(type, field.getAnnotations(), INJECT_FQ_NAME)) {
-                        String msg = Messages.getMessage("InjectNoFinalField");
-                        diagnostics.add(createDiagnostic(field, unit, msg,
-                                DIAGNOSTIC_CODE_INJECT_FINAL, field.getElementType(),
-                                DiagnosticSeverity.Error));
-                    }
-                }
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.TYPE;
+    }
 
-                List<IMethod> injectedConstructors = new ArrayList<IMethod>();
-                IMethod[] allMethods = type.getMethods();
-                for (IMethod method : allMethods) {
-                    int methodFlag = method.getFlags();
-                    boolean isFinal = Flags.isFinal(methodFlag);
-                    boolean isAbstract = Flags.isAbstract(methodFlag);
-                    boolean isStatic = Flags.isStatic(methodFlag);
-                    boolean isGeneric = method.getTypeParameters().length != 0;
-
-                    if (containsAnnotation(type, method.getAnnotations(), INJECT_FQ_NAME)) {
-                        if (isConstructorMethod(method))
-                            injectedConstructors.add(method);
-                        if (isFinal) {
-                            String msg = Messages.getMessage("InjectNoFinalMethod");
-                            diagnostics.add(createDiagnostic(method, unit, msg,
-                                    DIAGNOSTIC_CODE_INJECT_FINAL, method.getElementType(),
-                                    DiagnosticSeverity.Error));
-                        }
-                        if (isAbstract) {
-                            String msg = Messages.getMessage("InjectNoAbstractMethod");
-                            diagnostics.add(createDiagnostic(method, unit, msg,
-                                    DIAGNOSTIC_CODE_INJECT_ABSTRACT, method.getElementType(),
-                                    DiagnosticSeverity.Error));
-                        }
-                        if (isStatic) {
-                            String msg = Messages.getMessage("InjectNoStaticMethod");
-                            diagnostics.add(createDiagnostic(method, unit, msg,
-                                    DIAGNOSTIC_CODE_INJECT_STATIC, method.getElementType(),
-                                    DiagnosticSeverity.Error));
-                        }
-    
-                        if (isGeneric) {
-                            String msg = Messages.getMessage("InjectNoGenericMethod");
-                            diagnostics.add(createDiagnostic(method, unit, msg,
-                                    DIAGNOSTIC_CODE_INJECT_GENERIC, method.getElementType(),
-                                    DiagnosticSeverity.Error));
-                        }
-                    }
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
+
+    @Override
+    public void visitType(IType type, JavaDiagnosticsContext context) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        IField[] allFields = context.getFields(type);
+        for (IField field : allFields) {
+            if (Flags.isFinal(field.getFlags())
+                    && containsAnnotation(context, type, context.getAnnotations(field), INJECT_FQ_NAME)) {
+                String msg = Messages.getMessage("InjectNoFinalField");
+                diagnostics.add(createDiagnostic(field, unit, msg,
+                        DIAGNOSTIC_CODE_INJECT_FINAL, field.getElementType(),
+                        DiagnosticSeverity.Error));
+            }
+        }
+
+        List<IMethod> injectedConstructors = new ArrayList<IMethod>();
+        IMethod[] allMethods = context.getMethods(type);
+        for (IMethod method : allMethods) {
+            int methodFlag = method.getFlags();
+            boolean isFinal = Flags.isFinal(methodFlag);
+            boolean isAbstract = Flags.isAbstract(methodFlag);
+            boolean isStatic = Flags.isStatic(methodFlag);
+            boolean isGeneric = method.getTypeParameters().length != 0;
+
+            if (containsAnnotation(context, type, context.getAnnotations(method), INJECT_FQ_NAME)) {
+                if (isConstructorMethod(method))
+                    injectedConstructors.add(method);
+                if (isFinal) {
+                    String msg = Messages.getMessage("InjectNoFinalMethod");
+                    diagnostics.add(createDiagnostic(method, unit, msg,
+                            DIAGNOSTIC_CODE_INJECT_FINAL, method.getElementType(),
+                            DiagnosticSeverity.Error));
                 }
-                
-                // if more than one 'inject' constructor, add diagnostic to all constructors
-                if (injectedConstructors.size() > 1) {
-                    String msg = Messages.getMessage("InjectMoreThanOneConstructor");
-                    for (IMethod m : injectedConstructors) {
-                        diagnostics.add(createDiagnostic(m, unit,msg,
-                                DIAGNOSTIC_CODE_INJECT_CONSTRUCTOR, null, DiagnosticSeverity.Error));
-                    }
+                if (isAbstract) {
+                    String msg = Messages.getMessage("InjectNoAbstractMethod");
+                    diagnostics.add(createDiagnostic(method, unit, msg,
+                            DIAGNOSTIC_CODE_INJECT_ABSTRACT, method.getElementType(),
+                            DiagnosticSeverity.Error));
                 }
+                if (isStatic) {
+                    String msg = Messages.getMessage("InjectNoStaticMethod");
+                    diagnostics.add(createDiagnostic(method, unit, msg,
+                            DIAGNOSTIC_CODE_INJECT_STATIC, method.getElementType(),
+                            DiagnosticSeverity.Error));
+                }
+
+                if (isGeneric) {
+                    String msg = Messages.getMessage("InjectNoGenericMethod");
+                    diagnostics.add(createDiagnostic(method, unit, msg,
+                            DIAGNOSTIC_CODE_INJECT_GENERIC, method.getElementType(),
+                            DiagnosticSeverity.Error));
+                }
+            }
+        }
+
+        // if more than one 'inject' constructor, add diagnostic to all constructors
+        if (injectedConstructors.size() > 1) {
+            String msg = Messages.getMessage("InjectMoreThanOneConstructor");
+            for (IMethod m : injectedConstructors) {
+                diagnostics.add(createDiagnostic(m, unit,msg,
+                        DIAGNOSTIC_CODE_INJECT_CONSTRUCTOR, null, DiagnosticSeverity.Error));
             }
-        } catch (JavaModelException e) {
-            JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
         }
     }
 
-    private boolean containsAnnotation(IType type, IAnnotation[] annotations, String annotationFQName) {
+    private boolean containsAnnotation(JavaDiagnosticsContext context, IType type, IAnnotation[] annotations,
+            String annotationFQName) {
         return Stream.of(annotations).anyMatch(annotation -> {
             try {
-                return isMatchedJavaElement(type, annotation.getElementName(), annotationFQName);
+                return isMatchedJavaElement(context, type, annotation.getElementName(), annotationFQName);
             } catch (JavaModelException e) {
                 JakartaCorePlugin.logException("Cannot validate annotations", e);
                 return false;
@@ -17,17 +17,21 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
-import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 /**
@@ -38,6 +42,8 @@ import org.eclipse.lsp4jakarta.jdt.core.Messages;
  */
 public class Jax_RSClassDiagnosticsCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.TYPE);
+
     public Jax_RSClassDiagnosticsCollector() {
         super();
     }
@@ -48,89 +54,94 @@ public class Jax_RSClassDiagnosticsCollector extends AbstractDiagnosticsCollecto
     }
 
     @Override
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.JAX_RS;
+    }
 
-        if (unit != null) {
-            IType[] alltypes;
+    @Override
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.TYPE;
+    }
 
-            try {
-                alltypes = unit.getAllTypes();
-                for (IType type : alltypes) {
-                    boolean isRootResource = false;
-                    boolean isProviderResource = false;
-                    IAnnotation[] annotationList = type.getAnnotations();
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
 
-                    for (IAnnotation annotation : annotationList) {
-                        String matchedAnnotation = getMatchedJavaElementName(type, annotation.getElementName(),
-                                Jax_RSConstants.SET_OF_JAXRS_ANNOTATIONS1);
-                        if (matchedAnnotation != null) {
-                            if (Jax_RSConstants.PATH_ANNOTATION.equals(matchedAnnotation)) {
-                                isRootResource = true;
-                            } else if (Jax_RSConstants.PROVIDER_ANNOTATION.equals(matchedAnnotation)) {
-                                isProviderResource = true;
-                            }
-                        }
-                    }
+    @Override
+    public void visitType(IType type, JavaDiagnosticsContext context) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        boolean isRootResource = false;
+        boolean isProviderResource = false;
+        IAnnotation[] annotationList = context.getAnnotations(type);
 
-                    if (isRootResource || isProviderResource) { // annotated class
-                        List<IMethod> nonPublicConstructors = new ArrayList<IMethod>();
-                        boolean hasPublicConstructor = false;
-                        int maxParams = 0;
-                        Map<IMethod, Integer> constructorParamsMap = new HashMap<IMethod, Integer>();
-                        IMethod[] methods = type.getMethods();
-                        for (IMethod method : methods) {
-                            if (isConstructorMethod(method)) {
-                                if (Flags.isPublic(method.getFlags())) {
-                                    hasPublicConstructor = true;
-                                    nonPublicConstructors.clear(); // ignore all non-public constructors
-                                    if (isRootResource) {
-                                        int numParams = method.getNumberOfParameters();
-                                        if (numParams > maxParams) {
-                                            maxParams = numParams;
-                                        }
-                                        constructorParamsMap.put(method, numParams);
-                                    }
-                                } else if (!hasPublicConstructor) {
-                                    nonPublicConstructors.add(method);
-                                }
-                            }
-                        }
-                        // no public constructor defined
-                        if (nonPublicConstructors.size() > 0) {
-                            String diagnosticMessage = isRootResource ?
-                                    Messages.getMessage("RootResourceClasses") :
-                                    Messages.getMessage("ProviderClasses");
-                            for (IMethod constructor : nonPublicConstructors) {
-                                diagnostics.add(createDiagnostic(constructor, unit, diagnosticMessage,
-                                        Jax_RSConstants.DIAGNOSTIC_CODE_NO_PUBLIC_CONSTRUCTORS, null,
-                                        DiagnosticSeverity.Error));
-                            }
-                        }
-                        // check public constructors' parameters
-                        ArrayList<IMethod> equalMaxParamMethods = new ArrayList<IMethod>();
-                        for (Map.Entry<IMethod, Integer> entry : constructorParamsMap.entrySet()) {
-                            if (entry.getValue() == maxParams) {
-                                equalMaxParamMethods.add(entry.getKey());
-                            } else if (entry.getValue() < maxParams) {
-                                IMethod method = entry.getKey();
-                                diagnostics.add(createDiagnostic(method, unit,
-                                        Messages.getMessage("ConstructorIsUnused"),
-                                        Jax_RSConstants.DIAGNOSTIC_CODE_UNUSED_CONSTRUCTOR, null,
-                                        DiagnosticSeverity.Warning));
-                            }
-                        }
-                        if (equalMaxParamMethods.size() > 1) { // more than one
-                            for (IMethod method : equalMaxParamMethods) {
-                                diagnostics.add(createDiagnostic(method, unit,
-                                        Messages.getMessage("MultipleConstructorsNumberOfParameters"),
-                                        Jax_RSConstants.DIAGNOSTIC_CODE_AMBIGUOUS_CONSTRUCTORS, null,
-                                        DiagnosticSeverity.Warning));
+        for (IAnnotation annotation : annotationList) {
+            String matchedAnnotation = getMatchedJavaElementName(context, type, annotation.getElementName(),
+                    Jax_RSConstants.SET_OF_JAXRS_ANNOTATIONS1);
+            if (matchedAnnotation != null) {
+                if (Jax_RSConstants.PATH_ANNOTATION.equals(matchedAnnotation)) {
+                    isRootResource = true;
+                } else if (Jax_RSConstants.PROVIDER_ANNOTATION.equals(matchedAnnotation)) {
+                    isProviderResource = true;
+                }
+            }
+        }
+
+        if (isRootResource || isProviderResource) { // annotated class
+            List<IMethod> nonPublicConstructors = new ArrayList<IMethod>();
+            boolean hasPublicConstructor = false;
+            int maxParams = 0;
+            Map<IMethod, Integer> constructorParamsMap = new HashMap<IMethod, Integer>();
+            IMethod[] methods = context.getMethods(type);
+            for (IMethod method : methods) {
+                if (isConstructorMethod(method)) {
+                    if (Flags.isPublic(method.getFlags())) {
+                        hasPublicConstructor = true;
+                        nonPublicConstructors.clear(); // ignore all non-public constructors
+                        if (isRootResource) {
+                            int numParams = method.getNumberOfParameters();
+                            if (numParams > maxParams) {
+                                maxParams = numParams;
                             }
+                            constructorParamsMap.put(method, numParams);
                         }
+                    } else if (!hasPublicConstructor) {
+                        nonPublicConstructors.add(method);
                     }
                 }
-            } catch (JavaModelException e) {
-                JakartaCorePlugin.logException("Cannot calculate JAX-RS diagnostics", e);
+            }
+            // no public constructor defined
+            if (nonPublicConstructors.size() > 0) {
+                String diagnosticMessage = isRootResource ?
+                        Messages.getMessage("RootResourceClasses") :
+                        Messages.getMessage("ProviderClasses");
+                for (IMethod constructor : nonPublicConstructors) {
+                    diagnostics.add(createDiagnostic(constructor, unit, diagnosticMessage,
+                            Jax_RSConstants.DIAGNOSTIC_CODE_NO_PUBLIC_CONSTRUCTORS, null,
+                            DiagnosticSeverity.Error));
+                }
+            }
+            // check public constructors' parameters
+            ArrayList<IMethod> equalMaxParamMethods = new ArrayList<IMethod>();
+            for (Map.Entry<IMethod, Integer> entry : constructorParamsMap.entrySet()) {
+                if (entry.getValue() == maxParams) {
+                    equalMaxParamMethods.add(entry.getKey());
+                } else if (entry.getValue() < maxParams) {
+                    IMethod method = entry.getKey();
+                    diagnostics.add(createDiagnostic(method, unit,
+                            Messages.getMessage("ConstructorIsUnused"),
+                            Jax_RSConstants.DIAGNOSTIC_CODE_UNUSED_CONSTRUCTOR, null,
+                            DiagnosticSeverity.Warning));
+                }
+            }
+            if (equalMaxParamMethods.size() > 1) { // more than one
+                for (IMethod method : equalMaxParamMethods) {
+                    diagnostics.add(createDiagnostic(method, unit,
+                            Messages.getMessage("MultipleConstructorsNumberOfParameters"),
+                            Jax_RSConstants.DIAGNOSTIC_CODE_AMBIGUOUS_CONSTRUCTORS, null,
+                            DiagnosticSeverity.Warning));
+                }
             }
         }
     }
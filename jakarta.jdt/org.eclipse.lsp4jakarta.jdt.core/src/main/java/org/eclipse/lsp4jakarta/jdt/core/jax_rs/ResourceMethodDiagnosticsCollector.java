@@ -14,11 +14,13 @@
 package org.eclipse.lsp4jakarta.jdt.core.jax_rs;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.ILocalVariable;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
@@ -26,11 +28,18 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
-import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 public class ResourceMethodDiagnosticsCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.METHOD);
+
+    private static final String[] METHOD_DESIGNATORS = ArrayUtils.addAll(
+            Jax_RSConstants.SET_OF_METHOD_DESIGNATORS_ANNOTATIONS, Jax_RSConstants.PATH_ANNOTATION);
+
     public ResourceMethodDiagnosticsCollector() {
         super();
     }
@@ -41,73 +50,73 @@ public class ResourceMethodDiagnosticsCollector extends AbstractDiagnosticsColle
     }
 
     @Override
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.JAX_RS;
+    }
 
-        if (unit != null) {
-            String[] methodDesignators = ArrayUtils.addAll(Jax_RSConstants.SET_OF_METHOD_DESIGNATORS_ANNOTATIONS,
-                    Jax_RSConstants.PATH_ANNOTATION);
-            IType[] alltypes;
-            IMethod[] methods;
+    @Override
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.MEMBER;
+    }
+
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
 
-            try {
-                alltypes = unit.getAllTypes();
-                for (IType type : alltypes) {
-                    methods = type.getMethods();
-                    boolean isInterface = type.isInterface();
+    @Override
+    public void visitMethod(IMethod method, JavaDiagnosticsContext context) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        IType type = method.getDeclaringType();
+        boolean isInterface = type.isInterface();
 
-                    for (IMethod method : methods) {
-                        IAnnotation[] methodAnnotations = method.getAnnotations();
-                        boolean isResourceMethod = false;
-                        boolean isValid = true;
-                        boolean isPublic = Flags.isPublic(method.getFlags());
-                        boolean usesDfltAccessModifier = Flags.isPackageDefault(method.getFlags());
+        IAnnotation[] methodAnnotations = context.getAnnotations(method);
+        boolean isResourceMethod = false;
+        boolean isValid = true;
+        boolean isPublic = Flags.isPublic(method.getFlags());
+        boolean usesDfltAccessModifier = Flags.isPackageDefault(method.getFlags());
 
-                        for (IAnnotation annotation : methodAnnotations) {
-                            String matchedAnnotation = getMatchedJavaElementName(type, annotation.getElementName(),
-                                    methodDesignators);
-                            if (matchedAnnotation != null) {
-                                if (isValid && !isPublic && !(usesDfltAccessModifier && isInterface) )
-                                    isValid = false;
-                                if (!Jax_RSConstants.PATH_ANNOTATION.equals(matchedAnnotation)) {
-                                    isResourceMethod = true;
-                                    break;
-                                }
-                            }
-                        }
-                        if (!isValid) {
-                            diagnostics.add(createDiagnostic(method, unit,
-                                    Messages.getMessage("OnlyPublicMethods"),
-                                    Jax_RSConstants.DIAGNOSTIC_CODE_NON_PUBLIC, null, DiagnosticSeverity.Error));
-                        }
-                        if (isResourceMethod) {
-                            int numEntityParams = 0;
-                            ILocalVariable[] parameters = method.getParameters();
-                            for (ILocalVariable param : parameters) {
-                                boolean isEntityParam = true;
-                                IAnnotation[] annotations = param.getAnnotations();
-                                for (IAnnotation annotation : annotations) {
-                                    String matchedAnnotation = getMatchedJavaElementName(type,
-                                            annotation.getElementName(),
-                                            Jax_RSConstants.SET_OF_NON_ENTITY_PARAM_ANNOTATIONS);
-                                    if (matchedAnnotation != null) {
-                                        isEntityParam = false;
-                                        break;
-                                    }
-                                }
-                                if (isEntityParam)
-                                    numEntityParams++;
-                            }
-                            if (numEntityParams > 1) {
-                                diagnostics.add(createDiagnostic(method, unit,
-                                        Messages.getMessage("ResourceMethodsEntityParameter"),
-                                        Jax_RSConstants.DIAGNOSTIC_CODE_MULTIPLE_ENTITY_PARAMS, null,
-                                        DiagnosticSeverity.Error));
-                            }
-                        }
+        for (IAnnotation annotation : methodAnnotations) {
+            String matchedAnnotation = getMatchedJavaElementName(context, type, annotation.getElementName(),
+                    METHOD_DESIGNATORS);
+            if (matchedAnnotation != null) {
+                if (isValid && !isPublic && !(usesDfltAccessModifier && isInterface) )
+                    isValid = false;
+                if (!Jax_RSConstants.PATH_ANNOTATION.equals(matchedAnnotation)) {
+                    isResourceMethod = true;
+                    break;
+                }
+            }
+        }
+        if (!isValid) {
+            diagnostics.add(createDiagnostic(method, unit,
+                    Messages.getMessage("OnlyPublicMethods"),
+                    Jax_RSConstants.DIAGNOSTIC_CODE_NON_PUBLIC, null, DiagnosticSeverity.Error));
+        }
+        if (isResourceMethod) {
+            int numEntityParams = 0;
+            ILocalVariable[] parameters = context.getParameters(method);
+            for (ILocalVariable param : parameters) {
+                boolean isEntityParam = true;
+                IAnnotation[] annotations = context.getAnnotations(param);
+                for (IAnnotation annotation : annotations) {
+                    String matchedAnnotation = getMatchedJavaElementName(context, type,
+                            annotation.getElementName(),
+                            Jax_RSConstants.SET_OF_NON_ENTITY_PARAM_ANNOTATIONS);
+                    if (matchedAnnotation != null) {
+                        isEntityParam = false;
+                        break;
                     }
                 }
-            } catch (JavaModelException e) {
-                JakartaCorePlugin.logException("Cannot calculate JAX-RS diagnostics", e);
+                if (isEntityParam)
+                    numEntityParams++;
+            }
+            if (numEntityParams > 1) {
+                diagnostics.add(createDiagnostic(method, unit,
+                        Messages.getMessage("ResourceMethodsEntityParameter"),
+                        Jax_RSConstants.DIAGNOSTIC_CODE_MULTIPLE_ENTITY_PARAMS, null,
+                        DiagnosticSeverity.Error));
             }
         }
     }
@@ -15,6 +15,7 @@ package org.eclipse.lsp4jakarta.jdt.core.jsonb;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.core.Flags;
@@ -22,6 +23,7 @@ import org.eclipse.jdt.core.IAnnotatable;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
@@ -29,8 +31,10 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
 import org.eclipse.lsp4jakarta.jdt.core.JDTUtils;
-import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 import com.google.gson.Gson;
@@ -43,6 +47,8 @@ import com.google.gson.JsonArray;
  */
 public class JsonbDiagnosticsCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.TYPE);
+
     public JsonbDiagnosticsCollector() {
         super();
     }
@@ -53,53 +59,59 @@ public class JsonbDiagnosticsCollector extends AbstractDiagnosticsCollector {
     }
 
     @Override
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
-        if (unit == null)
-            return;
-        try {
-            IType[] types = unit.getAllTypes();
-            IMethod[] methods;
-            IAnnotation[] allAnnotations;
-
-            for (IType type : types) {
-                methods = type.getMethods();
-                List<IMethod> jonbMethods = new ArrayList<IMethod>();
-                // methods
-                for (IMethod method : type.getMethods()) {
-                    if (isConstructorMethod(method) || Flags.isStatic(method.getFlags())) {
-                        allAnnotations = method.getAnnotations();
-                        for (IAnnotation annotation : allAnnotations) {
-                            if (isMatchedJavaElement(type, annotation.getElementName(), JsonbConstants.JSONB_CREATOR))
-                                jonbMethods.add(method);
-                        }
-                    }
-                }
-                if (jonbMethods.size() > JsonbConstants.MAX_METHOD_WITH_JSONBCREATOR) {
-                    for (IMethod method : methods) {
-                        diagnostics.add(createDiagnostic(method, unit, Messages.getMessage("ErrorMessageJsonbCreator"),
-                                JsonbConstants.DIAGNOSTIC_CODE_ANNOTATION, null, DiagnosticSeverity.Error));
-                    }
-                }
-                // fields
-                for (IField field : type.getFields()) {
-                    collectJsonbTransientFieldDiagnostics(unit, type, diagnostics, field);
-                    collectJsonbTransientAccessorDiagnostics(unit, type, diagnostics, field);
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.JSONB;
+    }
+
+    @Override
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.TYPE;
+    }
+
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
+
+    @Override
+    public void visitType(IType type, JavaDiagnosticsContext context) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        IMethod[] methods = context.getMethods(type);
+        List<IMethod> jonbMethods = new ArrayList<IMethod>();
+        // methods
+        for (IMethod method : context.getMethods(type)) {
+            if (isConstructorMethod(method) || Flags.isStatic(method.getFlags())) {
+                IAnnotation[] allAnnotations = context.getAnnotations(method);
+                for (IAnnotation annotation : allAnnotations) {
+                    if (isMatchedJavaElement(context, type, annotation.getElementName(), JsonbConstants.JSONB_CREATOR))
+                        jonbMethods.add(method);
                 }
             }
-        } catch (JavaModelException e) {
-            JakartaCorePlugin.logException("Cannot calculate jakarta-jsonb diagnostics", e);
+        }
+        if (jonbMethods.size() > JsonbConstants.MAX_METHOD_WITH_JSONBCREATOR) {
+            for (IMethod method : methods) {
+                diagnostics.add(createDiagnostic(method, unit, Messages.getMessage("ErrorMessageJsonbCreator"),
+                        JsonbConstants.DIAGNOSTIC_CODE_ANNOTATION, null, DiagnosticSeverity.Error));
+            }
+        }
+        // fields
+        for (IField field : context.getFields(type)) {
+            collectJsonbTransientFieldDiagnostics(context, type, diagnostics, field);
+            collectJsonbTransientAccessorDiagnostics(context, type, diagnostics, field);
         }
     }
 
-    private void collectJsonbTransientFieldDiagnostics(ICompilationUnit unit, IType type, List<Diagnostic> diagnostics, IField field) throws JavaModelException {
-        List<String> jsonbAnnotationsForField = getJsonbAnnotationNames(type, field);
+    private void collectJsonbTransientFieldDiagnostics(JavaDiagnosticsContext context, IType type, List<Diagnostic> diagnostics, IField field) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        List<String> jsonbAnnotationsForField = getJsonbAnnotationNames(context, type, field);
         if (jsonbAnnotationsForField.contains(JsonbConstants.JSONB_TRANSIENT_FQ_NAME)) {
             boolean hasAccessorConflict = false;
             // Diagnostics on the accessors of the field are created when they are
             // annotated with Jsonb annotations other than JsonbTransient.
             List<IMethod> accessors = JDTUtils.getFieldAccessors(unit, field);
             for (IMethod accessor : accessors) {
-                List<String> jsonbAnnotationsForAccessor = getJsonbAnnotationNames(type, accessor);
+                List<String> jsonbAnnotationsForAccessor = getJsonbAnnotationNames(context, type, accessor);
                 if (hasJsonbAnnotationOtherThanTransient(jsonbAnnotationsForAccessor)) {
                     createJsonbTransientDiagnostic(unit, diagnostics, accessor, jsonbAnnotationsForAccessor,
                             JsonbConstants.DIAGNOSTIC_CODE_ANNOTATION_TRANSIENT_FIELD);
@@ -115,12 +127,13 @@ public class JsonbDiagnosticsCollector extends AbstractDiagnosticsCollector {
         }
     }
 
-    private void collectJsonbTransientAccessorDiagnostics(ICompilationUnit unit, IType type, List<Diagnostic> diagnostics, IField field) throws JavaModelException {
+    private void collectJsonbTransientAccessorDiagnostics(JavaDiagnosticsContext context, IType type, List<Diagnostic> diagnostics, IField field) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
         boolean createDiagnosticForField = false;
-        List<String> jsonbAnnotationsForField = getJsonbAnnotationNames(type, field);
+        List<String> jsonbAnnotationsForField = getJsonbAnnotationNames(context, type, field);
         List<IMethod> accessors = JDTUtils.getFieldAccessors(unit, field);
         for (IMethod accessor : accessors) {
-            List<String> jsonbAnnotationsForAccessor = getJsonbAnnotationNames(type, accessor);
+            List<String> jsonbAnnotationsForAccessor = getJsonbAnnotationNames(context, type, accessor);
             boolean hasFieldConflict = false;
             if (jsonbAnnotationsForAccessor.contains(JsonbConstants.JSONB_TRANSIENT_FQ_NAME)) {
                 // Diagnostic is created if the field of this accessor has a annotation other
@@ -159,11 +172,11 @@ public class JsonbDiagnosticsCollector extends AbstractDiagnosticsCollector {
         return true;
     }
 
-    private List<String> getJsonbAnnotationNames(IType type, IAnnotatable annotable) throws JavaModelException {
+    private List<String> getJsonbAnnotationNames(JavaDiagnosticsContext context, IType type, IAnnotatable annotable) throws JavaModelException {
         List<String> jsonbAnnotationNames = new ArrayList<String>();
         IAnnotation annotations[] = annotable.getAnnotations();
         for (IAnnotation annotation : annotations) {
-            String matchedAnnotation = getMatchedJavaElementName(type, annotation.getElementName(), JsonbConstants.JSONB_ANNOTATIONS.toArray(String[]::new));
+            String matchedAnnotation = getMatchedJavaElementName(context, type, annotation.getElementName(), JsonbConstants.JSONB_ANNOTATIONS.toArray(String[]::new));
             if (matchedAnnotation != null) {
                 jsonbAnnotationNames.add(matchedAnnotation);
             }
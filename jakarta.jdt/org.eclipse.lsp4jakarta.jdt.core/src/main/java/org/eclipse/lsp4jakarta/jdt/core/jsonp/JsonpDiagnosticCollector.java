@@ -14,10 +14,13 @@
 package org.eclipse.lsp4jakarta.jdt.core.jsonp;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.MethodInvocation;
@@ -27,12 +30,16 @@ import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4jakarta.jdt.core.ASTUtils;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
 import org.eclipse.lsp4jakarta.jdt.core.JDTUtils;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
 import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 
 public class JsonpDiagnosticCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.COMPILATION_UNIT);
+
     public JsonpDiagnosticCollector() {
         super();
     }
@@ -43,15 +50,33 @@ public class JsonpDiagnosticCollector extends AbstractDiagnosticsCollector {
     }
 
     @Override
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
-        if (unit == null) {
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.JSONP;
+    }
+
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
+
+    @Override
+    public void visitCompilationUnit(JavaDiagnosticsContext context) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        String source = unit.getSource();
+        if (source == null || !source.contains(JsonpConstants.CREATE_POINTER)) {
+            // no need to parse the unit with bindings
+            return;
+        }
+        CompilationUnit ast = context.getASTRoot();
+        if (ast == null) {
             return;
         }
-        List<MethodInvocation> allMethodInvocations = ASTUtils.getMethodInvocations(unit);
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        List<MethodInvocation> allMethodInvocations = ASTUtils.getMethodInvocations(ast);
         List<MethodInvocation> createPointerInvocations = allMethodInvocations.stream()
                 .filter(mi -> {
                     try {
-                        return isMatchedJsonCreatePointer(unit, mi);
+                        return isMatchedJsonCreatePointer(context, mi);
                     } catch (JavaModelException e) {
                         return false;
                     }
@@ -83,7 +108,7 @@ public class JsonpDiagnosticCollector extends AbstractDiagnosticsCollector {
         return false;
     }
     
-    private boolean isMatchedJsonCreatePointer(ICompilationUnit unit, MethodInvocation mi)
+    private boolean isMatchedJsonCreatePointer(JavaDiagnosticsContext context, MethodInvocation mi)
             throws JavaModelException {
         if (mi.arguments().size() == 1 && JsonpConstants.CREATE_POINTER.equals(mi.getName().getIdentifier())
                 && mi.getExpression() != null) {
@@ -92,7 +117,7 @@ public class JsonpDiagnosticCollector extends AbstractDiagnosticsCollector {
             if (JsonpConstants.JSON_FQ_NAME.endsWith(qualifier)) {
                 // For performance reason, we check if the import of Java element name is
                 // declared
-                if (isImportedJavaElement(unit, JsonpConstants.JSON_FQ_NAME) == true)
+                if (isImportedJavaElement(context, JsonpConstants.JSON_FQ_NAME) == true)
                     return true;
                 // only check fully qualified java element
                 if (JsonpConstants.JSON_FQ_NAME.equals(qualifier)) {
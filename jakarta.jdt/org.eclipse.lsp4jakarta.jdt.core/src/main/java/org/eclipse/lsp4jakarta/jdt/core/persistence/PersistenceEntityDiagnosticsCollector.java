@@ -14,6 +14,7 @@
 package org.eclipse.lsp4jakarta.jdt.core.persistence;
 
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jdt.core.Flags;
 
@@ -26,17 +27,22 @@ import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
-import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 public class PersistenceEntityDiagnosticsCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.TYPE);
+
     public PersistenceEntityDiagnosticsCollector() {
         super();
     }
@@ -46,6 +52,11 @@ public class PersistenceEntityDiagnosticsCollector extends AbstractDiagnosticsCo
         return PersistenceConstants.DIAGNOSTIC_SOURCE;
     }
 
+    @Override
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.PERSISTENCE;
+    }
+
     /**
      * check if the modifier provided is static
      * 
@@ -88,92 +99,91 @@ public class PersistenceEntityDiagnosticsCollector extends AbstractDiagnosticsCo
     }
 
     @Override
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
-        if (unit != null) {
-            IType[] alltypes;
-            IAnnotation[] allAnnotations;
-
-            try {
-                alltypes = unit.getAllTypes();
-                for (IType type : alltypes) {
-                    allAnnotations = type.getAnnotations();
-
-                    /* ============ Entity Annotation Diagnostics =========== */
-                    IAnnotation EntityAnnotation = null;
-                    for (IAnnotation annotation : allAnnotations) {
-                        if (isMatchedJavaElement(type, annotation.getElementName(), PersistenceConstants.ENTITY)) {
-                            EntityAnnotation = annotation;
-                        }
-                    }
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.TYPE;
+    }
 
-                    if (EntityAnnotation != null) {
-                        // Define boolean requirements for the diagnostics
-                        boolean hasPublicOrProtectedNoArgConstructor = false;
-                        boolean hasArgConstructor = false;
-                        boolean isEntityClassFinal = false;
-
-                        // Get the Methods of the annotated Class
-                        for (IMethod method : type.getMethods()) {
-                            if (isConstructorMethod(method)) {
-                                // We have found a method that is a constructor
-                                if (method.getNumberOfParameters() > 0) {
-                                    hasArgConstructor = true;
-                                    continue;
-                                }
-                                // Don't need to perform subtractions to check flags because eclipse notifies on
-                                // illegal constructor modifiers
-                                if (method.getFlags() != Flags.AccPublic && method.getFlags() != Flags.AccProtected)
-                                    continue;
-                                hasPublicOrProtectedNoArgConstructor = true;
-                            }
-                            // All Methods of this class should not be final
-                            if (isFinal(method.getFlags())) {
-                                diagnostics.add(createDiagnostic(method, unit,
-                                        Messages.getMessage("EntityNoFinalMethods"),
-                                        PersistenceConstants.DIAGNOSTIC_CODE_FINAL_METHODS, method.getElementType(),
-                                        DiagnosticSeverity.Error));
-                            }
-                        }
-
-                        // Go through the instance variables and make sure no instance vars are final
-                        for (IField field : type.getFields()) {
-                            // If a field is static, we do not care about it, we care about all other field
-                            if (isStatic(field.getFlags())) {
-                                continue;
-                            }
-                            // If we find a non-static variable that is final, this is a problem
-                            if (isFinal(field.getFlags())) {
-                                diagnostics.add(createDiagnostic(field, unit,
-                                        Messages.getMessage("EntityNoFinalVariables"),
-                                        PersistenceConstants.DIAGNOSTIC_CODE_FINAL_VARIABLES, field.getElementType(),
-                                        DiagnosticSeverity.Error));
-                            }
-                        }
-
-                        // Ensure that the Entity class is not given a final modifier
-                        if (isFinal(type.getFlags()))
-                            isEntityClassFinal = true;
-
-                        // Create Diagnostics if needed
-                        if (!hasPublicOrProtectedNoArgConstructor && hasArgConstructor) {
-                            diagnostics.add(createDiagnostic(type, unit,
-                                    Messages.getMessage("EntityNoArgConstructor"),
-                                    PersistenceConstants.DIAGNOSTIC_CODE_MISSING_EMPTY_CONSTRUCTOR, null,
-                                    DiagnosticSeverity.Error));
-                        }
-
-                        if (isEntityClassFinal) {
-                            diagnostics.add(createDiagnostic(type, unit,
-                                    Messages.getMessage("EntityNoFinalClass"),
-                                    PersistenceConstants.DIAGNOSTIC_CODE_FINAL_CLASS, type.getElementType(),
-                                    DiagnosticSeverity.Error));
-                        }
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
+
+    @Override
+    public void visitType(IType type, JavaDiagnosticsContext context) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        IAnnotation[] allAnnotations = context.getAnnotations(type);
+
+        /* ============ Entity Annotation Diagnostics =========== */
+        IAnnotation EntityAnnotation = null;
+        for (IAnnotation annotation : allAnnotations) {
+            if (isMatchedJavaElement(context, type, annotation.getElementName(), PersistenceConstants.ENTITY)) {
+                EntityAnnotation = annotation;
+            }
+        }
+
+        if (EntityAnnotation != null) {
+            // Define boolean requirements for the diagnostics
+            boolean hasPublicOrProtectedNoArgConstructor = false;
+            boolean hasArgConstructor = false;
+            boolean isEntityClassFinal = false;
+
+            // Get the Methods of the annotated Class
+            for (IMethod method : context.getMethods(type)) {
+                if (isConstructorMethod(method)) {
+                    // We have found a method that is a constructor
+                    if (method.getNumberOfParameters() > 0) {
+                        hasArgConstructor = true;
+                        continue;
                     }
+                    // Don't need to perform subtractions to check flags because eclipse notifies on
+                    // illegal constructor modifiers
+                    if (method.getFlags() != Flags.AccPublic && method.getFlags() != Flags.AccProtected)
+                        continue;
+                    hasPublicOrProtectedNoArgConstructor = true;
+                }
+                // All Methods of this class should not be final
+                if (isFinal(method.getFlags())) {
+                    diagnostics.add(createDiagnostic(method, unit,
+                            Messages.getMessage("EntityNoFinalMethods"),
+                            PersistenceConstants.DIAGNOSTIC_CODE_FINAL_METHODS, method.getElementType(),
+                            DiagnosticSeverity.Error));
+                }
+            }
+
+            // Go through the instance variables and make sure no instance vars are final
+            for (IField field : context.getFields(type)) {
+                // If a field is static, we do not care about it, we care about all other field
+                if (isStatic(field.getFlags())) {
+                    continue;
+                }
+                // If we find a non-static variable that is final, this is a problem
+                if (isFinal(field.getFlags())) {
+                    diagnostics.add(createDiagnostic(field, unit,
+                            Messages.getMessage("EntityNoFinalVariables"),
+                            PersistenceConstants.DIAGNOSTIC_CODE_FINAL_VARIABLES, field.getElementType(),
+                            DiagnosticSeverity.Error));
                 }
-            } catch (JavaModelException e) {
-                JakartaCorePlugin.logException("Cannot calculate persistence diagnostics", e);
+            }
+
+            // Ensure that the Entity class is not given a final modifier
+            if (isFinal(type.getFlags()))
+                isEntityClassFinal = true;
+
+            // Create Diagnostics if needed
+            if (!hasPublicOrProtectedNoArgConstructor && hasArgConstructor) {
+                diagnostics.add(createDiagnostic(type, unit,
+                        Messages.getMessage("EntityNoArgConstructor"),
+                        PersistenceConstants.DIAGNOSTIC_CODE_MISSING_EMPTY_CONSTRUCTOR, null,
+                        DiagnosticSeverity.Error));
+            }
+
+            if (isEntityClassFinal) {
+                diagnostics.add(createDiagnostic(type, unit,
+                        Messages.getMessage("EntityNoFinalClass"),
+                        PersistenceConstants.DIAGNOSTIC_CODE_FINAL_CLASS, type.getElementType(),
+                        DiagnosticSeverity.Error));
             }
         }
-        // We do not do anything if the found unit is null
     }
 }
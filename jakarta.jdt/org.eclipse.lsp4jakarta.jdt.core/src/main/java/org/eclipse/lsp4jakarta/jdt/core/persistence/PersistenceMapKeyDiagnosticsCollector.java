@@ -16,10 +16,13 @@ package org.eclipse.lsp4jakarta.jdt.core.persistence;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
+import org.eclipse.jdt.core.IAnnotatable;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.IMethod;
@@ -28,11 +31,16 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
 import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 public class PersistenceMapKeyDiagnosticsCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.FIELD, IJavaElement.METHOD);
+
     public PersistenceMapKeyDiagnosticsCollector() {
         super();
     }
@@ -43,87 +51,65 @@ public class PersistenceMapKeyDiagnosticsCollector extends AbstractDiagnosticsCo
     }
 
     @Override
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
-        if (unit != null) {
-            IType[] alltypes;
-            IAnnotation[] allAnnotations;
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.PERSISTENCE;
+    }
 
-            try {
-                alltypes = unit.getAllTypes();
-                IMethod[] methods;
-                IField[] fields;
+    @Override
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.MEMBER;
+    }
+
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
 
-                for (IType type : alltypes) {
-                    methods = type.getMethods();
-                    for (IMethod method : methods) {
-                        List<IAnnotation> mapKeyJoinCols = new ArrayList<IAnnotation>();
-                        boolean hasMapKeyAnnotation = false;
-                        boolean hasMapKeyClassAnnotation = false;
-                        allAnnotations = method.getAnnotations();
-                        for (IAnnotation annotation : allAnnotations) {
-                            String matchedAnnotation = getMatchedJavaElementName(type, annotation.getElementName(),
-                                    PersistenceConstants.SET_OF_PERSISTENCE_ANNOTATIONS);
-                            if (matchedAnnotation != null) {
-                                if (PersistenceConstants.MAPKEY.equals(matchedAnnotation))
-                                    hasMapKeyAnnotation = true;
-                                else if (PersistenceConstants.MAPKEYCLASS.equals(matchedAnnotation))
-                                    hasMapKeyClassAnnotation = true;
-                                else if (PersistenceConstants.MAPKEYJOINCOLUMN.equals(matchedAnnotation)) {
-                                    mapKeyJoinCols.add(annotation);
-                                }
-                            }
-                        }
-                        if (hasMapKeyAnnotation && hasMapKeyClassAnnotation) {
-                            // A single field cannot have the same
-                            diagnostics.add(createDiagnostic(method, unit,
-                                    Messages.getMessage("MapKeyAnnotationsNotOnSameField"),
-                                    PersistenceConstants.DIAGNOSTIC_CODE_INVALID_ANNOTATION, null,
-                                    DiagnosticSeverity.Error));
-                        }
-                        // If we have multiple MapKeyJoinColumn annotations on a single method we must
-                        // ensure each has a name and referencedColumnName
-                        if (mapKeyJoinCols.size() > 1) {
-                            validateMapKeyJoinColumnAnnotations(mapKeyJoinCols, method, unit, diagnostics);
-                        }
-                    }
+    @Override
+    public void visitField(IField field, JavaDiagnosticsContext context) throws JavaModelException {
+        // Go through each field to ensure they do not have both MapKey and MapKeyColumn
+        // Annotations
+        validateMapKeyAnnotations(field, context);
+    }
+
+    @Override
+    public void visitMethod(IMethod method, JavaDiagnosticsContext context) throws JavaModelException {
+        validateMapKeyAnnotations(method, context);
+    }
 
-                    // Go through each field to ensure they do not have both MapKey and MapKeyColumn
-                    // Annotations
-                    fields = type.getFields();
-                    for (IField field : fields) {
-                        List<IAnnotation> mapKeyJoinCols = new ArrayList<IAnnotation>();
-                        boolean hasMapKeyAnnotation = false;
-                        boolean hasMapKeyClassAnnotation = false;
-                        allAnnotations = field.getAnnotations();
-                        for (IAnnotation annotation : allAnnotations) {
-                            String matchedAnnotation = getMatchedJavaElementName(type, annotation.getElementName(),
-                                    PersistenceConstants.SET_OF_PERSISTENCE_ANNOTATIONS);
-                            if (matchedAnnotation != null) {
-                                if (PersistenceConstants.MAPKEY.equals(matchedAnnotation))
-                                    hasMapKeyAnnotation = true;
-                                else if (PersistenceConstants.MAPKEYCLASS.equals(matchedAnnotation))
-                                    hasMapKeyClassAnnotation = true;
-                                else if (PersistenceConstants.MAPKEYJOINCOLUMN.equals(matchedAnnotation)) {
-                                    mapKeyJoinCols.add(annotation);
-                                }
-                            }
-                        }
-                        if (hasMapKeyAnnotation && hasMapKeyClassAnnotation) {
-                            // A single field cannot have the same
-                            diagnostics.add(createDiagnostic(field, unit,
-                                    Messages.getMessage("MapKeyAnnotationsNotOnSameField"),
-                                    PersistenceConstants.DIAGNOSTIC_CODE_INVALID_ANNOTATION, null,
-                                    DiagnosticSeverity.Error));
-                        }
-                        if (mapKeyJoinCols.size() > 1) {
-                            validateMapKeyJoinColumnAnnotations(mapKeyJoinCols, field, unit, diagnostics);
-                        }
-                    }
+    private void validateMapKeyAnnotations(IMember element, JavaDiagnosticsContext context)
+            throws JavaModelException {
+        IType type = element.getDeclaringType();
+        List<IAnnotation> mapKeyJoinCols = new ArrayList<IAnnotation>();
+        boolean hasMapKeyAnnotation = false;
+        boolean hasMapKeyClassAnnotation = false;
+        IAnnotation[] allAnnotations = context.getAnnotations((IAnnotatable) element);
+        for (IAnnotation annotation : allAnnotations) {
+            String matchedAnnotation = getMatchedJavaElementName(context, type, annotation.getElementName(),
+                    PersistenceConstants.SET_OF_PERSISTENCE_ANNOTATIONS);
+            if (matchedAnnotation != null) {
+                if (PersistenceConstants.MAPKEY.equals(matchedAnnotation))
+                    hasMapKeyAnnotation = true;
+                else if (PersistenceConstants.MAPKEYCLASS.equals(matchedAnnotation))
+                    hasMapKeyClassAnnotation = true;
+                else if (PersistenceConstants.MAPKEYJOINCOLUMN.equals(matchedAnnotation)) {
+                    mapKeyJoinCols.add(annotation);
                 }
-            } catch (JavaModelException e) {
-                JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
             }
         }
+        if (hasMapKeyAnnotation && hasMapKeyClassAnnotation) {
+            // A single field cannot have the same
+            context.getDiagnostics().add(createDiagnostic(element, context.getUnit(),
+                    Messages.getMessage("MapKeyAnnotationsNotOnSameField"),
+                    PersistenceConstants.DIAGNOSTIC_CODE_INVALID_ANNOTATION, null,
+                    DiagnosticSeverity.Error));
+        }
+        // If we have multiple MapKeyJoinColumn annotations on a single method we must
+        // ensure each has a name and referencedColumnName
+        if (mapKeyJoinCols.size() > 1) {
+            validateMapKeyJoinColumnAnnotations(mapKeyJoinCols, element, context.getUnit(),
+                    context.getDiagnostics());
+        }
     }
 
     private void validateMapKeyJoinColumnAnnotations(List<IAnnotation> annotations, IMember element,
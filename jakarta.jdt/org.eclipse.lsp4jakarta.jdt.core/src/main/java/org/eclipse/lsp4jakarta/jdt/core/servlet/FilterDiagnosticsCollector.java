@@ -14,20 +14,26 @@
 package org.eclipse.lsp4jakarta.jdt.core.servlet;
 
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
-import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 public class FilterDiagnosticsCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.TYPE);
+
     public FilterDiagnosticsCollector() {
         super();
     }
@@ -37,69 +43,72 @@ public class FilterDiagnosticsCollector extends AbstractDiagnosticsCollector {
         return ServletConstants.DIAGNOSTIC_SOURCE;
     }
 
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
-        if (unit != null) {
-            IType[] alltypes;
-            IAnnotation[] allAnnotations;
-
-            try {
-                alltypes = unit.getAllTypes();
-                for (IType type : alltypes) {
-                    allAnnotations = type.getAnnotations();
-                    IAnnotation webFilterAnnotation = null;
-
-                    for (IAnnotation annotation : allAnnotations) {
-                        if (isMatchedJavaElement(type, annotation.getElementName(),
-                                ServletConstants.WEBFILTER_FQ_NAME)) {
-                            webFilterAnnotation = annotation;
-                        }
-                    }
-
-                    String[] interfaces = { ServletConstants.FILTER_FQ_NAME };
-                    boolean isFilterImplemented = doesImplementInterfaces(type, interfaces);
-
-                    if (webFilterAnnotation != null && !isFilterImplemented) {
-                        diagnostics.add(createDiagnostic(type, unit,
-                                Messages.getMessage("WebFilterMustImplement"),
-                                ServletConstants.DIAGNOSTIC_CODE_FILTER, null, DiagnosticSeverity.Error));
-                    }
-
-                    /* URL pattern diagnostic check */
-                    if (webFilterAnnotation != null) {
-                        IMemberValuePair[] memberValues = webFilterAnnotation.getMemberValuePairs();
-
-                        boolean isUrlpatternSpecified = false;
-                        boolean isServletNamesSpecified = false;
-                        boolean isValueSpecified = false;
-                        for (IMemberValuePair mv : memberValues) {
-                            if (mv.getMemberName().equals(ServletConstants.URL_PATTERNS)) {
-                                isUrlpatternSpecified = true;
-                                continue;
-                            }
-                            if (mv.getMemberName().equals(ServletConstants.SERVLET_NAMES)) {
-                                isServletNamesSpecified = true;
-                                continue;
-                            }
-                            if (mv.getMemberName().equals(ServletConstants.VALUE)) {
-                                isValueSpecified = true;
-                            }
-                        }
-                        if (!isUrlpatternSpecified && !isValueSpecified && !isServletNamesSpecified) {
-                            diagnostics.add(createDiagnostic(webFilterAnnotation, unit,
-                                    Messages.getMessage("WebFilterMustDefine"),
-                                    ServletConstants.DIAGNOSTIC_CODE_FILTER_MISSING_ATTRIBUTE, null,
-                                    DiagnosticSeverity.Error));
-                        }
-                        if (isUrlpatternSpecified && isValueSpecified) {
-                            diagnostics.add(createDiagnostic(webFilterAnnotation, unit,
-                                    Messages.getMessage("WebFilterCannotHaveBoth"),
-                                    ServletConstants.DIAGNOSTIC_CODE_FILTER_DUPLICATE_ATTRIBUTES, null,
-                                    DiagnosticSeverity.Error));
-                        }
-                    }
+    @Override
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.SERVLET;
+    }
+
+    @Override
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.TYPE;
+    }
+
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
+
+    @Override
+    public void visitType(IType type, JavaDiagnosticsContext context) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        IAnnotation[] allAnnotations = context.getAnnotations(type);
+        IAnnotation webFilterAnnotation = null;
+
+        for (IAnnotation annotation : allAnnotations) {
+            if (isMatchedJavaElement(context, type, annotation.getElementName(), ServletConstants.WEBFILTER_FQ_NAME)) {
+                webFilterAnnotation = annotation;
+            }
+        }
+
+        String[] interfaces = { ServletConstants.FILTER_FQ_NAME };
+        boolean isFilterImplemented = doesImplementInterfaces(type, interfaces);
+
+        if (webFilterAnnotation != null && !isFilterImplemented) {
+            diagnostics.add(createDiagnostic(type, unit, Messages.getMessage("WebFilterMustImplement"),
+                    ServletConstants.DIAGNOSTIC_CODE_FILTER, null, DiagnosticSeverity.Error));
+        }
+
+        /* URL pattern diagnostic check */
+        if (webFilterAnnotation != null) {
+            IMemberValuePair[] memberValues = webFilterAnnotation.getMemberValuePairs();
+
+            boolean isUrlpatternSpecified = false;
+            boolean isServletNamesSpecified = false;
+            boolean isValueSpecified = false;
+            for (IMemberValuePair mv : memberValues) {
+                if (mv.getMemberName().equals(ServletConstants.URL_PATTERNS)) {
+                    isUrlpatternSpecified = true;
+                    continue;
+                }
+                if (mv.getMemberName().equals(ServletConstants.SERVLET_NAMES)) {
+                    isServletNamesSpecified = true;
+                    continue;
+                }
+                if (mv.getMemberName().equals(ServletConstants.VALUE)) {
+                    isValueSpecified = true;
                 }
-            } catch (JavaModelException e) {
-                JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
+            }
+            if (!isUrlpatternSpecified && !isValueSpecified && !isServletNamesSpecified) {
+                diagnostics.add(createDiagnostic(webFilterAnnotation, unit,
+                        Messages.getMessage("WebFilterMustDefine"),
+                        ServletConstants.DIAGNOSTIC_CODE_FILTER_MISSING_ATTRIBUTE, null, DiagnosticSeverity.Error));
+            }
+            if (isUrlpatternSpecified && isValueSpecified) {
+                diagnostics.add(createDiagnostic(webFilterAnnotation, unit,
+                        Messages.getMessage("WebFilterCannotHaveBoth"),
+                        ServletConstants.DIAGNOSTIC_CODE_FILTER_DUPLICATE_ATTRIBUTES, null,
+                        DiagnosticSeverity.Error));
             }
         }
     }
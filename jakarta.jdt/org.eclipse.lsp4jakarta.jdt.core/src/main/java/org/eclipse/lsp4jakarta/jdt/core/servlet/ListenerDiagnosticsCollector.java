@@ -13,20 +13,23 @@
 
 package org.eclipse.lsp4jakarta.jdt.core.servlet;
 
-import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jdt.core.IAnnotation;
-import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
-import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 public class ListenerDiagnosticsCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.TYPE);
+
     public ListenerDiagnosticsCollector() {
         super();
     }
@@ -36,42 +39,46 @@ public class ListenerDiagnosticsCollector extends AbstractDiagnosticsCollector {
         return ServletConstants.DIAGNOSTIC_SOURCE;
     }
 
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
-        if (unit != null) {
-            IType[] alltypes;
-            IAnnotation[] allAnnotations;
+    @Override
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.SERVLET;
+    }
 
-            try {
-                alltypes = unit.getAllTypes();
-                for (IType type : alltypes) {
-                    allAnnotations = type.getAnnotations();
-                    boolean isWebListenerAnnotated = false;
-                    for (IAnnotation annotation : allAnnotations) {
-                        if (isMatchedJavaElement(type, annotation.getElementName(),
-                                ServletConstants.WEB_LISTENER_FQ_NAME)) {
-                            isWebListenerAnnotated = true;
-                            break;
-                        }
-                    }
+    @Override
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.TYPE;
+    }
 
-                    String[] interfaces = { ServletConstants.SERVLET_CONTEXT_LISTENER_FQ_NAME,
-                            ServletConstants.SERVLET_CONTEXT_ATTRIBUTE_LISTENER_FQ_NAME,
-                            ServletConstants.SERVLET_REQUEST_LISTENER_FQ_NAME,
-                            ServletConstants.SERVLET_REQUEST_ATTRIBUTE_LISTENER_FQ_NAME,
-                            ServletConstants.HTTP_SESSION_LISTENER_FQ_NAME,
-                            ServletConstants.HTTP_SESSION_ATTRIBUTE_LISTENER_FQ_NAME,
-                            ServletConstants.HTTP_SESSION_ID_LISTENER_FQ_NAME };
-                    boolean isImplemented = doesImplementInterfaces(type, interfaces);
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
 
-                    if (isWebListenerAnnotated && !isImplemented) {
-                        diagnostics.add(createDiagnostic(type, unit, Messages.getMessage("AnnotatedWithWebListenerMustImplement"),
-                                ServletConstants.DIAGNOSTIC_CODE_LISTENER, null, DiagnosticSeverity.Error));
-                    }
-                }
-            } catch (JavaModelException e) {
-                JakartaCorePlugin.logException("Cannot calculate diagnostics", e);
+    @Override
+    public void visitType(IType type, JavaDiagnosticsContext context) throws JavaModelException {
+        IAnnotation[] allAnnotations = context.getAnnotations(type);
+        boolean isWebListenerAnnotated = false;
+        for (IAnnotation annotation : allAnnotations) {
+            if (isMatchedJavaElement(context, type, annotation.getElementName(), ServletConstants.WEB_LISTENER_FQ_NAME)) {
+                isWebListenerAnnotated = true;
+                break;
             }
         }
+
+        String[] interfaces = { ServletConstants.SERVLET_CONTEXT_LISTENER_FQ_NAME,
+                ServletConstants.SERVLET_CONTEXT_ATTRIBUTE_LISTENER_FQ_NAME,
+                ServletConstants.SERVLET_REQUEST_LISTENER_FQ_NAME,
+                ServletConstants.SERVLET_REQUEST_ATTRIBUTE_LISTENER_FQ_NAME,
+                ServletConstants.HTTP_SESSION_LISTENER_FQ_NAME,
+                ServletConstants.HTTP_SESSION_ATTRIBUTE_LISTENER_FQ_NAME,
+                ServletConstants.HTTP_SESSION_ID_LISTENER_FQ_NAME };
+        boolean isImplemented = doesImplementInterfaces(type, interfaces);
+
+        if (isWebListenerAnnotated && !isImplemented) {
+            context.getDiagnostics().add(createDiagnostic(type, context.getUnit(),
+                    Messages.getMessage("AnnotatedWithWebListenerMustImplement"),
+                    ServletConstants.DIAGNOSTIC_CODE_LISTENER, null, DiagnosticSeverity.Error));
+        }
     }
 
 }
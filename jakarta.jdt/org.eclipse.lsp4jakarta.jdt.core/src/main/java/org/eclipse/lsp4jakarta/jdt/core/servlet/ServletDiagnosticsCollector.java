@@ -14,17 +14,22 @@
 package org.eclipse.lsp4jakarta.jdt.core.servlet;
 
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
 import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 import org.eclipse.lsp4jakarta.jdt.core.TypeHierarchyUtils;
 
@@ -44,6 +49,8 @@ import org.eclipse.lsp4jakarta.jdt.core.TypeHierarchyUtils;
  */
 public class ServletDiagnosticsCollector extends AbstractDiagnosticsCollector {
 
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.TYPE);
+
     public ServletDiagnosticsCollector() {
         super();
     }
@@ -54,74 +61,74 @@ public class ServletDiagnosticsCollector extends AbstractDiagnosticsCollector {
     }
 
     @Override
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
-        if (unit != null) {
-            IType[] alltypes;
-            IAnnotation[] allAnnotations;
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.SERVLET;
+    }
+
+    @Override
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.TYPE;
+    }
+
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
+
+    @Override
+    public void visitType(IType type, JavaDiagnosticsContext context) throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        IAnnotation[] allAnnotations = context.getAnnotations(type);
 
+        IAnnotation webServletAnnotation = null;
+        for (IAnnotation annotation : allAnnotations) {
+            if (isMatchedJavaElement(context, type, annotation.getElementName(), ServletConstants.WEB_SERVLET_FQ_NAME)) {
+                webServletAnnotation = annotation;
+                break; // get the first one, the annotation is not repeatable
+            }
+        }
+
+        if (webServletAnnotation != null) {
+            // check if the class extends HttpServlet
             try {
-                alltypes = unit.getAllTypes();
-                for (IType type : alltypes) {
-                    allAnnotations = type.getAnnotations();
-
-                    IAnnotation webServletAnnotation = null;
-                    for (IAnnotation annotation : allAnnotations) {
-                        if (isMatchedJavaElement(type, annotation.getElementName(),
-                                ServletConstants.WEB_SERVLET_FQ_NAME)) {
-                            webServletAnnotation = annotation;
-                            break; // get the first one, the annotation is not repeatable
-                        }
-                    }
-
-                    if (webServletAnnotation != null) {
-                        // check if the class extends HttpServlet
-                        try {
-                            int r = TypeHierarchyUtils.doesITypeHaveSuperType(type, ServletConstants.HTTP_SERVLET);
-                            if (r == -1) {
-                                diagnostics.add(createDiagnostic(type, unit,
-                                        Messages.getMessage("WebServletMustExtend"),
-                                        ServletConstants.DIAGNOSTIC_CODE, null, DiagnosticSeverity.Error));
-                            } else if (r == 0) { // unknown super type
-                                diagnostics.add(createDiagnostic(type, unit,
-                                        Messages.getMessage("WebServletMustExtend"),
-                                        ServletConstants.DIAGNOSTIC_CODE, null, DiagnosticSeverity.Warning));
-                            }
-                        } catch (CoreException e) {
-                            JakartaCorePlugin.logException("Cannot check type hierarchy", e);
-                        }
-
-                        /* URL pattern diagnostic check */
-                        IMemberValuePair[] memberValues = webServletAnnotation.getMemberValuePairs();
-
-                        boolean isUrlpatternSpecified = false;
-                        boolean isValueSpecified = false;
-                        for (IMemberValuePair mv : memberValues) {
-                            if (mv.getMemberName().equals(ServletConstants.URL_PATTERNS)) {
-                                isUrlpatternSpecified = true;
-                                continue;
-                            }
-                            if (mv.getMemberName().equals(ServletConstants.VALUE)) {
-                                isValueSpecified = true;
-                            }
-                        }
-                        if (!isUrlpatternSpecified && !isValueSpecified) {
-                            diagnostics.add(createDiagnostic(webServletAnnotation, unit,
-                                    Messages.getMessage("WebServletMustDefine"),
-                                    ServletConstants.DIAGNOSTIC_CODE_MISSING_ATTRIBUTE, null,
-                                    DiagnosticSeverity.Error));
-                        }
-                        if (isUrlpatternSpecified && isValueSpecified) {
-                            diagnostics.add(createDiagnostic(webServletAnnotation, unit,
-                                    Messages.getMessage("WebServletCannotHaveBoth"),
-                                    ServletConstants.DIAGNOSTIC_CODE_DUPLICATE_ATTRIBUTES, null,
-                                    DiagnosticSeverity.Error));
-                        }
-                    }
+                int r = TypeHierarchyUtils.doesITypeHaveSuperType(type, ServletConstants.HTTP_SERVLET);
+                if (r == -1) {
+                    diagnostics.add(createDiagnostic(type, unit, Messages.getMessage("WebServletMustExtend"),
+                            ServletConstants.DIAGNOSTIC_CODE, null, DiagnosticSeverity.Error));
+                } else if (r == 0) { // unknown super type
+                    diagnostics.add(createDiagnostic(type, unit, Messages.getMessage("WebServletMustExtend"),
+                            ServletConstants.DIAGNOSTIC_CODE, null, DiagnosticSeverity.Warning));
                 }
-            } catch (JavaModelException e) {
+            } catch (CoreException e) {
                 JakartaCorePlugin.logException("Cannot check type hierarchy", e);
             }
+
+            /* URL pattern diagnostic check */
+            IMemberValuePair[] memberValues = webServletAnnotation.getMemberValuePairs();
+
+            boolean isUrlpatternSpecified = false;
+            boolean isValueSpecified = false;
+            for (IMemberValuePair mv : memberValues) {
+                if (mv.getMemberName().equals(ServletConstants.URL_PATTERNS)) {
+                    isUrlpatternSpecified = true;
+                    continue;
+                }
+                if (mv.getMemberName().equals(ServletConstants.VALUE)) {
+                    isValueSpecified = true;
+                }
+            }
+            if (!isUrlpatternSpecified && !isValueSpecified) {
+                diagnostics.add(createDiagnostic(webServletAnnotation, unit,
+                        Messages.getMessage("WebServletMustDefine"),
+                        ServletConstants.DIAGNOSTIC_CODE_MISSING_ATTRIBUTE, null, DiagnosticSeverity.Error));
+            }
+            if (isUrlpatternSpecified && isValueSpecified) {
+                diagnostics.add(createDiagnostic(webServletAnnotation, unit,
+                        Messages.getMessage("WebServletCannotHaveBoth"),
+                        ServletConstants.DIAGNOSTIC_CODE_DUPLICATE_ATTRIBUTES, null, DiagnosticSeverity.Error));
+            }
         }
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
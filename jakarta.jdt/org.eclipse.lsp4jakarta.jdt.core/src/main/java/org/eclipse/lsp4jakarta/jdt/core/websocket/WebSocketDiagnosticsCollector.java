@@ -23,11 +23,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.ILocalVariable;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.IMethod;
@@ -39,11 +39,16 @@ import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4jakarta.jdt.core.AbstractDiagnosticsCollector;
+import org.eclipse.lsp4jakarta.jdt.core.DiagnosticsScope;
 import org.eclipse.lsp4jakarta.jdt.core.JDTUtils;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaApi;
 import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.core.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.Messages;
 
 public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector {
+    private static final Set<Integer> VISITED_ELEMENT_KINDS = Set.of(IJavaElement.TYPE);
+
     public WebSocketDiagnosticsCollector() {
         super();
     }
@@ -54,67 +59,73 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
     }
 
     @Override
-    public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
-        if (unit == null) {
-            return;
-        }
+    public JakartaApi getJakartaApi() {
+        return JakartaApi.WEBSOCKET;
+    }
 
-        IType[] alltypes;
-        HashMap<String, Boolean> checkWSEnd = null;
-        try {
-            alltypes = unit.getAllTypes();
-            for (IType type : alltypes) {
-                checkWSEnd = isWSEndpoint(type);
-                // checks if the class uses annotation to create a WebSocket endpoint
-                if (checkWSEnd.get(WebSocketConstants.IS_ANNOTATION)) {
-                    // WebSocket Invalid Parameters Diagnostic
-                    invalidParamsCheck(type, unit, diagnostics);
-                    
-                    /* @PathParam Value Mismatch Warning */
-                    List<String> endpointPathVars = findAndProcessEndpointURI(type);
-                    /*
-                     * WebSocket endpoint annotations must be attached to a class, and thus is
-                     * guaranteed to be processed before any of the member method annotations
-                     */
-                    if (endpointPathVars != null) {
-                        // PathParam URI Mismatch Warning Diagnostic
-                        uriMismatchWarningCheck(type, endpointPathVars, diagnostics, unit);
-                    }
+    @Override
+    public DiagnosticsScope getDiagnosticsScope() {
+        return DiagnosticsScope.TYPE;
+    }
 
-                    // OnMessage validation for WebSocket message formats
-                    onMessageWSMessageFormats(type, diagnostics, unit);
+    @Override
+    public Set<Integer> getVisitedElementKinds() {
+        return VISITED_ELEMENT_KINDS;
+    }
 
-                    // ServerEndpoint annotation diagnostics
-                    serverEndpointErrorCheck(type, diagnostics, unit);
-                }
+    @Override
+    public void visitType(IType type, JavaDiagnosticsContext context)
+            throws JavaModelException {
+        ICompilationUnit unit = context.getUnit();
+        List<Diagnostic> diagnostics = context.getDiagnostics();
+        HashMap<String, Boolean> checkWSEnd = isWSEndpoint(type, context);
+        // checks if the class uses annotation to create a WebSocket endpoint
+        if (checkWSEnd.get(WebSocketConstants.IS_ANNOTATION)) {
+            // WebSocket Invalid Parameters Diagnostic
+            invalidParamsCheck(type, unit, diagnostics, context);
+
+            /* @PathParam Value Mismatch Warning */
+            List<String> endpointPathVars = findAndProcessEndpointURI(type, context);
+            /*
+             * WebSocket endpoint annotations must be attached to a class, and thus is
+             * guaranteed to be processed before any of the member method annotations
+             */
+            if (endpointPathVars != null) {
+                // PathParam URI Mismatch Warning Diagnostic
+                uriMismatchWarningCheck(type, endpointPathVars, diagnostics, unit, context);
             }
-        } catch (JavaModelException e) {
-            JakartaCorePlugin.logException(WebSocketConstants.DIAGNOSTIC_ERR_MSG, e);
+
+            // OnMessage validation for WebSocket message formats
+            onMessageWSMessageFormats(type, diagnostics, unit, context);
+
+            // ServerEndpoint annotation diagnostics
+            serverEndpointErrorCheck(type, diagnostics, unit, context);
         }
     }
 
-    private void invalidParamsCheck(IType type, ICompilationUnit unit, List<Diagnostic> diagnostics)
+    private void invalidParamsCheck(IType type, ICompilationUnit unit, List<Diagnostic> diagnostics,
+            JavaDiagnosticsContext context)
             throws JavaModelException {
-        IMethod[] allMethods = type.getMethods();
+        IMethod[] allMethods = context.getMethods(type);
         for (IMethod method : allMethods) {
-            IAnnotation[] allAnnotations = method.getAnnotations();
+            IAnnotation[] allAnnotations = context.getAnnotations(method);
             Set<String> specialParamTypes = null, rawSpecialParamTypes = null;
 
             for (IAnnotation annotation : allAnnotations) {
                 String annotationName = annotation.getElementName();
                 String diagnosticCode = null;
 
-                if (isMatchedJavaElement(type, annotationName, WebSocketConstants.ON_OPEN)) {
+                if (isMatchedJavaElement(context, type, annotationName, WebSocketConstants.ON_OPEN)) {
                     specialParamTypes = WebSocketConstants.ON_OPEN_PARAM_OPT_TYPES;
                     rawSpecialParamTypes = WebSocketConstants.RAW_ON_OPEN_PARAM_OPT_TYPES;
                     diagnosticCode = WebSocketConstants.DIAGNOSTIC_CODE_ON_OPEN_INVALID_PARAMS;
-                } else if (isMatchedJavaElement(type, annotationName, WebSocketConstants.ON_CLOSE)) {
+                } else if (isMatchedJavaElement(context, type, annotationName, WebSocketConstants.ON_CLOSE)) {
                     specialParamTypes = WebSocketConstants.ON_CLOSE_PARAM_OPT_TYPES;
                     rawSpecialParamTypes = WebSocketConstants.RAW_ON_CLOSE_PARAM_OPT_TYPES;
                     diagnosticCode = WebSocketConstants.DIAGNOSTIC_CODE_ON_CLOSE_INVALID_PARAMS;
                 }
                 if (diagnosticCode != null) {
-                    ILocalVariable[] allParams = method.getParameters();
+                    ILocalVariable[] allParams = context.getParameters(method);
                     for (ILocalVariable param : allParams) {
                         String signature = param.getTypeSignature();
                         String formatSignature = signature.replace("/", ".");
@@ -142,10 +153,10 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
 
                         if (!isSpecialType) {
                             // check that if parameter is not a specialType, it has a @PathParam annotation
-                            IAnnotation[] param_annotations = param.getAnnotations();
+                            IAnnotation[] param_annotations = context.getAnnotations(param);
                             boolean hasPathParamAnnot = Arrays.asList(param_annotations).stream().anyMatch(annot -> {
                                 try {
-                                    return isMatchedJavaElement(type, annot.getElementName(),
+                                    return isMatchedJavaElement(context, type, annot.getElementName(),
                                             WebSocketConstants.PATH_PARAM_ANNOTATION);
                                 } catch (JavaModelException e) {
                                     JakartaCorePlugin.logException("Failed to get matched annotation", e);
@@ -174,15 +185,14 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
      *             compilation unit with which the type is associated
      */
     private void uriMismatchWarningCheck(IType type, List<String> endpointPathVars, List<Diagnostic> diagnostics,
-            ICompilationUnit unit)
-            throws JavaModelException {
-        IMethod[] typeMethods = type.getMethods();
+            ICompilationUnit unit, JavaDiagnosticsContext context) throws JavaModelException {
+        IMethod[] typeMethods = context.getMethods(type);
         for (IMethod method : typeMethods) {
-            ILocalVariable[] methodParams = method.getParameters();
+            ILocalVariable[] methodParams = context.getParameters(method);
             for (ILocalVariable param : methodParams) {
-                IAnnotation[] paramAnnotations = param.getAnnotations();
+                IAnnotation[] paramAnnotations = context.getAnnotations(param);
                 for (IAnnotation annotation : paramAnnotations) {
-                    if (isMatchedJavaElement(type, annotation.getElementName(),
+                    if (isMatchedJavaElement(context, type, annotation.getElementName(),
                             WebSocketConstants.PATHPARAM_ANNOTATION)) {
                         IMemberValuePair[] valuePairs = annotation.getMemberValuePairs();
                         for (IMemberValuePair pair : valuePairs) {
@@ -212,19 +222,19 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
      * @param unit
      * @throws JavaModel
      */
-    private void onMessageWSMessageFormats(IType type, List<Diagnostic> diagnostics, ICompilationUnit unit)
-            throws JavaModelException {
-        IMethod[] typeMethods = type.getMethods();
+    private void onMessageWSMessageFormats(IType type, List<Diagnostic> diagnostics, ICompilationUnit unit,
+            JavaDiagnosticsContext context) throws JavaModelException {
+        IMethod[] typeMethods = context.getMethods(type);
         IAnnotation onMessageTextUsed = null;
         IAnnotation onMessageBinaryUsed = null;
         IAnnotation onMessagePongUsed = null;
         for (IMethod method : typeMethods) {
-            IAnnotation[] allAnnotations = method.getAnnotations();
+            IAnnotation[] allAnnotations = context.getAnnotations(method);
             for (IAnnotation annotation : allAnnotations) {
-                if (isMatchedJavaElement(type, annotation.getElementName(), WebSocketConstants.ON_MESSAGE)) {
-                    ILocalVariable[] allParams = method.getParameters();
+                if (isMatchedJavaElement(context, type, annotation.getElementName(), WebSocketConstants.ON_MESSAGE)) {
+                    ILocalVariable[] allParams = context.getParameters(method);
                     for (ILocalVariable param : allParams) {
-                        if (!isParamPath(type, param)) {
+                        if (!isParamPath(type, param, context)) {
                             String signature = param.getTypeSignature();
                             String formatSignature = signature.replace("/", ".");
                             String resolvedTypeName = JavaModelUtil.getResolvedTypeName(formatSignature, type);
@@ -291,11 +301,11 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
      * Create an error diagnostic if a ServerEndpoint annotation's URI contains relative
      * paths, missing a leading slash, or does not follow a valid level-1 template URI.
      */
-    private void serverEndpointErrorCheck(IType type, List<Diagnostic> diagnostics, ICompilationUnit unit)
-            throws JavaModelException {
-        IAnnotation[] annotations = type.getAnnotations();
+    private void serverEndpointErrorCheck(IType type, List<Diagnostic> diagnostics, ICompilationUnit unit,
+            JavaDiagnosticsContext context) throws JavaModelException {
+        IAnnotation[] annotations = context.getAnnotations(type);
         for (IAnnotation annotation : annotations) {
-            if (isMatchedJavaElement(type, annotation.getElementName(),
+            if (isMatchedJavaElement(context, type, annotation.getElementName(),
                     WebSocketConstants.SERVER_ENDPOINT_ANNOTATION)) {
                 for (IMemberValuePair annotationMemberValuePair : annotation.getMemberValuePairs()) {
                     if (annotationMemberValuePair.getMemberName().equals(WebSocketConstants.ANNOTATION_VALUE)) {
@@ -333,12 +343,13 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
      * @return List of variable parameters in the EndPoint URI if one exists, null
      *         otherwise
      */
-    private List<String> findAndProcessEndpointURI(IType type) throws JavaModelException {
+    private List<String> findAndProcessEndpointURI(IType type, JavaDiagnosticsContext context)
+            throws JavaModelException {
         String endpointURI = null;
-        IAnnotation[] typeAnnotations = type.getAnnotations();
+        IAnnotation[] typeAnnotations = context.getAnnotations(type);
         String[] targetAnnotations = {WebSocketConstants.SERVER_ENDPOINT_ANNOTATION, WebSocketConstants.CLIENT_ENDPOINT_ANNOTATION};
         for (IAnnotation annotation : typeAnnotations) {
-            String matchedAnnotation = getMatchedJavaElementName(type, annotation.getElementName(), targetAnnotations);
+            String matchedAnnotation = getMatchedJavaElementName(context, type, annotation.getElementName(), targetAnnotations);
             if (matchedAnnotation != null) {
                 IMemberValuePair[] valuePairs = annotation.getMemberValuePairs();
                 for (IMemberValuePair pair : valuePairs) {
@@ -386,7 +397,8 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
      * @return the conditions for a class to be a WebSocket endpoint
      * @throws JavaModelException
      */
-    private HashMap<String, Boolean> isWSEndpoint(IType type) throws JavaModelException {
+    private HashMap<String, Boolean> isWSEndpoint(IType type, JavaDiagnosticsContext context)
+            throws JavaModelException {
         HashMap<String, Boolean> wsEndpoint = new HashMap<>();
 
         // check trivial case
@@ -398,8 +410,8 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
 
         // Check that class follows
         // https://jakarta.ee/specifications/websocket/2.0/websocket-spec-2.0.html#applications
-        List<String> endpointAnnotations = getMatchedJavaElementNames(type,
-                Stream.of(type.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new),
+        List<String> endpointAnnotations = getMatchedJavaElementNames(context, type,
+                context.getAnnotationNames(type),
                 WebSocketConstants.WS_ANNOTATION_CLASS);
 
         boolean useSuperclass = false;
@@ -415,10 +427,11 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
         return wsEndpoint;
     }
 
-    private boolean isParamPath(IType type, ILocalVariable param) throws JavaModelException {
-        IAnnotation[] allVariableAnnotations = param.getAnnotations();
+    private boolean isParamPath(IType type, ILocalVariable param, JavaDiagnosticsContext context)
+            throws JavaModelException {
+        IAnnotation[] allVariableAnnotations = context.getAnnotations(param);
         for (IAnnotation variableAnnotation : allVariableAnnotations) {
-            if (isMatchedJavaElement(type, variableAnnotation.getElementName(),
+            if (isMatchedJavaElement(context, type, variableAnnotation.getElementName(),
                     WebSocketConstants.PATH_PARAM_ANNOTATION)) {
                 return true;
             }
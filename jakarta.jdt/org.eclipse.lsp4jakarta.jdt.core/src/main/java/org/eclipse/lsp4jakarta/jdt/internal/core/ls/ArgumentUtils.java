@@ -20,11 +20,13 @@ import java.util.stream.Collectors;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
+import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionContext;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4jakarta.commons.JakartaCodeActionResolveData;
 
 /**
  * Arguments utilities.
@@ -42,11 +44,17 @@ public class ArgumentUtils {
     private static final String CODE_PROPERTY = "code";
     private static final String RANGE_PROPERTY = "range";
     private static final String DIAGNOSTICS_PROPERTY = "diagnostics";
+    private static final String ONLY_PROPERTY = "only";
     private static final String END_PROPERTY = "end";
     private static final String START_PROPERTY = "start";
     private static final String CHARACTER_PROPERTY = "character";
     private static final String LINE_PROPERTY = "line";
     private static final String URI_PROPERTY = "uri";
+    private static final String TITLE_PROPERTY = "title";
+    private static final String KIND_PROPERTY = "kind";
+    private static final String PARTICIPANT_PROPERTY = "participant";
+    private static final String INDEX_PROPERTY = "index";
+    private static final String RESOURCE_OPERATION_SUPPORTED_PROPERTY = "resourceOperationSupported";
     
 
     public static Map<String, Object> getFirst(List<Object> arguments) {
@@ -106,8 +114,33 @@ public class ArgumentUtils {
         if (contextObj == null) {
             return null;
         }
-        List<Map<String, Object>> diagnosticsObj = (List<Map<String, Object>>) contextObj.get(DIAGNOSTICS_PROPERTY);
-        List<Diagnostic> diagnostics = diagnosticsObj.stream().map(diagnosticObj -> {
+        List<Diagnostic> diagnostics = getDiagnostics(contextObj, DIAGNOSTICS_PROPERTY);
+        List<String> only = getStringList(contextObj, ONLY_PROPERTY);
+        return new CodeActionContext(diagnostics, only);
+    }
+
+    public static CodeAction getCodeAction(Map<String, Object> obj) {
+        CodeAction codeAction = new CodeAction(getString(obj, TITLE_PROPERTY));
+        codeAction.setKind(getString(obj, KIND_PROPERTY));
+        if (obj.get(DIAGNOSTICS_PROPERTY) != null) {
+            codeAction.setDiagnostics(getDiagnostics(obj, DIAGNOSTICS_PROPERTY));
+        }
+        Map<String, Object> dataObj = (Map<String, Object>) obj.get(DATA_PROPERTY);
+        if (dataObj != null) {
+            JakartaCodeActionResolveData data = new JakartaCodeActionResolveData();
+            data.setUri(getString(dataObj, URI_PROPERTY));
+            data.setRange(getRange(dataObj, RANGE_PROPERTY));
+            data.setParticipant(getString(dataObj, PARTICIPANT_PROPERTY));
+            data.setIndex(getInt(dataObj, INDEX_PROPERTY));
+            data.setResourceOperationSupported(getBoolean(dataObj, RESOURCE_OPERATION_SUPPORTED_PROPERTY));
+            codeAction.setData(data);
+        }
+        return codeAction;
+    }
+
+    private static List<Diagnostic> getDiagnostics(Map<String, Object> obj, String key) {
+        List<Map<String, Object>> diagnosticsObj = (List<Map<String, Object>>) obj.get(key);
+        return diagnosticsObj.stream().map(diagnosticObj -> {
             Diagnostic diagnostic = new Diagnostic();
             diagnostic.setRange(getRange(diagnosticObj, RANGE_PROPERTY));
             diagnostic.setCode(getString(diagnosticObj, CODE_PROPERTY));
@@ -119,8 +152,6 @@ public class ArgumentUtils {
             diagnostic.setData(getObjectAsJson(diagnosticObj, DATA_PROPERTY));
             return diagnostic;
         }).collect(Collectors.toList());
-        List<String> only = null;
-        return new CodeActionContext(diagnostics, only);
     }
     
     public static JsonObject getObjectAsJson(Map<String, Object> obj, String key) {
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -31,6 +32,8 @@ import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.jsonrpc.CompletableFutures;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4jakarta.commons.JakartaCollectorMetrics;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionParams;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextKind;
@@ -44,9 +47,13 @@ import org.eclipse.lsp4jakarta.jdt.core.JDTUtils;
 public class JakartaDelegateCommandHandlerForJava implements IDelegateCommandHandler {
 
     private static final String JAVA_CODEACTION_COMMAND_ID = "jakarta/java/codeaction";
+    private static final String JAVA_RESOLVE_CODEACTION_COMMAND_ID = "jakarta/java/resolveCodeAction";
     private static final String JAVA_CLASSPATH_COMMAND_ID = "jakarta/java/classpath";
     private static final String JAVA_CURSORCONTEXT_COMMAND_ID = "jakarta/java/cursorcontext";
     private static final String JAVA_DIAGNOSTICS_COMMAND_ID = "jakarta/java/diagnostics";
+    private static final String JAVA_DEPENDENTS_COMMAND_ID = "jakarta/java/dependents";
+    private static final String JAVA_FINGERPRINTS_COMMAND_ID = "jakarta/java/fingerprints";
+    private static final String JAVA_METRICS_COMMAND_ID = "jakarta/java/metrics";
 
     public JakartaDelegateCommandHandlerForJava() {
     }
@@ -58,12 +65,28 @@ public class JakartaDelegateCommandHandlerForJava implements IDelegateCommandHan
         switch (commandId) {
             case JAVA_CODEACTION_COMMAND_ID:
                 return getCodeActionForJava(arguments, commandId, monitor).get();
+            case JAVA_RESOLVE_CODEACTION_COMMAND_ID:
+                try {
+                    return resolveCodeActionForJava(arguments, commandId, monitor).get();
+                } catch (ExecutionException e) {
+                    // send the error response of a code action which cannot be resolved as is
+                    if (e.getCause() instanceof ResponseErrorException) {
+                        throw (ResponseErrorException) e.getCause();
+                    }
+                    throw e;
+                }
             case JAVA_CLASSPATH_COMMAND_ID:
                 return getContextBasedFilter(arguments, commandId, monitor).get();
             case JAVA_CURSORCONTEXT_COMMAND_ID:
                 return getJavaCursorContext(arguments, commandId, monitor).get();
             case JAVA_DIAGNOSTICS_COMMAND_ID:
                 return getDiagnosticsForJava(arguments, commandId, monitor).get();
+            case JAVA_DEPENDENTS_COMMAND_ID:
+                return getDependentsForJava(arguments, commandId, monitor).get();
+            case JAVA_FINGERPRINTS_COMMAND_ID:
+                return getFingerprintsForJava(arguments, commandId, monitor).get();
+            case JAVA_METRICS_COMMAND_ID:
+                return getMetricsForJava(arguments, commandId, monitor).get();
             default:
                 throw new UnsupportedOperationException(String.format("Unsupported command '%s'!", commandId));
         }
@@ -165,13 +188,81 @@ public class JakartaDelegateCommandHandlerForJava implements IDelegateCommandHan
                     String.format("Command '%s' must be called with one JakartaDiagnosticsParams argument", commandId));
         }
         List<String> uri = ArgumentUtils.getStringList(obj, "uris");
+        int timeBudget = ArgumentUtils.getInt(obj, "timeBudget");
         return CompletableFutures.computeAsync((cancelChecker) -> {
             List<PublishDiagnosticsParams> publishDiagnostics = new ArrayList<PublishDiagnosticsParams>();
-            publishDiagnostics = JDTServicesManager.getInstance().getJavaDiagnostics(uri, monitor);
+            publishDiagnostics = JDTServicesManager.getInstance().getJavaDiagnostics(uri, monitor, null, timeBudget);
             return publishDiagnostics;
         });
     }
 
+    /**
+     * Returns the uris of the opened files to validate again when a file is saved.
+     *
+     * @param arguments JakartaJavaDependentsParams @see
+     *                  org.eclipse.lsp4jakarta.commons.JakartaJavaDependentsParams
+     * @param commandId
+     * @param monitor
+     * @return the saved file uri and the uris of its dependents as
+     *         CompletableFuture<List<String>>
+     */
+    private CompletableFuture<List<String>> getDependentsForJava(List<Object> arguments, String commandId,
+            IProgressMonitor monitor) {
+        Map<String, Object> obj = ArgumentUtils.getFirst(arguments);
+        if (obj == null) {
+            throw new UnsupportedOperationException(String
+                    .format("Command '%s' must be called with one JakartaJavaDependentsParams argument", commandId));
+        }
+        String uri = ArgumentUtils.getString(obj, "uri");
+        List<String> uris = ArgumentUtils.getStringList(obj, "uris");
+        return CompletableFutures.computeAsync((cancelChecker) -> {
+            return JDTServicesManager.getInstance().getJavaDependents(uri, uris);
+        });
+    }
+
+    /**
+     * Returns the fingerprints of what the diagnostics of the given java file URIs
+     * depend on, besides the contents of the files.
+     *
+     * @param arguments JakartaDiagnosticsParams @see
+     *                  org.eclipse.lsp4jakarta.commons.JakartaDiagnosticsParams
+     * @param commandId
+     * @param monitor
+     * @return the fingerprints, in the same order as the uris, as
+     *         CompletableFuture<List<String>>
+     */
+    private CompletableFuture<List<String>> getFingerprintsForJava(List<Object> arguments, String commandId,
+            IProgressMonitor monitor) {
+        Map<String, Object> obj = ArgumentUtils.getFirst(arguments);
+        if (obj == null) {
+            throw new UnsupportedOperationException(
+                    String.format("Command '%s' must be called with one JakartaDiagnosticsParams argument", commandId));
+        }
+        List<String> uris = ArgumentUtils.getStringList(obj, "uris");
+        return CompletableFutures.computeAsync((cancelChecker) -> {
+            return JDTServicesManager.getInstance().getJavaFingerprints(uris);
+        });
+    }
+
+    /**
+     * Returns the metrics of the diagnostics collectors.
+     *
+     * @param arguments JakartaMetricsParams @see
+     *                  org.eclipse.lsp4jakarta.commons.JakartaMetricsParams
+     * @param commandId
+     * @param monitor
+     * @return the metrics of the collectors as
+     *         CompletableFuture<List<JakartaCollectorMetrics>>
+     */
+    private CompletableFuture<List<JakartaCollectorMetrics>> getMetricsForJava(List<Object> arguments,
+            String commandId, IProgressMonitor monitor) {
+        Map<String, Object> obj = ArgumentUtils.getFirst(arguments);
+        boolean reset = obj != null && ArgumentUtils.getBoolean(obj, "reset");
+        return CompletableFutures.computeAsync((cancelChecker) -> {
+            return JDTServicesManager.getInstance().getJavaMetrics(reset);
+        });
+    }
+
     /**
      * Returns the code actions list for the given arguments
      * 
@@ -198,11 +289,13 @@ public class JakartaDelegateCommandHandlerForJava implements IDelegateCommandHan
         Range range = ArgumentUtils.getRange(obj, "range");
         CodeActionContext context = ArgumentUtils.getCodeActionContext(obj, "context");
         boolean resourceOperationSupported = ArgumentUtils.getBoolean(obj, "resourceOperationSupported");
+        boolean resolveSupported = ArgumentUtils.getBoolean(obj, "resolveSupported");
         JakartaJavaCodeActionParams params = new JakartaJavaCodeActionParams();
         params.setTextDocument(textDocumentIdentifier);
         params.setRange(range);
         params.setContext(context);
         params.setResourceOperationSupported(resourceOperationSupported);
+        params.setResolveSupported(resolveSupported);
         JDTUtils utils = new JDTUtils();
         return CompletableFutures.computeAsync((cancelChecker) -> {
             List<CodeAction> codeActions = new ArrayList<CodeAction>();
@@ -216,4 +309,27 @@ public class JakartaDelegateCommandHandlerForJava implements IDelegateCommandHan
         });
     }
 
+    /**
+     * Returns the given code action with its edit
+     *
+     * @param arguments the code action without its edit @see
+     *                  org.eclipse.lsp4jakarta.commons.JakartaCodeActionResolveData
+     * @param commandId
+     * @param monitor
+     * @return the code action with its edit as CompletableFuture<CodeAction>
+     */
+    private CompletableFuture<CodeAction> resolveCodeActionForJava(List<Object> arguments, String commandId,
+            IProgressMonitor monitor) {
+        Map<String, Object> obj = ArgumentUtils.getFirst(arguments);
+        if (obj == null) {
+            throw new UnsupportedOperationException(
+                    String.format("Command '%s' must be called with one CodeAction argument", commandId));
+        }
+        CodeAction unresolved = ArgumentUtils.getCodeAction(obj);
+        JDTUtils utils = new JDTUtils();
+        return CompletableFutures.computeAsync((cancelChecker) -> {
+            return JDTServicesManager.getInstance().resolveCodeAction(unresolved, utils, monitor);
+        });
+    }
+
 }
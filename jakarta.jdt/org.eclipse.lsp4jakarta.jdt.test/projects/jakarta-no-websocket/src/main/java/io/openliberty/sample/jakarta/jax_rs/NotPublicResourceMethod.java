@@ -0,0 +1,12 @@
+package io.openliberty.sample.jakarta.jax_rs;
+
+import jakarta.ws.rs.HEAD;
+
+public class NotPublicResourceMethod {
+
+    @HEAD
+    private void privateMethod() {
+
+    }
+
+}
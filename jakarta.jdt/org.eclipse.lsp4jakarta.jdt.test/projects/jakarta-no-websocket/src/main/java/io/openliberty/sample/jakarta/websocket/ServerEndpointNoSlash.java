@@ -0,0 +1,7 @@
+package io.openliberty.sample.jakarta.websocket;
+
+import jakarta.websocket.server.ServerEndpoint;
+
+// No diagnostics: Jakarta WebSocket is not on the classpath of the project.
+@ServerEndpoint("path")
+public class ServerEndpointNoSlash {}
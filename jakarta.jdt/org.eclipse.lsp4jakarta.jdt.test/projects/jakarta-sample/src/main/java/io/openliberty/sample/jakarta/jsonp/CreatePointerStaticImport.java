@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package io.openliberty.sample.jakarta.jsonp;
+
+import static jakarta.json.Json.createPointer;
+
+import jakarta.json.JsonPointer;
+
+public class CreatePointerStaticImport {
+
+    public static void makePointer() {
+        JsonPointer noSlashPrefixPointer = createPointer("name/1");
+    }
+}
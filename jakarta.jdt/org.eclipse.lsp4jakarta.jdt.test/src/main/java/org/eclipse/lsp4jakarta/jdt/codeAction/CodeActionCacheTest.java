@@ -0,0 +1,95 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.codeAction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.lsp4j.CodeAction;
+import org.eclipse.lsp4j.CodeActionContext;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
+import org.junit.Test;
+
+public class CodeActionCacheTest {
+
+    private static Range r(int line, int start, int end) {
+        return new Range(new Position(line, start), new Position(line, end));
+    }
+
+    private static JakartaJavaCodeActionParams p(String uri, Range range, Diagnostic... diagnostics) {
+        return new JakartaJavaCodeActionParams(new TextDocumentIdentifier(uri), range,
+                new CodeActionContext(Arrays.asList(diagnostics)));
+    }
+
+    private static Diagnostic d(String code, Range range, String message) {
+        Diagnostic diagnostic = new Diagnostic(range, message);
+        diagnostic.setCode(code);
+        return diagnostic;
+    }
+
+    @Test
+    public void hitOnlyForSameRequestAndStamp() {
+        CodeActionCache cache = new CodeActionCache(16);
+        CodeAction codeAction = new CodeAction("Insert public");
+        cache.put(p("file:///A.java", r(1, 2, 2), d("NonPublicMethod", r(1, 0, 10), "message")), 1,
+                List.of(codeAction));
+
+        // the diagnostics are told apart by their codes and ranges
+        List<CodeAction> cached = cache.get(
+                p("file:///A.java", r(1, 2, 2), d("NonPublicMethod", r(1, 0, 10), "other message")), 1);
+        assertNotNull(cached);
+        assertSame(codeAction, cached.get(0));
+        assertNull(cache.get(p("file:///A.java", r(1, 2, 2), d("NonPublicMethod", r(1, 0, 11), "message")), 1));
+        assertNull(cache.get(p("file:///A.java", r(1, 3, 3), d("NonPublicMethod", r(1, 0, 10), "message")), 1));
+        assertNull(cache.get(p("file:///B.java", r(1, 2, 2), d("NonPublicMethod", r(1, 0, 10), "message")), 1));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void evictEntriesOfChangedUnit() {
+        CodeActionCache cache = new CodeActionCache(16);
+        cache.put(p("file:///A.java", r(1, 0, 0)), 1, List.of());
+        cache.put(p("file:///A.java", r(2, 0, 0)), 1, List.of());
+        cache.put(p("file:///B.java", r(1, 0, 0)), 1, List.of());
+
+        // A changed, so none of its entries can be used anymore
+        assertNull(cache.get(p("file:///A.java", r(1, 0, 0)), 2));
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get(p("file:///B.java", r(1, 0, 0)), 1));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedEntries() {
+        CodeActionCache cache = new CodeActionCache(2);
+        cache.put(p("file:///A.java", r(1, 0, 0)), 1, List.of());
+        cache.put(p("file:///A.java", r(2, 0, 0)), 1, List.of());
+        // the first entry becomes the most recently used one
+        assertNotNull(cache.get(p("file:///A.java", r(1, 0, 0)), 1));
+        cache.put(p("file:///A.java", r(3, 0, 0)), 1, List.of());
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(p("file:///A.java", r(1, 0, 0)), 1));
+        assertNull(cache.get(p("file:///A.java", r(2, 0, 0)), 1));
+    }
+}
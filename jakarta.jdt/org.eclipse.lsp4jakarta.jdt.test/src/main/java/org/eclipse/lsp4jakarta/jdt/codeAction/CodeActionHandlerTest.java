@@ -0,0 +1,146 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.codeAction;
+
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.assertCodeActions;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.ca;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.createCodeActionParams;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.d;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.te;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.lsp4j.CodeAction;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
+import org.eclipse.lsp4jakarta.jdt.core.BaseJakartaTest;
+import org.eclipse.lsp4jakarta.jdt.core.JDTUtils;
+import org.junit.Test;
+
+public class CodeActionHandlerTest extends BaseJakartaTest {
+
+    protected static JDTUtils JDT_UTILS = new JDTUtils();
+
+    /**
+     * A monitor which is cancelled once it was checked the given number of times.
+     */
+    private static class CancelAfterMonitor extends NullProgressMonitor {
+
+        private int checks;
+
+        private CancelAfterMonitor(int checks) {
+            this.checks = checks;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return checks-- <= 0 || super.isCanceled();
+        }
+    }
+
+    private static Diagnostic nonPublic() {
+        return d(20, 17, 30, "Only public methods can be exposed as resource methods.", DiagnosticSeverity.Error,
+                "jakarta-jax_rs", "NonPublicResourceMethod");
+    }
+
+    private static JakartaJavaCodeActionParams createParams(String uri, Diagnostic... diagnostics) {
+        JakartaJavaCodeActionParams params = createCodeActionParams(uri, diagnostics[0]);
+        params.getContext().setDiagnostics(Arrays.asList(diagnostics));
+        return params;
+    }
+
+    private static String getUri(IJavaProject javaProject, String path) {
+        IFile javaFile = javaProject.getProject().getFile(new Path(path));
+        return javaFile.getLocation().toFile().toURI().toString();
+    }
+
+    @Test
+    public void cancelledRequestReturnsNoCodeAction() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        String uri = getUri(javaProject,
+                "src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java");
+        JakartaJavaCodeActionParams params = createCodeActionParams(uri, nonPublic());
+        CodeActionHandler handler = new CodeActionHandler();
+
+        // cancelled while the code actions are computed
+        List<CodeAction> codeActions = handler.codeAction(params, JDT_UTILS, new CancelAfterMonitor(1));
+        assertTrue(codeActions.isEmpty());
+
+        // the empty result of the cancelled request is not cached
+        codeActions = handler.codeAction(params, JDT_UTILS, new NullProgressMonitor());
+        assertEquals(1, codeActions.size());
+        assertEquals(0, handler.getCache().getHitCount());
+    }
+
+    @Test
+    public void diagnosticWithoutKnownCodeHasNoCodeAction() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        String uri = getUri(javaProject,
+                "src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java");
+        CodeActionHandler handler = new CodeActionHandler();
+
+        // e.g. the diagnostics of other language servers on the same range
+        Diagnostic noCode = nonPublic();
+        noCode.setCode((String) null);
+        Diagnostic unknownCode = nonPublic();
+        unknownCode.setCode("UnknownCode");
+        List<CodeAction> codeActions = handler.codeAction(createParams(uri, noCode, unknownCode),
+                JDT_UTILS, new NullProgressMonitor());
+        assertTrue(codeActions.isEmpty());
+
+        // they are skipped without hiding the code actions of the other diagnostics
+        codeActions = handler.codeAction(createParams(uri, noCode, nonPublic(), unknownCode), JDT_UTILS,
+                new NullProgressMonitor());
+        assertEquals(1, codeActions.size());
+    }
+
+    @Test
+    public void cachedCodeActionsFollowBodyChanges() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        String uri = javaFile.getLocation().toFile().toURI().toString();
+        ICompilationUnit unit = JavaCore.createCompilationUnitFrom(javaFile);
+        CodeActionHandler handler = new CodeActionHandler();
+
+        unit.becomeWorkingCopy(null);
+        try {
+            JakartaJavaCodeActionParams params = createCodeActionParams(uri, nonPublic());
+            handler.codeAction(params, JDT_UTILS, new NullProgressMonitor());
+            handler.codeAction(params, JDT_UTILS, new NullProgressMonitor());
+            assertEquals(1, handler.getCache().getHitCount());
+
+            // only the body of the method changes
+            IBuffer buffer = unit.getBuffer();
+            buffer.replace(buffer.getContents().indexOf("privateMethod() {") + "privateMethod() {".length(), 0,
+                    " int i = 0;");
+            unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            List<CodeAction> codeActions = handler.codeAction(params, JDT_UTILS, new NullProgressMonitor());
+            assertEquals(1, handler.getCache().getHitCount());
+            assertCodeActions(codeActions, ca(uri, "Make method public", nonPublic(), te(20, 4, 20, 11, "public")));
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+}
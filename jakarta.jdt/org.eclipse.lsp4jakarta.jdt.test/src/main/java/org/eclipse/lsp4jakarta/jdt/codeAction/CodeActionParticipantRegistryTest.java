@@ -0,0 +1,48 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.codeAction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.lsp4jakarta.jdt.core.jax_rs.Jax_RSConstants;
+import org.eclipse.lsp4jakarta.jdt.core.jax_rs.NonPublicResourceMethodQuickFix;
+import org.junit.Test;
+
+public class CodeActionParticipantRegistryTest {
+
+    @Test
+    public void lookUpParticipantsByCode() {
+        CodeActionParticipantRegistry registry = CodeActionParticipantRegistry.getInstance();
+        List<IJavaCodeActionParticipant> participants = registry
+                .getParticipants(Jax_RSConstants.DIAGNOSTIC_CODE_NON_PUBLIC);
+        assertEquals(1, participants.size());
+        assertTrue(participants.get(0) instanceof NonPublicResourceMethodQuickFix);
+        assertNotNull(registry.getParticipant(Jax_RSConstants.DIAGNOSTIC_CODE_NON_PUBLIC,
+                NonPublicResourceMethodQuickFix.class.getName()));
+    }
+
+    @Test
+    public void noParticipantForMissingOrUnknownCode() {
+        CodeActionParticipantRegistry registry = CodeActionParticipantRegistry.getInstance();
+        // the diagnostics of other language servers are not given to any quick fix
+        assertTrue(registry.getParticipants(null).isEmpty());
+        assertTrue(registry.getParticipants("UnknownCode").isEmpty());
+        assertNull(registry.getParticipant(null, NonPublicResourceMethodQuickFix.class.getName()));
+        assertNull(registry.getParticipant("UnknownCode", NonPublicResourceMethodQuickFix.class.getName()));
+    }
+}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.codeAction;
+
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.assertJavaCodeAction;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.ca;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.createCodeActionParams;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.d;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.te;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.WorkspaceEdit;
+import org.eclipse.lsp4jakarta.jdt.core.BaseJakartaTest;
+import org.eclipse.lsp4jakarta.jdt.core.JDTServicesManager;
+import org.eclipse.lsp4jakarta.jdt.core.JDTUtils;
+import org.junit.Test;
+
+public class FixAllHandlerTest extends BaseJakartaTest {
+
+    protected static JDTUtils JDT_UTILS = new JDTUtils();
+
+    private static final String FINAL_MODIFIERS = "src/main/java/io/openliberty/sample/jakarta/persistence/FinalModifiers.java";
+
+    private static final String ANNOTATION_TEST = "src/main/java/io/openliberty/sample/jakarta/websocket/AnnotationTest.java";
+
+    private static Diagnostic finalField(int line, int startChar, int endChar) {
+        Diagnostic d = d(line, startChar, endChar,
+                "A class using the @Entity annotation cannot contain any persistent instance variables that are declared final.",
+                DiagnosticSeverity.Error, "jakarta-persistence", "RemoveFinalVariables");
+        d.setData(IJavaElement.FIELD);
+        return d;
+    }
+
+    private static IFile getFile(IJavaProject javaProject, String path) {
+        return javaProject.getProject().getFile(new Path(path));
+    }
+
+    private static String getUri(IFile javaFile) {
+        return javaFile.getLocation().toFile().toURI().toString();
+    }
+
+    /**
+     * Returns the given source once the given edits are applied, in the way the
+     * client applies the edits of a file.
+     */
+    private static String apply(String source, List<TextEdit> edits) {
+        List<TextEdit> sorted = new ArrayList<>(edits);
+        sorted.sort(Comparator.comparing((TextEdit edit) -> getOffset(source, edit.getRange().getStart())).reversed());
+        StringBuilder result = new StringBuilder(source);
+        for (TextEdit edit : sorted) {
+            result.replace(getOffset(source, edit.getRange().getStart()), getOffset(source, edit.getRange().getEnd()),
+                    edit.getNewText());
+        }
+        return result.toString();
+    }
+
+    private static int getOffset(String source, Position position) {
+        int offset = 0;
+        for (int line = 0; line < position.getLine(); line++) {
+            offset = source.indexOf('\n', offset) + 1;
+        }
+        return offset + position.getCharacter();
+    }
+
+    private static String getFixedSource(ICompilationUnit unit, String uri, WorkspaceEdit edit) throws Exception {
+        assertNotNull(edit);
+        List<TextEdit> edits = edit.getChanges().get(uri);
+        assertNotNull(edits);
+        return apply(unit.getSource(), edits);
+    }
+
+    @Test
+    public void fixAllOnDifferentNodes() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = getFile(javaProject, FINAL_MODIFIERS);
+        String uri = getUri(javaFile);
+        ICompilationUnit unit = JavaCore.createCompilationUnitFrom(javaFile);
+
+        WorkspaceEdit edit = JDTServicesManager.getInstance().getFixAll(uri, JDT_UTILS, false,
+                new NullProgressMonitor());
+
+        // the class, the fields and the method are fixed, the local variable is kept
+        String source = unit.getSource();
+        String expected = source.replace("public final class", "public class")
+                .replace("    final int x", "    int x")
+                .replace("    final String y", "    String y")
+                .replace("public final int methody", "public int methody");
+        assertEquals(expected, getFixedSource(unit, uri, edit));
+    }
+
+    @Test
+    public void fixAllOnSameNode() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = getFile(javaProject, FINAL_MODIFIERS);
+        String uri = getUri(javaFile);
+        ICompilationUnit unit = JavaCore.createCompilationUnitFrom(javaFile);
+
+        // y and z are declared by the same field, their fixes change the same node
+        List<Diagnostic> diagnostics = Arrays.asList(finalField(8, 17, 18), finalField(8, 30, 31),
+                finalField(7, 14, 15));
+        WorkspaceEdit edit = new FixAllHandler().getFixAllEdit(uri, diagnostics, JDT_UTILS, false,
+                new NullProgressMonitor());
+
+        // the overlapping fix is skipped without failing the other fixes
+        String source = unit.getSource();
+        String expected = source.replace("    final int x", "    int x")
+                .replace("    final String y", "    String y");
+        assertEquals(expected, getFixedSource(unit, uri, edit));
+    }
+
+    @Test
+    public void fixAllAddsImportOnce() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = getFile(javaProject, ANNOTATION_TEST);
+        String uri = getUri(javaFile);
+        ICompilationUnit unit = JavaCore.createCompilationUnitFrom(javaFile);
+
+        WorkspaceEdit edit = JDTServicesManager.getInstance().getFixAll(uri, JDT_UTILS, false,
+                new NullProgressMonitor());
+
+        // the three parameters are annotated, the import is added once
+        String source = unit.getSource();
+        String expected = source
+                .replace("import jakarta.websocket.OnOpen;\n",
+                        "import jakarta.websocket.OnOpen;\nimport jakarta.websocket.server.PathParam;\n")
+                .replace("Session session, String missingAnnotation)",
+                        "Session session, @PathParam(value = \"\") String missingAnnotation)")
+                .replace("Integer missingAnnotation1", "@PathParam(value = \"\") Integer missingAnnotation1")
+                .replace("String missingAnnotation2", "@PathParam(value = \"\") String missingAnnotation2");
+        assertEquals(expected, getFixedSource(unit, uri, edit));
+    }
+
+    @Test
+    public void diagnosticWithSeveralFixesIsNotFixed() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = getFile(javaProject,
+                "src/main/java/io/openliberty/sample/jakarta/persistence/EntityMissingConstructor.java");
+
+        // a protected or a public constructor can be added
+        WorkspaceEdit edit = JDTServicesManager.getInstance().getFixAll(getUri(javaFile), JDT_UTILS, false,
+                new NullProgressMonitor());
+        assertNull(edit);
+    }
+
+    @Test
+    public void singleFixIsUnchanged() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = getFile(javaProject, FINAL_MODIFIERS);
+        String uri = getUri(javaFile);
+
+        JDTServicesManager.getInstance().getFixAll(uri, JDT_UTILS, false, new NullProgressMonitor());
+
+        // the quick fix of a diagnostic still creates its own rewrite
+        Diagnostic d3 = finalField(8, 17, 18);
+        assertJavaCodeAction(createCodeActionParams(uri, d3), JDT_UTILS,
+                ca(uri, "Remove the 'final' modifier from this field", d3, te(8, 4, 8, 10, "")));
+        Diagnostic d4 = finalField(8, 30, 31);
+        assertJavaCodeAction(createCodeActionParams(uri, d4), JDT_UTILS,
+                ca(uri, "Remove the 'final' modifier from this field", d4, te(8, 4, 8, 10, "")));
+    }
+
+    @Test
+    public void fixAllInWorkspace() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile finalModifiers = getFile(javaProject, FINAL_MODIFIERS);
+        IFile annotationTest = getFile(javaProject, ANNOTATION_TEST);
+
+        WorkspaceEdit edit = JDTServicesManager.getInstance().getFixAllInWorkspace(JDT_UTILS, false,
+                new NullProgressMonitor());
+
+        // the files are fixed as when they are fixed one by one
+        assertNotNull(edit);
+        for (IFile javaFile : Arrays.asList(finalModifiers, annotationTest)) {
+            String uri = getUri(javaFile);
+            WorkspaceEdit fileEdit = JDTServicesManager.getInstance().getFixAll(uri, JDT_UTILS, false,
+                    new NullProgressMonitor());
+            // the files of the workspace are identified by the uris of their units
+            ICompilationUnit unit = JavaCore.createCompilationUnitFrom(javaFile);
+            assertEquals(fileEdit.getChanges().get(uri), edit.getChanges().get(JDTUtils.toURI(unit)));
+        }
+    }
+
+    @Test
+    public void cancelledFixAllInWorkspace() throws Exception {
+        loadJavaProject("jakarta-sample", "");
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+
+        assertNull(JDTServicesManager.getInstance().getFixAllInWorkspace(JDT_UTILS, false, monitor));
+    }
+}
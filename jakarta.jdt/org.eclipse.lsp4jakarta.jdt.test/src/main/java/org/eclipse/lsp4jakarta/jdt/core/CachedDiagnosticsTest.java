@@ -0,0 +1,84 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.lsp4jakarta.commons.JakartaCollectorMetrics;
+import org.junit.Test;
+
+public class CachedDiagnosticsTest extends BaseJakartaTest {
+
+    @Test
+    public void diagnosticsOfUnreconciledBufferAreNotCached() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        List<String> uris = Collections.singletonList(javaFile.getLocation().toFile().toURI().toString());
+        ICompilationUnit unit = JavaCore.createCompilationUnitFrom(javaFile);
+        JDTServicesManager manager = JDTServicesManager.getInstance();
+        DiagnosticsCache cache = manager.getDiagnosticsCache();
+
+        unit.becomeWorkingCopy(null);
+        try {
+            // the buffer is changed, but the Java model is not reconciled yet
+            IBuffer buffer = unit.getBuffer();
+            buffer.replace(buffer.getContents().indexOf("privateMethod() {") + "privateMethod() {".length(), 0,
+                    " int i = 0;");
+            cache.clear();
+            manager.getJavaDiagnostics(uris, new NullProgressMonitor());
+            assertEquals(0, cache.size());
+
+            unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            manager.getJavaDiagnostics(uris, new NullProgressMonitor());
+            assertEquals(1, cache.size());
+        } finally {
+            unit.discardWorkingCopy();
+            cache.clear();
+        }
+    }
+
+    @Test
+    public void cacheHitsAreReportedWithTheMetrics() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        List<String> uris = Collections.singletonList(javaFile.getLocation().toFile().toURI().toString());
+        JDTServicesManager manager = JDTServicesManager.getInstance();
+        manager.getDiagnosticsCache().clear();
+        manager.getJavaMetrics(true);
+
+        manager.getJavaDiagnostics(uris, new NullProgressMonitor());
+        manager.getJavaDiagnostics(uris, new NullProgressMonitor());
+
+        List<JakartaCollectorMetrics> metrics = manager.getJavaMetrics(true);
+        JakartaCollectorMetrics cache = metrics.get(metrics.size() - 1);
+        assertEquals(JakartaCollectorMetrics.DIAGNOSTICS_CACHE, cache.getCollector());
+        assertEquals(1, cache.getCacheHits());
+        assertEquals(1, cache.getCacheMisses());
+
+        // the counts are reset with the metrics
+        metrics = manager.getJavaMetrics(false);
+        assertEquals(0, metrics.get(metrics.size() - 1).getCacheHits());
+    }
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.junit.Test;
+
+public class DiagnosticsCacheTest {
+
+    private static PublishDiagnosticsParams p(String uri, Diagnostic... diagnostics) {
+        return new PublishDiagnosticsParams(uri, new ArrayList<>(Arrays.asList(diagnostics)));
+    }
+
+    @Test
+    public void hitOnlyWhenFingerprintIsUnchanged() {
+        DiagnosticsCache cache = new DiagnosticsCache(1024 * 1024);
+        PublishDiagnosticsParams diagnostics = p("file:///A.java",
+                new Diagnostic(new Range(new Position(1, 0), new Position(1, 5)), "message"));
+        cache.put("file:///A.java", "fp1", diagnostics);
+
+        assertSame(diagnostics, cache.get("file:///A.java", "fp1"));
+        assertNull(cache.get("file:///A.java", "fp2"));
+        assertNull(cache.get("file:///B.java", "fp1"));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        cache.resetCounts();
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedWhenMemoryIsExceeded() {
+        DiagnosticsCache cache = new DiagnosticsCache(1024 * 1024);
+        cache.put("file:///A.java", "a", p("file:///A.java"));
+        long entryMemory = cache.getMemory();
+
+        cache = new DiagnosticsCache(2 * entryMemory);
+        cache.put("file:///A.java", "a", p("file:///A.java"));
+        cache.put("file:///B.java", "b", p("file:///B.java"));
+        // A becomes the most recently used entry
+        assertNotNull(cache.get("file:///A.java", "a"));
+        cache.put("file:///C.java", "c", p("file:///C.java"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("file:///A.java", "a"));
+        assertNull(cache.get("file:///B.java", "b"));
+        assertNotNull(cache.get("file:///C.java", "c"));
+    }
+
+    @Test
+    public void replaceEntryOfSameUri() {
+        DiagnosticsCache cache = new DiagnosticsCache(1024 * 1024);
+        cache.put("file:///A.java", "fp1", p("file:///A.java"));
+        long memory = cache.getMemory();
+        PublishDiagnosticsParams diagnostics = p("file:///A.java");
+        cache.put("file:///A.java", "fp2", diagnostics);
+
+        assertEquals(1, cache.size());
+        assertEquals(memory, cache.getMemory());
+        assertSame(diagnostics, cache.get("file:///A.java", "fp2"));
+
+        cache.remove("file:///A.java");
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMemory());
+    }
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4jakarta.commons.JakartaCollectorMetrics;
+import org.eclipse.lsp4jakarta.jdt.core.transactions.TransactionsDiagnosticsCollector;
+import org.junit.Test;
+
+public class DiagnosticsMetricsTest {
+
+    private static DiagnosticsMetrics.Sample sample(long millis, int types, int members, int diagnostics) {
+        DiagnosticsMetrics.Sample sample = new DiagnosticsMetrics.Sample();
+        sample.time = TimeUnit.MILLISECONDS.toNanos(millis);
+        sample.invocations = types + members;
+        sample.types = types;
+        sample.members = members;
+        sample.diagnostics = diagnostics;
+        return sample;
+    }
+
+    private static List<JakartaCollectorMetrics> getMetrics(DiagnosticsMetrics metrics, boolean reset) {
+        return metrics.getMetrics(reset).stream()
+                .filter(m -> m.getCollector().equals(TransactionsDiagnosticsCollector.class.getSimpleName()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void aggregateSamplesPerCollector() {
+        DiagnosticsMetrics metrics = DiagnosticsMetrics.getInstance();
+        metrics.getMetrics(true);
+        DiagnosticsCollector collector = new TransactionsDiagnosticsCollector();
+        metrics.record(collector, sample(0, 1, 3, 0));
+        metrics.record(collector, sample(7, 2, 5, 1));
+        metrics.record(collector, sample(2000, 1, 1, 2));
+
+        List<JakartaCollectorMetrics> result = getMetrics(metrics, true);
+        assertEquals(1, result.size());
+        JakartaCollectorMetrics m = result.get(0);
+        assertEquals(3, m.getUnits());
+        assertEquals(4, m.getTypes());
+        assertEquals(9, m.getMembers());
+        assertEquals(3, m.getDiagnostics());
+        assertEquals(2007000, m.getTime());
+        // < 1 ms, < 10 ms and >= 1000 ms
+        assertEquals(List.of(1L, 0L, 1L, 0L, 0L, 0L, 0L, 1L), m.getTimeHistogram());
+
+        assertTrue(getMetrics(metrics, false).isEmpty());
+    }
+}
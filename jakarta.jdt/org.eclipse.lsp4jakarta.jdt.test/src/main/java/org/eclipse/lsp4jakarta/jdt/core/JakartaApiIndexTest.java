@@ -0,0 +1,59 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.assertJavaDiagnostics;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.d;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4jakarta.commons.JakartaDiagnosticsParams;
+import org.junit.Test;
+
+public class JakartaApiIndexTest extends BaseJakartaTest {
+
+    protected static JDTUtils JDT_UTILS = new JDTUtils();
+
+    private static String getUri(IJavaProject javaProject, String path) {
+        IFile javaFile = javaProject.getProject().getFile(new Path(path));
+        return javaFile.getLocation().toFile().toURI().toString();
+    }
+
+    @Test
+    public void skipCollectorsOfMissingApis() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-no-websocket", "");
+        JakartaApiIndex index = JakartaApiIndex.getInstance();
+        assertTrue(index.hasApi(javaProject, JakartaApi.JAX_RS));
+        assertFalse(index.hasApi(javaProject, JakartaApi.WEBSOCKET));
+
+        // the websocket collector would report the path without a leading '/'
+        JakartaDiagnosticsParams diagnosticsParams = new JakartaDiagnosticsParams();
+        diagnosticsParams.setUris(Arrays.asList(getUri(javaProject,
+                "src/main/java/io/openliberty/sample/jakarta/websocket/ServerEndpointNoSlash.java")));
+        assertJavaDiagnostics(diagnosticsParams, JDT_UTILS);
+
+        // the collectors of the APIs on the classpath still report
+        diagnosticsParams.setUris(Arrays.asList(getUri(javaProject,
+                "src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java")));
+        Diagnostic d = d(7, 17, 30, "Only public methods can be exposed as resource methods.",
+                DiagnosticSeverity.Error, "jakarta-jax_rs", "NonPublicResourceMethod");
+        assertJavaDiagnostics(diagnosticsParams, JDT_UTILS, d);
+    }
+}
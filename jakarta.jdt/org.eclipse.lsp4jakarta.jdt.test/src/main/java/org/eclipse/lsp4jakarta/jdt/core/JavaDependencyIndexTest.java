@@ -0,0 +1,127 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.Test;
+
+public class JavaDependencyIndexTest extends BaseJakartaTest {
+
+    private static ICompilationUnit createUnit(IPackageFragment pkg, String name, String source) throws Exception {
+        ICompilationUnit unit = pkg.getCompilationUnit(name + ".java");
+        unit.becomeWorkingCopy(null);
+        unit.getBuffer().setContents("package " + pkg.getElementName() + ";\n\n" + source);
+        unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+        return unit;
+    }
+
+    @Test
+    public void recordSupertypesAndInjectedTypes() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        IPackageFragment pkg = (IPackageFragment) JavaCore.createCompilationUnitFrom(javaFile).getParent();
+
+        ICompilationUnit base = createUnit(pkg, "BaseServlet", "public class BaseServlet {}\n");
+        ICompilationUnit service = createUnit(pkg, "GreetingService", "public class GreetingService {}\n");
+        ICompilationUnit servlet = createUnit(pkg, "GreetingServlet",
+                "import jakarta.inject.Inject;\n\npublic class GreetingServlet extends BaseServlet {\n"
+                        + "    @Inject\n    private GreetingService service;\n}\n");
+        try {
+            JavaDependencyIndex index = JavaDependencyIndex.getInstance();
+            Set<ICompilationUnit> dependencies = index.update(servlet);
+            assertEquals(Set.of(base, service), dependencies);
+            assertTrue(index.update(base).isEmpty());
+
+            long stamp = JavaElementChangeTracker.getInstance().getStamp();
+            String fingerprint = JavaDependencyIndex.getFingerprint(dependencies);
+            assertFalse(index.hasDependencyChanged(servlet, stamp));
+
+            // the supertype changes
+            base.getBuffer().append("class Other {}\n");
+            base.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            assertTrue(index.hasDependencyChanged(servlet, stamp));
+            assertFalse(fingerprint.equals(JavaDependencyIndex.getFingerprint(dependencies)));
+        } finally {
+            servlet.discardWorkingCopy();
+            service.discardWorkingCopy();
+            base.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void resolveAnnotationNames() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        IPackageFragment pkg = (IPackageFragment) JavaCore.createCompilationUnitFrom(javaFile).getParent();
+
+        ICompilationUnit inject = createUnit(pkg, "Inject", "public @interface Inject {}\n");
+        ICompilationUnit service = createUnit(pkg, "GreetingService", "public class GreetingService {}\n");
+        ICompilationUnit other = createUnit(pkg, "OtherService", "public class OtherService {}\n");
+        ICompilationUnit servlet = createUnit(pkg, "GreetingServlet", "public class GreetingServlet {\n"
+                // the annotation of the package is not the one of Jakarta Injection
+                + "    @Inject\n    private OtherService other;\n"
+                + "    @jakarta.inject.Inject\n    private GreetingService service;\n}\n");
+        try {
+            assertEquals(Set.of(service), JavaDependencyIndex.getInstance().update(servlet));
+        } finally {
+            servlet.discardWorkingCopy();
+            other.discardWorkingCopy();
+            service.discardWorkingCopy();
+            inject.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void skipDependentsNotValidatedYet() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        IPackageFragment pkg = (IPackageFragment) JavaCore.createCompilationUnitFrom(javaFile).getParent();
+
+        String prefix = "package " + pkg.getElementName() + ";\n\n";
+        ICompilationUnit base = pkg.createCompilationUnit("BaseResource.java", prefix + "public class BaseResource {}\n",
+                true, null);
+        ICompilationUnit resource = pkg.createCompilationUnit("GreetingResource.java",
+                prefix + "public class GreetingResource extends BaseResource {}\n", true, null);
+        try {
+            String baseUri = base.getResource().getLocation().toFile().toURI().toString();
+            String resourceUri = resource.getResource().getLocation().toFile().toURI().toString();
+            JavaDependencyIndex index = JavaDependencyIndex.getInstance();
+
+            // the dependencies of the resource are not computed on save
+            assertEquals(List.of(baseUri), index.getDependents(baseUri, List.of(baseUri, resourceUri)));
+            assertNull(index.getDependencies(resource));
+
+            index.update(resource);
+            assertEquals(List.of(baseUri, resourceUri), index.getDependents(baseUri, List.of(baseUri, resourceUri)));
+        } finally {
+            resource.delete(true, null);
+            base.delete(true, null);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+import org.junit.Test;
+
+public class JavaDiagnosticsContextTest extends BaseJakartaTest {
+
+    private static final int MEMBERS = 20;
+
+    // the number of collectors asking for the same annotation
+    private static final int COLLECTORS = 10;
+
+    private static final String[] ANNOTATIONS = { "jakarta.inject.Inject", "jakarta.validation.constraints.NotNull",
+            "jakarta.ws.rs.GET" };
+
+    private static String createSource() {
+        StringBuilder source = new StringBuilder();
+        source.append("package io.openliberty.sample.jakarta.jax_rs;\n\npublic class ManyAnnotatedMembers {\n");
+        for (int i = 0; i < MEMBERS; i++) {
+            source.append("    @").append(ANNOTATIONS[0]).append(" @").append(ANNOTATIONS[1]).append('\n');
+            source.append("    private String field").append(i).append(";\n");
+            source.append("    @").append(ANNOTATIONS[2]).append(" @").append(ANNOTATIONS[1]).append('\n');
+            source.append("    public String method").append(i).append("() { return null; }\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static void matchAnnotations(JavaDiagnosticsContext context, IType type) throws JavaModelException {
+        for (int i = 0; i < COLLECTORS; i++) {
+            for (IField field : type.getFields()) {
+                for (IAnnotation annotation : field.getAnnotations()) {
+                    String name = annotation.getElementName();
+                    assertTrue(AbstractDiagnosticsCollector.isMatchedJavaElement(context, type, name, name));
+                }
+            }
+            for (IMethod method : type.getMethods()) {
+                for (IAnnotation annotation : method.getAnnotations()) {
+                    String name = annotation.getElementName();
+                    assertTrue(AbstractDiagnosticsCollector.isMatchedJavaElement(context, type, name, name));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void resolveEachNameOncePerPass() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        IPackageFragment pkg = (IPackageFragment) JavaCore.createCompilationUnitFrom(javaFile).getParent();
+        ICompilationUnit unit = pkg.getCompilationUnit("ManyAnnotatedMembers.java").getWorkingCopy(null);
+        try {
+            unit.getBuffer().setContents(createSource());
+            unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            IType type = unit.getType("ManyAnnotatedMembers");
+
+            JavaDiagnosticsContext context = new JavaDiagnosticsContext(unit, new ArrayList<>());
+            matchAnnotations(context, type);
+
+            // each name is resolved once, whatever the number of collectors asking for it
+            assertEquals(ANNOTATIONS.length, context.getTypeResolutionCount());
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void sharedASTIsOnlyUsedForTheReconciledContents() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        ICompilationUnit unit = JavaCore.createCompilationUnitFrom(javaFile);
+        CoreASTProvider provider = CoreASTProvider.getInstance();
+
+        unit.becomeWorkingCopy(null);
+        provider.setActiveJavaElement(unit);
+        try {
+            // the AST of the last reconcile is shared
+            CompilationUnit reconciled = unit.reconcile(AST.getJLSLatest(), true, null, null);
+            provider.cache(reconciled, unit);
+            assertSame(reconciled, new JavaDiagnosticsContext(unit, new ArrayList<>()).getASTRoot());
+
+            // the unit is reconciled again without updating the shared AST
+            IBuffer buffer = unit.getBuffer();
+            buffer.replace(buffer.getContents().indexOf("privateMethod() {") + "privateMethod() {".length(), 0,
+                    " int i = 0;");
+            unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            assertSame(reconciled, provider.getAST(unit, CoreASTProvider.WAIT_NO, null));
+
+            CompilationUnit ast = new JavaDiagnosticsContext(unit, new ArrayList<>()).getASTRoot();
+            assertNotSame(reconciled, ast);
+            assertEquals(buffer.getLength(), ast.getStartPosition() + ast.getLength());
+        } finally {
+            provider.setActiveJavaElement(null);
+            unit.discardWorkingCopy();
+        }
+    }
+}
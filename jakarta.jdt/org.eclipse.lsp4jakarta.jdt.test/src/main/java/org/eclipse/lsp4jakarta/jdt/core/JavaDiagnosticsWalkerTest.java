@@ -0,0 +1,236 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.assertDiagnostics;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.d;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4jakarta.jdt.core.jax_rs.ResourceMethodDiagnosticsCollector;
+import org.junit.Test;
+
+public class JavaDiagnosticsWalkerTest extends BaseJakartaTest {
+
+    /**
+     * Cancels the monitor of the walk as soon as it visits a method.
+     */
+    private static class CancellingCollector implements DiagnosticsCollector {
+
+        private final IProgressMonitor monitor;
+
+        private int visitedMethods;
+
+        private CancellingCollector(IProgressMonitor monitor) {
+            this.monitor = monitor;
+        }
+
+        @Override
+        public void completeDiagnostic(Diagnostic diagnostic) {
+        }
+
+        @Override
+        public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
+        }
+
+        @Override
+        public Set<Integer> getVisitedElementKinds() {
+            return Set.of(IJavaElement.METHOD);
+        }
+
+        @Override
+        public void visitMethod(IMethod method, JavaDiagnosticsContext context) {
+            visitedMethods++;
+            monitor.setCanceled(true);
+        }
+    }
+
+    /**
+     * Takes longer than the time budget of the walks for each method, and reports
+     * the start of each method.
+     */
+    private static class SlowCollector implements DiagnosticsCollector {
+
+        @Override
+        public void completeDiagnostic(Diagnostic diagnostic) {
+        }
+
+        @Override
+        public void collectDiagnostics(ICompilationUnit unit, List<Diagnostic> diagnostics) {
+        }
+
+        @Override
+        public Set<Integer> getVisitedElementKinds() {
+            return Set.of(IJavaElement.METHOD);
+        }
+
+        @Override
+        public void visitMethod(IMethod method, JavaDiagnosticsContext context) throws JavaModelException {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Range range = JDTUtils.toRange(context.getUnit(), method.getSourceRange().getOffset(), 0);
+            context.getDiagnostics().add(new Diagnostic(range, "Slow", DiagnosticSeverity.Warning, "test", "Slow"));
+        }
+    }
+
+    private static Diagnostic nonPublic(int line) {
+        return nonPublic(line, 30);
+    }
+
+    private static Diagnostic nonPublic(int line, int endCharacter) {
+        return d(line, 17, endCharacter, "Only public methods can be exposed as resource methods.", DiagnosticSeverity.Error,
+                "jakarta-jax_rs", "NonPublicResourceMethod");
+    }
+
+    private static Diagnostic slow(int line) {
+        return d(line, 4, 4, "Slow", DiagnosticSeverity.Warning, "test", "Slow");
+    }
+
+    private static List<Diagnostic> walk(JavaDiagnosticsWalker walker, ICompilationUnit unit) {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        walker.walk(unit, diagnostics);
+        return diagnostics;
+    }
+
+    @Test
+    public void incrementalWalkFollowsChanges() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        ICompilationUnit unit = JavaCore.createCompilationUnitFrom(javaFile);
+        JavaDiagnosticsWalker walker = new JavaDiagnosticsWalker(
+                Arrays.asList(new ResourceMethodDiagnosticsCollector()), true);
+
+        unit.becomeWorkingCopy(null);
+        try {
+            assertDiagnostics(walk(walker, unit), nonPublic(20));
+
+            // the unchanged method moves two lines down
+            IBuffer buffer = unit.getBuffer();
+            buffer.replace(buffer.getContents().indexOf("    @HEAD"), 0, "\n\n");
+            unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            assertDiagnostics(walk(walker, unit), nonPublic(22));
+
+            // the method becomes public
+            buffer.replace(buffer.getContents().indexOf("private void"), "private".length(), "public");
+            unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            assertDiagnostics(walk(walker, unit));
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void timeBudgetIsCheckedBetweenElements() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        ICompilationUnit unit = JavaCore.createCompilationUnitFrom(javaFile);
+        JavaDiagnosticsWalker walker = new JavaDiagnosticsWalker(
+                Arrays.asList(new SlowCollector(), new ResourceMethodDiagnosticsCollector()), true);
+
+        unit.becomeWorkingCopy(null);
+        try {
+            // two more non public resource methods
+            IBuffer buffer = unit.getBuffer();
+            StringBuilder methods = new StringBuilder();
+            for (int i = 0; i < 2; i++) {
+                methods.append("    @HEAD\n    private void privateMethod").append(i).append("() {\n    }\n\n");
+            }
+            buffer.replace(buffer.getContents().lastIndexOf('}'), 0, methods.toString());
+            unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+            List<Diagnostic> diagnostics = new ArrayList<>();
+            assertTrue(walker.walk(unit, diagnostics, null, 0));
+            assertDiagnostics(diagnostics, nonPublic(20), nonPublic(25, 31), nonPublic(29, 31), slow(19), slow(24),
+                    slow(28));
+
+            // the methods move two lines down and the first one becomes public, but the
+            // budget runs out after the first method: the partial diagnostics of the
+            // interrupted collector are dropped, and those of its previous walk are
+            // kept, moved, for the methods which did not change
+            buffer.replace(buffer.getContents().indexOf("    @HEAD"), 0, "\n\n");
+            buffer.replace(buffer.getContents().indexOf("private void"), "private".length(), "public");
+            unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            diagnostics = new ArrayList<>();
+            assertFalse(walker.walk(unit, diagnostics, null, 30));
+            assertDiagnostics(diagnostics, nonPublic(27, 31), nonPublic(31, 31), slow(26), slow(30));
+
+            diagnostics = new ArrayList<>();
+            assertTrue(walker.walk(unit, diagnostics, null, 0));
+            assertDiagnostics(diagnostics, nonPublic(27, 31), nonPublic(31, 31), slow(21), slow(26), slow(30));
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+
+    @Test
+    public void cancelledWalkStopsAndIsNotReused() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        ICompilationUnit unit = JavaCore.createCompilationUnitFrom(javaFile);
+        IProgressMonitor monitor = new NullProgressMonitor();
+        CancellingCollector cancelling = new CancellingCollector(monitor);
+        JavaDiagnosticsWalker walker = new JavaDiagnosticsWalker(
+                Arrays.asList(cancelling, new ResourceMethodDiagnosticsCollector()), true);
+
+        unit.becomeWorkingCopy(null);
+        try {
+            // three more non public resource methods
+            IBuffer buffer = unit.getBuffer();
+            StringBuilder methods = new StringBuilder();
+            for (int i = 0; i < 3; i++) {
+                methods.append("    @HEAD\n    private void privateMethod").append(i).append("() {\n    }\n\n");
+            }
+            buffer.replace(buffer.getContents().lastIndexOf('}'), 0, methods.toString());
+            unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+            // the walk stops after the first method, without throwing
+            List<Diagnostic> diagnostics = new ArrayList<>();
+            walker.walk(unit, diagnostics, monitor);
+            assertEquals(1, cancelling.visitedMethods);
+            assertTrue(diagnostics.size() < 4);
+
+            // the incomplete walk is not reused by the next one
+            diagnostics = new ArrayList<>();
+            walker.walk(unit, diagnostics, new NullProgressMonitor());
+            assertEquals(4, diagnostics.size());
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+}
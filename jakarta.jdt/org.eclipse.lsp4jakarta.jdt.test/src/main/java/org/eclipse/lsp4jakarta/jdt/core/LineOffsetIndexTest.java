@@ -0,0 +1,87 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.internal.core.Buffer;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.Test;
+
+@SuppressWarnings("restriction")
+public class LineOffsetIndexTest {
+
+    private static final String TEXT = "package a;\n\r\nclass A {\r    int i;\n}";
+
+    // the line starts of TEXT: "\n", "\r\n" and "\r" are delimiters
+    private static final int[] LINE_OFFSETS = { 0, 11, 13, 23, 34 };
+
+    @Test
+    public void convertOffsetsAndLines() {
+        LineOffsetIndex index = LineOffsetIndex.of(TEXT);
+
+        assertEquals(LINE_OFFSETS.length, index.getLineCount());
+        for (int offset = 0; offset <= TEXT.length(); offset++) {
+            int line = LINE_OFFSETS.length - 1;
+            while (LINE_OFFSETS[line] > offset) {
+                line--;
+            }
+            assertArrayEquals("offset " + offset, new int[] { line, offset - LINE_OFFSETS[line] },
+                    index.toLine(offset));
+        }
+        for (int line = 0; line < LINE_OFFSETS.length; line++) {
+            assertEquals(LINE_OFFSETS[line] + 2, index.toOffset(line, 2));
+        }
+        assertNull(index.toLine(-1));
+        assertNull(index.toLine(TEXT.length() + 1));
+        assertEquals(-1, index.toOffset(LINE_OFFSETS.length, 0));
+    }
+
+    @Test
+    public void convertOffsetsInBulk() {
+        LineOffsetIndex index = LineOffsetIndex.of(TEXT);
+
+        Position[] positions = index.toPositions(0, 11, 13, 23, 30, TEXT.length() + 1, 12);
+        assertEquals(new Position(0, 0), positions[0]);
+        assertEquals(new Position(1, 0), positions[1]);
+        assertEquals(new Position(2, 0), positions[2]);
+        assertEquals(new Position(3, 0), positions[3]);
+        assertEquals(new Position(3, 7), positions[4]);
+        assertNull(positions[5]);
+        // out of order
+        assertEquals(new Position(1, 1), positions[6]);
+
+        assertEquals(new Range(new Position(2, 6), new Position(3, 4)), index.toRange(19, 8));
+    }
+
+    @Test
+    public void dropIndexWhenBufferChanges() {
+        IBuffer buffer = new Buffer(null, null, false) {
+        };
+        buffer.setContents(TEXT);
+        LineOffsetIndex index = LineOffsetIndex.of(buffer);
+        assertSame(index, LineOffsetIndex.of(buffer));
+
+        buffer.replace(0, 0, "\n");
+        LineOffsetIndex changed = LineOffsetIndex.of(buffer);
+        assertNotSame(index, changed);
+        assertEquals(index.getLineCount() + 1, changed.getLineCount());
+        assertSame(changed, LineOffsetIndex.of(buffer));
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.junit.Test;
+
+public class ParallelDiagnosticsTest extends BaseJakartaTest {
+
+    private static List<String> getUris(IJavaProject javaProject) throws Exception {
+        List<String> uris = new ArrayList<>();
+        for (IPackageFragment fragment : javaProject.getPackageFragments()) {
+            if (fragment.getKind() != IPackageFragmentRoot.K_SOURCE) {
+                continue;
+            }
+            for (ICompilationUnit unit : fragment.getCompilationUnits()) {
+                uris.add(unit.getResource().getLocation().toFile().toURI().toString());
+            }
+        }
+        return uris;
+    }
+
+    private static List<PublishDiagnosticsParams> validate(List<String> uris, int parallelism) {
+        JDTServicesManager manager = JDTServicesManager.getInstance();
+        manager.setDiagnosticsParallelism(parallelism);
+        // the files are validated again by all the collectors, instead of read from
+        // the cache or reused from the previous walks
+        manager.clearDiagnostics();
+        return manager.getJavaDiagnostics(uris, new NullProgressMonitor());
+    }
+
+    @Test
+    public void concurrentDiagnosticsEqualSequentialDiagnostics() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        List<String> uris = getUris(javaProject);
+        assertTrue(uris.size() > 10);
+
+        JDTServicesManager manager = JDTServicesManager.getInstance();
+        int parallelism = manager.getDiagnosticsParallelism();
+        try {
+            List<PublishDiagnosticsParams> sequential = validate(uris, 1);
+            List<PublishDiagnosticsParams> concurrent = validate(uris, 4);
+
+            assertEquals(uris.size(), sequential.size());
+            // same diagnostics, in the order of the uris
+            assertEquals(sequential, concurrent);
+            for (int i = 0; i < uris.size(); i++) {
+                assertEquals(uris.get(i), concurrent.get(i).getUri());
+            }
+        } finally {
+            manager.setDiagnosticsParallelism(parallelism);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.Test;
+
+public class SourceTypeIndexTest extends BaseJakartaTest {
+
+    private static ICompilationUnit createUnit(IPackageFragment pkg, String name, String source) throws Exception {
+        ICompilationUnit unit = pkg.getCompilationUnit(name + ".java");
+        unit.becomeWorkingCopy(null);
+        setSource(unit, source);
+        return unit;
+    }
+
+    private static void setSource(ICompilationUnit unit, String source) throws Exception {
+        String pkg = unit.getParent().getElementName();
+        unit.getBuffer().setContents("package " + pkg + ";\n\n" + source);
+        unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+    }
+
+    @Test
+    public void followAddedRenamedAndRemovedTypes() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        IPackageFragment pkg = (IPackageFragment) JavaCore.createCompilationUnitFrom(javaFile).getParent();
+        SourceTypeIndex index = SourceTypeIndex.getInstance();
+        assertTrue(index.getTypes(javaProject, "IndexedType").isEmpty());
+        long stamp = index.getStamp(javaProject);
+
+        ICompilationUnit unit = createUnit(pkg, "IndexedType", "public class IndexedType {}\n");
+        try {
+            // the type is added
+            assertEquals(Set.of(unit.getType("IndexedType")), index.getTypes(javaProject, "IndexedType"));
+            assertTrue(index.getStamp(javaProject) != stamp);
+
+            // a change of the body keeps the names, and so the stamp
+            stamp = index.getStamp(javaProject);
+            setSource(unit, "public class IndexedType {\n    int count;\n}\n");
+            assertEquals(stamp, index.getStamp(javaProject));
+
+            // the type is renamed
+            setSource(unit, "public class RenamedType {}\n");
+            assertTrue(index.getTypes(javaProject, "IndexedType").isEmpty());
+            assertEquals(Set.of(unit.getType("RenamedType")), index.getTypes(javaProject, "RenamedType"));
+            assertTrue(index.getStamp(javaProject) != stamp);
+
+            // the type is removed with its unit
+            stamp = index.getStamp(javaProject);
+            unit.discardWorkingCopy();
+            assertTrue(index.getTypes(javaProject, "RenamedType").isEmpty());
+            assertTrue(index.getStamp(javaProject) != stamp);
+        } finally {
+            unit.discardWorkingCopy();
+        }
+    }
+}
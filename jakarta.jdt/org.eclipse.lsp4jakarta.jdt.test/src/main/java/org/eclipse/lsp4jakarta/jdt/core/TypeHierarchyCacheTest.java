@@ -0,0 +1,87 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.eclipse.lsp4jakarta.jdt.core.TypeHierarchyUtils.doesITypeHaveSuperType;
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.Test;
+
+public class TypeHierarchyCacheTest extends BaseJakartaTest {
+
+    private static ICompilationUnit createUnit(IPackageFragment pkg, String name, String source) throws Exception {
+        ICompilationUnit unit = pkg.getCompilationUnit(name + ".java");
+        unit.becomeWorkingCopy(null);
+        setSource(unit, source);
+        return unit;
+    }
+
+    private static void setSource(ICompilationUnit unit, String source) throws Exception {
+        String pkg = unit.getParent().getElementName();
+        unit.getBuffer().setContents("package " + pkg + ";\n\n" + source);
+        unit.reconcile(ICompilationUnit.NO_AST, false, null, null);
+    }
+
+    @Test
+    public void followSupertypeChanges() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        IPackageFragment pkg = (IPackageFragment) JavaCore.createCompilationUnitFrom(javaFile).getParent();
+
+        ICompilationUnit base = createUnit(pkg, "HierarchyBase", "public class HierarchyBase {}\n");
+        ICompilationUnit child = createUnit(pkg, "HierarchyChild",
+                "public class HierarchyChild extends HierarchyBase {}\n");
+        ICompilationUnit other = createUnit(pkg, "HierarchyOther", "public class HierarchyOther {}\n");
+        try {
+            IType type = child.getType("HierarchyChild");
+            assertEquals(1, doesITypeHaveSuperType(type, "HierarchyBase"));
+            // all the supertypes are known classes
+            assertEquals(-1, doesITypeHaveSuperType(type, "HierarchyOther"));
+
+            // the supertype of the supertype changes
+            setSource(base, "public class HierarchyBase extends HierarchyOther {}\n");
+            assertEquals(1, doesITypeHaveSuperType(type, "HierarchyOther"));
+
+            // the supertype is removed, then added back
+            other.discardWorkingCopy();
+            assertEquals(-1, doesITypeHaveSuperType(type, "HierarchyOther"));
+            other = createUnit(pkg, "HierarchyOther", "public class HierarchyOther {}\n");
+            assertEquals(1, doesITypeHaveSuperType(type, "HierarchyOther"));
+
+            // the supertype is renamed
+            setSource(other, "public class HierarchyRenamed {}\n");
+            assertEquals(-1, doesITypeHaveSuperType(type, "HierarchyOther"));
+            setSource(base, "public class HierarchyBase extends HierarchyRenamed {}\n");
+            assertEquals(1, doesITypeHaveSuperType(type, "HierarchyRenamed"));
+
+            // the supertype becomes an interface, whose declaration is not known as a
+            // class, so the answer is unknown
+            setSource(base, "public interface HierarchyBase {}\n");
+            setSource(child, "public class HierarchyChild implements HierarchyBase {}\n");
+            assertEquals(1, doesITypeHaveSuperType(type, "HierarchyBase"));
+            assertEquals(0, doesITypeHaveSuperType(type, "HierarchyOther"));
+        } finally {
+            other.discardWorkingCopy();
+            child.discardWorkingCopy();
+            base.discardWorkingCopy();
+        }
+    }
+}
@@ -14,22 +14,35 @@
 package org.eclipse.lsp4jakarta.jdt.jax_rs;
 
 import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
 import org.eclipse.lsp4jakarta.commons.JakartaDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
 import org.eclipse.lsp4jakarta.jdt.core.BaseJakartaTest;
+import org.eclipse.lsp4jakarta.jdt.core.JDTServicesManager;
 import org.eclipse.lsp4jakarta.jdt.core.JDTUtils;
 import org.junit.Test;
 
+import com.google.gson.Gson;
+
 public class ResourceMethodTest extends BaseJakartaTest {
 
     protected static JDTUtils JDT_UTILS = new JDTUtils();
@@ -58,6 +71,95 @@ public class ResourceMethodTest extends BaseJakartaTest {
         assertJavaCodeAction(codeActionParams, utils, ca);
     }
 
+    @Test
+    public void resolveNonPublicMethod() throws Exception {
+        JDTUtils utils = JDT_UTILS;
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        String uri = javaFile.getLocation().toFile().toURI().toString();
+
+        Diagnostic d = d(20, 17, 30, "Only public methods can be exposed as resource methods.",
+                DiagnosticSeverity.Error, "jakarta-jax_rs", "NonPublicResourceMethod");
+
+        // the edit is only computed when the code action is resolved
+        JakartaJavaCodeActionParams codeActionParams = createCodeActionParams(uri, d);
+        codeActionParams.setResolveSupported(true);
+        List<CodeAction> unresolved = JDTServicesManager.getInstance().getCodeAction(codeActionParams, utils,
+                new NullProgressMonitor());
+        assertEquals(1, unresolved.size());
+        assertEquals("Make method public", unresolved.get(0).getTitle());
+        assertNull(unresolved.get(0).getEdit());
+        assertNotNull(unresolved.get(0).getData());
+
+        CodeAction resolved = JDTServicesManager.getInstance().resolveCodeAction(unresolved.get(0), utils,
+                new NullProgressMonitor());
+        TextEdit te = te(20, 4, 20, 11, "public");
+        CodeAction ca = ca(uri, "Make method public", d, te);
+        assertCodeActions(Arrays.asList(resolved), ca);
+    }
+
+    @Test
+    public void resolveNonPublicMethodFromJson() throws Exception {
+        JDTUtils utils = JDT_UTILS;
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        String uri = javaFile.getLocation().toFile().toURI().toString();
+
+        Diagnostic d = d(20, 17, 30, "Only public methods can be exposed as resource methods.",
+                DiagnosticSeverity.Error, "jakarta-jax_rs", "NonPublicResourceMethod");
+
+        // the edit computed with the code action
+        List<CodeAction> eager = JDTServicesManager.getInstance().getCodeAction(createCodeActionParams(uri, d),
+                utils, new NullProgressMonitor());
+        assertEquals(1, eager.size());
+        assertNotNull(eager.get(0).getEdit());
+
+        JakartaJavaCodeActionParams codeActionParams = createCodeActionParams(uri, d);
+        codeActionParams.setResolveSupported(true);
+        List<CodeAction> unresolved = JDTServicesManager.getInstance().getCodeAction(codeActionParams, utils,
+                new NullProgressMonitor());
+        assertEquals(1, unresolved.size());
+
+        // the code action is sent back by the client as JSON, so its data is a JSON
+        // object when jakarta/java/resolveCodeAction is received
+        Gson gson = new MessageJsonHandler(Collections.emptyMap()).getGson();
+        CodeAction received = gson.fromJson(gson.toJson(unresolved.get(0)), CodeAction.class);
+        CodeAction resolved = JDTServicesManager.getInstance().resolveCodeAction(received, utils,
+                new NullProgressMonitor());
+        assertEquals(eager.get(0).getEdit(), resolved.getEdit());
+        assertEquals(eager.get(0).getTitle(), resolved.getTitle());
+    }
+
+    @Test
+    public void resolveNonPublicMethodNotFound() throws Exception {
+        JDTUtils utils = JDT_UTILS;
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject()
+                .getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jax_rs/NotPublicResourceMethod.java"));
+        String uri = javaFile.getLocation().toFile().toURI().toString();
+
+        Diagnostic d = d(20, 17, 30, "Only public methods can be exposed as resource methods.",
+                DiagnosticSeverity.Error, "jakarta-jax_rs", "NonPublicResourceMethod");
+
+        JakartaJavaCodeActionParams codeActionParams = createCodeActionParams(uri, d);
+        codeActionParams.setResolveSupported(true);
+        List<CodeAction> unresolved = JDTServicesManager.getInstance().getCodeAction(codeActionParams, utils,
+                new NullProgressMonitor());
+        assertEquals(1, unresolved.size());
+
+        // the quick fix does not create this code action anymore, e.g. the file
+        // changed, so there is no edit to apply
+        unresolved.get(0).setTitle("Make method private");
+        try {
+            JDTServicesManager.getInstance().resolveCodeAction(unresolved.get(0), utils, new NullProgressMonitor());
+            fail("The code action must not be resolved with an empty edit");
+        } catch (ResponseErrorException e) {
+            assertEquals(ResponseErrorCode.ContentModified.getValue(), e.getResponseError().getCode());
+        }
+    }
+
     @Test
     public void multipleEntityParamsMethod() throws Exception {
         JDTUtils utils = JDT_UTILS;
@@ -53,4 +53,37 @@ public class JakartaJsonpTest extends BaseJakartaTest {
         
         assertJavaDiagnostics(diagnosticsParams, JDT_UTILS, d1, d2, d3);
     }
+
+    @Test
+    public void invalidPointerTargetOfQualifiedName() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject().getFile(
+                new Path("src/main/java/io/openliberty/sample/jakarta/jsonp/CreatePointerQualifiedName.java"));
+        String uri = javaFile.getLocation().toFile().toURI().toString();
+
+        JakartaDiagnosticsParams diagnosticsParams = new JakartaDiagnosticsParams();
+        diagnosticsParams.setUris(Arrays.asList(uri));
+
+        // Json is not imported, the call is still found
+        Diagnostic d = d(19, 75, 83,
+                "Json.createPointer target must be a sequence of '/' prefixed tokens or an empty String.",
+                DiagnosticSeverity.Error, "jakarta-jsonp", "InvalidCreatePointerArg");
+
+        assertJavaDiagnostics(diagnosticsParams, JDT_UTILS, d);
+    }
+
+    @Test
+    public void staticImportOfCreatePointerIsNotReported() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject().getFile(
+                new Path("src/main/java/io/openliberty/sample/jakarta/jsonp/CreatePointerStaticImport.java"));
+        String uri = javaFile.getLocation().toFile().toURI().toString();
+
+        JakartaDiagnosticsParams diagnosticsParams = new JakartaDiagnosticsParams();
+        diagnosticsParams.setUris(Arrays.asList(uri));
+
+        // the unit passes the source pre-filter, but only the calls qualified with
+        // Json are validated
+        assertJavaDiagnostics(diagnosticsParams, JDT_UTILS);
+    }
 }
@@ -13,23 +13,33 @@
 
 package org.eclipse.lsp4jakarta;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
+import org.eclipse.lsp4j.ClientCapabilities;
+import org.eclipse.lsp4j.CodeActionKind;
+import org.eclipse.lsp4j.CodeActionOptions;
 import org.eclipse.lsp4j.CompletionOptions;
+import org.eclipse.lsp4j.DiagnosticRegistrationOptions;
+import org.eclipse.lsp4j.ExecuteCommandOptions;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.TextDocumentSyncKind;
 import org.eclipse.lsp4j.jsonrpc.CompletableFutures;
 import org.eclipse.lsp4j.services.LanguageClient;
-import org.eclipse.lsp4j.services.LanguageServer;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.eclipse.lsp4j.services.WorkspaceService;
 import org.eclipse.lsp4jakarta.api.JakartaLanguageClientAPI;
+import org.eclipse.lsp4jakarta.api.JakartaLanguageServerAPI;
+import org.eclipse.lsp4jakarta.commons.JakartaPartialDiagnosticsParams;
 import org.eclipse.lsp4mp.ls.commons.ParentProcessWatcher.ProcessLanguageServer;
 
-public class JakartaLanguageServer implements LanguageServer, ProcessLanguageServer {
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+public class JakartaLanguageServer implements JakartaLanguageServerAPI, ProcessLanguageServer {
 
     private Integer parentProcessId;
 
@@ -51,6 +61,7 @@ public class JakartaLanguageServer implements LanguageServer, ProcessLanguageSer
     public CompletableFuture<InitializeResult> initialize(InitializeParams params) {
         LOGGER.info("Initializing Jakarta EE server");
         this.parentProcessId = params.getProcessId();
+        updateSettings(params.getInitializationOptions());
         ServerCapabilities serverCapabilities = new ServerCapabilities();
         serverCapabilities.setTextDocumentSync(TextDocumentSyncKind.Incremental);
 
@@ -58,25 +69,97 @@ public class JakartaLanguageServer implements LanguageServer, ProcessLanguageSer
         // Provide Completion Capability to the LS
         initializeResult.getCapabilities().setCompletionProvider(new CompletionOptions());
         initializeResult.getCapabilities().setHoverProvider(true);
-        initializeResult.getCapabilities().setCodeActionProvider(true);
+        // the metrics of the collectors are logged on demand
+        initializeResult.getCapabilities().setExecuteCommandProvider(
+                new ExecuteCommandOptions(List.of(JakartaWorkspaceService.LOG_METRICS_COMMAND)));
+        updateCodeActionCapabilities(params.getCapabilities(), initializeResult.getCapabilities());
+        // Pull diagnostics (LSP 3.17): the diagnostics of a file depend on the
+        // files it injects or extends
+        initializeResult.getCapabilities().setDiagnosticProvider(new DiagnosticRegistrationOptions(true, true));
+        updateDiagnosticsCapabilities(params.getCapabilities());
         return CompletableFuture.completedFuture(initializeResult);
     }
 
+    private void updateCodeActionCapabilities(ClientCapabilities capabilities, ServerCapabilities serverCapabilities) {
+        // the edits of the code actions are computed when the client resolves them
+        boolean resolve = capabilities != null && capabilities.getTextDocument() != null
+                && capabilities.getTextDocument().getCodeAction() != null
+                && capabilities.getTextDocument().getCodeAction().getResolveSupport() != null
+                && capabilities.getTextDocument().getCodeAction().getResolveSupport().getProperties() != null
+                && capabilities.getTextDocument().getCodeAction().getResolveSupport().getProperties()
+                        .contains("edit");
+        // the fix-all source actions can be requested by kind, e.g. on save
+        CodeActionOptions codeActionOptions = new CodeActionOptions(
+                List.of(CodeActionKind.QuickFix, CodeActionKind.SourceFixAll + ".jakarta"));
+        codeActionOptions.setResolveProvider(resolve);
+        serverCapabilities.setCodeActionProvider(codeActionOptions);
+        ((JakartaTextDocumentService) textDocumentService).setCodeActionResolveSupported(resolve);
+    }
+
+    private void updateDiagnosticsCapabilities(ClientCapabilities capabilities) {
+        boolean pull = capabilities != null && capabilities.getTextDocument() != null
+                && capabilities.getTextDocument().getDiagnostic() != null;
+        boolean refresh = pull && capabilities.getWorkspace() != null
+                && capabilities.getWorkspace().getDiagnostics() != null
+                && Boolean.TRUE.equals(capabilities.getWorkspace().getDiagnostics().getRefreshSupport());
+        ((JakartaTextDocumentService) textDocumentService).setPullDiagnostics(pull, refresh);
+    }
+
     public synchronized void updateSettings(Object initializationOptionsSettings) {
         if (initializationOptionsSettings == null) {
             return;
         }
+        // e.g. { "settings": { "jakarta": { "validation": { "delay": 500 } } } }
+        JsonElement delay = getSetting(initializationOptionsSettings, "settings", "jakarta", "validation", "delay");
+        if (delay == null) {
+            delay = getSetting(initializationOptionsSettings, "jakarta", "validation", "delay");
+        }
+        if (delay != null && delay.isJsonPrimitive() && delay.getAsJsonPrimitive().isNumber()) {
+            ((JakartaTextDocumentService) textDocumentService).setValidationDelay(delay.getAsLong());
+        }
+        // e.g. { "settings": { "jakarta": { "validation": { "timeBudget": 1000 } } } }
+        JsonElement timeBudget = getSetting(initializationOptionsSettings, "settings", "jakarta", "validation",
+                "timeBudget");
+        if (timeBudget == null) {
+            timeBudget = getSetting(initializationOptionsSettings, "jakarta", "validation", "timeBudget");
+        }
+        if (timeBudget != null && timeBudget.isJsonPrimitive() && timeBudget.getAsJsonPrimitive().isNumber()) {
+            ((JakartaTextDocumentService) textDocumentService).setValidationTimeBudget(timeBudget.getAsInt());
+        }
         // TODO: else update settings
     }
 
+    private static JsonElement getSetting(Object settings, String... path) {
+        if (!(settings instanceof JsonElement)) {
+            return null;
+        }
+        JsonElement element = (JsonElement) settings;
+        for (String name : path) {
+            if (!element.isJsonObject()) {
+                return null;
+            }
+            element = ((JsonObject) element).get(name);
+            if (element == null) {
+                return null;
+            }
+        }
+        return element;
+    }
+
     @Override
     public CompletableFuture<Object> shutdown() {
         // when shutting down LS, TextDocumentService.didClose() may not be called
         // properly, need to clear existing diagnostics
         ((JakartaTextDocumentService) textDocumentService).cleanDiagnostics();
+        ((JakartaTextDocumentService) textDocumentService).shutdown();
         return CompletableFutures.computeAsync(cc -> new Object());
     }
 
+    @Override
+    public void partialJavaDiagnostics(JakartaPartialDiagnosticsParams params) {
+        ((JakartaTextDocumentService) textDocumentService).partialJavaDiagnostics(params);
+    }
+
     @Override
     public void exit() {
         exit(0);
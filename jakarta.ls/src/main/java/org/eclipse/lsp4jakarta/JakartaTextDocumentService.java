@@ -14,9 +14,14 @@
 package org.eclipse.lsp4jakarta;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -26,25 +31,37 @@ import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.CompletionParams;
-import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.DocumentDiagnosticParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.HoverParams;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.PreviousResultId;
 import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.eclipse.lsp4jakarta.commons.JakartaClasspathParams;
+import org.eclipse.lsp4jakarta.commons.JakartaCollectorMetrics;
 import org.eclipse.lsp4jakarta.commons.JakartaDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaDependentsParams;
+import org.eclipse.lsp4jakarta.commons.JakartaMetricsParams;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextKind;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionResult;
+import org.eclipse.lsp4jakarta.commons.JakartaPartialDiagnosticsParams;
+import org.eclipse.lsp4jakarta.commons.JakartaPublishDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 import org.eclipse.lsp4jakarta.commons.snippets.SnippetRegistry;
+import org.eclipse.lsp4jakarta.diagnostics.DiagnosticsPublisher;
+import org.eclipse.lsp4jakarta.diagnostics.DiagnosticsScheduler;
+import org.eclipse.lsp4jakarta.diagnostics.PullDiagnosticsProvider;
 import org.eclipse.lsp4jakarta.snippets.JavaSnippetCompletionContext;
 import org.eclipse.lsp4jakarta.snippets.SnippetContextForJava;
 import org.eclipse.lsp4mp.commons.DocumentFormat;
@@ -63,23 +80,66 @@ public class JakartaTextDocumentService implements TextDocumentService {
     // Text document manager that maintains the contexts of the text documents
     private final TextDocuments<TextDocument> documents = new TextDocuments<TextDocument>();
 
+    // Skips the publications of the same diagnostics as the last ones
+    private final DiagnosticsPublisher diagnosticsPublisher;
+
+    // Debounces the validations and drops the outdated diagnostics
+    private final DiagnosticsScheduler diagnosticsScheduler = new DiagnosticsScheduler(
+            new DiagnosticsScheduler.Validator() {
+
+                @Override
+                public CompletableFuture<List<PublishDiagnosticsParams>> validate(List<String> uris,
+                        Consumer<PublishDiagnosticsParams> partialResults) {
+                    return getJavaDiagnostics(uris, partialResults, 0);
+                }
+
+                @Override
+                public CompletableFuture<List<PublishDiagnosticsParams>> validate(List<String> uris,
+                        Consumer<PublishDiagnosticsParams> partialResults, int timeBudget) {
+                    return getJavaDiagnostics(uris, partialResults, timeBudget);
+                }
+            }, this::publishDiagnostics);
+
+    // Answers the pull diagnostics requests, without validating the unchanged
+    // documents
+    private final PullDiagnosticsProvider pullDiagnosticsProvider = new PullDiagnosticsProvider(
+            this::getJavaFingerprints, this::getJavaDiagnostics);
+
+    // true if the client pulls the diagnostics instead of having them pushed
+    private volatile boolean pullDiagnostics;
+
+    private volatile boolean refreshDiagnosticsSupported;
+
+    // true if the client resolves the edits of the code actions
+    private volatile boolean codeActionResolveSupported;
+
+    // The consumers of the diagnostics streamed by the client, by partial result
+    // token
+    private final Map<String, Consumer<PublishDiagnosticsParams>> partialDiagnosticsConsumers = new ConcurrentHashMap<>();
+
+    private final AtomicLong partialResultTokens = new AtomicLong();
+
     public JakartaTextDocumentService(JakartaLanguageServer jls) {
         this.jakartaLanguageServer = jls;
+        this.diagnosticsPublisher = new DiagnosticsPublisher(
+                diagnostics -> jls.getLanguageClient().publishDiagnostics(diagnostics));
     }
 
     @Override
     public void didOpen(DidOpenTextDocumentParams params) {
         TextDocument document = documents.onDidOpenTextDocument(params);
         String uri = document.getUri();
-        triggerValidationFor(Arrays.asList(uri));
+        if (!pullDiagnostics) {
+            diagnosticsScheduler.documentOpened(uri, params.getTextDocument().getVersion());
+        }
     }
 
     @Override
     public void didChange(DidChangeTextDocumentParams params) {
         TextDocument document = documents.onDidChangeTextDocument(params);
-        if (document != null) {
+        if (document != null && !pullDiagnostics) {
             String uri = document.getUri();
-            triggerValidationFor(Arrays.asList(uri));
+            diagnosticsScheduler.documentChanged(uri, params.getTextDocument().getVersion());
         }
     }
 
@@ -87,9 +147,11 @@ public class JakartaTextDocumentService implements TextDocumentService {
     public void didClose(DidCloseTextDocumentParams params) {
         documents.onDidCloseTextDocument(params);
         String uri = params.getTextDocument().getUri();
-        // clear diagnostics
-        jakartaLanguageServer.getLanguageClient()
-                .publishDiagnostics(new PublishDiagnosticsParams(uri, new ArrayList<Diagnostic>()));
+        if (!pullDiagnostics) {
+            diagnosticsScheduler.documentClosed(uri);
+            // clear diagnostics
+            diagnosticsPublisher.clear(uri);
+        }
     }
 
     @Override
@@ -155,18 +217,42 @@ public class JakartaTextDocumentService implements TextDocumentService {
 
     @Override
     public void didSave(DidSaveTextDocumentParams params) {
-        // validate all opened java files
-        triggerValidationForAll();
+        if (pullDiagnostics) {
+            // the fingerprints of the dependents changed, make the client pull their
+            // diagnostics again
+            if (refreshDiagnosticsSupported) {
+                jakartaLanguageServer.getLanguageClient().refreshDiagnostics();
+            }
+            return;
+        }
+        // validate the saved file and the opened java files depending on it
+        String uri = params.getTextDocument().getUri();
+        List<String> allDocs = documents.all().stream().map(doc -> doc.getUri()).collect(Collectors.toList());
+        JakartaJavaDependentsParams dependentsParams = new JakartaJavaDependentsParams(uri, allDocs);
+        jakartaLanguageServer.getLanguageClient().getJavaDependents(dependentsParams)
+                .whenComplete((dependents, e) -> {
+                    if (e != null || dependents == null) {
+                        // the client does not know the dependencies, validate all opened java files
+                        if (e != null) {
+                            LOGGER.warning("Return LSP4Jakarta getJavaDependents() from client did not succeed: "
+                                    + e.getMessage());
+                        }
+                        triggerValidationForAll(uri);
+                    } else {
+                        triggerValidationFor(dependents, uri);
+                    }
+                });
     }
 
     /**
      * Validate all opened Java files which belong to a MicroProfile project.
      *
-     * @param projectURIs list of project URIs filter and null otherwise.
+     * @param activeUri the URI of the file to validate first, the other files are
+     *                  validated in the background
      */
-    private void triggerValidationForAll() {
+    private void triggerValidationForAll(String activeUri) {
         List<String> allDocs = documents.all().stream().map(doc -> doc.getUri()).collect(Collectors.toList());
-        triggerValidationFor(allDocs);
+        triggerValidationFor(allDocs, activeUri);
     }
 
     @Override
@@ -178,6 +264,7 @@ public class JakartaTextDocumentService implements TextDocumentService {
     public CompletableFuture<List<Either<Command, CodeAction>>> codeAction(CodeActionParams params) {
         // Prepare the JakartaJavaCodeActionParams
         JakartaJavaCodeActionParams jakartaCodeActionParams = new JakartaJavaCodeActionParams(params);
+        jakartaCodeActionParams.setResolveSupported(codeActionResolveSupported);
         // Pass the JakartaJavaCodeActionParams to IDE client, to be forwarded to the
         // JDT LS ext
         // Async thread to get the list of code actions from the JDT LS ext
@@ -192,13 +279,57 @@ public class JakartaTextDocumentService implements TextDocumentService {
                 });
     }
 
-    // diagnostic request
-    private void triggerValidationFor(List<String> uris) {
+    @Override
+    public CompletableFuture<CodeAction> resolveCodeAction(CodeAction unresolved) {
+        // the JDT LS ext computes the edit of the code action
+        return jakartaLanguageServer.getLanguageClient().resolveCodeAction(unresolved) //
+                .thenApply(resolved -> resolved != null ? resolved : unresolved);
+    }
+
+    @Override
+    public CompletableFuture<DocumentDiagnosticReport> diagnostic(DocumentDiagnosticParams params) {
+        String uri = params.getTextDocument().getUri();
+        TextDocument document = documents.get(uri);
+        Integer version = document != null ? document.getVersion() : null;
+        return pullDiagnosticsProvider.getDocumentReport(uri, version, params.getPreviousResultId());
+    }
+
+    /**
+     * Returns the diagnostics report of the opened Java files, for the
+     * <code>workspace/diagnostic</code> request.
+     *
+     * @param params the workspace diagnostic parameters
+     * @return the diagnostics report of the opened Java files
+     */
+    public CompletableFuture<WorkspaceDiagnosticReport> workspaceDiagnostic(WorkspaceDiagnosticParams params) {
+        Map<String, Integer> versions = new HashMap<>();
+        documents.all().forEach(doc -> versions.put(doc.getUri(), doc.getVersion()));
+        Map<String, String> previousResultIds = new HashMap<>();
+        if (params.getPreviousResultIds() != null) {
+            for (PreviousResultId previousResultId : params.getPreviousResultIds()) {
+                previousResultIds.put(previousResultId.getUri(), previousResultId.getValue());
+            }
+        }
+        return pullDiagnosticsProvider.getWorkspaceReport(versions, previousResultIds);
+    }
+
+    // diagnostic request, the active file first and the others in the background
+    private void triggerValidationFor(List<String> uris, String activeUri) {
         if (uris.isEmpty()) {
             return;
         }
+        diagnosticsScheduler.validate(uris, activeUri);
+    }
+
+    private CompletableFuture<List<PublishDiagnosticsParams>> getJavaDiagnostics(List<String> uris) {
+        return getJavaDiagnostics(uris, null, 0);
+    }
+
+    private CompletableFuture<List<PublishDiagnosticsParams>> getJavaDiagnostics(List<String> uris,
+            Consumer<PublishDiagnosticsParams> partialResults, int timeBudget) {
         // Prepare the JakartaDiagnosticsParams
         JakartaDiagnosticsParams javaParams = new JakartaDiagnosticsParams(uris);
+        javaParams.setTimeBudget(timeBudget);
         // TODO: Use settings to see if markdown is supported
         // boolean markdownSupported =
         // sharedSettings.getHoverSettings().isContentFormatSupported(MarkupKind.MARKDOWN);
@@ -207,31 +338,165 @@ public class JakartaTextDocumentService implements TextDocumentService {
         // }
         javaParams.setDocumentFormat(DocumentFormat.Markdown);
 
-        // Async thread to query the JDT LS ext for Jakarta EE diagnostics
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                // Pass the JakartaDiagnosticsParams to IDE client, to be forwarded to the JDT
-                // LS ext
-                return jakartaLanguageServer.getLanguageClient().getJavaDiagnostics(javaParams).get();
-            } catch (Exception e) {
-                LOGGER.severe("Return LSP4Jakarta getJavaDiagnostics() from client did not succeed: " + e.getMessage());
-                return new ArrayList<PublishDiagnosticsParams>();
-            }
-        }).thenApply(jakartaDiagnostics -> {
-            // Publish the corresponding diagnostic items returned from the IDE client (from
-            // the JDT LS ext)
-            for (PublishDiagnosticsParams diagnostic : jakartaDiagnostics) {
-                jakartaLanguageServer.getLanguageClient().publishDiagnostics(diagnostic);
+        if (partialResults == null || uris.size() == 1) {
+            // Pass the JakartaDiagnosticsParams to IDE client, to be forwarded to the JDT
+            // LS ext. The scheduler cancels the request when newer versions of all the
+            // documents are known.
+            return requestJavaDiagnostics(javaParams);
+        }
+        // the client may stream the diagnostics of each file, so that the first
+        // files do not wait for the slowest one to be published
+        String token = "jakarta/java/diagnostics#" + partialResultTokens.incrementAndGet();
+        javaParams.setPartialResultToken(token);
+        partialDiagnosticsConsumers.put(token, partialResults);
+        CompletableFuture<List<PublishDiagnosticsParams>> future = requestJavaDiagnostics(javaParams);
+        future.whenComplete((diagnostics, e) -> partialDiagnosticsConsumers.remove(token));
+        return future;
+    }
+
+    private CompletableFuture<List<PublishDiagnosticsParams>> requestJavaDiagnostics(
+            JakartaDiagnosticsParams javaParams) {
+        CompletableFuture<List<JakartaPublishDiagnosticsParams>> request = jakartaLanguageServer.getLanguageClient()
+                .getJavaDiagnostics(javaParams);
+        CompletableFuture<List<PublishDiagnosticsParams>> future = request
+                .thenApply(diagnostics -> diagnostics != null ? new ArrayList<>(diagnostics) : null);
+        // cancelling the result cancels the request sent to the client
+        future.whenComplete((diagnostics, e) -> {
+            if (e instanceof CancellationException) {
+                request.cancel(true);
             }
-            return jakartaDiagnostics;
         });
+        return future;
+    }
+
+    /**
+     * Publishes the diagnostics of one file of a running diagnostics request, as
+     * soon as the client streams them.
+     *
+     * @param params the partial result token of the request and the diagnostics
+     *               of the file
+     */
+    public void partialJavaDiagnostics(JakartaPartialDiagnosticsParams params) {
+        if (params.getToken() == null || params.getDiagnostics() == null) {
+            return;
+        }
+        Consumer<PublishDiagnosticsParams> consumer = partialDiagnosticsConsumers.get(params.getToken());
+        if (consumer != null) {
+            consumer.accept(params.getDiagnostics());
+        }
+    }
+
+    private CompletableFuture<List<String>> getJavaFingerprints(List<String> uris) {
+        return jakartaLanguageServer.getLanguageClient().getJavaFingerprints(new JakartaDiagnosticsParams(uris));
+    }
+
+    private void publishDiagnostics(PublishDiagnosticsParams diagnostics) {
+        // Publish the diagnostic items returned from the IDE client (from the JDT LS
+        // ext) for the current version of the document, unless they did not change
+        diagnosticsPublisher.publish(diagnostics);
+    }
+
+    /**
+     * Returns the publisher of the diagnostics, which counts the sent and the
+     * suppressed publications.
+     *
+     * @return the publisher of the diagnostics
+     */
+    public DiagnosticsPublisher getDiagnosticsPublisher() {
+        return diagnosticsPublisher;
+    }
+
+    /**
+     * Sets whether the client resolves the edits of the code actions, with the
+     * <code>codeAction/resolve</code> request, so that they are only computed for
+     * the code action the user picks.
+     *
+     * @param resolveSupported true if the client resolves the code actions
+     */
+    public void setCodeActionResolveSupported(boolean resolveSupported) {
+        this.codeActionResolveSupported = resolveSupported;
+    }
+
+    /**
+     * Sets whether the client pulls the diagnostics, with the
+     * <code>textDocument/diagnostic</code> request, instead of having them
+     * pushed.
+     *
+     * @param pullDiagnostics  true if the client pulls the diagnostics
+     * @param refreshSupported true if the client supports the
+     *                         <code>workspace/diagnostic/refresh</code> request
+     */
+    public void setPullDiagnostics(boolean pullDiagnostics, boolean refreshSupported) {
+        this.pullDiagnostics = pullDiagnostics;
+        this.refreshDiagnosticsSupported = refreshSupported;
+    }
+
+    /**
+     * Sets the delay in milliseconds between the last change of a document and
+     * its validation.
+     *
+     * @param delay the delay in milliseconds
+     */
+    public void setValidationDelay(long delay) {
+        diagnosticsScheduler.setDelay(delay);
+    }
+
+    /**
+     * Sets the time budget in milliseconds of the validation of the document
+     * which was last opened or changed.
+     *
+     * @param timeBudget the time budget in milliseconds, or 0 for no budget
+     */
+    public void setValidationTimeBudget(int timeBudget) {
+        diagnosticsScheduler.setTimeBudget(timeBudget);
+    }
+
+    protected void shutdown() {
+        diagnosticsScheduler.shutdown();
+        LOGGER.info(String.format("Sent %d diagnostics publications, suppressed %d unchanged ones",
+                diagnosticsPublisher.getSentCount(), diagnosticsPublisher.getSuppressedCount()));
+        if (pullDiagnostics) {
+            LOGGER.info(String.format("Sent %d full diagnostics reports, %d unchanged ones",
+                    pullDiagnosticsProvider.getFullCount(), pullDiagnosticsProvider.getUnchangedCount()));
+        }
+    }
+
+    /**
+     * Requests the metrics of the diagnostics collectors from the client and logs
+     * them, to tell which collectors the validation time was spent in.
+     *
+     * @return the metrics of the diagnostics collectors
+     */
+    public CompletableFuture<List<JakartaCollectorMetrics>> logJavaMetrics() {
+        return jakartaLanguageServer.getLanguageClient().getJavaMetrics(new JakartaMetricsParams())
+                .whenComplete((metrics, e) -> {
+                    if (e != null) {
+                        LOGGER.warning("Return LSP4Jakarta getJavaMetrics() from client did not succeed: "
+                                + e.getMessage());
+                    } else if (metrics != null) {
+                        for (JakartaCollectorMetrics m : metrics) {
+                            if (JakartaCollectorMetrics.DIAGNOSTICS_CACHE.equals(m.getCollector())) {
+                                LOGGER.info(String.format("%s: %d hits, %d misses", m.getCollector(),
+                                        m.getCacheHits(), m.getCacheMisses()));
+                                continue;
+                            }
+                            LOGGER.info(String.format(
+                                    "%s: %d ms for %d units, %d types, %d members, %d diagnostics, %d exceptions",
+                                    m.getCollector(), m.getTime() / 1000, m.getUnits(), m.getTypes(),
+                                    m.getMembers(), m.getDiagnostics(), m.getExceptions()));
+                        }
+                    }
+                });
     }
 
     protected void cleanDiagnostics() {
+        if (pullDiagnostics) {
+            // the client owns the pulled diagnostics
+            return;
+        }
         // clear existing diagnostics
         documents.all().forEach(doc -> {
-            jakartaLanguageServer.getLanguageClient()
-                    .publishDiagnostics(new PublishDiagnosticsParams(doc.getUri(), new ArrayList<Diagnostic>()));
+            diagnosticsPublisher.clear(doc.getUri());
         });
     }
 
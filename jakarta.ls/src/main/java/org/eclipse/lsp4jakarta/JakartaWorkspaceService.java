@@ -13,12 +13,26 @@
 
 package org.eclipse.lsp4jakarta;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.ExecuteCommandParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
 import org.eclipse.lsp4j.services.WorkspaceService;
 
 public class JakartaWorkspaceService implements WorkspaceService {
 
+    /**
+     * The command which logs the metrics of the diagnostics collectors, and
+     * returns them.
+     */
+    public static final String LOG_METRICS_COMMAND = "jakarta.logMetrics";
+
     private final JakartaLanguageServer jakartaLanguageServer;
 
     public JakartaWorkspaceService(JakartaLanguageServer jls) {
@@ -35,4 +49,22 @@ public class JakartaWorkspaceService implements WorkspaceService {
         // Do nothing
     }
 
+    @Override
+    public CompletableFuture<Object> executeCommand(ExecuteCommandParams params) {
+        if (LOG_METRICS_COMMAND.equals(params.getCommand())) {
+            return ((JakartaTextDocumentService) jakartaLanguageServer.getTextDocumentService()).logJavaMetrics()
+                    .thenApply(metrics -> metrics);
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        result.completeExceptionally(new ResponseErrorException(new ResponseError(ResponseErrorCode.InvalidParams,
+                "Unsupported command: " + params.getCommand(), null)));
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<WorkspaceDiagnosticReport> diagnostic(WorkspaceDiagnosticParams params) {
+        return ((JakartaTextDocumentService) jakartaLanguageServer.getTextDocumentService())
+                .workspaceDiagnostic(params);
+    }
+
 }
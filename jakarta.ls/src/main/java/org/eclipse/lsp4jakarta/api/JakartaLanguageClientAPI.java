@@ -17,14 +17,17 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.lsp4j.CodeAction;
-import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4jakarta.commons.JakartaClasspathParams;
+import org.eclipse.lsp4jakarta.commons.JakartaCollectorMetrics;
 import org.eclipse.lsp4jakarta.commons.JakartaDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaDependentsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionResult;
+import org.eclipse.lsp4jakarta.commons.JakartaMetricsParams;
+import org.eclipse.lsp4jakarta.commons.JakartaPublishDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 
 /**
@@ -34,7 +37,8 @@ import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 public interface JakartaLanguageClientAPI extends LanguageClient {
 
     @JsonRequest("jakarta/java/diagnostics")
-    default CompletableFuture<List<PublishDiagnosticsParams>> getJavaDiagnostics(JakartaDiagnosticsParams javaParams) {
+    default CompletableFuture<List<JakartaPublishDiagnosticsParams>> getJavaDiagnostics(
+            JakartaDiagnosticsParams javaParams) {
         return CompletableFuture.completedFuture(null);
     }
 
@@ -56,8 +60,47 @@ public interface JakartaLanguageClientAPI extends LanguageClient {
         return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * @param params the saved file uri and the opened file uris
+     * @return the saved file uri and the uris of the opened files whose
+     *         diagnostics depend on the saved file
+     */
+    @JsonRequest("jakarta/java/dependents")
+    default CompletableFuture<List<String>> getJavaDependents(JakartaJavaDependentsParams params) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * @param params the file uris
+     * @return for each file uri, the fingerprint of what its diagnostics depend on
+     *         besides the contents of the file, or null if it is not known
+     */
+    @JsonRequest("jakarta/java/fingerprints")
+    default CompletableFuture<List<String>> getJavaFingerprints(JakartaDiagnosticsParams params) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * @param params whether the metrics must be reset
+     * @return the time spent in each diagnostics collector, the elements it
+     *         visited, the diagnostics it reported and the exceptions it threw
+     */
+    @JsonRequest("jakarta/java/metrics")
+    default CompletableFuture<List<JakartaCollectorMetrics>> getJavaMetrics(JakartaMetricsParams params) {
+        return CompletableFuture.completedFuture(null);
+    }
+
     @JsonRequest("jakarta/java/codeaction")
     default CompletableFuture<List<CodeAction>> getCodeAction(JakartaJavaCodeActionParams params) {
         return CompletableFuture.completedFuture(null);
     }
+
+    /**
+     * @param unresolved the code action without its edit
+     * @return the code action with its edit
+     */
+    @JsonRequest("jakarta/java/resolveCodeAction")
+    default CompletableFuture<CodeAction> resolveCodeAction(CodeAction unresolved) {
+        return CompletableFuture.completedFuture(null);
+    }
 }
@@ -0,0 +1,35 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.api;
+
+import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.eclipse.lsp4jakarta.commons.JakartaPartialDiagnosticsParams;
+
+/**
+ * API of the Language Server for Jakarta EE. Used by the client to send back
+ * the partial results of the requests about the Java project.
+ */
+public interface JakartaLanguageServerAPI extends LanguageServer {
+
+    /**
+     * Receives the diagnostics of one file of a running
+     * <code>jakarta/java/diagnostics</code> request.
+     *
+     * @param params the partial result token of the request and the diagnostics
+     *               of the file
+     */
+    @JsonNotification("jakarta/java/partialDiagnostics")
+    void partialJavaDiagnostics(JakartaPartialDiagnosticsParams params);
+}
@@ -22,6 +22,10 @@ public class JakartaDiagnosticsParams {
 
     private DocumentFormat documentFormat;
 
+    private String partialResultToken;
+
+    private int timeBudget;
+
     public JakartaDiagnosticsParams() {
         this(null);
     }
@@ -55,4 +59,48 @@ public class JakartaDiagnosticsParams {
     public void setDocumentFormat(DocumentFormat documentFormat) {
         this.documentFormat = documentFormat;
     }
+
+    /**
+     * Returns the token of the partial results, or null if the diagnostics must
+     * only be returned as a whole.
+     *
+     * @return the token of the partial results
+     */
+    public String getPartialResultToken() {
+        return partialResultToken;
+    }
+
+    /**
+     * Set the token of the partial results. When it is set, the diagnostics of
+     * each file may also be sent as soon as they are computed, with a
+     * <code>jakarta/java/partialDiagnostics</code> notification.
+     *
+     * @param partialResultToken the token of the partial results
+     */
+    public void setPartialResultToken(String partialResultToken) {
+        this.partialResultToken = partialResultToken;
+    }
+
+    /**
+     * Returns the time budget in milliseconds of the validation of the first uri,
+     * or 0 if the diagnostics must be computed whatever the time it takes.
+     *
+     * @return the time budget in milliseconds
+     */
+    public int getTimeBudget() {
+        return timeBudget;
+    }
+
+    /**
+     * Set the time budget in milliseconds of the validation of the first uri, the
+     * document being edited. The other uris are fully validated. Once the budget
+     * runs out, the checks which did not run yet keep their previous diagnostics,
+     * and the diagnostics of the first uri are marked as partial (see
+     * {@link JakartaPublishDiagnosticsParams#isPartial()}).
+     *
+     * @param timeBudget the time budget in milliseconds, or 0 for no budget
+     */
+    public void setTimeBudget(int timeBudget) {
+        this.timeBudget = timeBudget;
+    }
 }
@@ -30,6 +30,8 @@ public class JakartaJavaCodeActionParams extends CodeActionParams {
 
     private boolean resourceOperationSupported;
 
+    private boolean resolveSupported;
+
     public JakartaJavaCodeActionParams() {
         super();
     }
@@ -55,4 +57,19 @@ public class JakartaJavaCodeActionParams extends CodeActionParams {
         this.resourceOperationSupported = resourceOperationSupported;
     }
 
+    /**
+     * Returns true if the client resolves the edits of the code actions with
+     * <code>codeAction/resolve</code>, in which case they are not computed with
+     * the code actions.
+     *
+     * @return true if the client resolves the edits of the code actions.
+     */
+    public boolean isResolveSupported() {
+        return resolveSupported;
+    }
+
+    public void setResolveSupported(boolean resolveSupported) {
+        this.resolveSupported = resolveSupported;
+    }
+
 }
\ No newline at end of file
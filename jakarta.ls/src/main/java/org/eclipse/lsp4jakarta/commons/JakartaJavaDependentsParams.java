@@ -0,0 +1,71 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.commons;
+
+import java.util.List;
+
+/**
+ * Parameters of the request for the files to validate again when a file is
+ * saved.
+ */
+public class JakartaJavaDependentsParams {
+
+    private String uri;
+
+    private List<String> uris;
+
+    public JakartaJavaDependentsParams() {
+
+    }
+
+    public JakartaJavaDependentsParams(String uri, List<String> uris) {
+        setUri(uri);
+        setUris(uris);
+    }
+
+    /**
+     * Returns the uri of the saved file.
+     *
+     * @return the uri of the saved file.
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * Set the uri of the saved file.
+     *
+     * @param uri the uri of the saved file.
+     */
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    /**
+     * Returns the uris of the opened files.
+     *
+     * @return the uris of the opened files.
+     */
+    public List<String> getUris() {
+        return uris;
+    }
+
+    /**
+     * Set the uris of the opened files.
+     *
+     * @param uris the uris of the opened files.
+     */
+    public void setUris(List<String> uris) {
+        this.uris = uris;
+    }
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.diagnostics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+
+/**
+ * Publishes the diagnostics of the documents, unless they are the same as the
+ * last diagnostics published for the document.
+ *
+ * <p>
+ * Most validations, e.g. of the dependents of a saved file, compute the same
+ * diagnostics again. Sending them again serializes the same payload and makes
+ * the client render the same markers again. The last published diagnostics of
+ * each document are kept, and compared structurally with the new ones.
+ * </p>
+ */
+public class DiagnosticsPublisher {
+
+    private final Consumer<PublishDiagnosticsParams> client;
+
+    private final Map<String, List<Diagnostic>> published = new ConcurrentHashMap<>();
+
+    private final AtomicLong sentCount = new AtomicLong();
+
+    private final AtomicLong suppressedCount = new AtomicLong();
+
+    /**
+     * @param client the consumer which sends the diagnostics to the client
+     */
+    public DiagnosticsPublisher(Consumer<PublishDiagnosticsParams> client) {
+        this.client = client;
+    }
+
+    /**
+     * Publishes the given diagnostics if they differ from the last diagnostics
+     * published for their document.
+     *
+     * @param params the diagnostics of a document
+     * @return true if the diagnostics were sent and false otherwise
+     */
+    public boolean publish(PublishDiagnosticsParams params) {
+        List<Diagnostic> diagnostics = params.getDiagnostics() != null ? params.getDiagnostics()
+                : new ArrayList<>();
+        // a copy, so that the list given to the client can be changed
+        List<Diagnostic> previous = published.put(params.getUri(), new ArrayList<>(diagnostics));
+        if (diagnostics.equals(previous)) {
+            suppressedCount.incrementAndGet();
+            return false;
+        }
+        sentCount.incrementAndGet();
+        client.accept(params);
+        return true;
+    }
+
+    /**
+     * Clears the diagnostics of the given document, and forgets them.
+     *
+     * @param uri the document URI
+     */
+    public void clear(String uri) {
+        published.remove(uri);
+        sentCount.incrementAndGet();
+        client.accept(new PublishDiagnosticsParams(uri, new ArrayList<Diagnostic>()));
+    }
+
+    /**
+     * Returns the number of publications sent to the client.
+     *
+     * @return the number of publications sent to the client
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * Returns the number of publications which were not sent to the client as
+     * they were the same as the previous one.
+     *
+     * @return the number of suppressed publications
+     */
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+}
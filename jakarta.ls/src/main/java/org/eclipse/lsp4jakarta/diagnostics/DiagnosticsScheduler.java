@@ -0,0 +1,548 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4jakarta.commons.JakartaPublishDiagnosticsParams;
+
+/**
+ * Schedules the validation of the Java documents.
+ *
+ * <p>
+ * The validation of a changed document is debounced: it is requested once the
+ * document has not changed for {@link #getDelay()} milliseconds. Each request
+ * is tagged with the versions of its documents. A request is cancelled once
+ * newer versions of all its documents are known, and the diagnostics computed
+ * for a version which is not the latest one are dropped instead of being
+ * published. The diagnostics of each document are published as soon as the
+ * validator streams them, without waiting for the other documents of the
+ * request.
+ * </p>
+ *
+ * <p>
+ * The validations are prioritized: the documents which are edited, opened or
+ * saved are validated at once, while the other documents, e.g. the other open
+ * documents when the classpath changes, are queued in the background. The
+ * background documents are only validated while no other validation runs, and
+ * a running background validation is cancelled, and its documents queued
+ * again, when a document must be validated at once.
+ * </p>
+ *
+ * <p>
+ * The validation of the active document, when it is not in the background, is
+ * given a time budget of {@link #getTimeBudget()} milliseconds; the other
+ * documents of the request have no budget. When the active document's
+ * diagnostics are partial because the budget ran out, they are published, as
+ * the checks which did not run keep their previous diagnostics, and the
+ * document is validated again in the background, so that a slow check does
+ * not hold back the diagnostics of the fast ones.
+ * </p>
+ */
+public class DiagnosticsScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(DiagnosticsScheduler.class.getName());
+
+    /**
+     * The default delay in milliseconds between the last change of a document and
+     * its validation.
+     */
+    public static final long DEFAULT_DELAY = 500;
+
+    /**
+     * The default time budget in milliseconds of the validations which are not in
+     * the background.
+     */
+    public static final int DEFAULT_TIME_BUDGET = 1000;
+
+    /**
+     * Requests the diagnostics of documents.
+     */
+    @FunctionalInterface
+    public interface Validator {
+
+        /**
+         * Requests the diagnostics of the given documents.
+         *
+         * @param uris           the document URIs
+         * @param partialResults the consumer of the diagnostics of each document,
+         *                       as soon as they are computed
+         * @return the diagnostics of the given documents
+         */
+        CompletableFuture<List<PublishDiagnosticsParams>> validate(List<String> uris,
+                Consumer<PublishDiagnosticsParams> partialResults);
+
+        /**
+         * Requests the diagnostics of the given documents, the first one being
+         * computed within the given time budget. The diagnostics of the first
+         * document are marked as partial when it was not fully validated within
+         * the budget, see {@link JakartaPublishDiagnosticsParams#isPartial()}.
+         *
+         * @param uris           the document URIs
+         * @param partialResults the consumer of the diagnostics of each document,
+         *                       as soon as they are computed
+         * @param timeBudget     the time budget in milliseconds of the first
+         *                       document, or 0 for no budget
+         * @return the diagnostics of the given documents
+         */
+        default CompletableFuture<List<PublishDiagnosticsParams>> validate(List<String> uris,
+                Consumer<PublishDiagnosticsParams> partialResults, int timeBudget) {
+            return validate(uris, partialResults);
+        }
+    }
+
+    private static class Request {
+
+        private final Map<String, Integer> versions;
+
+        // the documents whose diagnostics were already published
+        private final Set<String> published = ConcurrentHashMap.newKeySet();
+
+        // the documents whose diagnostics were partial
+        private final Set<String> partial = ConcurrentHashMap.newKeySet();
+
+        private final boolean background;
+
+        private boolean preempted;
+
+        private CompletableFuture<List<PublishDiagnosticsParams>> future;
+
+        private Request(Map<String, Integer> versions, boolean background) {
+            this.versions = versions;
+            this.background = background;
+        }
+    }
+
+    private static class DocumentState {
+
+        private int version;
+
+        private ScheduledFuture<?> pending;
+
+        private Request request;
+
+        private DocumentState(int version) {
+            this.version = version;
+        }
+    }
+
+    private final Validator validator;
+
+    private final Consumer<PublishDiagnosticsParams> publisher;
+
+    private final ScheduledExecutorService executor;
+
+    private final Map<String, DocumentState> documents = new HashMap<>();
+
+    // the documents to validate in the background, in order
+    private final Set<String> backgroundQueue = new LinkedHashSet<>();
+
+    private Request backgroundRequest;
+
+    private int foregroundCount;
+
+    private String activeUri;
+
+    private volatile long delay = DEFAULT_DELAY;
+
+    private volatile int timeBudget = DEFAULT_TIME_BUDGET;
+
+    /**
+     * @param validator the function which requests the diagnostics of the given
+     *                  document URIs
+     * @param publisher the consumer which publishes the diagnostics of a
+     *                  document
+     */
+    public DiagnosticsScheduler(Function<List<String>, CompletableFuture<List<PublishDiagnosticsParams>>> validator,
+            Consumer<PublishDiagnosticsParams> publisher) {
+        this((uris, partialResults) -> validator.apply(uris), publisher);
+    }
+
+    /**
+     * @param validator the validator which requests the diagnostics of the given
+     *                  document URIs, and may stream the diagnostics of each
+     *                  document
+     * @param publisher the consumer which publishes the diagnostics of a
+     *                  document
+     */
+    public DiagnosticsScheduler(Validator validator, Consumer<PublishDiagnosticsParams> publisher) {
+        this.validator = validator;
+        this.publisher = publisher;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Jakarta diagnostics scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the delay in milliseconds between the last change of a document and
+     * its validation.
+     *
+     * @return the delay in milliseconds
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * Sets the delay in milliseconds between the last change of a document and
+     * its validation.
+     *
+     * @param delay the delay in milliseconds
+     */
+    public void setDelay(long delay) {
+        this.delay = Math.max(0, delay);
+    }
+
+    /**
+     * Returns the time budget in milliseconds of the validation of the active
+     * document, when it is not in the background, or 0 if it has no budget.
+     *
+     * @return the time budget in milliseconds
+     */
+    public int getTimeBudget() {
+        return timeBudget;
+    }
+
+    /**
+     * Sets the time budget in milliseconds of the validation of the active
+     * document, when it is not in the background.
+     *
+     * @param timeBudget the time budget in milliseconds, or 0 for no budget
+     */
+    public void setTimeBudget(int timeBudget) {
+        this.timeBudget = Math.max(0, timeBudget);
+    }
+
+    /**
+     * Validates the given version of the given document as soon as possible, e.g.
+     * when the document is opened.
+     *
+     * @param uri     the document URI
+     * @param version the document version
+     */
+    public void documentOpened(String uri, int version) {
+        synchronized (documents) {
+            update(uri, version);
+        }
+        validate(List.of(uri));
+    }
+
+    /**
+     * Validates the given version of the given document once it has not changed
+     * for {@link #getDelay()} milliseconds.
+     *
+     * @param uri     the document URI
+     * @param version the document version
+     */
+    public void documentChanged(String uri, int version) {
+        synchronized (documents) {
+            DocumentState state = update(uri, version);
+            state.pending = executor.schedule(() -> validate(List.of(uri)), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Forgets the given document, and drops its pending validation.
+     *
+     * @param uri the document URI
+     */
+    public void documentClosed(String uri) {
+        synchronized (documents) {
+            backgroundQueue.remove(uri);
+            if (uri.equals(activeUri)) {
+                activeUri = null;
+            }
+            DocumentState state = documents.remove(uri);
+            if (state != null) {
+                cancel(state);
+            }
+        }
+    }
+
+    /**
+     * Returns the URI of the document which was last opened or changed, or null.
+     *
+     * @return the URI of the active document or null
+     */
+    public String getActiveUri() {
+        synchronized (documents) {
+            return activeUri;
+        }
+    }
+
+    /**
+     * Validates the current version of the given active document at once, and
+     * the other given documents in the background. The documents which are not
+     * open are ignored.
+     *
+     * @param uris      the document URIs
+     * @param activeUri the URI of the document to validate first, or null
+     */
+    public void validate(Collection<String> uris, String activeUri) {
+        List<String> background = new ArrayList<>(uris);
+        if (activeUri != null && background.remove(activeUri)) {
+            validate(List.of(activeUri));
+        }
+        validateInBackground(background);
+    }
+
+    /**
+     * Queues the validation of the given documents in the background. The
+     * documents which are not open are ignored.
+     *
+     * @param uris the document URIs
+     */
+    public void validateInBackground(Collection<String> uris) {
+        synchronized (documents) {
+            for (String uri : uris) {
+                DocumentState state = documents.get(uri);
+                // a pending validation covers the document
+                if (state != null && state.pending == null) {
+                    backgroundQueue.add(uri);
+                }
+            }
+        }
+        startBackground();
+    }
+
+    /**
+     * Validates the current versions of the given documents at once. The
+     * documents which are not open are ignored.
+     *
+     * @param uris the document URIs
+     */
+    public void validate(Collection<String> uris) {
+        Request request;
+        synchronized (documents) {
+            Map<String, Integer> versions = new HashMap<>();
+            for (String uri : uris) {
+                DocumentState state = documents.get(uri);
+                if (state != null) {
+                    if (state.pending != null) {
+                        // this request covers the pending validation
+                        state.pending.cancel(false);
+                        state.pending = null;
+                    }
+                    versions.put(uri, state.version);
+                }
+            }
+            if (versions.isEmpty()) {
+                return;
+            }
+            request = createRequest(versions, false);
+            foregroundCount++;
+            preemptBackground();
+        }
+        send(request);
+    }
+
+    /**
+     * Validates the queued background documents, unless another validation
+     * runs.
+     */
+    private void startBackground() {
+        Request request;
+        synchronized (documents) {
+            if (foregroundCount > 0 || backgroundRequest != null || backgroundQueue.isEmpty()) {
+                return;
+            }
+            Map<String, Integer> versions = new HashMap<>();
+            for (String uri : backgroundQueue) {
+                versions.put(uri, documents.get(uri).version);
+            }
+            backgroundQueue.clear();
+            request = createRequest(versions, true);
+            backgroundRequest = request;
+        }
+        send(request);
+    }
+
+    /**
+     * Cancels the running background validation and queues its documents again.
+     */
+    private void preemptBackground() {
+        Request request = backgroundRequest;
+        if (request == null) {
+            return;
+        }
+        backgroundRequest = null;
+        request.preempted = true;
+        for (String uri : request.versions.keySet()) {
+            if (documents.containsKey(uri) && !request.published.contains(uri)) {
+                backgroundQueue.add(uri);
+            }
+        }
+        if (request.future != null) {
+            request.future.cancel(true);
+        }
+    }
+
+    private Request createRequest(Map<String, Integer> versions, boolean background) {
+        Request request = new Request(versions, background);
+        for (String uri : versions.keySet()) {
+            documents.get(uri).request = request;
+        }
+        return request;
+    }
+
+    private void send(Request request) {
+        List<String> uris = new ArrayList<>(request.versions.keySet());
+        int budget = 0;
+        synchronized (documents) {
+            // the budget only applies to the active document, which is sent first;
+            // the background validations complete the partial ones, so they have no budget
+            if (!request.background && activeUri != null && uris.remove(activeUri)) {
+                uris.add(0, activeUri);
+                budget = timeBudget;
+            }
+        }
+        CompletableFuture<List<PublishDiagnosticsParams>> future = validator.validate(uris,
+                params -> publish(request, params), budget);
+        synchronized (documents) {
+            request.future = future;
+            if (request.preempted || isSuperseded(request)) {
+                future.cancel(true);
+            }
+        }
+        future.whenComplete((diagnostics, e) -> {
+            if (e != null) {
+                if (!(e instanceof CancellationException || e.getCause() instanceof CancellationException)) {
+                    LOGGER.severe("Return LSP4Jakarta getJavaDiagnostics() from client did not succeed: "
+                            + (e instanceof CompletionException ? e.getCause() : e).getMessage());
+                }
+            } else if (diagnostics != null) {
+                for (PublishDiagnosticsParams params : diagnostics) {
+                    publish(request, params);
+                }
+            }
+            completed(request);
+        });
+    }
+
+    private void completed(Request request) {
+        synchronized (documents) {
+            if (!request.background) {
+                foregroundCount--;
+            } else if (backgroundRequest == request) {
+                backgroundRequest = null;
+            }
+            // the complete diagnostics of the partially validated documents follow
+            for (String uri : request.partial) {
+                DocumentState state = documents.get(uri);
+                if (state != null && state.pending == null && state.version == request.versions.get(uri)) {
+                    backgroundQueue.add(uri);
+                }
+            }
+        }
+        // the background documents wait for the foreground validations
+        startBackground();
+    }
+
+    /**
+     * Stops the scheduler.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void publish(Request request, PublishDiagnosticsParams params) {
+        Integer version = request.versions.get(params.getUri());
+        if (version == null || !request.published.add(params.getUri())) {
+            // streamed already
+            return;
+        }
+        boolean current;
+        synchronized (documents) {
+            DocumentState state = documents.get(params.getUri());
+            current = state != null && state.version == version;
+            if (current && state.request == request) {
+                state.request = null;
+            }
+        }
+        if (!current) {
+            return;
+        }
+        if (isPartial(params)) {
+            // the checks which did not run kept their previous diagnostics
+            request.partial.add(params.getUri());
+            params = new PublishDiagnosticsParams(params.getUri(), params.getDiagnostics());
+        }
+        params.setVersion(version);
+        publisher.accept(params);
+    }
+
+    private static boolean isPartial(PublishDiagnosticsParams params) {
+        return params instanceof JakartaPublishDiagnosticsParams
+                && ((JakartaPublishDiagnosticsParams) params).isPartial();
+    }
+
+    private DocumentState update(String uri, int version) {
+        activeUri = uri;
+        backgroundQueue.remove(uri);
+        DocumentState state = documents.get(uri);
+        if (state == null) {
+            state = new DocumentState(version);
+            documents.put(uri, state);
+            return state;
+        }
+        state.version = version;
+        cancel(state);
+        return state;
+    }
+
+    /**
+     * Cancels the pending validation of the given document, and its running
+     * request if all the documents of the request changed since.
+     */
+    private void cancel(DocumentState state) {
+        if (state.pending != null) {
+            state.pending.cancel(false);
+            state.pending = null;
+        }
+        Request request = state.request;
+        if (request != null && request.future != null && isSuperseded(request)) {
+            request.future.cancel(true);
+        }
+    }
+
+    private boolean isSuperseded(Request request) {
+        for (Map.Entry<String, Integer> entry : request.versions.entrySet()) {
+            DocumentState state = documents.get(entry.getKey());
+            if (state != null && state.version == entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
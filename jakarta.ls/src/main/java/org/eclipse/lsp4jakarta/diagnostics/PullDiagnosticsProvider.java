@@ -0,0 +1,215 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.lsp4jakarta.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.RelatedFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.RelatedUnchangedDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceUnchangedDocumentDiagnosticReport;
+
+/**
+ * Computes the reports of the pull diagnostics requests,
+ * <code>textDocument/diagnostic</code> and <code>workspace/diagnostic</code>.
+ *
+ * <p>
+ * Each report is given a result id made of the version of the document and of
+ * the fingerprint of what its diagnostics depend on besides its contents, i.e.
+ * the classpath and the files it depends on. When the client sends back the
+ * result id of the current version and fingerprint, the diagnostics are
+ * reported as unchanged without being computed again. The fingerprints are
+ * much cheaper to get than the diagnostics.
+ * </p>
+ */
+public class PullDiagnosticsProvider {
+
+    private static final Logger LOGGER = Logger.getLogger(PullDiagnosticsProvider.class.getName());
+
+    private final Function<List<String>, CompletableFuture<List<String>>> fingerprinter;
+
+    private final Function<List<String>, CompletableFuture<List<PublishDiagnosticsParams>>> validator;
+
+    private final AtomicLong fullCount = new AtomicLong();
+
+    private final AtomicLong unchangedCount = new AtomicLong();
+
+    /**
+     * @param fingerprinter the function which requests the fingerprints of the
+     *                      given document URIs
+     * @param validator     the function which requests the diagnostics of the
+     *                      given document URIs
+     */
+    public PullDiagnosticsProvider(Function<List<String>, CompletableFuture<List<String>>> fingerprinter,
+            Function<List<String>, CompletableFuture<List<PublishDiagnosticsParams>>> validator) {
+        this.fingerprinter = fingerprinter;
+        this.validator = validator;
+    }
+
+    /**
+     * Returns the result id of the given version of a document with the given
+     * fingerprint, or null if the version or the fingerprint is not known.
+     *
+     * @param version     the document version
+     * @param fingerprint the fingerprint of what the diagnostics of the document
+     *                    depend on
+     * @return the result id or null
+     */
+    public static String getResultId(Integer version, String fingerprint) {
+        if (version == null || fingerprint == null) {
+            return null;
+        }
+        return version + ":" + fingerprint;
+    }
+
+    /**
+     * Returns the diagnostics report of the given document.
+     *
+     * @param uri              the document URI
+     * @param version          the current document version, or null if the
+     *                         document is not open
+     * @param previousResultId the result id of the previous report sent to the
+     *                         client, or null
+     * @return the diagnostics report of the given document
+     */
+    public CompletableFuture<DocumentDiagnosticReport> getDocumentReport(String uri, Integer version,
+            String previousResultId) {
+        List<String> uris = Collections.singletonList(uri);
+        return getFingerprints(uris).thenCompose(fingerprints -> {
+            String resultId = getResultId(version, fingerprints.get(0));
+            if (resultId != null && resultId.equals(previousResultId)) {
+                unchangedCount.incrementAndGet();
+                return CompletableFuture.completedFuture(
+                        new DocumentDiagnosticReport(new RelatedUnchangedDocumentDiagnosticReport(resultId)));
+            }
+            return validator.apply(uris).thenApply(diagnostics -> {
+                fullCount.incrementAndGet();
+                RelatedFullDocumentDiagnosticReport report = new RelatedFullDocumentDiagnosticReport(
+                        getDiagnostics(diagnostics).getOrDefault(uri, new ArrayList<>()));
+                report.setResultId(resultId);
+                return new DocumentDiagnosticReport(report);
+            });
+        });
+    }
+
+    /**
+     * Returns the diagnostics report of the given documents. The diagnostics of
+     * all the changed documents are computed at once.
+     *
+     * @param versions          the current versions of the documents, by URI
+     * @param previousResultIds the result ids of the previous reports sent to the
+     *                          client, by URI
+     * @return the diagnostics report of the given documents
+     */
+    public CompletableFuture<WorkspaceDiagnosticReport> getWorkspaceReport(Map<String, Integer> versions,
+            Map<String, String> previousResultIds) {
+        List<String> uris = new ArrayList<>(versions.keySet());
+        if (uris.isEmpty()) {
+            return CompletableFuture.completedFuture(new WorkspaceDiagnosticReport(new ArrayList<>()));
+        }
+        return getFingerprints(uris).thenCompose(fingerprints -> {
+            List<WorkspaceDocumentDiagnosticReport> items = new ArrayList<>();
+            Map<String, String> resultIds = new HashMap<>();
+            List<String> changed = new ArrayList<>();
+            for (int i = 0; i < uris.size(); i++) {
+                String uri = uris.get(i);
+                Integer version = versions.get(uri);
+                String resultId = getResultId(version, fingerprints.get(i));
+                if (resultId != null && resultId.equals(previousResultIds.get(uri))) {
+                    unchangedCount.incrementAndGet();
+                    items.add(new WorkspaceDocumentDiagnosticReport(
+                            new WorkspaceUnchangedDocumentDiagnosticReport(resultId, uri, version)));
+                } else {
+                    resultIds.put(uri, resultId);
+                    changed.add(uri);
+                }
+            }
+            if (changed.isEmpty()) {
+                return CompletableFuture.completedFuture(new WorkspaceDiagnosticReport(items));
+            }
+            return validator.apply(changed).thenApply(diagnostics -> {
+                Map<String, List<Diagnostic>> diagnosticsByUri = getDiagnostics(diagnostics);
+                for (String uri : changed) {
+                    fullCount.incrementAndGet();
+                    WorkspaceFullDocumentDiagnosticReport report = new WorkspaceFullDocumentDiagnosticReport(
+                            diagnosticsByUri.getOrDefault(uri, new ArrayList<>()), uri, versions.get(uri));
+                    report.setResultId(resultIds.get(uri));
+                    items.add(new WorkspaceDocumentDiagnosticReport(report));
+                }
+                return new WorkspaceDiagnosticReport(items);
+            });
+        });
+    }
+
+    /**
+     * Returns the number of reports sent with the computed diagnostics.
+     *
+     * @return the number of full reports
+     */
+    public long getFullCount() {
+        return fullCount.get();
+    }
+
+    /**
+     * Returns the number of reports sent as unchanged, without computing the
+     * diagnostics.
+     *
+     * @return the number of unchanged reports
+     */
+    public long getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    /**
+     * Returns the fingerprints of the given URIs, with null for the unknown ones.
+     */
+    private CompletableFuture<List<String>> getFingerprints(List<String> uris) {
+        return fingerprinter.apply(uris).handle((fingerprints, e) -> {
+            if (e != null) {
+                LOGGER.warning("Return LSP4Jakarta getJavaFingerprints() from client did not succeed: "
+                        + e.getMessage());
+            }
+            if (e != null || fingerprints == null || fingerprints.size() != uris.size()) {
+                // the diagnostics are computed again
+                return Collections.nCopies(uris.size(), null);
+            }
+            return fingerprints;
+        });
+    }
+
+    private static Map<String, List<Diagnostic>> getDiagnostics(List<PublishDiagnosticsParams> diagnostics) {
+        Map<String, List<Diagnostic>> diagnosticsByUri = new HashMap<>();
+        if (diagnostics != null) {
+            for (PublishDiagnosticsParams params : diagnostics) {
+                if (params.getDiagnostics() != null) {
+                    diagnosticsByUri.put(params.getUri(), params.getDiagnostics());
+                }
+            }
+        }
+        return diagnosticsByUri;
+    }
+}
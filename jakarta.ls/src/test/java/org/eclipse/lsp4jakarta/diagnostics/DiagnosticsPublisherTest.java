@@ -0,0 +1,73 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.diagnostics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.junit.Test;
+
+/**
+ * Test for the suppression of the unchanged diagnostics.
+ */
+public class DiagnosticsPublisherTest {
+
+    private static final String URI = "file:///A.java";
+
+    private final List<PublishDiagnosticsParams> sent = new ArrayList<>();
+
+    private final DiagnosticsPublisher publisher = new DiagnosticsPublisher(sent::add);
+
+    private static PublishDiagnosticsParams params(String... messages) {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        for (String message : messages) {
+            diagnostics.add(new Diagnostic(new Range(new Position(0, 0), new Position(0, 5)), message,
+                    DiagnosticSeverity.Error, "jakarta-servlet"));
+        }
+        return new PublishDiagnosticsParams(URI, diagnostics);
+    }
+
+    @Test
+    public void suppressUnchangedDiagnostics() {
+        assertTrue(publisher.publish(params("a")));
+        // the same diagnostics, in new instances
+        assertFalse(publisher.publish(params("a")));
+        assertTrue(publisher.publish(params("a", "b")));
+        assertTrue(publisher.publish(params()));
+        assertFalse(publisher.publish(params()));
+
+        assertEquals(3, sent.size());
+        assertEquals(3, publisher.getSentCount());
+        assertEquals(2, publisher.getSuppressedCount());
+    }
+
+    @Test
+    public void publishAgainAfterClear() {
+        publisher.publish(params("a"));
+        publisher.clear(URI);
+        assertTrue(sent.get(1).getDiagnostics().isEmpty());
+
+        // the document was reopened
+        assertTrue(publisher.publish(params("a")));
+        assertEquals(3, sent.size());
+    }
+}
@@ -0,0 +1,233 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.diagnostics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4jakarta.commons.JakartaPublishDiagnosticsParams;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test for the debouncing and the versioning of the validations.
+ */
+public class DiagnosticsSchedulerTest {
+
+    private static final String URI = "file:///A.java";
+
+    private final List<List<String>> requested = new CopyOnWriteArrayList<>();
+
+    private final List<CompletableFuture<List<PublishDiagnosticsParams>>> futures = new CopyOnWriteArrayList<>();
+
+    private final List<PublishDiagnosticsParams> published = new CopyOnWriteArrayList<>();
+
+    private final DiagnosticsScheduler scheduler = new DiagnosticsScheduler(uris -> {
+        requested.add(uris);
+        CompletableFuture<List<PublishDiagnosticsParams>> future = new CompletableFuture<>();
+        futures.add(future);
+        return future;
+    }, published::add);
+
+    @After
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private static List<PublishDiagnosticsParams> result(String... uris) {
+        List<PublishDiagnosticsParams> result = new ArrayList<>();
+        for (String uri : uris) {
+            result.add(new PublishDiagnosticsParams(uri, new ArrayList<>()));
+        }
+        return result;
+    }
+
+    @Test
+    public void debounceChanges() throws InterruptedException {
+        scheduler.setDelay(100);
+        scheduler.documentOpened(URI, 1);
+        for (int version = 2; version <= 5; version++) {
+            scheduler.documentChanged(URI, version);
+        }
+        Thread.sleep(500);
+
+        // one request for the opening, one for the last change
+        assertEquals(2, requested.size());
+        futures.get(1).complete(result(URI));
+        assertEquals(1, published.size());
+        assertEquals(Integer.valueOf(5), published.get(0).getVersion());
+    }
+
+    @Test
+    public void cancelSupersededRequests() {
+        scheduler.documentOpened(URI, 1);
+        scheduler.documentChanged(URI, 2);
+
+        assertTrue(futures.get(0).isCancelled());
+        futures.get(0).complete(result(URI));
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    public void dropOutdatedDiagnostics() {
+        scheduler.documentOpened(URI, 1);
+        scheduler.documentOpened("file:///B.java", 1);
+        scheduler.validate(List.of(URI, "file:///B.java"));
+        scheduler.documentChanged(URI, 2);
+
+        // B is still current, so the request goes on
+        CompletableFuture<List<PublishDiagnosticsParams>> all = futures.get(2);
+        assertFalse(all.isCancelled());
+        all.complete(result(URI, "file:///B.java"));
+        assertEquals(List.of("file:///B.java"),
+                published.stream().map(PublishDiagnosticsParams::getUri).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void validateActiveDocumentFirst() {
+        String uriB = "file:///B.java";
+        String uriC = "file:///C.java";
+        scheduler.documentOpened(uriB, 1);
+        scheduler.documentOpened(uriC, 1);
+        scheduler.documentOpened(URI, 1);
+        futures.forEach(future -> future.complete(result()));
+        assertEquals(URI, scheduler.getActiveUri());
+
+        scheduler.validate(List.of(URI, uriB, uriC), URI);
+        // the background documents wait for the active one
+        assertEquals(List.of(URI), requested.get(3));
+        assertEquals(4, requested.size());
+        futures.get(3).complete(result(URI));
+        assertEquals(Set.of(uriB, uriC), Set.copyOf(requested.get(4)));
+
+        // a foreground validation preempts the background one
+        scheduler.validate(List.of(URI));
+        assertTrue(futures.get(4).isCancelled());
+        futures.get(5).complete(result(URI));
+        assertEquals(7, requested.size());
+        assertEquals(Set.of(uriB, uriC), Set.copyOf(requested.get(6)));
+    }
+
+    @Test
+    public void revalidatePartialDiagnosticsInBackground() {
+        String uriB = "file:///B.java";
+        scheduler.documentOpened(URI, 1);
+        scheduler.documentOpened(uriB, 1);
+        Diagnostic diagnostic = new Diagnostic(new Range(new Position(0, 0), new Position(0, 1)), "fast check");
+        JakartaPublishDiagnosticsParams partialA = new JakartaPublishDiagnosticsParams(URI, List.of(diagnostic));
+        partialA.setPartial(true);
+        JakartaPublishDiagnosticsParams partialB = new JakartaPublishDiagnosticsParams(uriB, new ArrayList<>());
+        partialB.setPartial(true);
+        futures.get(0).complete(List.of(partialA));
+        futures.get(1).complete(List.of(partialB));
+
+        // the partial diagnostics are published, as they keep those of the checks which did not run
+        assertEquals(List.of(URI, uriB),
+                published.stream().map(PublishDiagnosticsParams::getUri).collect(Collectors.toList()));
+        assertFalse(published.get(0) instanceof JakartaPublishDiagnosticsParams);
+        // both documents are validated again in the background
+        assertEquals(3, requested.size());
+        assertEquals(Set.of(URI, uriB), Set.copyOf(requested.get(2)));
+        futures.get(2).complete(result(URI, uriB));
+        assertEquals(List.of(URI, uriB, URI, uriB),
+                published.stream().map(PublishDiagnosticsParams::getUri).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void budgetOnlyTheActiveDocument() {
+        List<Integer> budgets = new CopyOnWriteArrayList<>();
+        DiagnosticsScheduler budgeted = new DiagnosticsScheduler(new DiagnosticsScheduler.Validator() {
+
+            @Override
+            public CompletableFuture<List<PublishDiagnosticsParams>> validate(List<String> uris,
+                    Consumer<PublishDiagnosticsParams> partialResults) {
+                return validate(uris, partialResults, 0);
+            }
+
+            @Override
+            public CompletableFuture<List<PublishDiagnosticsParams>> validate(List<String> uris,
+                    Consumer<PublishDiagnosticsParams> partialResults, int timeBudget) {
+                requested.add(uris);
+                budgets.add(timeBudget);
+                CompletableFuture<List<PublishDiagnosticsParams>> future = new CompletableFuture<>();
+                futures.add(future);
+                return future;
+            }
+        }, published::add);
+        try {
+            String uriB = "file:///B.java";
+            budgeted.setTimeBudget(200);
+            budgeted.documentOpened(uriB, 1);
+            budgeted.documentOpened(URI, 1);
+            futures.forEach(future -> future.complete(result()));
+
+            // the active document is sent first, with the budget
+            budgeted.validate(List.of(uriB, URI));
+            assertEquals(List.of(URI, uriB), requested.get(2));
+            assertEquals(List.of(200, 200, 200), budgets);
+
+            // a foreground validation without the active document has no budget
+            budgeted.validate(List.of(uriB));
+            assertEquals(Integer.valueOf(0), budgets.get(3));
+
+            // the background validation completing a partial one has no budget
+            JakartaPublishDiagnosticsParams partial = new JakartaPublishDiagnosticsParams(URI, new ArrayList<>());
+            partial.setPartial(true);
+            futures.get(2).complete(List.of(partial, result(uriB).get(0)));
+            futures.get(3).complete(result(uriB));
+            assertEquals(List.of(URI), requested.get(4));
+            assertEquals(Integer.valueOf(0), budgets.get(4));
+        } finally {
+            budgeted.shutdown();
+        }
+    }
+
+    @Test
+    public void publishStreamedDiagnostics() {
+        List<Consumer<PublishDiagnosticsParams>> partialResults = new CopyOnWriteArrayList<>();
+        DiagnosticsScheduler streaming = new DiagnosticsScheduler((uris, partial) -> {
+            partialResults.add(partial);
+            CompletableFuture<List<PublishDiagnosticsParams>> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        }, published::add);
+        try {
+            streaming.documentOpened(URI, 1);
+            streaming.documentOpened("file:///B.java", 1);
+            streaming.validate(List.of(URI, "file:///B.java"));
+
+            // A is published before the request completes, and only once
+            partialResults.get(2).accept(result(URI).get(0));
+            assertEquals(List.of(URI),
+                    published.stream().map(PublishDiagnosticsParams::getUri).collect(Collectors.toList()));
+            futures.get(2).complete(result(URI, "file:///B.java"));
+            assertEquals(List.of(URI, "file:///B.java"),
+                    published.stream().map(PublishDiagnosticsParams::getUri).collect(Collectors.toList()));
+        } finally {
+            streaming.shutdown();
+        }
+    }
+}
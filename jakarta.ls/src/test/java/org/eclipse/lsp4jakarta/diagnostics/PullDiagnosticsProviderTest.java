@@ -0,0 +1,102 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.diagnostics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceDocumentDiagnosticReport;
+import org.junit.Test;
+
+/**
+ * Test for the result ids of the pull diagnostics.
+ */
+public class PullDiagnosticsProviderTest {
+
+    private static final String URI_A = "file:///A.java";
+
+    private static final String URI_B = "file:///B.java";
+
+    private final Map<String, String> fingerprints = new HashMap<>();
+
+    private final List<List<String>> validated = new ArrayList<>();
+
+    private final PullDiagnosticsProvider provider = new PullDiagnosticsProvider(
+            uris -> CompletableFuture.completedFuture(uris.stream().map(fingerprints::get).collect(Collectors.toList())),
+            uris -> {
+                validated.add(uris);
+                List<PublishDiagnosticsParams> diagnostics = new ArrayList<>();
+                for (String uri : uris) {
+                    diagnostics.add(new PublishDiagnosticsParams(uri, new ArrayList<>()));
+                }
+                return CompletableFuture.completedFuture(diagnostics);
+            });
+
+    @Test
+    public void reportUnchangedDocument() throws Exception {
+        fingerprints.put(URI_A, "f1");
+        DocumentDiagnosticReport first = provider.getDocumentReport(URI_A, 1, null).get();
+        String resultId = first.getRelatedFullDocumentDiagnosticReport().getResultId();
+        assertEquals("1:f1", resultId);
+
+        DocumentDiagnosticReport second = provider.getDocumentReport(URI_A, 1, resultId).get();
+        assertTrue(second.isRelatedUnchangedDocumentDiagnosticReport());
+        assertEquals(1, validated.size());
+
+        // a dependency changed
+        fingerprints.put(URI_A, "f2");
+        DocumentDiagnosticReport third = provider.getDocumentReport(URI_A, 1, resultId).get();
+        assertTrue(third.isRelatedFullDocumentDiagnosticReport());
+        // a new version
+        provider.getDocumentReport(URI_A, 2, "1:f2").get();
+        assertEquals(3, validated.size());
+        assertEquals(1, provider.getUnchangedCount());
+    }
+
+    @Test
+    public void unknownFingerprint() throws Exception {
+        DocumentDiagnosticReport report = provider.getDocumentReport(URI_A, 1, null).get();
+        assertNull(report.getRelatedFullDocumentDiagnosticReport().getResultId());
+    }
+
+    @Test
+    public void validateChangedDocumentsOnly() throws Exception {
+        fingerprints.put(URI_A, "f1");
+        fingerprints.put(URI_B, "f1");
+        Map<String, Integer> versions = Map.of(URI_A, 1, URI_B, 3);
+        WorkspaceDiagnosticReport report = provider.getWorkspaceReport(versions, Map.of(URI_A, "1:f1", URI_B, "2:f1"))
+                .get();
+
+        assertEquals(List.of(List.of(URI_B)), validated);
+        assertEquals(2, report.getItems().size());
+        for (WorkspaceDocumentDiagnosticReport item : report.getItems()) {
+            if (item.isWorkspaceUnchangedDocumentDiagnosticReport()) {
+                assertEquals(URI_A, item.getWorkspaceUnchangedDocumentDiagnosticReport().getUri());
+            } else {
+                assertEquals(URI_B, item.getWorkspaceFullDocumentDiagnosticReport().getUri());
+                assertEquals("3:f1", item.getWorkspaceFullDocumentDiagnosticReport().getResultId());
+            }
+        }
+    }
+}